@@ -1,6 +1,8 @@
 package org.firstinspires.ftc.teamcode.auto;
 
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.OccupancyGrid;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
 import org.firstinspires.ftc.teamcode.util.RobotGlobal;
 
 // Class for storing poses
@@ -36,6 +38,20 @@ public class AutoConstants {
     public static final Pose MIDDLE_NEUTRAL_SAMPLE = new Pose(46, 131.5);
     public static final Pose RIGHT_NEUTRAL_SAMPLE = new Pose(46, 121.25);
 
+    // Field obstacles for the path planner, as min x, min y, max x, max y
+    public static final double[] SUBMERSIBLE = {49.25, 57.75, 94.75, 86.25};
+    public static final double[] BLUE_BASKETS = {0, 136, 8, 144};
+    public static final double[] RED_BASKETS = {136, 0, 144, 8};
+
+    // Makes a grid of the field with the submersible and baskets blocked, for the path planner
+    public static OccupancyGrid createFieldGrid() {
+        OccupancyGrid grid = new OccupancyGrid(144, 144, FollowerConstants.plannerCellSize, FollowerConstants.plannerRobotRadius);
+        grid.addRectangle(SUBMERSIBLE[0], SUBMERSIBLE[1], SUBMERSIBLE[2], SUBMERSIBLE[3]);
+        grid.addRectangle(BLUE_BASKETS[0], BLUE_BASKETS[1], BLUE_BASKETS[2], BLUE_BASKETS[3]);
+        grid.addRectangle(RED_BASKETS[0], RED_BASKETS[1], RED_BASKETS[2], RED_BASKETS[3]);
+        return grid;
+    }
+
     public static Pose checkAlliance(Pose pose) {
         // Access the alliance field from RobotGlobal
         if (RobotGlobal.alliance == RobotGlobal.Alliance.RED) {
@@ -0,0 +1,73 @@
+package org.firstinspires.ftc.teamcode.auto;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierLine;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+
+// The paths for the Tile 3 autos, which push the three neutral samples into the net zone one after
+// another, then park in the observation zone. The poses are for blue, and get mirrored for red.
+// These are kept out of the OpModes so they can be built on a computer: NeutralSamplePushPathsTest
+// compiles them into src/main/assets with the PathCompiler, and the autos load them from there
+public class NeutralSamplePushPaths {
+    // Where the robot can start, and which compiled file its paths are in
+    public enum Start {
+        BLUE_IN(new Pose(0, 85, Math.toRadians(0)), false),
+        BLUE_AWAY(new Pose(0, 60, Math.toRadians(0)), false),
+        RED_IN(new Pose(0, 85, Math.toRadians(0)), true),
+        RED_AWAY(new Pose(0, 60, Math.toRadians(0)), true);
+
+        private final Pose pose;
+        private final boolean isRed;
+
+        Start(Pose pose, boolean isRed) {
+            this.pose = pose;
+            this.isRed = isRed;
+        }
+
+        public Pose getStartingPose() {
+            return forAlliance(pose, isRed);
+        }
+
+        public String getAssetName() {
+            return "paths/tile3_" + name().toLowerCase() + ".pp";
+        }
+    }
+
+    // How many paths build() makes, one for every leg of the auto
+    public static final int LEG_COUNT = 7;
+
+    static final Pose SAMPLE_ONE_POSE = new Pose(65, 120, Math.toRadians(0));
+    static final Pose SCORE_ONE_POSE = new Pose(12, 120, Math.toRadians(0));
+    static final Pose SAMPLE_TWO_POSE = new Pose(62, 130, Math.toRadians(0));
+    static final Pose SCORE_TWO_POSE = new Pose(18, 130, Math.toRadians(0));
+    static final Pose SAMPLE_THREE_POSE = new Pose(62, 134, Math.toRadians(0));
+    static final Pose SCORE_THREE_POSE = new Pose(22, 134, Math.toRadians(0));
+    static final Pose PARK_POSE = AutoConstants.OBVZONE_PARKING_POSE;
+
+    // All the legs go in one PathChain so they compile into one file, but the auto follows them
+    // one at a time so the robot stops at every sample
+    public static PathChain build(Start start) {
+        return new PathChain(
+                line(start.pose, SAMPLE_ONE_POSE, start.isRed),
+                line(SAMPLE_ONE_POSE, SCORE_ONE_POSE, start.isRed),
+                line(SCORE_ONE_POSE, SAMPLE_TWO_POSE, start.isRed),
+                line(SAMPLE_TWO_POSE, SCORE_TWO_POSE, start.isRed),
+                line(SCORE_TWO_POSE, SAMPLE_THREE_POSE, start.isRed),
+                line(SAMPLE_THREE_POSE, SCORE_THREE_POSE, start.isRed),
+                line(SCORE_THREE_POSE, PARK_POSE, start.isRed)
+        );
+    }
+
+    // A straight path that keeps the heading it starts with
+    private static Path line(Pose start, Pose end, boolean isRed) {
+        Path path = new Path(new BezierLine(new Point(forAlliance(start, isRed)), new Point(forAlliance(end, isRed))));
+        path.setConstantHeadingInterpolation(forAlliance(start, isRed).getHeading());
+        return path;
+    }
+
+    private static Pose forAlliance(Pose pose, boolean isRed) {
+        return isRed ? AutoConstants.toRed(pose) : pose;
+    }
+}
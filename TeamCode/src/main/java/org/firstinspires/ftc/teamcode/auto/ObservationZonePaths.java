@@ -0,0 +1,50 @@
+package org.firstinspires.ftc.teamcode.auto;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierCurve;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathBuilder;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+
+// The paths for the observation zone autos, which drive one curve from the start into the observation zone.
+// Building a BezierCurve samples it into a CurveSampleTable, which takes a while in init, so like
+// NeutralSamplePushPaths these are compiled into src/main/assets by ObservationZonePathsTest and the
+// autos load them from there
+public class ObservationZonePaths {
+    // Where each alliance starts, the curve it drives, and which compiled file it's in
+    public enum Start {
+        BLUE(new Pose(0, 60, 0), new Point(4, 50, Point.CARTESIAN), new Point(7.6, 16.13, Point.CARTESIAN)),
+        RED(new Pose(138, 85, 0), new Point(137, 110, Point.CARTESIAN), new Point(134.22, 125.22, Point.CARTESIAN));
+
+        private final Pose pose;
+        private final Point controlPoint;
+        private final Point endPoint;
+
+        Start(Pose pose, Point controlPoint, Point endPoint) {
+            this.pose = pose;
+            this.controlPoint = controlPoint;
+            this.endPoint = endPoint;
+        }
+
+        public Pose getStartingPose() {
+            return pose;
+        }
+
+        public String getAssetName() {
+            return "paths/observation_" + name().toLowerCase() + ".pp";
+        }
+    }
+
+    // How many paths build() makes
+    public static final int PATH_COUNT = 1;
+
+    public static PathChain build(Start start) {
+        return new PathBuilder()
+                .addPath(new BezierCurve(
+                        new Point(start.pose),     // Start point
+                        start.controlPoint,        // Control point
+                        start.endPoint             // End point
+                ))
+                .build();
+    }
+}
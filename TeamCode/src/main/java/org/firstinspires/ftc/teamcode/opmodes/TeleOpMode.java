@@ -14,7 +14,10 @@ import com.qualcomm.robotcore.hardware.Gamepad;
 
 import org.firstinspires.ftc.robotcore.external.Telemetry;
 import org.firstinspires.ftc.teamcode.RobotCore;
-import org.firstinspires.ftc.teamcode.pedroPathing.follower.Follower;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.ControlLoopExecutor;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.HardwareCache;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Mailbox;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.VoltageCompensator;
 import org.firstinspires.ftc.teamcode.subsystems.chassis.Chassis2;
 import org.firstinspires.ftc.teamcode.util.Arm2;
 import org.firstinspires.ftc.teamcode.util.ClawState;
@@ -28,7 +31,25 @@ public class TeleOpMode extends OpMode {
     Arm2 arm;
     Intake claw;
     ClawState clawState;
-    Follower follower;
+    HardwareCache hardwareCache;
+    VoltageCompensator voltageCompensator;
+    ControlLoopExecutor controlLoop;
+    private final Mailbox<ControlInputs> inputMailbox = new Mailbox<>();
+    private ControlInputs inputs;
+
+    // Runs the drive, arm, and claw on their own thread instead of in loop()
+    public static boolean useControlLoopExecutor = true;
+
+    // Saved by the control step for telemetry
+    private volatile double slidePosition;
+    private volatile double pivotPosition;
+    private volatile double clawPosition;
+    private volatile boolean pivotBusy;
+    private volatile boolean slideBusy;
+    private volatile long chassisWritesSent;
+    private volatile long chassisWritesSkipped;
+    private volatile long armWritesSent;
+    private volatile long armWritesSkipped;
     private DcMotorEx leftFront;
     private DcMotorEx leftRear;
     private DcMotorEx rightFront;
@@ -54,66 +75,157 @@ public class TeleOpMode extends OpMode {
         rightRear.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
         rightFront.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
 
-        // Initialize follower
-        follower = new Follower(hardwareMap);
-        follower.startTeleopDrive();
+        // There's no Follower in teleop, so the bulk caches are cleared at the top of every control step
+        hardwareCache = HardwareCache.get(hardwareMap);
+        voltageCompensator = VoltageCompensator.get(hardwareMap);
 
+        // The drive, arm, and claw run on their own thread at a fixed rate, and loop() only reads the gamepads
+        controlLoop = new ControlLoopExecutor();
+        controlLoop.addTask(this::controlStep);
+        controlLoop.setStopAction(this::stopMotors);
+    }
+
+    @Override
+    public void start() {
+        if (useControlLoopExecutor) controlLoop.start();
     }
 
     @Override
     public void loop() {
-        // follower.setTeleOpMovementVectors(-gamepad1.left_stick_y, -gamepad1.left_stick_x, -gamepad1.right_stick_x);
-        arm.setPivotPowerAuto();
-        arm.setSlidePowerAuto();
         // Read inputs for controlling chassis
-        double y = AvyuktResponseCurve(gamepad1.left_stick_y);
-        double x = -AvyuktResponseCurve(gamepad1.left_stick_x);
-        double rx = -AvyuktResponseCurve(gamepad1.right_stick_x);
-        double y2 = IshaanResponseCurve(gamepad2.left_stick_y);
-        double y3 = IshaanResponseCurve(gamepad2.right_stick_y);
+        ControlInputs newInputs = new ControlInputs(
+                AvyuktResponseCurve(gamepad1.left_stick_y),
+                -AvyuktResponseCurve(gamepad1.left_stick_x),
+                -AvyuktResponseCurve(gamepad1.right_stick_x),
+                IshaanResponseCurve(gamepad2.left_stick_y),
+                IshaanResponseCurve(gamepad2.right_stick_y),
+                gamepad1.options,
+                gamepad2.right_trigger > 0,
+                gamepad2.left_trigger > 0,
+                gamepad2.right_bumper,
+                gamepad2.left_bumper);
+
+        if (useControlLoopExecutor) {
+            controlLoop.heartbeat();
+            inputMailbox.post(newInputs);
+        } else {
+            inputMailbox.post(newInputs);
+            controlStep();
+        }
+
+        // Telemetry for Debugging
+        telemetry.addData("Slide Input (Left Stick Y):", gamepad2.left_stick_y);
+        telemetry.addData("Pivot Input (Right Stick Y):", gamepad2.right_stick_y);
+        telemetry.addData("Slide Encoder:", slidePosition);
+        telemetry.addData("Pivot Encoder:", pivotPosition);
+        telemetry.addData("Claw Position:", clawPosition);
+        telemetry.addData("Claw State:", clawState);
+        telemetry.addData("Pivot Busy", pivotBusy);
+        telemetry.addData("Slide Busy", slideBusy);
+        telemetry.addData("chassis motor writes sent", chassisWritesSent);
+        telemetry.addData("chassis motor writes skipped", chassisWritesSkipped);
+        telemetry.addData("arm motor writes sent", armWritesSent);
+        telemetry.addData("arm motor writes skipped", armWritesSkipped);
+        hardwareCache.addToTelemetry(telemetry);
+        voltageCompensator.addToTelemetry(telemetry);
+        if (useControlLoopExecutor) controlLoop.addToTelemetry(telemetry);
+        telemetry.update();  // This should be at the end of loop()
+    }
+
+    @Override
+    public void stop() {
+        // This waits for the control thread to finish, and it sets the motors to 0 as it stops. If it
+        // doesn't finish in time it still sets them to 0 itself, so they aren't set here at the same time
+        if (controlLoop.stop()) stopMotors();
+    }
+
+    /**
+     * This runs one step of the drive, arm, and claw with the latest inputs from loop(). When the
+     * ControlLoopExecutor is on, this runs on the control thread, so this is the only place the
+     * hardware is used once the OpMode has started.
+     */
+    private void controlStep() {
+        hardwareCache.startLoop();
+
+        // Only the newest inputs matter, so if loop() hasn't posted new ones, the last ones are used again
+        ControlInputs newInputs = inputMailbox.take();
+        boolean freshInputs = newInputs != null;
+        if (freshInputs) inputs = newInputs;
+        if (inputs == null) return;
+
+        // The arm is only driven by the sticks here. setPivotPowerAuto() and setSlidePowerAuto() would be
+        // overwritten by the powers below anyway, and each setVelocity() makes the next power write go through
 
 //        Drive control
-        chassis.drive(x, y, rx);
-     if (gamepad1.options) {
+        chassis.drive(inputs.x, inputs.y, inputs.rx);
+     if (freshInputs && inputs.resetYaw) {
             chassis.resetYaw();
         }
 
-        // Arm control with limit checks yessir
-        if (arm.getSlidePosition() <= -2191 && y2 < 0 || arm.getSlidePosition() >= 0 && y2 > 0) {
+        // Arm control with limit checks yessir, the slide can go further out the higher the pivot is
+        double slideEncoder = arm.getSlidePosition();
+        if (slideEncoder <= arm.getSlideLimitPosition() && inputs.y2 < 0 || slideEncoder >= 0 && inputs.y2 > 0) {
             arm.setSlidePower(0); // Stop downward/upward movement
         }
         else {
-            arm.setSlidePower(y2);
+            arm.setSlidePower(inputs.y2);
         }
-        arm.setPivotPower(y3); // Set the pivot power
+        arm.setPivotPower(inputs.y3); // Set the pivot power
 
         // Claw controls
-        if (gamepad2.right_trigger > 0) {
+        if (inputs.openClaw) {
             claw.openClaw();
         }
 
-        if (gamepad2.left_trigger > 0) {
+        if (inputs.closeClaw) {
             claw.closeClaw();
         }
         // Wrist controls
-        if (gamepad2.right_bumper) {
+        if (inputs.wristRight) {
             claw.setWristPower(-1); // Rotate right
-        } else if (gamepad2.left_bumper) {
+        } else if (inputs.wristLeft) {
             claw.setWristPower(1); // Rotate left
         } else {
             claw.setWristPower(0); // Stop rotating when no button is pressed
         }
 
-        // Telemetry for Debugging
-        telemetry.addData("Slide Input (Left Stick Y):", gamepad2.left_stick_y);
-        telemetry.addData("Pivot Input (Right Stick Y):", gamepad2.right_stick_y);
-        telemetry.addData("Slide Encoder:", arm.getSlidePosition());
-        telemetry.addData("Pivot Encoder:", arm.getPivotPosition());
-        telemetry.addData("Claw Position:", claw.getClawPosition());
-        telemetry.addData("Claw State:", clawState);
-        telemetry.addData("Pivot Busy", arm.isPivotBusy());
-        telemetry.addData("Slide Busy", arm.isSlideBusy());
-        telemetry.update();  // This should be at the end of loop()
+        // These are saved for telemetry, since loop() shouldn't touch the hardware
+        slidePosition = slideEncoder;
+        pivotPosition = arm.getPivotPosition();
+        clawPosition = claw.getClawPosition();
+        pivotBusy = arm.isPivotBusy();
+        slideBusy = arm.isSlideBusy();
+        chassisWritesSent = chassis.getSentMotorWrites();
+        chassisWritesSkipped = chassis.getSkippedMotorWrites();
+        armWritesSent = arm.getSentMotorWrites();
+        armWritesSkipped = arm.getSkippedMotorWrites();
+    }
+
+    // Stops everything that moves
+    private void stopMotors() {
+        chassis.drive(0, 0, 0);
+        arm.setSlidePower(0);
+        arm.setPivotPower(0);
+        claw.setWristPower(0);
+    }
+
+    // The gamepad inputs loop() posts to the control thread, which never change once they're made
+    private static class ControlInputs {
+        final double x, y, rx, y2, y3;
+        final boolean resetYaw, openClaw, closeClaw, wristRight, wristLeft;
+
+        ControlInputs(double y, double x, double rx, double y2, double y3, boolean resetYaw, boolean openClaw, boolean closeClaw, boolean wristRight, boolean wristLeft) {
+            this.y = y;
+            this.x = x;
+            this.rx = rx;
+            this.y2 = y2;
+            this.y3 = y3;
+            this.resetYaw = resetYaw;
+            this.openClaw = openClaw;
+            this.closeClaw = closeClaw;
+            this.wristRight = wristRight;
+            this.wristLeft = wristLeft;
+        }
     }
 
     // Response curve function for finer joystick control
@@ -2,20 +2,21 @@ package org.firstinspires.ftc.teamcode.opmodes.blueAlliance;
 
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+import com.qualcomm.robotcore.util.RobotLog;
 
+import org.firstinspires.ftc.teamcode.auto.ObservationZonePaths;
 import org.firstinspires.ftc.teamcode.opmodes.util.AutoStateTO;
 import org.firstinspires.ftc.teamcode.pedroPathing.follower.Follower;
-import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
-import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierCurve;
-import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathBuilder;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
-import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @Autonomous(name = "Blue Observation Zone Auto")
 public class BlueToObservationAuto extends OpMode {
 
     private Follower follower;
-    private BezierCurve observationCurve;
     private PathChain observationPath;
 
     private AutoStateTO currentState = AutoStateTO.MOVE_TO_OBSERVATION_ZONE;
@@ -23,17 +24,8 @@ public class BlueToObservationAuto extends OpMode {
 
     @Override
     public void init() {
-        // Create a BezierCurve for the path to the observation zone
-        observationCurve = new BezierCurve(
-                new Point(0, 60, Point.CARTESIAN),     // Start point
-                new Point(4, 50, Point.CARTESIAN),   // Control point
-                new Point(7.6, 16.13, Point.CARTESIAN)     // End point
-        );
-
-        // Create a path to the observation zone using the BezierCurve
-        observationPath = new PathBuilder()
-                .addPath(observationCurve) // Add BezierCurve as a path
-                .build();
+        // Load the path to the observation zone, already compiled, from the app's assets
+        observationPath = loadPath();
 
         // Initialize Follower with hardware components
         follower = new Follower(hardwareMap);
@@ -52,7 +44,7 @@ public class BlueToObservationAuto extends OpMode {
         startTime = System.currentTimeMillis(); // Record the start time
 
         // Set the initial position of the robot
-        follower.setStartingPose(new Pose(0, 60, 0)); // Starting position (x = 0, y = 60, heading = 0°)
+        follower.setStartingPose(ObservationZonePaths.Start.BLUE.getStartingPose());
 
 
         // Follow the path to the observation zone
@@ -87,9 +79,25 @@ public class BlueToObservationAuto extends OpMode {
                 telemetry.update();
         }
 
+        // If the compiled path is missing or was written by an older PathCompiler, the path is built
+        // here instead, which still works but makes init slower
+        private PathChain loadPath() {
+            ObservationZonePaths.Start start = ObservationZonePaths.Start.BLUE;
+            try (InputStream in = hardwareMap.appContext.getAssets().open(start.getAssetName())) {
+                PathChain pathChain = PathLoader.load(in);
+                if (pathChain.size() == ObservationZonePaths.PATH_COUNT) return pathChain;
+                RobotLog.ee("BlueToObservationAuto", start.getAssetName() + " has " + pathChain.size() + " paths instead of " + ObservationZonePaths.PATH_COUNT);
+            } catch (IOException e) {
+                RobotLog.ee("BlueToObservationAuto", e, "Couldn't load " + start.getAssetName());
+            }
+            telemetry.addData("Path", "Not compiled, built in init instead");
+            return ObservationZonePaths.build(start);
+        }
+
         @Override
         public void stop () {
             // When the OpMode ends, ensure all actions are stopped
             follower.breakFollowing(); // Use breakFollowing to stop all motors
+            follower.writeLoopProfile(); // Save where the loop time went for this run
         }
     }
\ No newline at end of file
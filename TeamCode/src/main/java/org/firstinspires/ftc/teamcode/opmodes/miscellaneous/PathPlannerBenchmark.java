@@ -0,0 +1,114 @@
+package org.firstinspires.ftc.teamcode.opmodes.miscellaneous;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.auto.AutoConstants;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.GridPathPlanner;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.OccupancyGrid;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+// Times the path planner between poses around the field, with and without a temporary obstacle,
+// and checks every planned path stays out of the obstacles. Each plan is timed from start to
+// finish, building the PathChain included, and checked against the time budget. Uses no hardware.
+@Config
+@TeleOp(group = "Pedro Pathing Tuning", name = "Path Planner Benchmark")
+public class PathPlannerBenchmark extends OpMode {
+    public static int PLANS_PER_LOOP = 20;
+
+    private Telemetry telemetryA;
+    private OccupancyGrid grid;
+    private GridPathPlanner planner;
+
+    private final Pose[] poses = {
+            AutoConstants.CENTER_STARTING_POSE,
+            AutoConstants.BASKET_SCORE_POSE,
+            AutoConstants.OBVZONE_PARKING_POSE,
+            new Pose(72, 40, Math.toRadians(90)),
+            new Pose(72, 104, Math.toRadians(270)),
+            new Pose(120, 72, Math.toRadians(180)),
+            AutoConstants.toRed(AutoConstants.BASKET_SCORE_POSE),
+            AutoConstants.toRed(AutoConstants.OBVZONE_PARKING_POSE)};
+
+    private int step;
+    private int plans;
+    private int failures;
+    private int timeouts;
+    private int blockedPaths;
+    private int overBudget;
+    private double totalTime;
+    private double maxTime;
+    private double totalSearchTime;
+    private long totalExpansions;
+
+    @Override
+    public void init() {
+        telemetryA = new MultipleTelemetry(this.telemetry, FtcDashboard.getInstance().getTelemetry());
+        grid = AutoConstants.createFieldGrid();
+        planner = new GridPathPlanner(grid);
+        telemetryA.addLine("This times the path planner between poses around the field. Press start to begin.");
+        telemetryA.update();
+    }
+
+    @Override
+    public void loop() {
+        for (int i = 0; i < PLANS_PER_LOOP; i++) {
+            Pose start = poses[step % poses.length];
+            Pose goal = poses[(step / poses.length + step + 1) % poses.length];
+            if (start == goal) goal = poses[(step + 1) % poses.length];
+
+            // every other lap, put something in the way halfway between the start and the goal
+            grid.clearTemporaryObstacles();
+            if ((step / poses.length) % 2 == 1) {
+                grid.addTemporaryObstacle((start.getX() + goal.getX()) / 2, (start.getY() + goal.getY()) / 2, 6);
+            }
+
+            long planStart = System.nanoTime();
+            PathChain path = planner.plan(start, goal);
+            double planTime = (System.nanoTime() - planStart) / 1000000.0;
+            plans++;
+            totalTime += planTime;
+            maxTime = Math.max(maxTime, planTime);
+            totalSearchTime += planner.getLastSearchTime();
+            if (planTime > FollowerConstants.plannerTimeBudget) overBudget++;
+            totalExpansions += planner.getLastExpansions();
+            if (planner.didLastPlanTimeOut()) timeouts++;
+            if (path == null) {
+                failures++;
+            } else if (goesThroughObstacle(path)) {
+                blockedPaths++;
+            }
+            step++;
+        }
+
+        telemetryA.addData("plans", plans);
+        telemetryA.addData("average plan time (ms)", totalTime / plans);
+        telemetryA.addData("max plan time (ms)", maxTime);
+        telemetryA.addData("average search time (ms)", totalSearchTime / plans);
+        telemetryA.addData("plans over budget", overBudget);
+        telemetryA.addData("average expansions", (double) totalExpansions / plans);
+        telemetryA.addData("failed plans", failures);
+        telemetryA.addData("timed out plans", timeouts);
+        telemetryA.addData("paths through obstacles", blockedPaths);
+        telemetryA.update();
+    }
+
+    // Checks points along the path, skipping the ends since the start or goal can be up against a wall
+    private boolean goesThroughObstacle(PathChain path) {
+        for (int i = 0; i < path.size(); i++) {
+            for (double t = 0.05; t < 1; t += 0.05) {
+                if ((i > 0 || t > 0.5) && (i < path.size() - 1 || t < 0.5)
+                        && grid.isBlocked(path.getPath(i).getPoint(t).getX(), path.getPath(i).getPoint(t).getY())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
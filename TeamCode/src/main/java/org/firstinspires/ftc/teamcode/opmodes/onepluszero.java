@@ -7,6 +7,7 @@ import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 
 import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.HardwareCache;
 import org.firstinspires.ftc.teamcode.util.Arm2;
 
 @Autonomous(name = "Autonomous Routines for Scoring Specimens")
@@ -16,11 +17,13 @@ public class onepluszero extends OpMode {
     DcMotorEx bl;
     DcMotorEx br;
     Arm2 arm;
+    HardwareCache hardwareCache;
 
     private static final double DRIVE_POWER = 0.5; // Full power to move forward/backward
 
     private boolean movementComplete = false;
     private boolean scoringComplete = false;
+    private int scoreStage = 0;
 
     @Override
     public void init() {
@@ -44,6 +47,8 @@ public class onepluszero extends OpMode {
         resetEncoders();
 
         arm = new Arm2(hardwareMap);
+        // The arm puts the hubs in MANUAL bulk caching, and there's no Follower here to start the loops
+        hardwareCache = HardwareCache.get(hardwareMap);
 
         telemetry.addLine("Initialized");
         telemetry.update();
@@ -51,6 +56,9 @@ public class onepluszero extends OpMode {
 
     @Override
     public void loop() {
+        // Nothing gets read again until a new loop is started, so this has to come before any reads
+        hardwareCache.startLoop();
+
         if (!movementComplete) {
             // Set target positions only once
             fl.setTargetPosition(1152);
@@ -84,6 +92,7 @@ public class onepluszero extends OpMode {
 
         telemetry.update();
 
+        arm.updateTrajectory();
         arm.setSlidePowerAuto();
         arm.setPivotPowerAuto();
 
@@ -158,29 +167,29 @@ public class onepluszero extends OpMode {
         bl.setPower(.5);
     }
     private void scoreSpecimen() {
-        // Sequence to score specimen
-        arm.setPivotPosition(-1053);
-
-        if (!arm.isPivotBusy()) {
-            arm.setSlidePosition(-1507);
-
-            if (!arm.isSlideBusy()) {
-                arm.setPivotPosition(-590);
-
-                if (!arm.isPivotBusy()) {
-                    arm.setSlidePosition(-1300);
-                }
-                if (!arm.isSlideBusy()) {
+        // Sequence to score specimen, with the pivot and slide moving together on each move
+        switch (scoreStage) {
+            case 0:
+                if (arm.moveTo(Arm2.ARM_SCORE_SPECIMEN)) scoreStage++;
+                break;
+            case 1:
+                if (!arm.isTrajectoryBusy() && arm.moveTo(Arm2.ARM_CLIP_SPECIMEN)) scoreStage++;
+                break;
+            case 2:
+                if (!arm.isTrajectoryBusy()) {
                     fl.setTargetPosition(1152);
                     fr.setTargetPosition(-1);
                     bl.setTargetPosition(-992);
                     br.setTargetPosition(443);
                     setRunToPosition();
                     setMotorPowers(-DRIVE_POWER);
+                    scoreStage++;
                 }
-            }
+                break;
+            default:
+                telemetry.addLine("Specimen Scoring Complete");
+                break;
         }
-        telemetry.addLine("Specimen Scoring Complete");
     }
 }
 // Slide -1507, Pivot = -590
\ No newline at end of file
@@ -2,20 +2,21 @@ package org.firstinspires.ftc.teamcode.opmodes.redAlliance;
 
 import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
 import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+import com.qualcomm.robotcore.util.RobotLog;
 
+import org.firstinspires.ftc.teamcode.auto.ObservationZonePaths;
 import org.firstinspires.ftc.teamcode.opmodes.util.AutoStateTO;
 import org.firstinspires.ftc.teamcode.pedroPathing.follower.Follower;
-import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
-import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierCurve;
-import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathBuilder;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
-import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @Autonomous(name = "Red Observation Zone Auto")
 public class RedToObservationAuto extends OpMode {
 //for all our next seasons we should have nicholas as part of all our repos...:)))))
     private Follower follower;
-    private BezierCurve observationCurve;
     private PathChain observationPath;
 
     private AutoStateTO currentState = AutoStateTO.MOVE_TO_OBSERVATION_ZONE;
@@ -23,17 +24,8 @@ public class RedToObservationAuto extends OpMode {
 
     @Override
     public void init() {
-        // Create a BezierCurve for the path to the observation zone
-        observationCurve = new BezierCurve(
-                new Point(138, 85, Point.CARTESIAN),     // Start point
-                new Point(137, 110, Point.CARTESIAN),   // Control point
-                new Point(134.22, 125.22, Point.CARTESIAN)     // End point
-        );
-
-        // Create a path to the observation zone using the BezierCurve
-        observationPath = new PathBuilder()
-                .addPath(observationCurve) // Add BezierCurve as a path
-                .build();
+        // Load the path to the observation zone, already compiled, from the app's assets
+        observationPath = loadPath();
 
         // Initialize Follower with hardware components
         follower = new Follower(hardwareMap);
@@ -52,7 +44,7 @@ public class RedToObservationAuto extends OpMode {
         startTime = System.currentTimeMillis(); // Record the start time
 
         // Set the initial position of the robot
-        follower.setStartingPose(new Pose(138, 85, 0)); // Starting position (x = 138, y = 85, heading = 0°)
+        follower.setStartingPose(ObservationZonePaths.Start.RED.getStartingPose());
 
 
         // Follow the path to the observation zone
@@ -87,9 +79,25 @@ public class RedToObservationAuto extends OpMode {
         telemetry.update();
     }
 
+    // If the compiled path is missing or was written by an older PathCompiler, the path is built
+    // here instead, which still works but makes init slower
+    private PathChain loadPath() {
+        ObservationZonePaths.Start start = ObservationZonePaths.Start.RED;
+        try (InputStream in = hardwareMap.appContext.getAssets().open(start.getAssetName())) {
+            PathChain pathChain = PathLoader.load(in);
+            if (pathChain.size() == ObservationZonePaths.PATH_COUNT) return pathChain;
+            RobotLog.ee("RedToObservationAuto", start.getAssetName() + " has " + pathChain.size() + " paths instead of " + ObservationZonePaths.PATH_COUNT);
+        } catch (IOException e) {
+            RobotLog.ee("RedToObservationAuto", e, "Couldn't load " + start.getAssetName());
+        }
+        telemetry.addData("Path", "Not compiled, built in init instead");
+        return ObservationZonePaths.build(start);
+    }
+
     @Override
     public void stop () {
         // When the OpMode ends, ensure all actions are stopped
         follower.breakFollowing(); // Use breakFollowing to stop all motors
+        follower.writeLoopProfile(); // Save where the loop time went for this run
     }
 }
\ No newline at end of file
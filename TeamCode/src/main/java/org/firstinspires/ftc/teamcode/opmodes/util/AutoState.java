@@ -1,13 +0,0 @@
-package org.firstinspires.ftc.teamcode.opmodes.util;
-
-// Regular
-public enum AutoState {
-    MOVE_TO_FIRST_NEUTRAL_SAMPLE,
-    PUSH_FIRST_NEUTRAL_SAMPLE,
-    MOVE_TO_SECOND_NEUTRAL_SAMPLE,
-    PUSH_SECOND_NEUTRAL_SAMPLE,
-    MOVE_TO_THIRD_NEUTRAL_SAMPLE,
-    PUSH_THIRD_NEUTRAL_SAMPLE,
-    MOVE_TO_OBSERVATION_ZONE,
-    COMPLETE
-}
@@ -0,0 +1,97 @@
+package org.firstinspires.ftc.teamcode.opmodes.util;
+
+import com.arcrobotics.ftclib.command.Command;
+import com.arcrobotics.ftclib.command.CommandScheduler;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.Follower;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.subsystems.arm.Arm2Subsystem;
+import org.firstinspires.ftc.teamcode.subsystems.arm.ArmPose;
+import org.firstinspires.ftc.teamcode.subsystems.arm.commands.MoveArmCommand;
+import org.firstinspires.ftc.teamcode.subsystems.chassis.Chassis;
+import org.firstinspires.ftc.teamcode.subsystems.chassis.commands.FollowPathCommand;
+
+// Base for autos written as a routine of commands instead of a switch state machine.
+// Subclasses build the routine out of ftclib groups: SequentialCommandGroup for steps one after
+// another, ParallelCommandGroup to wait for all of them, ParallelRaceGroup to stop at the first one
+// done, and ParallelDeadlineGroup to stop when the first command is done. Putting arm moves in
+// parallel with paths lets the arm get ready while the robot drives instead of after.
+public abstract class CommandAutoOpMode extends OpMode {
+    protected Follower follower;
+    protected Chassis chassis;
+    protected Arm2Subsystem arm;
+    private Command routine;
+    private long startTime;
+
+    // Where the robot starts, which has to match the start of the first path
+    protected abstract Pose getStartingPose();
+
+    // Builds the whole auto, called once in init so all the paths are made before the match starts
+    protected abstract Command createRoutine();
+
+    // This is where the Follower is made, so the simulator can give it the SimulatedLocalizer
+    protected Follower createFollower() {
+        return new Follower(hardwareMap);
+    }
+
+    @Override
+    public void init() {
+        // The scheduler is shared between OpModes, so anything left from the last one is cleared out
+        CommandScheduler.getInstance().reset();
+
+        follower = createFollower();
+        chassis = new Chassis(follower, telemetry, hardwareMap);
+        arm = new Arm2Subsystem(hardwareMap);
+
+        // Subsystems run in the order they're registered, and the follower update starts the
+        // hardware cache's loop, so the chassis goes before the arm reads its encoders
+        CommandScheduler.getInstance().registerSubsystem(chassis, arm);
+
+        routine = createRoutine();
+        telemetry.addData("Status", "Initialized");
+    }
+
+    @Override
+    public void start() {
+        startTime = System.currentTimeMillis();
+        follower.setStartingPose(getStartingPose());
+        CommandScheduler.getInstance().schedule(routine);
+    }
+
+    @Override
+    public void loop() {
+        CommandScheduler.getInstance().run();
+        telemetry.addData("Routine running", isRoutineRunning());
+        telemetry.addData("Time", System.currentTimeMillis() - startTime);
+    }
+
+    @Override
+    public void stop() {
+        CommandScheduler.getInstance().reset();
+        follower.breakFollowing();
+        follower.writeLoopProfile(); // Save where the loop time went for this run
+    }
+
+    protected boolean isRoutineRunning() {
+        return CommandScheduler.getInstance().isScheduled(routine);
+    }
+
+    protected FollowPathCommand follow(Path path) {
+        return new FollowPathCommand(chassis, path);
+    }
+
+    protected FollowPathCommand follow(PathChain pathChain, boolean holdEnd) {
+        return new FollowPathCommand(chassis, pathChain, holdEnd);
+    }
+
+    protected FollowPathCommand followAndHold(Path path) {
+        return new FollowPathCommand(chassis, path, true);
+    }
+
+    protected MoveArmCommand moveArm(ArmPose pose) {
+        return new MoveArmCommand(arm, pose);
+    }
+}
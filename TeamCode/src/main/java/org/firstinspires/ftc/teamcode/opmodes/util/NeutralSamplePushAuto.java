@@ -0,0 +1,66 @@
+package org.firstinspires.ftc.teamcode.opmodes.util;
+
+import com.arcrobotics.ftclib.command.Command;
+import com.arcrobotics.ftclib.command.ParallelDeadlineGroup;
+import com.arcrobotics.ftclib.command.SequentialCommandGroup;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.teamcode.auto.NeutralSamplePushPaths;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathLoader;
+import org.firstinspires.ftc.teamcode.util.Arm2;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Pushes the three neutral samples into the net zone one after another, then parks in the observation zone.
+// The paths are loaded already compiled from the app's assets, see NeutralSamplePushPaths
+public abstract class NeutralSamplePushAuto extends CommandAutoOpMode {
+    private final NeutralSamplePushPaths.Start start;
+
+    protected NeutralSamplePushAuto(NeutralSamplePushPaths.Start start) {
+        this.start = start;
+    }
+
+    @Override
+    protected Pose getStartingPose() {
+        return start.getStartingPose();
+    }
+
+    @Override
+    protected Command createRoutine() {
+        PathChain legs = loadPaths();
+        return new SequentialCommandGroup(
+                // The arm tucks in while the robot drives out, and the drive doesn't wait for it
+                new ParallelDeadlineGroup(
+                        follow(legs.getPath(0)),
+                        moveArm(Arm2.ARM_COLLAPSED_INTO_ROBOT)
+                ),
+                follow(legs.getPath(1)),
+                follow(legs.getPath(2)),
+                follow(legs.getPath(3)),
+                follow(legs.getPath(4)),
+                follow(legs.getPath(5)),
+                followAndHold(legs.getPath(6))
+        );
+    }
+
+    // If the compiled paths are missing or were written by an older PathCompiler, the paths are
+    // built here instead, which still works but makes init slower
+    private PathChain loadPaths() {
+        try (InputStream in = openAsset(start.getAssetName())) {
+            PathChain legs = PathLoader.load(in);
+            if (legs.size() == NeutralSamplePushPaths.LEG_COUNT) return legs;
+            RobotLog.ee("NeutralSamplePushAuto", start.getAssetName() + " has " + legs.size() + " paths instead of " + NeutralSamplePushPaths.LEG_COUNT);
+        } catch (IOException e) {
+            RobotLog.ee("NeutralSamplePushAuto", e, "Couldn't load " + start.getAssetName());
+        }
+        telemetry.addData("Paths", "Not compiled, built in init instead");
+        return NeutralSamplePushPaths.build(start);
+    }
+
+    protected InputStream openAsset(String name) throws IOException {
+        return hardwareMap.appContext.getAssets().open(name);
+    }
+}
@@ -0,0 +1,209 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.follower;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+/**
+ * This is the DriveKinematics class. It is an abstract superclass of all the drivetrains the
+ * Follower can drive, so it contains abstract methods that will have a concrete implementation in
+ * the subclasses. The drivetrain used is picked in FollowerConstants.
+ *
+ * Everything here is in power, not in inches. The chassis powers are the forward power, the
+ * lateral power with left being positive, and the turning power with counterclockwise being
+ * positive, all relative to the robot. The wheel powers are ordered left front, left back, right
+ * front, right back, the same as the drive motors in the Follower. None of the methods make any
+ * new objects, so they can all be run in the control loop.
+ */
+public abstract class DriveKinematics {
+
+    /**
+     * These are the drivetrains there are DriveKinematics for.
+     */
+    public enum Drivetrain {
+        MECANUM,
+        X_DRIVE,
+        TANK,
+        SWERVE
+    }
+
+    /**
+     * This makes the DriveKinematics for the drivetrain set in FollowerConstants.
+     *
+     * @return returns the DriveKinematics.
+     */
+    public static DriveKinematics create() {
+        switch (FollowerConstants.drivetrain) {
+            case X_DRIVE:
+                return new XDriveKinematics();
+            case TANK:
+                return new TankDriveKinematics();
+            case SWERVE:
+                return new SwerveDriveKinematics(FollowerConstants.swerveTrackWidth, FollowerConstants.swerveWheelBase);
+            case MECANUM:
+            default:
+                return new DriveVectorScaler(FollowerConstants.frontLeftVector);
+        }
+    }
+
+    /**
+     * This takes in vectors for corrective power, heading power, and pathing power and writes the
+     * wheel powers into an Array. The corrective power gets priority, then the heading power, and
+     * then the pathing power, and whatever doesn't fit in the wheels is scaled down.
+     *
+     * IMPORTANT NOTE: all vector inputs are clamped between 0 and 1 inclusive in magnitude.
+     *
+     * @param correctivePower this Vector includes the centrifugal force scaling Vector as well as a
+     *                        translational power Vector to correct onto the Bezier curve the Follower
+     *                        is following.
+     * @param headingPower this Vector points in the direction of the robot's current heading, and
+     *                     the magnitude tells the robot how much it should turn and in which
+     *                     direction.
+     * @param pathingPower this Vector points in the direction the robot needs to go to continue along
+     *                     the Path.
+     * @param robotHeading this is the current heading of the robot.
+     * @param wheelPowers the Array to write the wheel powers into, with a length of at least 4.
+     * @return this returns the wheel powers Array that was passed in.
+     */
+    public abstract double[] getDrivePowers(Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading, double[] wheelPowers);
+
+    /**
+     * This is the inverse kinematics. It works out the wheel powers that move the robot with a set
+     * of chassis powers. The wheel powers aren't scaled down, so they can be more than 1.
+     *
+     * @param forward the forward power.
+     * @param lateral the lateral power, with left being positive.
+     * @param turn the turning power, with counterclockwise being positive.
+     * @param wheelPowers the Array to write the wheel powers into.
+     */
+    public abstract void toWheelPowers(double forward, double lateral, double turn, double[] wheelPowers);
+
+    /**
+     * This is the forward kinematics. It works out the chassis powers that a set of wheel powers
+     * moves the robot with. If the drivetrain can't move in some direction, like a tank drive going
+     * sideways, that chassis power is 0.
+     *
+     * @param wheelPowers the wheel powers.
+     * @param chassisPowers the Array to write the forward, lateral, and turning powers into.
+     */
+    public abstract void toChassisPowers(double[] wheelPowers, double[] chassisPowers);
+
+    /**
+     * This returns if the drivetrain can move sideways without turning.
+     *
+     * @return returns if the drivetrain is holonomic.
+     */
+    public abstract boolean isHolonomic();
+
+    /**
+     * This gives the drivetrain the angles its wheels are pointing right now. This only matters for
+     * drivetrains that steer their wheels, and does nothing for the others.
+     *
+     * @param moduleAngles the measured angle of each wheel relative to the robot, in radians.
+     */
+    public void setMeasuredModuleAngles(double[] moduleAngles) {
+    }
+
+    /**
+     * This returns the angles the wheels should point at, from the last time the wheel powers were
+     * worked out. This only matters for drivetrains that steer their wheels.
+     *
+     * @return returns the angle of each wheel relative to the robot in radians, or null if the
+     *         drivetrain doesn't steer its wheels.
+     */
+    public double[] getModuleAngles() {
+        return null;
+    }
+
+    /**
+     * This returns how much of the heading power turns the robot. The heading power points along
+     * the robot's heading, or against it to turn the other way.
+     *
+     * @param headingPower the heading power.
+     * @param robotHeading the heading of the robot.
+     * @return returns the turning power, with counterclockwise being positive.
+     */
+    protected static double getTurnPower(Vector headingPower, double robotHeading) {
+        return headingPower.getXComponent() * Math.cos(robotHeading) + headingPower.getYComponent() * Math.sin(robotHeading);
+    }
+
+    /**
+     * This clamps the magnitudes of the input Vectors down to 1.
+     *
+     * @param correctivePower the corrective power.
+     * @param headingPower the heading power.
+     * @param pathingPower the pathing power.
+     */
+    protected static void clampInputs(Vector correctivePower, Vector headingPower, Vector pathingPower) {
+        if (correctivePower.getMagnitude() > 1) correctivePower.setMagnitude(1);
+        if (headingPower.getMagnitude() > 1) headingPower.setMagnitude(1);
+        if (pathingPower.getMagnitude() > 1) pathingPower.setMagnitude(1);
+    }
+
+    /**
+     * This scales the first four wheel powers down so none of them are more than 1, keeping their
+     * ratios the same.
+     *
+     * @param wheelPowers the wheel powers.
+     */
+    protected static void desaturate(double[] wheelPowers) {
+        double wheelPowerMax = Math.max(Math.max(Math.abs(wheelPowers[0]), Math.abs(wheelPowers[1])), Math.max(Math.abs(wheelPowers[2]), Math.abs(wheelPowers[3])));
+        if (wheelPowerMax > 1) {
+            wheelPowers[0] /= wheelPowerMax;
+            wheelPowers[1] /= wheelPowerMax;
+            wheelPowers[2] /= wheelPowerMax;
+            wheelPowers[3] /= wheelPowerMax;
+        }
+    }
+
+    /**
+     * This returns the magnitude of a vector from its components, the same way Vector does.
+     *
+     * @param x the x component.
+     * @param y the y component.
+     * @return returns the magnitude.
+     */
+    protected static double magnitude(double x, double y) {
+        return Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * This is findNormalizingScaling() with the Vectors as components, so it doesn't need any
+     * Vectors.
+     *
+     * @param staticX the x component of the Vector that is held constant.
+     * @param staticY the y component of the Vector that is held constant.
+     * @param variableX the x component of the Vector getting scaled.
+     * @param variableY the y component of the Vector getting scaled.
+     * @return returns the scaling factor for the variable Vector.
+     */
+    protected static double findNormalizingScaling(double staticX, double staticY, double variableX, double variableY) {
+        double a = variableX * variableX + variableY * variableY;
+        double b = staticX * variableX + staticY * variableY;
+        double c = staticX * staticX + staticY * staticY - 1.0;
+        return (-b + Math.sqrt(b * b - a * c)) / a;
+    }
+
+    /**
+     * This takes in two Vectors, one static and one variable, and returns the scaling factor that,
+     * when multiplied to the variable Vector, results in magnitude of the sum of the static Vector
+     * and the scaled variable Vector being 1.
+     *
+     * IMPORTANT NOTE: I did not intend for this to be used for anything other than working out the
+     * drive powers, so there will be errors if you input Vectors of length greater than 1, and it
+     * will scale up the variable Vector if the magnitude of the sum of the two input Vectors isn't
+     * greater than 1. So, just don't use this elsewhere. There's gotta be a better way to do
+     * whatever you're trying to do.
+     *
+     * I know that this is used outside of this class, however, I created this method so I get to
+     * use it if I want to. Also, it's only used once outside of the DriveKinematics classes, and
+     * it's used to scale Vectors, as intended.
+     *
+     * @param staticVector the Vector that is held constant.
+     * @param variableVector the Vector getting scaled to make the sum of the input Vectors have a
+     *                       magnitude of 1.
+     * @return returns the scaling factor for the variable Vector.
+     */
+    public double findNormalizingScaling(Vector staticVector, Vector variableVector) {
+        return findNormalizingScaling(staticVector.getXComponent(), staticVector.getYComponent(), variableVector.getXComponent(), variableVector.getYComponent());
+    }
+}
@@ -6,16 +6,26 @@ import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
 /**
  * This is the DriveVectorScaler class. This class takes in inputs Vectors for driving, heading
  * correction, and translational/centripetal correction and returns an array with wheel powers.
+ * It's the DriveKinematics for a mecanum drivetrain.
+ *
+ * The robot turns by having the left and right sides push along different vectors, so the
+ * turning power is how much faster the right side goes forward than the left side.
  *
  * @author Anyi Lin - 10158 Scott's Bots
  * @author Aaron Yang - 10158 Scott's Bots
  * @author Harrison Womack - 10158 Scott's Bots
  * @version 1.0, 3/4/2024
  */
-public class DriveVectorScaler {
+public class DriveVectorScaler extends DriveKinematics {
     // This is ordered left front, left back, right front, right back. These are also normalized.
     private final Vector[] mecanumVectors;
 
+    // These are the inverses of the 2x2 matrices with the left side wheel vectors and the right side
+    // wheel vectors as columns, so solving for the wheel powers is just a multiplication. They're
+    // ordered row by row.
+    private final double[] leftInverse = new double[4];
+    private final double[] rightInverse = new double[4];
+
     /**
      * This creates a new DriveVectorScaler, which takes in various movement vectors and outputs
      * the wheel drive powers necessary to move in the intended direction, given the true movement
@@ -30,11 +40,30 @@ public class DriveVectorScaler {
                 new Vector(copiedFrontLeftVector.getMagnitude(), 2*Math.PI-copiedFrontLeftVector.getTheta()),
                 new Vector(copiedFrontLeftVector.getMagnitude(), 2*Math.PI-copiedFrontLeftVector.getTheta()),
                 new Vector(copiedFrontLeftVector.getMagnitude(), copiedFrontLeftVector.getTheta())};
+
+        invert(mecanumVectors[0], mecanumVectors[1], leftInverse);
+        invert(mecanumVectors[2], mecanumVectors[3], rightInverse);
+    }
+
+    /**
+     * This inverts the 2x2 matrix with two wheel vectors as its columns.
+     *
+     * @param first the first column.
+     * @param second the second column.
+     * @param inverse the Array to write the inverse into, row by row.
+     */
+    private static void invert(Vector first, Vector second, double[] inverse) {
+        double determinant = first.getXComponent() * second.getYComponent() - second.getXComponent() * first.getYComponent();
+        inverse[0] = second.getYComponent() / determinant;
+        inverse[1] = -second.getXComponent() / determinant;
+        inverse[2] = -first.getYComponent() / determinant;
+        inverse[3] = first.getXComponent() / determinant;
     }
 
     /**
      * This takes in vectors for corrective power, heading power, and pathing power and outputs
-     * an Array of four doubles, one for each wheel's motor power.
+     * an Array of four doubles, one for each wheel's motor power. This makes a new Array every
+     * time, so use the version that takes in an Array to write into in the control loop.
      *
      * IMPORTANT NOTE: all vector inputs are clamped between 0 and 1 inclusive in magnitude.
      *
@@ -51,102 +80,158 @@ public class DriveVectorScaler {
      * @return this returns an Array of doubles with a length of 4, which contains the wheel powers.
      */
     public double[] getDrivePowers(Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading) {
-        // clamps down the magnitudes of the input vectors
-        if (correctivePower.getMagnitude() > 1) correctivePower.setMagnitude(1);
-        if (headingPower.getMagnitude() > 1) headingPower.setMagnitude(1);
-        if (pathingPower.getMagnitude() > 1) pathingPower.setMagnitude(1);
+        return getDrivePowers(correctivePower, headingPower, pathingPower, robotHeading, new double[4]);
+    }
 
-        // the powers for the wheel vectors
-        double [] wheelPowers = new double[4];
+    /**
+     * This takes in vectors for corrective power, heading power, and pathing power and writes the
+     * wheel powers into an Array, without creating any new objects.
+     *
+     * The corrective power gets priority, then the heading power, and then the pathing power, and
+     * whatever doesn't fit is scaled down. Then, instead of rotating all four wheel vectors to the
+     * robot's heading, the two side vectors are rotated back by the heading, which only takes one
+     * sine and cosine, and multiplied by the inverse wheel matrices from the constructor.
+     *
+     * IMPORTANT NOTE: all vector inputs are clamped between 0 and 1 inclusive in magnitude.
+     *
+     * @param correctivePower this Vector includes the centrifugal force scaling Vector as well as a
+     *                        translational power Vector to correct onto the Bezier curve the Follower
+     *                        is following.
+     * @param headingPower this Vector points in the direction of the robot's current heaing, and
+     *                     the magnitude tells the robot how much it should turn and in which
+     *                     direction.
+     * @param pathingPower this Vector points in the direction the robot needs to go to continue along
+     *                     the Path.
+     * @param robotHeading this is the current heading of the robot, which is used to calculate how
+     *                     much power to allocate to each wheel.
+     * @param wheelPowers the Array to write the wheel powers into, with a length of at least 4.
+     * @return this returns the wheel powers Array that was passed in.
+     */
+    @Override
+    public double[] getDrivePowers(Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading, double[] wheelPowers) {
+        // clamps down the magnitudes of the input vectors
+        clampInputs(correctivePower, headingPower, pathingPower);
 
-        // This contains a copy of the mecanum wheel vectors
-        Vector[] mecanumVectorsCopy = new Vector[4];
+        double correctiveX = correctivePower.getXComponent();
+        double correctiveY = correctivePower.getYComponent();
+        double headingX = headingPower.getXComponent();
+        double headingY = headingPower.getYComponent();
+        double pathingX = pathingPower.getXComponent();
+        double pathingY = pathingPower.getYComponent();
 
-        // this contains the pathing vectors, one for each side (heading control requires 2)
-        Vector[] truePathingVectors = new Vector[2];
+        // these are the vectors each side of the robot should move along
+        double leftX;
+        double leftY;
+        double rightX;
+        double rightY;
 
         if (correctivePower.getMagnitude() == 1) {
             // checks for corrective power equal to 1 in magnitude. if equal to one, then set pathing power to that
-            truePathingVectors[0] = MathFunctions.copyVector(correctivePower);
-            truePathingVectors[1] = MathFunctions.copyVector(correctivePower);
+            leftX = correctiveX;
+            leftY = correctiveY;
+            rightX = correctiveX;
+            rightY = correctiveY;
         } else {
             // corrective power did not take up all the power, so add on heading power
-            Vector leftSideVector = MathFunctions.subtractVectors(correctivePower, headingPower);
-            Vector rightSideVector = MathFunctions.addVectors(correctivePower, headingPower);
+            double leftSideX = correctiveX - headingX;
+            double leftSideY = correctiveY - headingY;
+            double rightSideX = correctiveX + headingX;
+            double rightSideY = correctiveY + headingY;
 
-            if (leftSideVector.getMagnitude() > 1 || rightSideVector.getMagnitude() > 1) {
+            if (magnitude(leftSideX, leftSideY) > 1 || magnitude(rightSideX, rightSideY) > 1) {
                 //if the combined corrective and heading power is greater than 1, then scale down heading power
-                double headingScalingFactor = Math.min(findNormalizingScaling(correctivePower, headingPower), findNormalizingScaling(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, -1)));
-                truePathingVectors[0] = MathFunctions.subtractVectors(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor));
-                truePathingVectors[1] = MathFunctions.addVectors(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor));
+                double headingScalingFactor = Math.min(findNormalizingScaling(correctiveX, correctiveY, headingX, headingY), findNormalizingScaling(correctiveX, correctiveY, -headingX, -headingY));
+                leftX = correctiveX - headingX * headingScalingFactor;
+                leftY = correctiveY - headingY * headingScalingFactor;
+                rightX = correctiveX + headingX * headingScalingFactor;
+                rightY = correctiveY + headingY * headingScalingFactor;
             } else {
                 // if we're here then we can add on some drive power but scaled down to 1
-                Vector leftSideVectorWithPathing = MathFunctions.addVectors(leftSideVector, pathingPower);
-                Vector rightSideVectorWithPathing = MathFunctions.addVectors(rightSideVector, pathingPower);
+                leftX = leftSideX + pathingX;
+                leftY = leftSideY + pathingY;
+                rightX = rightSideX + pathingX;
+                rightY = rightSideY + pathingY;
 
-                if (leftSideVectorWithPathing.getMagnitude() > 1 || rightSideVectorWithPathing.getMagnitude() > 1) {
+                if (magnitude(leftX, leftY) > 1 || magnitude(rightX, rightY) > 1) {
                     // too much power now, so we scale down the pathing vector
-                    double pathingScalingFactor = Math.min(findNormalizingScaling(leftSideVector, pathingPower), findNormalizingScaling(rightSideVector, pathingPower));
-                    truePathingVectors[0] = MathFunctions.addVectors(leftSideVector, MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor));
-                    truePathingVectors[1] = MathFunctions.addVectors(rightSideVector, MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor));
-                } else {
-                    // just add the vectors together and you get the final vector
-                    truePathingVectors[0] = MathFunctions.copyVector(leftSideVectorWithPathing);
-                    truePathingVectors[1] = MathFunctions.copyVector(rightSideVectorWithPathing);
+                    double pathingScalingFactor = Math.min(findNormalizingScaling(leftSideX, leftSideY, pathingX, pathingY), findNormalizingScaling(rightSideX, rightSideY, pathingX, pathingY));
+                    leftX = leftSideX + pathingX * pathingScalingFactor;
+                    leftY = leftSideY + pathingY * pathingScalingFactor;
+                    rightX = rightSideX + pathingX * pathingScalingFactor;
+                    rightY = rightSideY + pathingY * pathingScalingFactor;
                 }
+                // otherwise just adding the vectors together gives the final vectors
             }
         }
 
-        truePathingVectors[0] = MathFunctions.scalarMultiplyVector(truePathingVectors[0], 2.0);
-        truePathingVectors[1] = MathFunctions.scalarMultiplyVector(truePathingVectors[1], 2.0);
+        // rotating the side vectors back by the heading is the same as rotating the wheel vectors to it
+        double cos = 2.0 * Math.cos(robotHeading);
+        double sin = 2.0 * Math.sin(robotHeading);
+        double robotLeftX = leftX * cos + leftY * sin;
+        double robotLeftY = leftY * cos - leftX * sin;
+        double robotRightX = rightX * cos + rightY * sin;
+        double robotRightY = rightY * cos - rightX * sin;
 
-        for (int i = 0; i < mecanumVectorsCopy.length; i++) {
-            // this copies the vectors from mecanumVectors but creates new references for them
-            mecanumVectorsCopy[i] = MathFunctions.copyVector(mecanumVectors[i]);
+        wheelPowers[0] = leftInverse[0] * robotLeftX + leftInverse[1] * robotLeftY;
+        wheelPowers[1] = leftInverse[2] * robotLeftX + leftInverse[3] * robotLeftY;
+        wheelPowers[2] = rightInverse[0] * robotRightX + rightInverse[1] * robotRightY;
+        wheelPowers[3] = rightInverse[2] * robotRightX + rightInverse[3] * robotRightY;
 
-            mecanumVectorsCopy[i].rotateVector(robotHeading);
-        }
-
-        wheelPowers[0] = (mecanumVectorsCopy[1].getXComponent()*truePathingVectors[0].getYComponent() - truePathingVectors[0].getXComponent()*mecanumVectorsCopy[1].getYComponent()) / (mecanumVectorsCopy[1].getXComponent()*mecanumVectorsCopy[0].getYComponent() - mecanumVectorsCopy[0].getXComponent()*mecanumVectorsCopy[1].getYComponent());
-        wheelPowers[1] = (mecanumVectorsCopy[0].getXComponent()*truePathingVectors[0].getYComponent() - truePathingVectors[0].getXComponent()*mecanumVectorsCopy[0].getYComponent()) / (mecanumVectorsCopy[0].getXComponent()*mecanumVectorsCopy[1].getYComponent() - mecanumVectorsCopy[1].getXComponent()*mecanumVectorsCopy[0].getYComponent());
-        wheelPowers[2] = (mecanumVectorsCopy[3].getXComponent()*truePathingVectors[1].getYComponent() - truePathingVectors[1].getXComponent()*mecanumVectorsCopy[3].getYComponent()) / (mecanumVectorsCopy[3].getXComponent()*mecanumVectorsCopy[2].getYComponent() - mecanumVectorsCopy[2].getXComponent()*mecanumVectorsCopy[3].getYComponent());
-        wheelPowers[3] = (mecanumVectorsCopy[2].getXComponent()*truePathingVectors[1].getYComponent() - truePathingVectors[1].getXComponent()*mecanumVectorsCopy[2].getYComponent()) / (mecanumVectorsCopy[2].getXComponent()*mecanumVectorsCopy[3].getYComponent() - mecanumVectorsCopy[3].getXComponent()*mecanumVectorsCopy[2].getYComponent());
-
-        double wheelPowerMax = Math.max(Math.max(Math.abs(wheelPowers[0]), Math.abs(wheelPowers[1])), Math.max(Math.abs(wheelPowers[2]), Math.abs(wheelPowers[3])));
-        if (wheelPowerMax > 1) {
-            wheelPowers[0] /= wheelPowerMax;
-            wheelPowers[1] /= wheelPowerMax;
-            wheelPowers[2] /= wheelPowerMax;
-            wheelPowers[3] /= wheelPowerMax;
-        }
+        desaturate(wheelPowers);
 
         return wheelPowers;
     }
 
     /**
-     * This takes in two Vectors, one static and one variable, and returns the scaling factor that,
-     * when multiplied to the variable Vector, results in magnitude of the sum of the static Vector
-     * and the scaled variable Vector being 1.
+     * This works out the wheel powers for a set of chassis powers. The left side pushes along the
+     * forward power minus the turning power, and the right side along the forward power plus the
+     * turning power, with both sides pushing the same amount sideways.
      *
-     * IMPORTANT NOTE: I did not intend for this to be used for anything other than the method above
-     * this one in this class, so there will be errors if you input Vectors of length greater than 1,
-     * and it will scale up the variable Vector if the magnitude of the sum of the two input Vectors
-     * isn't greater than 1. So, just don't use this elsewhere. There's gotta be a better way to do
-     * whatever you're trying to do.
+     * @param forward the forward power.
+     * @param lateral the lateral power, with left being positive.
+     * @param turn the turning power, with counterclockwise being positive.
+     * @param wheelPowers the Array to write the wheel powers into.
+     */
+    @Override
+    public void toWheelPowers(double forward, double lateral, double turn, double[] wheelPowers) {
+        double robotLeftX = 2.0 * (forward - turn);
+        double robotLeftY = 2.0 * lateral;
+        double robotRightX = 2.0 * (forward + turn);
+        double robotRightY = 2.0 * lateral;
+
+        wheelPowers[0] = leftInverse[0] * robotLeftX + leftInverse[1] * robotLeftY;
+        wheelPowers[1] = leftInverse[2] * robotLeftX + leftInverse[3] * robotLeftY;
+        wheelPowers[2] = rightInverse[0] * robotRightX + rightInverse[1] * robotRightY;
+        wheelPowers[3] = rightInverse[2] * robotRightX + rightInverse[3] * robotRightY;
+    }
+
+    /**
+     * This works out the chassis powers for a set of wheel powers. Each side pushes along the sum
+     * of its wheel vectors times their powers, and the difference between the sides is the turning.
      *
-     * I know that this is used outside of this class, however, I created this method so I get to
-     * use it if I want to. Also, it's only used once outside of the DriveVectorScaler class, and
-     * it's used to scale Vectors, as intended.
+     * @param wheelPowers the wheel powers.
+     * @param chassisPowers the Array to write the forward, lateral, and turning powers into.
+     */
+    @Override
+    public void toChassisPowers(double[] wheelPowers, double[] chassisPowers) {
+        double leftX = (wheelPowers[0] * mecanumVectors[0].getXComponent() + wheelPowers[1] * mecanumVectors[1].getXComponent()) / 2.0;
+        double leftY = (wheelPowers[0] * mecanumVectors[0].getYComponent() + wheelPowers[1] * mecanumVectors[1].getYComponent()) / 2.0;
+        double rightX = (wheelPowers[2] * mecanumVectors[2].getXComponent() + wheelPowers[3] * mecanumVectors[3].getXComponent()) / 2.0;
+        double rightY = (wheelPowers[2] * mecanumVectors[2].getYComponent() + wheelPowers[3] * mecanumVectors[3].getYComponent()) / 2.0;
+
+        chassisPowers[0] = (leftX + rightX) / 2.0;
+        chassisPowers[1] = (leftY + rightY) / 2.0;
+        chassisPowers[2] = (rightX - leftX) / 2.0;
+    }
+
+    /**
+     * This returns if the drivetrain can move sideways without turning, which a mecanum drivetrain
+     * can.
      *
-     * @param staticVector the Vector that is held constant.
-     * @param variableVector the Vector getting scaled to make the sum of the input Vectors have a
-     *                       magnitude of 1.
-     * @return returns the scaling factor for the variable Vector.
+     * @return returns true.
      */
-    public double findNormalizingScaling(Vector staticVector, Vector variableVector) {
-            double a = Math.pow(variableVector.getXComponent(), 2) + Math.pow(variableVector.getYComponent(), 2);
-            double b = staticVector.getXComponent() * variableVector.getXComponent() + staticVector.getYComponent() * variableVector.getYComponent();
-            double c = Math.pow(staticVector.getXComponent(), 2) + Math.pow(staticVector.getYComponent(), 2) - 1.0;
-            return (-b + Math.sqrt(Math.pow(b, 2) - a*c))/(a);
+    @Override
+    public boolean isHolonomic() {
+        return true;
     }
 }
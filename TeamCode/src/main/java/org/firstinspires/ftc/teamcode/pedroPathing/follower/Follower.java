@@ -26,29 +26,41 @@ import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+import com.qualcomm.robotcore.util.RobotLog;
 
 import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Localizer;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.PoseUpdater;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.BezierPoint;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MotionProfile;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathBuilder;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathCallback;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathProjection;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
 import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.CachingDcMotorEx;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.DashboardPoseTracker;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.Drawing;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.FilteredPIDFController;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.HardwareCache;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.KalmanFilter;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.LoopProfiler;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.PIDFController;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.VectorRingBuffer;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.VoltageCompensator;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Documented;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * This is the Follower class. It handles the actual following of the paths and all the on-the-fly
@@ -63,23 +75,32 @@ import java.util.List;
 public class Follower {
     private HardwareMap hardwareMap;
 
-    private DcMotorEx leftFront;
-    private DcMotorEx leftRear;
-    private DcMotorEx rightFront;
-    private DcMotorEx rightRear;
-    private List<DcMotorEx> motors;
+    private final Localizer localizer;
 
-    private DriveVectorScaler driveVectorScaler;
+    private CachingDcMotorEx leftFront;
+    private CachingDcMotorEx leftRear;
+    private CachingDcMotorEx rightFront;
+    private CachingDcMotorEx rightRear;
+    private List<CachingDcMotorEx> motors;
+
+    private DriveKinematics driveKinematics;
+    private SwerveSteering swerveSteering;
 
     private PoseUpdater poseUpdater;
     private DashboardPoseTracker dashboardPoseTracker;
+    private HardwareCache hardwareCache;
+    private long hardwareLoop;
+    private VoltageCompensator voltageCompensator;
 
-    private Pose closestPose;
+    private final Pose closestPose = new Pose();
 
     private Path currentPath;
 
     private PathChain currentPathChain;
 
+    // This is made once when following starts, for the whole PathChain, and only if useMotionProfile is on
+    private MotionProfile motionProfile;
+
     private final int BEZIER_CURVE_BINARY_STEP_LIMIT = FollowerConstants.BEZIER_CURVE_BINARY_STEP_LIMIT;
     private final int AVERAGED_VELOCITY_SAMPLE_NUMBER = FollowerConstants.AVERAGED_VELOCITY_SAMPLE_NUMBER;
 
@@ -104,15 +125,15 @@ public class Follower {
 
     private long reachedParametricPathEndTime;
 
-    private double[] drivePowers;
+    private final double[] drivePowers = new double[4];
     private double[] teleopDriveValues;
 
-    private ArrayList<Vector> velocities = new ArrayList<>();
-    private ArrayList<Vector> accelerations = new ArrayList<>();
+    private final VectorRingBuffer velocities = new VectorRingBuffer(AVERAGED_VELOCITY_SAMPLE_NUMBER, AVERAGED_VELOCITY_SAMPLE_NUMBER / 2);
+    private final VectorRingBuffer accelerations = new VectorRingBuffer(Math.max(1, AVERAGED_VELOCITY_SAMPLE_NUMBER / 2));
 
-    private Vector averageVelocity;
-    private Vector averagePreviousVelocity;
-    private Vector averageAcceleration;
+    private final Vector averageVelocity = new Vector();
+    private final Vector averagePreviousVelocity = new Vector();
+    private final Vector averageAcceleration = new Vector();
     private Vector secondaryTranslationalIntegralVector;
     private Vector translationalIntegralVector;
     private Vector teleopDriveVector;
@@ -123,6 +144,27 @@ public class Follower {
     public Vector centripetalVector;
     public Vector correctiveVector;
 
+    // These are reused every update instead of creating new Poses and Vectors
+    private final Pose currentPose = new Pose();
+    private final Vector currentVelocity = new Vector();
+    private final Vector emptyVector = new Vector();
+    private final Vector driveOutput = new Vector();
+    private final Vector headingOutput = new Vector();
+    private final Vector translationalOutput = new Vector();
+    private final Vector centripetalOutput = new Vector();
+    private final Vector correctiveOutput = new Vector();
+    private final Vector unitTangentVector = new Vector();
+    private final Vector projectionVector = new Vector();
+    private final Vector integralStepVector = new Vector();
+    private final Vector offsetVector = new Vector();
+    private final Vector distanceToGoalVector = new Vector();
+    private final Vector pathVelocityVector = new Vector();
+    private final Vector forwardHeadingVector = new Vector();
+    private final Vector lateralHeadingVector = new Vector();
+    private final Vector forwardVelocityError = new Vector();
+    private final Vector lateralVelocityError = new Vector();
+    private final Vector velocityErrorVector = new Vector();
+
     private PIDFController secondaryTranslationalPIDF = new PIDFController(FollowerConstants.secondaryTranslationalPIDFCoefficients);
     private PIDFController secondaryTranslationalIntegral = new PIDFController(FollowerConstants.secondaryTranslationalIntegral);
     private PIDFController translationalPIDF = new PIDFController(FollowerConstants.translationalPIDFCoefficients);
@@ -131,42 +173,102 @@ public class Follower {
     private PIDFController headingPIDF = new PIDFController(FollowerConstants.headingPIDFCoefficients);
     private FilteredPIDFController secondaryDrivePIDF = new FilteredPIDFController(FollowerConstants.secondaryDrivePIDFCoefficients);
     private FilteredPIDFController drivePIDF = new FilteredPIDFController(FollowerConstants.drivePIDFCoefficients);
+    private PIDFController motionProfileDrivePIDF = new PIDFController(FollowerConstants.motionProfileDrivePIDFCoefficients);
+
+    // These are the stages of update() timed by the LoopProfiler. 0 and 1 are the whole loop and
+    // the profiler itself. The localizer I/O is timed inside the PoseUpdater and taken out of the
+    // pose update, so the pose update is only the math around it.
+    private static final int LOCALIZER_STAGE = 2;
+    private static final int POSE_UPDATE_STAGE = 3;
+    private static final int CLOSEST_POINT_STAGE = 4;
+    private static final int VECTOR_STAGE = 5;
+    private static final int DRIVE_POWER_STAGE = 6;
+    private static final int MOTOR_WRITE_STAGE = 7;
+    private static final int PATH_END_STAGE = 8;
+    private static final int DASHBOARD_STAGE = 9;
+
+    private final LoopProfiler loopProfiler = new LoopProfiler(FollowerConstants.LOOP_PROFILER_SAMPLE_NUMBER,
+            "localizer I/O", "pose update", "closest point", "vectors", "drive powers", "motor writes", "path end", "dashboard");
 
     private KalmanFilter driveKalmanFilter = new KalmanFilter(FollowerConstants.driveKalmanFilterParameters);
     private double[] driveErrors;
     private double rawDriveError;
     private double previousRawDriveError;
 
+    // This is how much of the newest latency measurement goes into the averaged latency every loop
+    private final double ACTUATION_LATENCY_SMOOTHING = 0.1;
+    private double lastActuationLatency;
+    private double averageActuationLatency;
+
     public static boolean drawOnDashboard = true;
     public static boolean useTranslational = true;
     public static boolean useCentripetal = true;
     public static boolean useHeading = true;
     public static boolean useDrive = true;
 
+    // When this is on, the drive vector follows a MotionProfile of the whole Path or PathChain
+    // instead of the zero power deceleration model. The profile is made when following starts, so
+    // turning this on only changes Paths that are started after.
+    public static boolean useMotionProfile = false;
+
+    // When this is on, the pose is predicted forward by the averaged time between the localizer
+    // reading and the motor writes, so the Follower corrects for where the robot is when the powers
+    // are set instead of where it was when the localizer was read.
+    public static boolean useLatencyCompensation = false;
+
+    // When this is on, the stages of update() are timed by the LoopProfiler. Timing a loop only
+    // costs about a dozen System.nanoTime() calls, so this is left on for matches too, and
+    // writeLoopProfile() has every run. The percentiles are only shown on telemetry when
+    // showLoopProfile is on, since working those out is the expensive part.
+    public static boolean profileLoopTimes = true;
+    public static boolean showLoopProfile = false;
+
+    // This is where writeLoopProfile() puts the loop profile files on the robot.
+    public static String loopProfileFolder = "/sdcard/FIRST/pedroPathing";
+
     /**
      * This creates a new Follower given a HardwareMap.
      *
      * @param hardwareMap HardwareMap required
      */
     public Follower(HardwareMap hardwareMap) {
+        this(hardwareMap, null);
+    }
+
+    /**
+     * This creates a new Follower given a HardwareMap and a Localizer to use instead of the default
+     * one, like the SimulatedLocalizer when running in the simulator.
+     *
+     * @param hardwareMap HardwareMap required
+     * @param localizer the Localizer, or null to use the default one
+     */
+    public Follower(HardwareMap hardwareMap, Localizer localizer) {
         this.hardwareMap = hardwareMap;
+        this.localizer = localizer;
+        // Drawing.enabled is static, so a tuner that turned it on would leave it on for the next
+        // OpMode. Every OpMode that draws makes a Follower first, so it starts off again here
+        Drawing.enabled = false;
         initialize();
     }
 
     /**
      * This initializes the follower.
-     * In this, the DriveVectorScaler and PoseUpdater is instantiated, the drive motors are
+     * In this, the DriveKinematics and PoseUpdater is instantiated, the drive motors are
      * initialized and their behavior is set, and the variables involved in approximating first and
      * second derivatives for teleop are set.
      */
     public void initialize() {
-        driveVectorScaler = new DriveVectorScaler(FollowerConstants.frontLeftVector);
-        poseUpdater = new PoseUpdater(hardwareMap);
-
-        leftFront = hardwareMap.get(DcMotorEx.class, leftFrontMotorName);
-        leftRear = hardwareMap.get(DcMotorEx.class, leftRearMotorName);
-        rightRear = hardwareMap.get(DcMotorEx.class, rightRearMotorName);
-        rightFront = hardwareMap.get(DcMotorEx.class, rightFrontMotorName);
+        driveKinematics = DriveKinematics.create();
+        // only drivetrains that steer their wheels have module angles
+        if (driveKinematics.getModuleAngles() != null) swerveSteering = new SwerveSteering(hardwareMap);
+        poseUpdater = localizer != null ? new PoseUpdater(hardwareMap, localizer) : new PoseUpdater(hardwareMap);
+        hardwareCache = HardwareCache.get(hardwareMap);
+        voltageCompensator = VoltageCompensator.get(hardwareMap);
+
+        leftFront = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, leftFrontMotorName));
+        leftRear = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, leftRearMotorName));
+        rightRear = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, rightRearMotorName));
+        rightFront = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, rightFrontMotorName));
 
         leftFront.setDirection(DcMotorSimple.Direction.REVERSE);
         leftRear.setDirection(DcMotorSimple.Direction.REVERSE);
@@ -362,7 +464,7 @@ public class Follower {
         followingPathChain = false;
         currentPath = new Path(point);
         currentPath.setConstantHeadingInterpolation(heading);
-        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), 1);
+        currentPath.getClosestPoint(poseUpdater.getPose(), 1, closestPose);
     }
 
     /**
@@ -396,7 +498,8 @@ public class Follower {
         isBusy = true;
         followingPathChain = false;
         currentPath = path;
-        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT);
+        currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT, closestPose);
+        if (useMotionProfile) createMotionProfile(new PathChain(path));
     }
 
     /**
@@ -418,13 +521,28 @@ public class Follower {
         breakFollowing();
         holdPositionAtEnd = holdEnd;
         pathStartTimes = new long[pathChain.size()];
-        pathStartTimes[0] = System.currentTimeMillis();
+        pathStartTimes[0] = Clock.currentTimeMillis();
         isBusy = true;
         followingPathChain = true;
         chainIndex = 0;
         currentPathChain = pathChain;
         currentPath = pathChain.getPath(chainIndex);
-        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT);
+        currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT, closestPose);
+        if (useMotionProfile) createMotionProfile(pathChain);
+    }
+
+    /**
+     * This makes the MotionProfile for everything that's about to be followed, so the robot
+     * doesn't slow down between the Paths of a PathChain. The profile starts at however fast the
+     * robot is already going along the start of the first Path, so a PathChain that's started
+     * while moving doesn't brake to a stop first.
+     *
+     * @param pathChain the PathChain that's about to be followed.
+     */
+    private void createMotionProfile(PathChain pathChain) {
+        currentPath.getProjection().getUnitTangent(unitTangentVector);
+        double startVelocity = MathFunctions.dotProduct(poseUpdater.getVelocity(currentVelocity), unitTangentVector);
+        motionProfile = new MotionProfile(pathChain, FollowerConstants.motionProfileMaxVelocity, FollowerConstants.motionProfileMaxAcceleration, FollowerConstants.motionProfileMaxCentripetalAcceleration, startVelocity, 0);
     }
 
     /**
@@ -448,10 +566,17 @@ public class Follower {
      * Calls an update to the PoseUpdater, which updates the robot's current position estimate.
      */
     public void updatePose() {
+        if (profileLoopTimes) loopProfiler.mark();
         poseUpdater.update();
 
+        if (profileLoopTimes) {
+            loopProfiler.addTime(LOCALIZER_STAGE, poseUpdater.getLocalizerUpdateTime());
+            loopProfiler.lap(POSE_UPDATE_STAGE);
+        }
+
         if (drawOnDashboard) {
             dashboardPoseTracker.update();
+            if (profileLoopTimes) loopProfiler.lap(DASHBOARD_STAGE);
         }
     }
 
@@ -460,53 +585,72 @@ public class Follower {
      * This also updates all the Follower's PIDFs, which updates the motor powers.
      */
     public void update() {
+        if (profileLoopTimes) loopProfiler.startLoop();
+
+        hardwareLoop = hardwareCache.startLoopIfNeeded(hardwareLoop);
+        if (swerveSteering != null) driveKinematics.setMeasuredModuleAngles(swerveSteering.getModuleAngles());
+        poseUpdater.setPredictionTime(useLatencyCompensation ? averageActuationLatency + FollowerConstants.latencyCompensationOffset / 1000 : 0);
         updatePose();
 
         if (!teleopDrive) {
             if (currentPath != null) {
                 if (holdingPosition) {
-                    closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), 1);
+                    currentPath.getClosestPoint(poseUpdater.getPose(currentPose), 1, closestPose);
+                    if (profileLoopTimes) loopProfiler.lap(CLOSEST_POINT_STAGE);
+
+                    Vector translationalCorrection = calculateTranslationalCorrection();
+                    translationalCorrection.scalarMultiplyInPlace(holdPointTranslationalScaling);
+                    Vector headingCorrection = calculateHeadingVector();
+                    headingCorrection.scalarMultiplyInPlace(holdPointHeadingScaling);
+                    emptyVector.setComponents(0, 0);
+                    if (profileLoopTimes) loopProfiler.lap(VECTOR_STAGE);
 
-                    drivePowers = driveVectorScaler.getDrivePowers(MathFunctions.scalarMultiplyVector(getTranslationalCorrection(), holdPointTranslationalScaling), MathFunctions.scalarMultiplyVector(getHeadingVector(), holdPointHeadingScaling), new Vector(), poseUpdater.getPose().getHeading());
+                    driveKinematics.getDrivePowers(translationalCorrection, headingCorrection, emptyVector, currentPose.getHeading(), drivePowers);
 
                     limitDrivePowers();
+                    if (profileLoopTimes) loopProfiler.lap(DRIVE_POWER_STAGE);
 
-                    for (int i = 0; i < motors.size(); i++) {
-                        motors.get(i).setPower(drivePowers[i]);
-                    }
+                    writeDrivePowers();
+                    if (profileLoopTimes) loopProfiler.lap(MOTOR_WRITE_STAGE);
                 } else {
                     if (isBusy) {
-                        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT);
+                        currentPath.getClosestPoint(poseUpdater.getPose(currentPose), BEZIER_CURVE_BINARY_STEP_LIMIT, closestPose);
+                        if (profileLoopTimes) loopProfiler.lap(CLOSEST_POINT_STAGE);
 
                         if (followingPathChain) updateCallbacks();
 
-                        drivePowers = driveVectorScaler.getDrivePowers(getCorrectiveVector(), getHeadingVector(), getDriveVector(), poseUpdater.getPose().getHeading());
+                        Vector correctivePower = calculateCorrectiveVector();
+                        Vector headingPower = calculateHeadingVector();
+                        Vector pathingPower = calculateDriveVector();
+                        if (profileLoopTimes) loopProfiler.lap(VECTOR_STAGE);
+
+                        driveKinematics.getDrivePowers(correctivePower, headingPower, pathingPower, poseUpdater.getPose(currentPose).getHeading(), drivePowers);
 
                         limitDrivePowers();
+                        if (profileLoopTimes) loopProfiler.lap(DRIVE_POWER_STAGE);
 
-                        for (int i = 0; i < motors.size(); i++) {
-                            motors.get(i).setPower(drivePowers[i]);
-                        }
+                        writeDrivePowers();
+                        if (profileLoopTimes) loopProfiler.lap(MOTOR_WRITE_STAGE);
                     }
                     if (currentPath.isAtParametricEnd()) {
                         if (followingPathChain && chainIndex < currentPathChain.size() - 1) {
                             // Not at last path, keep going
                             breakFollowing();
-                            pathStartTimes[chainIndex] = System.currentTimeMillis();
+                            pathStartTimes[chainIndex] = Clock.currentTimeMillis();
                             isBusy = true;
                             followingPathChain = true;
                             chainIndex++;
                             currentPath = currentPathChain.getPath(chainIndex);
-                            closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT);
+                            currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_BINARY_STEP_LIMIT, closestPose);
                         } else {
                             // At last path, run some end detection stuff
                             // set isBusy to false if at end
                             if (!reachedParametricPathEnd) {
                                 reachedParametricPathEnd = true;
-                                reachedParametricPathEndTime = System.currentTimeMillis();
+                                reachedParametricPathEndTime = Clock.currentTimeMillis();
                             }
 
-                            if ((System.currentTimeMillis() - reachedParametricPathEndTime > currentPath.getPathEndTimeoutConstraint()) || (poseUpdater.getVelocity().getMagnitude() < currentPath.getPathEndVelocityConstraint() && MathFunctions.distance(poseUpdater.getPose(), closestPose) < currentPath.getPathEndTranslationalConstraint() && MathFunctions.getSmallestAngleDifference(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()) < currentPath.getPathEndHeadingConstraint())) {
+                            if ((Clock.currentTimeMillis() - reachedParametricPathEndTime > currentPath.getPathEndTimeoutConstraint()) || (poseUpdater.getVelocity().getMagnitude() < currentPath.getPathEndVelocityConstraint() && MathFunctions.distance(poseUpdater.getPose(), closestPose) < currentPath.getPathEndTranslationalConstraint() && MathFunctions.getSmallestAngleDifference(poseUpdater.getPose().getHeading(), currentPath.getProjection().getHeadingGoal()) < currentPath.getPathEndHeadingConstraint())) {
                                 if (holdPositionAtEnd) {
                                     holdPositionAtEnd = false;
                                     holdPoint(new BezierPoint(currentPath.getLastControlPoint()), currentPath.getHeadingGoal(1));
@@ -516,21 +660,44 @@ public class Follower {
                             }
                         }
                     }
+                    if (profileLoopTimes) loopProfiler.lap(PATH_END_STAGE);
                 }
             }
         } else {
-            velocities.add(poseUpdater.getVelocity());
-            velocities.remove(velocities.get(velocities.size() - 1));
+            poseUpdater.getVelocity(currentVelocity);
+            velocities.add(currentVelocity.getXComponent(), currentVelocity.getYComponent());
 
             calculateAveragedVelocityAndAcceleration();
 
-            drivePowers = driveVectorScaler.getDrivePowers(getCentripetalForceCorrection(), teleopHeadingVector, teleopDriveVector, poseUpdater.getPose().getHeading());
+            Vector centripetalPower = calculateCentripetalForceCorrection();
+            if (profileLoopTimes) loopProfiler.lap(VECTOR_STAGE);
+
+            driveKinematics.getDrivePowers(centripetalPower, teleopHeadingVector, teleopDriveVector, poseUpdater.getPose(currentPose).getHeading(), drivePowers);
 
             limitDrivePowers();
+            if (profileLoopTimes) loopProfiler.lap(DRIVE_POWER_STAGE);
 
-            for (int i = 0; i < motors.size(); i++) {
-                motors.get(i).setPower(drivePowers[i]);
-            }
+            writeDrivePowers();
+            if (profileLoopTimes) loopProfiler.lap(MOTOR_WRITE_STAGE);
+        }
+    }
+
+    /**
+     * This sets the drive motors to the drive powers, scaled for the battery voltage, and measures
+     * how long it's been since the localizer reading the powers were calculated from was taken.
+     */
+    private void writeDrivePowers() {
+        voltageCompensator.compensate(drivePowers);
+        for (int i = 0; i < motors.size(); i++) {
+            motors.get(i).setPower(drivePowers[i]);
+        }
+        if (swerveSteering != null) swerveSteering.setTargetAngles(driveKinematics.getModuleAngles());
+
+        lastActuationLatency = (Clock.nanoTime() - poseUpdater.getSampleTime()) / Math.pow(10.0, 9);
+        if (averageActuationLatency == 0) {
+            averageActuationLatency = lastActuationLatency;
+        } else {
+            averageActuationLatency += ACTUATION_LATENCY_SMOOTHING * (lastActuationLatency - averageActuationLatency);
         }
     }
 
@@ -573,31 +740,18 @@ public class Follower {
 
     /**
      * This calculates an averaged approximate velocity and acceleration. This is used for a
-     * real-time correction of centripetal force, which is used in teleop.
+     * real-time correction of centripetal force, which is used in teleop. The velocity is the
+     * average of the newest half of the recorded velocities, and the acceleration is the average
+     * difference between that and the average of the older half. Both are kept as running sums in
+     * ring buffers, so this takes the same time no matter how many samples are averaged.
      */
     public void calculateAveragedVelocityAndAcceleration() {
-        averageVelocity = new Vector();
-        averagePreviousVelocity = new Vector();
-
-        for (int i = 0; i < velocities.size() / 2; i++) {
-            averageVelocity = MathFunctions.addVectors(averageVelocity, velocities.get(i));
-        }
-        averageVelocity = MathFunctions.scalarMultiplyVector(averageVelocity, 1.0 / ((double) velocities.size() / 2));
-
-        for (int i = velocities.size() / 2; i < velocities.size(); i++) {
-            averagePreviousVelocity = MathFunctions.addVectors(averagePreviousVelocity, velocities.get(i));
-        }
-        averagePreviousVelocity = MathFunctions.scalarMultiplyVector(averagePreviousVelocity, 1.0 / ((double) velocities.size() / 2));
+        averageVelocity.setOrthogonalComponents(velocities.getRecentAverageX(), velocities.getRecentAverageY());
+        averagePreviousVelocity.setOrthogonalComponents(velocities.getOlderAverageX(), velocities.getOlderAverageY());
 
-        accelerations.add(MathFunctions.subtractVectors(averageVelocity, averagePreviousVelocity));
-        accelerations.remove(accelerations.size() - 1);
+        accelerations.add(averageVelocity.getXComponent() - averagePreviousVelocity.getXComponent(), averageVelocity.getYComponent() - averagePreviousVelocity.getYComponent());
 
-        averageAcceleration = new Vector();
-
-        for (int i = 0; i < accelerations.size(); i++) {
-            averageAcceleration = MathFunctions.addVectors(averageAcceleration, accelerations.get(i));
-        }
-        averageAcceleration = MathFunctions.scalarMultiplyVector(averageAcceleration, 1.0 / accelerations.size());
+        averageAcceleration.setOrthogonalComponents(accelerations.getAverageX(), accelerations.getAverageY());
     }
 
     /**
@@ -613,7 +767,7 @@ public class Follower {
                     }
                 } else {
                     // time based call back
-                    if (chainIndex >= callback.getIndex() && System.currentTimeMillis() - pathStartTimes[callback.getIndex()] > callback.getStartCondition()) {
+                    if (chainIndex >= callback.getIndex() && Clock.currentTimeMillis() - pathStartTimes[callback.getIndex()] > callback.getStartCondition()) {
                         callback.run();
                     }
 
@@ -630,8 +784,10 @@ public class Follower {
         holdingPosition = false;
         isBusy = false;
         reachedParametricPathEnd = false;
+        motionProfile = null;
         secondaryDrivePIDF.reset();
         drivePIDF.reset();
+        motionProfileDrivePIDF.reset();
         secondaryHeadingPIDF.reset();
         headingPIDF.reset();
         secondaryTranslationalPIDF.reset();
@@ -657,12 +813,8 @@ public class Follower {
         }
         driveKalmanFilter.reset();
 
-        for (int i = 0; i < AVERAGED_VELOCITY_SAMPLE_NUMBER; i++) {
-            velocities.add(new Vector());
-        }
-        for (int i = 0; i < AVERAGED_VELOCITY_SAMPLE_NUMBER / 2; i++) {
-            accelerations.add(new Vector());
-        }
+        velocities.clear();
+        accelerations.clear();
         calculateAveragedVelocityAndAcceleration();
         teleopDriveValues = new double[3];
         teleopDriveVector = new Vector();
@@ -671,6 +823,7 @@ public class Follower {
         for (int i = 0; i < motors.size(); i++) {
             motors.get(i).setPower(0);
         }
+        if (swerveSteering != null) swerveSteering.stop();
     }
 
     /**
@@ -691,22 +844,68 @@ public class Follower {
      * @return returns the drive vector.
      */
     public Vector getDriveVector() {
-        if (!useDrive) return new Vector();
+        return MathFunctions.copyVector(calculateDriveVector());
+    }
+
+    /**
+     * This calculates the drive vector without creating any new Vectors. The returned Vector is
+     * reused by the Follower, so it should be used before the next update and not held onto.
+     *
+     * @return returns the drive vector.
+     */
+    private Vector calculateDriveVector() {
+        if (!useDrive) {
+            driveOutput.setComponents(0, 0);
+            return driveOutput;
+        }
+        if (motionProfile != null) return calculateMotionProfileDriveVector();
+
         if (followingPathChain && chainIndex < currentPathChain.size() - 1) {
-            return new Vector(1, currentPath.getClosestPointTangentVector().getTheta());
+            driveOutput.setComponents(1, currentPath.getProjection().getTangentTheta());
+            return driveOutput;
         }
 
         driveError = getDriveVelocityError();
+        double tangentTheta = currentPath.getProjection().getTangentTheta();
 
         if (Math.abs(driveError) < drivePIDFSwitch && useSecondaryDrivePID) {
             secondaryDrivePIDF.updateError(driveError);
-            driveVector = new Vector(MathFunctions.clamp(secondaryDrivePIDF.runPIDF() + secondaryDrivePIDFFeedForward * MathFunctions.getSign(driveError), -1, 1), currentPath.getClosestPointTangentVector().getTheta());
-            return MathFunctions.copyVector(driveVector);
+            driveVector.setComponents(MathFunctions.clamp(secondaryDrivePIDF.runPIDF() + secondaryDrivePIDFFeedForward * MathFunctions.getSign(driveError), -1, 1), tangentTheta);
+        } else {
+            drivePIDF.updateError(driveError);
+            driveVector.setComponents(MathFunctions.clamp(drivePIDF.runPIDF() + drivePIDFFeedForward * MathFunctions.getSign(driveError), -1, 1), tangentTheta);
         }
 
-        drivePIDF.updateError(driveError);
-        driveVector = new Vector(MathFunctions.clamp(drivePIDF.runPIDF() + drivePIDFFeedForward * MathFunctions.getSign(driveError), -1, 1), currentPath.getClosestPointTangentVector().getTheta());
-        return MathFunctions.copyVector(driveVector);
+        driveOutput.set(driveVector);
+        return driveOutput;
+    }
+
+    /**
+     * This calculates the drive vector from the MotionProfile of the PathChain being followed. The
+     * closest point is turned into a distance along the whole PathChain, and the velocity and
+     * acceleration from the MotionProfile there are turned into power with feed forward. A PIDF
+     * corrects for the difference between that velocity and the actual velocity along the Path.
+     * The returned Vector is reused by the Follower, so it should be used before the next update
+     * and not held onto.
+     *
+     * @return returns the drive vector.
+     */
+    private Vector calculateMotionProfileDriveVector() {
+        PathProjection projection = currentPath.getProjection();
+        int pathIndex = followingPathChain ? chainIndex : 0;
+
+        double distance = motionProfile.getPathEndDistance(pathIndex) - projection.getRemainingArcLength();
+        double velocityGoal = motionProfile.getVelocityAtDistance(distance);
+        double accelerationGoal = motionProfile.getAccelerationAtDistance(distance);
+
+        projection.getUnitTangent(unitTangentVector);
+        driveError = velocityGoal - MathFunctions.dotProduct(poseUpdater.getVelocity(currentVelocity), unitTangentVector);
+        motionProfileDrivePIDF.updateError(driveError);
+
+        driveVector.setComponents(MathFunctions.clamp(FollowerConstants.motionProfileVelocityFeedForward * velocityGoal + FollowerConstants.motionProfileAccelerationFeedForward * accelerationGoal + motionProfileDrivePIDF.runPIDF(), -1, 1), projection.getTangentTheta());
+
+        driveOutput.set(driveVector);
+        return driveOutput;
     }
 
     /**
@@ -716,36 +915,39 @@ public class Follower {
      * @return returns the projected velocity.
      */
     public double getDriveVelocityError() {
+        poseUpdater.getPose(currentPose);
+        PathProjection closestPointProjection = currentPath.getProjection();
+
         double distanceToGoal;
-        if (!currentPath.isAtParametricEnd()) {
-            distanceToGoal = currentPath.length() * (1 - currentPath.getClosestPointTValue());
+        if (!closestPointProjection.isAtParametricEnd()) {
+            distanceToGoal = closestPointProjection.getDistanceToEnd();
         } else {
-            Vector offset = new Vector();
-            offset.setOrthogonalComponents(getPose().getX() - currentPath.getLastControlPoint().getX(), getPose().getY() - currentPath.getLastControlPoint().getY());
-            distanceToGoal = MathFunctions.dotProduct(currentPath.getEndTangent(), offset);
+            offsetVector.setOrthogonalComponents(currentPose.getX() - currentPath.getLastControlPoint().getX(), currentPose.getY() - currentPath.getLastControlPoint().getY());
+            distanceToGoal = MathFunctions.dotProduct(currentPath.getEndTangent(), offsetVector);
         }
 
-        Vector distanceToGoalVector = MathFunctions.scalarMultiplyVector(MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector()), distanceToGoal);
-        Vector velocity = new Vector(MathFunctions.dotProduct(getVelocity(), MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta());
+        closestPointProjection.getUnitTangent(unitTangentVector);
+        MathFunctions.scalarMultiplyVector(unitTangentVector, distanceToGoal, distanceToGoalVector);
+        pathVelocityVector.setComponents(MathFunctions.dotProduct(poseUpdater.getVelocity(currentVelocity), unitTangentVector), closestPointProjection.getTangentTheta());
 
-        Vector forwardHeadingVector = new Vector(1.0, poseUpdater.getPose().getHeading());
-        double forwardVelocity = MathFunctions.dotProduct(forwardHeadingVector, velocity);
+        forwardHeadingVector.setComponents(1.0, currentPose.getHeading());
+        double forwardVelocity = MathFunctions.dotProduct(forwardHeadingVector, pathVelocityVector);
         double forwardDistanceToGoal = MathFunctions.dotProduct(forwardHeadingVector, distanceToGoalVector);
         double forwardVelocityGoal = MathFunctions.getSign(forwardDistanceToGoal) * Math.sqrt(Math.abs(-2 * currentPath.getZeroPowerAccelerationMultiplier() * forwardZeroPowerAcceleration * forwardDistanceToGoal));
         double forwardVelocityZeroPowerDecay = forwardVelocity - MathFunctions.getSign(forwardDistanceToGoal) * Math.sqrt(Math.abs(Math.pow(forwardVelocity, 2) + 2 * forwardZeroPowerAcceleration * forwardDistanceToGoal));
 
-        Vector lateralHeadingVector = new Vector(1.0, poseUpdater.getPose().getHeading() - Math.PI / 2);
-        double lateralVelocity = MathFunctions.dotProduct(lateralHeadingVector, velocity);
+        lateralHeadingVector.setComponents(1.0, currentPose.getHeading() - Math.PI / 2);
+        double lateralVelocity = MathFunctions.dotProduct(lateralHeadingVector, pathVelocityVector);
         double lateralDistanceToGoal = MathFunctions.dotProduct(lateralHeadingVector, distanceToGoalVector);
         double lateralVelocityGoal = MathFunctions.getSign(lateralDistanceToGoal) * Math.sqrt(Math.abs(-2 * currentPath.getZeroPowerAccelerationMultiplier() * lateralZeroPowerAcceleration * lateralDistanceToGoal));
         double lateralVelocityZeroPowerDecay = lateralVelocity - MathFunctions.getSign(lateralDistanceToGoal) * Math.sqrt(Math.abs(Math.pow(lateralVelocity, 2) + 2 * lateralZeroPowerAcceleration * lateralDistanceToGoal));
 
-        Vector forwardVelocityError = new Vector(forwardVelocityGoal - forwardVelocityZeroPowerDecay - forwardVelocity, forwardHeadingVector.getTheta());
-        Vector lateralVelocityError = new Vector(lateralVelocityGoal - lateralVelocityZeroPowerDecay - lateralVelocity, lateralHeadingVector.getTheta());
-        Vector velocityErrorVector = MathFunctions.addVectors(forwardVelocityError, lateralVelocityError);
+        forwardVelocityError.setComponents(forwardVelocityGoal - forwardVelocityZeroPowerDecay - forwardVelocity, forwardHeadingVector.getTheta());
+        lateralVelocityError.setComponents(lateralVelocityGoal - lateralVelocityZeroPowerDecay - lateralVelocity, lateralHeadingVector.getTheta());
+        MathFunctions.addVectors(forwardVelocityError, lateralVelocityError, velocityErrorVector);
 
         previousRawDriveError = rawDriveError;
-        rawDriveError = velocityErrorVector.getMagnitude() * MathFunctions.getSign(MathFunctions.dotProduct(velocityErrorVector, currentPath.getClosestPointTangentVector()));
+        rawDriveError = velocityErrorVector.getMagnitude() * MathFunctions.getSign(MathFunctions.dotProduct(velocityErrorVector, unitTangentVector));
 
         double projection = 2 * driveErrors[1] - driveErrors[0];
 
@@ -770,16 +972,33 @@ public class Follower {
      * @return returns the heading vector.
      */
     public Vector getHeadingVector() {
-        if (!useHeading) return new Vector();
-        headingError = MathFunctions.getTurnDirection(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()) * MathFunctions.getSmallestAngleDifference(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal());
+        return MathFunctions.copyVector(calculateHeadingVector());
+    }
+
+    /**
+     * This calculates the heading vector without creating any new Vectors. The returned Vector is
+     * reused by the Follower, so it should be used before the next update and not held onto.
+     *
+     * @return returns the heading vector.
+     */
+    private Vector calculateHeadingVector() {
+        if (!useHeading) {
+            headingOutput.setComponents(0, 0);
+            return headingOutput;
+        }
+        double heading = poseUpdater.getPose(currentPose).getHeading();
+        double headingGoal = currentPath.getProjection().getHeadingGoal();
+        headingError = MathFunctions.getTurnDirection(heading, headingGoal) * MathFunctions.getSmallestAngleDifference(heading, headingGoal);
         if (Math.abs(headingError) < headingPIDFSwitch && useSecondaryHeadingPID) {
             secondaryHeadingPIDF.updateError(headingError);
-            headingVector = new Vector(MathFunctions.clamp(secondaryHeadingPIDF.runPIDF() + secondaryHeadingPIDFFeedForward * MathFunctions.getTurnDirection(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()), -1, 1), poseUpdater.getPose().getHeading());
-            return MathFunctions.copyVector(headingVector);
+            headingVector.setComponents(MathFunctions.clamp(secondaryHeadingPIDF.runPIDF() + secondaryHeadingPIDFFeedForward * MathFunctions.getTurnDirection(heading, headingGoal), -1, 1), heading);
+        } else {
+            headingPIDF.updateError(headingError);
+            headingVector.setComponents(MathFunctions.clamp(headingPIDF.runPIDF() + headingPIDFFeedForward * MathFunctions.getTurnDirection(heading, headingGoal), -1, 1), heading);
         }
-        headingPIDF.updateError(headingError);
-        headingVector = new Vector(MathFunctions.clamp(headingPIDF.runPIDF() + headingPIDFFeedForward * MathFunctions.getTurnDirection(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()), -1, 1), poseUpdater.getPose().getHeading());
-        return MathFunctions.copyVector(headingVector);
+
+        headingOutput.set(headingVector);
+        return headingOutput;
     }
 
     /**
@@ -791,17 +1010,29 @@ public class Follower {
      * @return returns the corrective vector.
      */
     public Vector getCorrectiveVector() {
-        Vector centripetal = getCentripetalForceCorrection();
-        Vector translational = getTranslationalCorrection();
-        Vector corrective = MathFunctions.addVectors(centripetal, translational);
+        return MathFunctions.copyVector(calculateCorrectiveVector());
+    }
 
-        if (corrective.getMagnitude() > 1) {
-            return MathFunctions.addVectors(centripetal, MathFunctions.scalarMultiplyVector(translational, driveVectorScaler.findNormalizingScaling(centripetal, translational)));
+    /**
+     * This calculates the corrective vector without creating any new Vectors. The returned Vector
+     * is reused by the Follower, so it should be used before the next update and not held onto.
+     *
+     * @return returns the corrective vector.
+     */
+    private Vector calculateCorrectiveVector() {
+        Vector centripetal = calculateCentripetalForceCorrection();
+        Vector translational = calculateTranslationalCorrection();
+        MathFunctions.addVectors(centripetal, translational, correctiveOutput);
+
+        if (correctiveOutput.getMagnitude() > 1) {
+            MathFunctions.scalarMultiplyVector(translational, driveKinematics.findNormalizingScaling(centripetal, translational), correctiveOutput);
+            correctiveOutput.addInPlace(centripetal);
+            return correctiveOutput;
         }
 
-        correctiveVector = MathFunctions.copyVector(corrective);
+        correctiveVector.set(correctiveOutput);
 
-        return corrective;
+        return correctiveOutput;
     }
 
     /**
@@ -813,42 +1044,71 @@ public class Follower {
      * @return returns the translational correction vector.
      */
     public Vector getTranslationalCorrection() {
-        if (!useTranslational) return new Vector();
-        Vector translationalVector = new Vector();
-        double x = closestPose.getX() - poseUpdater.getPose().getX();
-        double y = closestPose.getY() - poseUpdater.getPose().getY();
-        translationalVector.setOrthogonalComponents(x, y);
-
-        if (!(currentPath.isAtParametricEnd() || currentPath.isAtParametricStart())) {
-            translationalVector = MathFunctions.subtractVectors(translationalVector, new Vector(MathFunctions.dotProduct(translationalVector, MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta()));
+        return MathFunctions.copyVector(calculateTranslationalCorrection());
+    }
 
-            secondaryTranslationalIntegralVector = MathFunctions.subtractVectors(secondaryTranslationalIntegralVector, new Vector(MathFunctions.dotProduct(secondaryTranslationalIntegralVector, MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta()));
-            translationalIntegralVector = MathFunctions.subtractVectors(translationalIntegralVector, new Vector(MathFunctions.dotProduct(translationalIntegralVector, MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta()));
+    /**
+     * This calculates the translational correction vector without creating any new Vectors. The
+     * returned Vector is reused by the Follower, so it should be used before the next update and
+     * not held onto.
+     *
+     * @return returns the translational correction vector.
+     */
+    private Vector calculateTranslationalCorrection() {
+        if (!useTranslational) {
+            translationalOutput.setComponents(0, 0);
+            return translationalOutput;
+        }
+        poseUpdater.getPose(currentPose);
+        double x = closestPose.getX() - currentPose.getX();
+        double y = closestPose.getY() - currentPose.getY();
+        translationalOutput.setOrthogonalComponents(x, y);
+
+        PathProjection projection = currentPath.getProjection();
+        if (!(projection.isAtParametricEnd() || projection.isAtParametricStart())) {
+            projection.getUnitTangent(unitTangentVector);
+
+            removeTangentialComponent(translationalOutput);
+            removeTangentialComponent(secondaryTranslationalIntegralVector);
+            removeTangentialComponent(translationalIntegralVector);
         }
 
-        if (MathFunctions.distance(poseUpdater.getPose(), closestPose) < translationalPIDFSwitch && useSecondaryTranslationalPID) {
-            secondaryTranslationalIntegral.updateError(translationalVector.getMagnitude());
-            secondaryTranslationalIntegralVector = MathFunctions.addVectors(secondaryTranslationalIntegralVector, new Vector(secondaryTranslationalIntegral.runPIDF() - previousSecondaryTranslationalIntegral, translationalVector.getTheta()));
+        if (MathFunctions.distance(currentPose, closestPose) < translationalPIDFSwitch && useSecondaryTranslationalPID) {
+            secondaryTranslationalIntegral.updateError(translationalOutput.getMagnitude());
+            integralStepVector.setComponents(secondaryTranslationalIntegral.runPIDF() - previousSecondaryTranslationalIntegral, translationalOutput.getTheta());
+            secondaryTranslationalIntegralVector.addInPlace(integralStepVector);
             previousSecondaryTranslationalIntegral = secondaryTranslationalIntegral.runPIDF();
 
-            secondaryTranslationalPIDF.updateError(translationalVector.getMagnitude());
-            translationalVector.setMagnitude(secondaryTranslationalPIDF.runPIDF() + secondaryTranslationalPIDFFeedForward);
-            translationalVector = MathFunctions.addVectors(translationalVector, secondaryTranslationalIntegralVector);
+            secondaryTranslationalPIDF.updateError(translationalOutput.getMagnitude());
+            translationalOutput.setMagnitude(secondaryTranslationalPIDF.runPIDF() + secondaryTranslationalPIDFFeedForward);
+            translationalOutput.addInPlace(secondaryTranslationalIntegralVector);
         } else {
-            translationalIntegral.updateError(translationalVector.getMagnitude());
-            translationalIntegralVector = MathFunctions.addVectors(translationalIntegralVector, new Vector(translationalIntegral.runPIDF() - previousTranslationalIntegral, translationalVector.getTheta()));
+            translationalIntegral.updateError(translationalOutput.getMagnitude());
+            integralStepVector.setComponents(translationalIntegral.runPIDF() - previousTranslationalIntegral, translationalOutput.getTheta());
+            translationalIntegralVector.addInPlace(integralStepVector);
             previousTranslationalIntegral = translationalIntegral.runPIDF();
 
-            translationalPIDF.updateError(translationalVector.getMagnitude());
-            translationalVector.setMagnitude(translationalPIDF.runPIDF() + translationalPIDFFeedForward);
-            translationalVector = MathFunctions.addVectors(translationalVector, translationalIntegralVector);
+            translationalPIDF.updateError(translationalOutput.getMagnitude());
+            translationalOutput.setMagnitude(translationalPIDF.runPIDF() + translationalPIDFFeedForward);
+            translationalOutput.addInPlace(translationalIntegralVector);
         }
 
-        translationalVector.setMagnitude(MathFunctions.clamp(translationalVector.getMagnitude(), 0, 1));
+        translationalOutput.setMagnitude(MathFunctions.clamp(translationalOutput.getMagnitude(), 0, 1));
 
-        this.translationalVector = MathFunctions.copyVector(translationalVector);
+        this.translationalVector.set(translationalOutput);
 
-        return translationalVector;
+        return translationalOutput;
+    }
+
+    /**
+     * This removes the component of a Vector that is along the closest point tangent, in place.
+     * The unit tangent Vector must already be calculated.
+     *
+     * @param vector the Vector to remove the tangential component from.
+     */
+    private void removeTangentialComponent(Vector vector) {
+        MathFunctions.scalarMultiplyVector(unitTangentVector, MathFunctions.dotProduct(vector, unitTangentVector), projectionVector);
+        vector.subtractInPlace(projectionVector);
     }
 
     /**
@@ -873,24 +1133,45 @@ public class Follower {
      * @return returns the centripetal force correction vector.
      */
     public Vector getCentripetalForceCorrection() {
-        if (!useCentripetal) return new Vector();
+        return MathFunctions.copyVector(calculateCentripetalForceCorrection());
+    }
+
+    /**
+     * This calculates the centripetal force correction vector without creating any new Vectors.
+     * The returned Vector is reused by the Follower, so it should be used before the next update
+     * and not held onto.
+     *
+     * @return returns the centripetal force correction vector.
+     */
+    private Vector calculateCentripetalForceCorrection() {
+        if (!useCentripetal) {
+            centripetalOutput.setComponents(0, 0);
+            return centripetalOutput;
+        }
+        PathProjection projection = currentPath.getProjection();
         double curvature;
         if (!teleopDrive) {
-            curvature = currentPath.getClosestPointCurvature();
+            curvature = projection.getCurvature();
         } else {
             double yPrime = averageVelocity.getYComponent() / averageVelocity.getXComponent();
             double yDoublePrime = averageAcceleration.getYComponent() / averageVelocity.getXComponent();
             curvature = (yDoublePrime) / (Math.pow(Math.sqrt(1 + Math.pow(yPrime, 2)), 3));
         }
-        if (Double.isNaN(curvature)) return new Vector();
-        centripetalVector = new Vector(MathFunctions.clamp(FollowerConstants.centripetalScaling * FollowerConstants.mass * Math.pow(MathFunctions.dotProduct(poseUpdater.getVelocity(), MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), 2) * curvature, -1, 1), currentPath.getClosestPointTangentVector().getTheta() + Math.PI / 2 * MathFunctions.getSign(currentPath.getClosestPointNormalVector().getTheta()));
-        return centripetalVector;
+        if (Double.isNaN(curvature)) {
+            centripetalOutput.setComponents(0, 0);
+            return centripetalOutput;
+        }
+        projection.getUnitTangent(unitTangentVector);
+        centripetalVector.setComponents(MathFunctions.clamp(FollowerConstants.centripetalScaling * FollowerConstants.mass * Math.pow(MathFunctions.dotProduct(poseUpdater.getVelocity(currentVelocity), unitTangentVector), 2) * curvature, -1, 1), projection.getTangentTheta() + Math.PI / 2 * MathFunctions.getSign(projection.getNormalTheta()));
+        centripetalOutput.set(centripetalVector);
+        return centripetalOutput;
     }
 
     /**
      * This returns the closest pose to the robot on the Path the Follower is currently following.
      * This closest pose is calculated through a binary search method with some specified number of
-     * steps to search. By default, 10 steps are used, which should be more than enough.
+     * steps to search. By default, 10 steps are used, which should be more than enough. The same
+     * Pose is updated every loop, so copy it to hold onto it.
      *
      * @return returns the closest pose.
      */
@@ -970,12 +1251,24 @@ public class Follower {
         telemetry.addData("y", getPose().getY());
         telemetry.addData("heading", getPose().getHeading());
         telemetry.addData("total heading", poseUpdater.getTotalHeading());
+        telemetry.addData("motor writes sent", getSentMotorWrites());
+        telemetry.addData("motor writes skipped", getSkippedMotorWrites());
+        voltageCompensator.addToTelemetry(telemetry);
+        telemetry.addData("sensor to actuation latency ms (last/average)", String.format(Locale.US, "%.2f / %.2f", lastActuationLatency * 1000, averageActuationLatency * 1000));
         telemetry.addData("velocity magnitude", getVelocity().getMagnitude());
         telemetry.addData("velocity heading", getVelocity().getTheta());
+        if (currentPath != null) {
+            telemetry.addData("closest point t-value", currentPath.getClosestPointTValue());
+            telemetry.addData("closest point iterations", currentPath.getClosestPointIterations());
+            telemetry.addData("closest point global search", currentPath.closestPointUsedGlobalSearch());
+        }
         driveKalmanFilter.debug(telemetry);
+        if (profileLoopTimes && showLoopProfile) loopProfiler.addToTelemetry(telemetry);
         telemetry.update();
         if (drawOnDashboard) {
+            if (profileLoopTimes) loopProfiler.mark();
             Drawing.drawDebug(this);
+            if (profileLoopTimes) loopProfiler.lap(DASHBOARD_STAGE);
         }
     }
 
@@ -1016,6 +1309,96 @@ public class Follower {
         return dashboardPoseTracker;
     }
 
+    /**
+     * This returns the averaged time between when the localizer reading the drive powers are
+     * calculated from is taken and when the powers are set.
+     *
+     * @return returns the averaged sensor to actuation latency, in seconds.
+     */
+    public double getActuationLatency() {
+        return averageActuationLatency;
+    }
+
+    /**
+     * This returns the HardwareCache that clears the bulk caches at the start of every update().
+     *
+     * @return returns the HardwareCache
+     */
+    public HardwareCache getHardwareCache() {
+        return hardwareCache;
+    }
+
+    /**
+     * This returns the VoltageCompensator that scales the drive powers for the battery voltage.
+     *
+     * @return returns the VoltageCompensator
+     */
+    public VoltageCompensator getVoltageCompensator() {
+        return voltageCompensator;
+    }
+
+    /**
+     * This returns the LoopProfiler that times the stages of update(). Other stages can't be added
+     * to it, but the percentiles can be read from it.
+     *
+     * @return returns the LoopProfiler
+     */
+    public LoopProfiler getLoopProfiler() {
+        return loopProfiler;
+    }
+
+    /**
+     * This returns how many drive motor power writes were actually sent to the hubs, added up over
+     * all the drive motors.
+     *
+     * @return returns the number of sent writes.
+     */
+    public long getSentMotorWrites() {
+        long sent = 0;
+        for (CachingDcMotorEx motor : motors) sent += motor.getSentWrites();
+        return sent;
+    }
+
+    /**
+     * This returns how many drive motor power writes were skipped because the power barely changed,
+     * added up over all the drive motors.
+     *
+     * @return returns the number of skipped writes.
+     */
+    public long getSkippedMotorWrites() {
+        long skipped = 0;
+        for (CachingDcMotorEx motor : motors) skipped += motor.getSkippedWrites();
+        return skipped;
+    }
+
+    /**
+     * This writes the loop times of every stage of update() to a CSV file. Call this in the stop()
+     * of an OpMode to see where the loop time went after a run.
+     *
+     * @param file the file to write to.
+     * @throws IOException if the file can't be written to.
+     */
+    public void writeLoopProfile(File file) throws IOException {
+        loopProfiler.writeTo(file);
+    }
+
+    /**
+     * This writes the loop times of every stage of update() to a new CSV file in the loop profile
+     * folder, named with the current time. This does nothing if loop profiling is off.
+     *
+     * @return returns if the file was written.
+     */
+    public boolean writeLoopProfile() {
+        if (!profileLoopTimes) return false;
+        try {
+            writeLoopProfile(new File(loopProfileFolder, "loopProfile-" + System.currentTimeMillis() + ".csv"));
+            return true;
+        } catch (IOException e) {
+            RobotLog.ee("Follower", e, "Couldn't write the loop profile to " + loopProfileFolder);
+            return false;
+        }
+    }
+
     /**
      * This resets the IMU, if applicable.
      */
@@ -0,0 +1,142 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.follower;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.GridPathPlanner;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.OccupancyGrid;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
+
+/**
+ * This is the PathReplanner class. It has the Follower drive to a goal Pose along a path from the
+ * GridPathPlanner, and if the robot gets pushed too far off that path, like by another robot, it
+ * plans a new path to the same goal from wherever the robot is now, instead of having the Follower
+ * drag the robot back onto the old one. The threshold and the cooldown between new paths are set
+ * in FollowerConstants.
+ *
+ * Call update() every loop after the Follower's update().
+ */
+public class PathReplanner {
+    private final Follower follower;
+    private final GridPathPlanner planner;
+
+    private Pose goal;
+    private boolean holdEnd;
+    private long lastPlanTime;
+    private long lastPlanDuration;
+    private int replans;
+    private int failedPlans;
+
+    /**
+     * This creates a new PathReplanner.
+     *
+     * @param follower the Follower to drive the planned paths with.
+     * @param grid the OccupancyGrid of the field to plan around.
+     */
+    public PathReplanner(Follower follower, OccupancyGrid grid) {
+        this.follower = follower;
+        planner = new GridPathPlanner(grid);
+    }
+
+    /**
+     * This plans a path from where the robot is to a goal Pose, and starts following it.
+     *
+     * @param goal the Pose to drive to.
+     * @param holdEnd this makes the Follower hold the goal once it gets there.
+     * @return returns if a path was found. If not, the Follower isn't changed.
+     */
+    public boolean followPlannedPath(Pose goal, boolean holdEnd) {
+        this.goal = goal;
+        this.holdEnd = holdEnd;
+        return plan();
+    }
+
+    /**
+     * This plans a new path to the goal if the robot has been pushed too far off the path it's
+     * following. This does nothing once the Follower is done with the path.
+     */
+    public void update() {
+        if (goal == null || !follower.isBusy()) return;
+        if (Clock.nanoTime() - lastPlanTime < FollowerConstants.replanCooldown * 1000000) return;
+        if (follower.getTranslationalError().getMagnitude() <= FollowerConstants.replanTranslationalErrorThreshold) return;
+
+        if (plan()) replans++;
+    }
+
+    /**
+     * This plans a path from the robot to the goal and has the Follower follow it. This all happens
+     * in the control loop, so how long it takes is kept, starting the path included.
+     *
+     * @return returns if a path was found.
+     */
+    private boolean plan() {
+        lastPlanTime = Clock.nanoTime();
+        PathChain path = planner.plan(follower.getPose(), goal);
+        if (path != null) follower.followPath(path, holdEnd);
+        lastPlanDuration = Clock.nanoTime() - lastPlanTime;
+
+        if (path == null) {
+            failedPlans++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * This stops replanning to the current goal. It doesn't stop the Follower.
+     */
+    public void cancel() {
+        goal = null;
+    }
+
+    /**
+     * This returns how many times a new path has been planned because the robot was pushed off.
+     *
+     * @return returns the number of replans.
+     */
+    public int getReplans() {
+        return replans;
+    }
+
+    /**
+     * This returns how many times no path could be found, or the time budget ran out.
+     *
+     * @return returns the number of failed plans.
+     */
+    public int getFailedPlans() {
+        return failedPlans;
+    }
+
+    /**
+     * This returns how long the last plan took in the control loop, from starting the search to
+     * the Follower starting the path.
+     *
+     * @return returns the time, in milliseconds.
+     */
+    public double getLastPlanDuration() {
+        return lastPlanDuration / 1000000.0;
+    }
+
+    /**
+     * This returns the GridPathPlanner, for adding temporary obstacles to its grid or checking how
+     * long planning takes.
+     *
+     * @return returns the GridPathPlanner.
+     */
+    public GridPathPlanner getPlanner() {
+        return planner;
+    }
+
+    /**
+     * This adds the replanning stats to telemetry.
+     *
+     * @param telemetry the telemetry to add to.
+     */
+    public void addToTelemetry(Telemetry telemetry) {
+        telemetry.addData("replans", replans);
+        telemetry.addData("failed plans", failedPlans);
+        telemetry.addData("last plan time (ms)", getLastPlanDuration());
+        telemetry.addData("last search time (ms)", planner.getLastSearchTime());
+    }
+}
@@ -0,0 +1,246 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.follower;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+
+/**
+ * This is the SwerveDriveKinematics class. It's the DriveKinematics for a coaxial swerve drive,
+ * which has a module in each corner that steers its wheel to any angle and drives it. Each module
+ * moves along the robot's translation plus the turning, which pushes each module sideways to the
+ * line from the center of the robot to it. The turning power is scaled so the module furthest from
+ * the center gets all of it.
+ *
+ * The wheel powers are the drive powers of the modules, and the module angles are where to steer
+ * them. Each module is steered the shortest way, so if the wheel would have to turn more than 90
+ * degrees, it's pointed the other way and driven backwards instead. The drive power is also scaled
+ * down by how far the module is from pointing the right way, so it doesn't push the robot off
+ * while it's still steering.
+ */
+public class SwerveDriveKinematics extends DriveKinematics {
+    // If a module is told to drive slower than this, it doesn't steer, so it doesn't spin around
+    // when the robot is stopped.
+    private static final double MINIMUM_STEERING_POWER = 1e-6;
+
+    // These are the vectors each module is pushed along by a turning power of 1, relative to the
+    // robot. They're ordered left front, left back, right front, right back.
+    private final double[] turnX = new double[4];
+    private final double[] turnY = new double[4];
+
+    private final double[] moduleX = new double[4];
+    private final double[] moduleY = new double[4];
+    private final double[] measuredModuleAngles = new double[4];
+    private final double[] moduleAngles = new double[4];
+
+    /**
+     * This creates a new SwerveDriveKinematics.
+     *
+     * @param trackWidth the distance between the left and right modules.
+     * @param wheelBase the distance between the front and back modules.
+     */
+    public SwerveDriveKinematics(double trackWidth, double wheelBase) {
+        double[] positionX = {wheelBase / 2, -wheelBase / 2, wheelBase / 2, -wheelBase / 2};
+        double[] positionY = {trackWidth / 2, trackWidth / 2, -trackWidth / 2, -trackWidth / 2};
+
+        double radius = 0;
+        for (int i = 0; i < 4; i++) {
+            radius = Math.max(radius, magnitude(positionX[i], positionY[i]));
+        }
+
+        for (int i = 0; i < 4; i++) {
+            turnX[i] = -positionY[i] / radius;
+            turnY[i] = positionX[i] / radius;
+        }
+    }
+
+    /**
+     * This takes in vectors for corrective power, heading power, and pathing power and writes the
+     * module drive powers into an Array. This is the same as the DriveVectorScaler, but with a
+     * vector for each module instead of for each side, and the module angles are worked out too.
+     *
+     * IMPORTANT NOTE: all vector inputs are clamped between 0 and 1 inclusive in magnitude.
+     *
+     * @param correctivePower this Vector includes the centrifugal force scaling Vector as well as a
+     *                        translational power Vector to correct onto the Bezier curve the Follower
+     *                        is following.
+     * @param headingPower this Vector points in the direction of the robot's current heading, and
+     *                     the magnitude tells the robot how much it should turn and in which
+     *                     direction.
+     * @param pathingPower this Vector points in the direction the robot needs to go to continue along
+     *                     the Path.
+     * @param robotHeading this is the current heading of the robot.
+     * @param wheelPowers the Array to write the module drive powers into, with a length of at least 4.
+     * @return this returns the wheel powers Array that was passed in.
+     */
+    @Override
+    public double[] getDrivePowers(Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading, double[] wheelPowers) {
+        clampInputs(correctivePower, headingPower, pathingPower);
+
+        // the translation is worked out relative to the robot, since that's how the modules steer
+        double cos = Math.cos(robotHeading);
+        double sin = Math.sin(robotHeading);
+        double correctiveX = correctivePower.getXComponent() * cos + correctivePower.getYComponent() * sin;
+        double correctiveY = correctivePower.getYComponent() * cos - correctivePower.getXComponent() * sin;
+        double pathingX = pathingPower.getXComponent() * cos + pathingPower.getYComponent() * sin;
+        double pathingY = pathingPower.getYComponent() * cos - pathingPower.getXComponent() * sin;
+        double turn = getTurnPower(headingPower, robotHeading);
+
+        if (correctivePower.getMagnitude() == 1) {
+            // the corrective power takes up all the power
+            for (int i = 0; i < 4; i++) {
+                moduleX[i] = correctiveX;
+                moduleY[i] = correctiveY;
+            }
+        } else {
+            boolean saturated = false;
+            for (int i = 0; i < 4; i++) {
+                if (magnitude(correctiveX + turn * turnX[i], correctiveY + turn * turnY[i]) > 1) saturated = true;
+            }
+
+            if (saturated) {
+                // the heading power gets scaled down until the first module is at 1
+                double headingScalingFactor = 1;
+                for (int i = 0; i < 4; i++) {
+                    headingScalingFactor = Math.min(headingScalingFactor, findNormalizingScaling(correctiveX, correctiveY, turn * turnX[i], turn * turnY[i]));
+                }
+                for (int i = 0; i < 4; i++) {
+                    moduleX[i] = correctiveX + turn * turnX[i] * headingScalingFactor;
+                    moduleY[i] = correctiveY + turn * turnY[i] * headingScalingFactor;
+                }
+            } else {
+                for (int i = 0; i < 4; i++) {
+                    moduleX[i] = correctiveX + turn * turnX[i] + pathingX;
+                    moduleY[i] = correctiveY + turn * turnY[i] + pathingY;
+                    if (magnitude(moduleX[i], moduleY[i]) > 1) saturated = true;
+                }
+
+                if (saturated) {
+                    // too much power now, so we scale down the pathing vector
+                    double pathingScalingFactor = 1;
+                    for (int i = 0; i < 4; i++) {
+                        pathingScalingFactor = Math.min(pathingScalingFactor, findNormalizingScaling(correctiveX + turn * turnX[i], correctiveY + turn * turnY[i], pathingX, pathingY));
+                    }
+                    for (int i = 0; i < 4; i++) {
+                        moduleX[i] = correctiveX + turn * turnX[i] + pathingX * pathingScalingFactor;
+                        moduleY[i] = correctiveY + turn * turnY[i] + pathingY * pathingScalingFactor;
+                    }
+                }
+            }
+        }
+
+        setModuleStates(wheelPowers, true);
+        desaturate(wheelPowers);
+
+        return wheelPowers;
+    }
+
+    /**
+     * This turns the module vectors into drive powers and module angles, steering each module the
+     * shortest way from where it's pointing now.
+     *
+     * @param wheelPowers the Array to write the module drive powers into.
+     * @param scaleByAngleError if the drive powers should be scaled down by how far the modules are
+     *                          from pointing the right way.
+     */
+    private void setModuleStates(double[] wheelPowers, boolean scaleByAngleError) {
+        for (int i = 0; i < 4; i++) {
+            double power = magnitude(moduleX[i], moduleY[i]);
+            if (power < MINIMUM_STEERING_POWER) {
+                moduleAngles[i] = measuredModuleAngles[i];
+                wheelPowers[i] = 0;
+                continue;
+            }
+
+            double angle = Math.atan2(moduleY[i], moduleX[i]);
+            double error = MathFunctions.getSmallestAngleDifference(angle, measuredModuleAngles[i]);
+            if (error > Math.PI / 2) {
+                angle += Math.PI;
+                power = -power;
+                error = Math.PI - error;
+            }
+
+            moduleAngles[i] = MathFunctions.normalizeAngle(angle);
+            wheelPowers[i] = scaleByAngleError ? power * Math.cos(error) : power;
+        }
+    }
+
+    /**
+     * This works out the module drive powers and module angles for a set of chassis powers. The
+     * modules are steered the shortest way, but the drive powers aren't scaled down for how far the
+     * modules are from pointing the right way. toChassisPowers() uses the measured module angles,
+     * so it only undoes this once the modules point where they were steered, like after
+     * setMeasuredModuleAngles(getModuleAngles()).
+     *
+     * @param forward the forward power.
+     * @param lateral the lateral power, with left being positive.
+     * @param turn the turning power, with counterclockwise being positive.
+     * @param wheelPowers the Array to write the module drive powers into.
+     */
+    @Override
+    public void toWheelPowers(double forward, double lateral, double turn, double[] wheelPowers) {
+        for (int i = 0; i < 4; i++) {
+            moduleX[i] = forward + turn * turnX[i];
+            moduleY[i] = lateral + turn * turnY[i];
+        }
+        setModuleStates(wheelPowers, false);
+    }
+
+    /**
+     * This works out the chassis powers for a set of module drive powers, with the modules pointing
+     * at the angles from setMeasuredModuleAngles(). The translation is the average of the module
+     * vectors, and the turning is the average of how much they push along their turning vectors.
+     *
+     * @param wheelPowers the module drive powers.
+     * @param chassisPowers the Array to write the forward, lateral, and turning powers into.
+     */
+    @Override
+    public void toChassisPowers(double[] wheelPowers, double[] chassisPowers) {
+        double forward = 0;
+        double lateral = 0;
+        double turn = 0;
+        double turnSquared = 0;
+        for (int i = 0; i < 4; i++) {
+            double x = wheelPowers[i] * Math.cos(measuredModuleAngles[i]);
+            double y = wheelPowers[i] * Math.sin(measuredModuleAngles[i]);
+            forward += x;
+            lateral += y;
+            turn += x * turnX[i] + y * turnY[i];
+            turnSquared += turnX[i] * turnX[i] + turnY[i] * turnY[i];
+        }
+
+        chassisPowers[0] = forward / 4;
+        chassisPowers[1] = lateral / 4;
+        chassisPowers[2] = turn / turnSquared;
+    }
+
+    /**
+     * This returns if the drivetrain can move sideways without turning, which a swerve drive can.
+     *
+     * @return returns true.
+     */
+    @Override
+    public boolean isHolonomic() {
+        return true;
+    }
+
+    /**
+     * This sets the angles the modules are pointing right now, which the module angles are steered
+     * from and the chassis powers are worked out with.
+     *
+     * @param moduleAngles the measured angle of each module relative to the robot, in radians.
+     */
+    @Override
+    public void setMeasuredModuleAngles(double[] moduleAngles) {
+        System.arraycopy(moduleAngles, 0, measuredModuleAngles, 0, 4);
+    }
+
+    /**
+     * This returns the angles the modules should point at, from the last time the wheel powers were
+     * worked out. The Array is reused, so copy it to hold onto it.
+     *
+     * @return returns the angle of each module relative to the robot, in radians from 0 to 2 pi.
+     */
+    @Override
+    public double[] getModuleAngles() {
+        return moduleAngles;
+    }
+}
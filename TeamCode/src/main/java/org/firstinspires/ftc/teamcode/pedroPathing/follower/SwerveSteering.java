@@ -0,0 +1,85 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.follower;
+
+import com.qualcomm.robotcore.hardware.AnalogInput;
+import com.qualcomm.robotcore.hardware.CRServo;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+/**
+ * This is the SwerveSteering class. It steers the modules of a swerve drive, each of which is
+ * turned by a CR servo and has an analog absolute encoder for its angle. The Follower makes one of
+ * these when the drivetrain in FollowerConstants is a swerve drive, reads the module angles from it
+ * before working out the drive powers, and steers the modules to the angles from the
+ * SwerveDriveKinematics after.
+ *
+ * The modules are steered with a proportional controller on the shortest angle to the target. The
+ * modules are ordered left front, left back, right front, right back, the same as the drive motors.
+ */
+public class SwerveSteering {
+    private final CRServo[] servos;
+    private final AnalogInput[] encoders;
+    private final double[] offsets;
+    private final double[] moduleAngles = new double[4];
+
+    /**
+     * This creates a new SwerveSteering, with the servos, encoders, and offsets from
+     * FollowerConstants.
+     *
+     * @param hardwareMap the HardwareMap.
+     */
+    public SwerveSteering(HardwareMap hardwareMap) {
+        servos = new CRServo[]{
+                hardwareMap.get(CRServo.class, FollowerConstants.leftFrontSteeringServoName),
+                hardwareMap.get(CRServo.class, FollowerConstants.leftRearSteeringServoName),
+                hardwareMap.get(CRServo.class, FollowerConstants.rightFrontSteeringServoName),
+                hardwareMap.get(CRServo.class, FollowerConstants.rightRearSteeringServoName)};
+        encoders = new AnalogInput[]{
+                hardwareMap.get(AnalogInput.class, FollowerConstants.leftFrontSteeringEncoderName),
+                hardwareMap.get(AnalogInput.class, FollowerConstants.leftRearSteeringEncoderName),
+                hardwareMap.get(AnalogInput.class, FollowerConstants.rightFrontSteeringEncoderName),
+                hardwareMap.get(AnalogInput.class, FollowerConstants.rightRearSteeringEncoderName)};
+        offsets = new double[]{
+                FollowerConstants.leftFrontSteeringOffset,
+                FollowerConstants.leftRearSteeringOffset,
+                FollowerConstants.rightFrontSteeringOffset,
+                FollowerConstants.rightRearSteeringOffset};
+    }
+
+    /**
+     * This reads the angle of each module from its encoder.
+     *
+     * @return returns the angle of each module relative to the robot in radians, from 0 to 2 pi.
+     *         The Array is reused, so copy it to hold onto it.
+     */
+    public double[] getModuleAngles() {
+        for (int i = 0; i < 4; i++) {
+            double encoderAngle = encoders[i].getVoltage() / FollowerConstants.swerveSteeringEncoderMaxVoltage * 2 * Math.PI;
+            moduleAngles[i] = MathFunctions.normalizeAngle(encoderAngle - offsets[i]);
+        }
+        return moduleAngles;
+    }
+
+    /**
+     * This steers each module towards a target angle, using the angles from the last time
+     * getModuleAngles() was called.
+     *
+     * @param targetAngles the angle each module should point at relative to the robot, in radians.
+     */
+    public void setTargetAngles(double[] targetAngles) {
+        for (int i = 0; i < 4; i++) {
+            double error = MathFunctions.getTurnDirection(moduleAngles[i], targetAngles[i]) * MathFunctions.getSmallestAngleDifference(moduleAngles[i], targetAngles[i]);
+            servos[i].setPower(MathFunctions.clamp(FollowerConstants.swerveSteeringP * error, -1, 1));
+        }
+    }
+
+    /**
+     * This stops all the steering servos.
+     */
+    public void stop() {
+        for (CRServo servo : servos) {
+            servo.setPower(0);
+        }
+    }
+}
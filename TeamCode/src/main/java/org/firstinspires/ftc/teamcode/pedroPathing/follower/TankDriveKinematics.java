@@ -0,0 +1,135 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.follower;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+
+/**
+ * This is the TankDriveKinematics class. It's the DriveKinematics for a tank drive, where the two
+ * wheels on each side are driven together and the robot turns by driving the sides at different
+ * powers. A tank drive can't move sideways, so only the part of the corrective and pathing powers
+ * along the robot's heading is used. Paths for a tank drive should use a tangent heading, so the
+ * robot is always pointing where it needs to go.
+ */
+public class TankDriveKinematics extends DriveKinematics {
+
+    /**
+     * This takes in vectors for corrective power, heading power, and pathing power and writes the
+     * wheel powers into an Array. This is the same as the DriveVectorScaler, but with the powers
+     * along the robot's heading instead of Vectors, so each side only has to stay between -1 and 1.
+     *
+     * IMPORTANT NOTE: all vector inputs are clamped between 0 and 1 inclusive in magnitude.
+     *
+     * @param correctivePower this Vector includes the centrifugal force scaling Vector as well as a
+     *                        translational power Vector to correct onto the Bezier curve the Follower
+     *                        is following.
+     * @param headingPower this Vector points in the direction of the robot's current heading, and
+     *                     the magnitude tells the robot how much it should turn and in which
+     *                     direction.
+     * @param pathingPower this Vector points in the direction the robot needs to go to continue along
+     *                     the Path.
+     * @param robotHeading this is the current heading of the robot.
+     * @param wheelPowers the Array to write the wheel powers into, with a length of at least 4.
+     * @return this returns the wheel powers Array that was passed in.
+     */
+    @Override
+    public double[] getDrivePowers(Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading, double[] wheelPowers) {
+        clampInputs(correctivePower, headingPower, pathingPower);
+
+        double cos = Math.cos(robotHeading);
+        double sin = Math.sin(robotHeading);
+        double corrective = correctivePower.getXComponent() * cos + correctivePower.getYComponent() * sin;
+        double turn = headingPower.getXComponent() * cos + headingPower.getYComponent() * sin;
+        double pathing = pathingPower.getXComponent() * cos + pathingPower.getYComponent() * sin;
+
+        double left;
+        double right;
+
+        if (Math.abs(corrective) >= 1) {
+            // the corrective power takes up all the power
+            left = corrective;
+            right = corrective;
+        } else if (Math.abs(corrective) + Math.abs(turn) > 1) {
+            // the heading power gets whatever is left over from the corrective power
+            double limitedTurn = Math.signum(turn) * (1 - Math.abs(corrective));
+            left = corrective - limitedTurn;
+            right = corrective + limitedTurn;
+        } else {
+            double leftSide = corrective - turn;
+            double rightSide = corrective + turn;
+            left = leftSide + pathing;
+            right = rightSide + pathing;
+
+            if (Math.abs(left) > 1 || Math.abs(right) > 1) {
+                // too much power now, so we scale down the pathing power until one side is at 1
+                double pathingScalingFactor = Math.min(findSideScaling(leftSide, pathing), findSideScaling(rightSide, pathing));
+                left = leftSide + pathing * pathingScalingFactor;
+                right = rightSide + pathing * pathingScalingFactor;
+            }
+        }
+
+        wheelPowers[0] = left;
+        wheelPowers[1] = left;
+        wheelPowers[2] = right;
+        wheelPowers[3] = right;
+
+        desaturate(wheelPowers);
+
+        return wheelPowers;
+    }
+
+    /**
+     * This returns how much the pathing power can be scaled by before a side goes past 1. This is
+     * findNormalizingScaling() in one dimension.
+     *
+     * @param side the power of the side without the pathing power, between -1 and 1.
+     * @param pathing the pathing power.
+     * @return returns the scaling factor, between 0 and 1.
+     */
+    private static double findSideScaling(double side, double pathing) {
+        if (pathing == 0) return 1;
+        return Math.min(1, (Math.signum(pathing) - side) / pathing);
+    }
+
+    /**
+     * This works out the wheel powers for a set of chassis powers. The lateral power is left out,
+     * since a tank drive can't move sideways.
+     *
+     * @param forward the forward power.
+     * @param lateral the lateral power, which isn't used.
+     * @param turn the turning power, with counterclockwise being positive.
+     * @param wheelPowers the Array to write the wheel powers into.
+     */
+    @Override
+    public void toWheelPowers(double forward, double lateral, double turn, double[] wheelPowers) {
+        wheelPowers[0] = forward - turn;
+        wheelPowers[1] = forward - turn;
+        wheelPowers[2] = forward + turn;
+        wheelPowers[3] = forward + turn;
+    }
+
+    /**
+     * This works out the chassis powers for a set of wheel powers. The forward power is the average
+     * of the sides, and the turning power is half the difference between them.
+     *
+     * @param wheelPowers the wheel powers.
+     * @param chassisPowers the Array to write the forward, lateral, and turning powers into.
+     */
+    @Override
+    public void toChassisPowers(double[] wheelPowers, double[] chassisPowers) {
+        double left = (wheelPowers[0] + wheelPowers[1]) / 2.0;
+        double right = (wheelPowers[2] + wheelPowers[3]) / 2.0;
+
+        chassisPowers[0] = (left + right) / 2.0;
+        chassisPowers[1] = 0;
+        chassisPowers[2] = (right - left) / 2.0;
+    }
+
+    /**
+     * This returns if the drivetrain can move sideways without turning, which a tank drive can't.
+     *
+     * @return returns false.
+     */
+    @Override
+    public boolean isHolonomic() {
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.follower;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+
+/**
+ * This is the XDriveKinematics class. It's the DriveKinematics for an X-drive, which has omni
+ * wheels in the corners turned 45 degrees. Each wheel pushes the robot along a vector at 45 degrees,
+ * the front left and back right wheels one way and the back left and front right wheels the other
+ * way, which is the same as a mecanum drivetrain with no slipping. So, this is a DriveVectorScaler
+ * with the front left wheel vector at 45 degrees instead of the measured one.
+ */
+public class XDriveKinematics extends DriveVectorScaler {
+
+    /**
+     * This creates a new XDriveKinematics.
+     */
+    public XDriveKinematics() {
+        super(new Vector(1, Math.PI / 4));
+    }
+}
@@ -1,6 +1,7 @@
 package org.firstinspires.ftc.teamcode.pedroPathing.localization;
 
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
 
 /**
  * This is the Localizer class. It is an abstract superclass of all localizers used in Pedro Pathing,
@@ -55,6 +56,30 @@ public abstract class Localizer {
      */
     public abstract void update();
 
+    /**
+     * This returns when the current pose and velocity estimates were actually measured, on the
+     * Clock, in nanoseconds. Localizers that read their sensors in update() don't need to override
+     * this, since their readings are taken right when update() is called. Localizers that read
+     * their sensors some other way, like on another thread, should return when the reading was
+     * taken, so the PoseUpdater knows how old it is.
+     *
+     * @return returns the time the current estimate was measured, in nanoseconds.
+     */
+    public long getSampleTime() {
+        return Clock.nanoTime();
+    }
+
+    /**
+     * This returns if the Localizer measures velocity itself, instead of working it out from the
+     * change in pose. If it does, getVelocity() has to be in the field's frame of reference, and
+     * the PoseUpdater uses it along with the pose to estimate the velocity.
+     *
+     * @return returns if the velocity is measured.
+     */
+    public boolean measuresVelocity() {
+        return false;
+    }
+
     /**
      * This returns how far the robot has turned in radians, in a number not clamped between 0 and
      * 2 * pi radians. This is used for some tuning things and nothing actually within the following.
@@ -0,0 +1,141 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization;
+
+/**
+ * This is the Matrix3 class. This is a 3x3 Matrix for the odometry localizers, with every element
+ * stored in its own field instead of a 2D Array. All the multiplication is written out by hand, so
+ * nothing gets copied or created. If you need a Matrix of any other size, use the Matrix class.
+ */
+public class Matrix3 {
+    private double m00, m01, m02;
+    private double m10, m11, m12;
+    private double m20, m21, m22;
+
+    /**
+     * This creates a new Matrix3 with every element set to 0.
+     */
+    public Matrix3() {
+    }
+
+    /**
+     * This returns a specified element of the Matrix3.
+     *
+     * @param row the index of the row of the element
+     * @param column the index of the column of the element
+     * @return returns the element of the Matrix3 specified
+     */
+    public double get(int row, int column) {
+        switch (row * 3 + column) {
+            case 0: return m00;
+            case 1: return m01;
+            case 2: return m02;
+            case 3: return m10;
+            case 4: return m11;
+            case 5: return m12;
+            case 6: return m20;
+            case 7: return m21;
+            case 8: return m22;
+            default: throw new IndexOutOfBoundsException("Matrix3 has no element at (" + row + ", " + column + ")");
+        }
+    }
+
+    /**
+     * This sets every element of the Matrix3, row by row.
+     *
+     * @param m00 the element at row 0, column 0
+     * @param m01 the element at row 0, column 1
+     * @param m02 the element at row 0, column 2
+     * @param m10 the element at row 1, column 0
+     * @param m11 the element at row 1, column 1
+     * @param m12 the element at row 1, column 2
+     * @param m20 the element at row 2, column 0
+     * @param m21 the element at row 2, column 1
+     * @param m22 the element at row 2, column 2
+     */
+    public void set(double m00, double m01, double m02,
+                    double m10, double m11, double m12,
+                    double m20, double m21, double m22) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+    }
+
+    /**
+     * This sets the Matrix3 to the rotation Matrix for a heading.
+     *
+     * @param heading the rotation of the Matrix3, in radians
+     */
+    public void setRotation(double heading) {
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        set(cos, -sin, 0,
+            sin, cos, 0,
+            0, 0, 1);
+    }
+
+    /**
+     * This sets the Matrix3 to the pose exponential transformation Matrix for a change in heading.
+     * For very small changes in heading, the Taylor series approximation is used to avoid dividing
+     * by almost 0.
+     *
+     * @param deltaHeading the change in heading, in radians
+     */
+    public void setPoseExponential(double deltaHeading) {
+        if (Math.abs(deltaHeading) < 0.001) {
+            double diagonal = 1.0 - (deltaHeading * deltaHeading / 6.0);
+            set(diagonal, -deltaHeading / 2.0, 0,
+                deltaHeading / 2.0, diagonal, 0,
+                0, 0, 1);
+        } else {
+            double sinOverDelta = Math.sin(deltaHeading) / deltaHeading;
+            double cosMinusOneOverDelta = (Math.cos(deltaHeading) - 1.0) / deltaHeading;
+            set(sinOverDelta, cosMinusOneOverDelta, 0,
+                -cosMinusOneOverDelta, sinOverDelta, 0,
+                0, 0, 1);
+        }
+    }
+
+    /**
+     * This multiplies two Matrix3s and writes the product into a result Matrix3. The result can be
+     * the same object as either input.
+     *
+     * @param one the first Matrix3
+     * @param two the second Matrix3
+     * @param result the Matrix3 to write the product into
+     * @return returns the result Matrix3
+     */
+    public static Matrix3 multiply(Matrix3 one, Matrix3 two, Matrix3 result) {
+        result.set(
+                one.m00 * two.m00 + one.m01 * two.m10 + one.m02 * two.m20,
+                one.m00 * two.m01 + one.m01 * two.m11 + one.m02 * two.m21,
+                one.m00 * two.m02 + one.m01 * two.m12 + one.m02 * two.m22,
+                one.m10 * two.m00 + one.m11 * two.m10 + one.m12 * two.m20,
+                one.m10 * two.m01 + one.m11 * two.m11 + one.m12 * two.m21,
+                one.m10 * two.m02 + one.m11 * two.m12 + one.m12 * two.m22,
+                one.m20 * two.m00 + one.m21 * two.m10 + one.m22 * two.m20,
+                one.m20 * two.m01 + one.m21 * two.m11 + one.m22 * two.m21,
+                one.m20 * two.m02 + one.m21 * two.m12 + one.m22 * two.m22);
+        return result;
+    }
+
+    /**
+     * This multiplies this Matrix3 with a 3x1 column, held in a Pose2dDelta, and writes the product
+     * into a result Pose2dDelta. The result can be the same object as the input.
+     *
+     * @param input the column to multiply
+     * @param result the Pose2dDelta to write the product into
+     * @return returns the result Pose2dDelta
+     */
+    public Pose2dDelta multiply(Pose2dDelta input, Pose2dDelta result) {
+        result.set(
+                m00 * input.getX() + m01 * input.getY() + m02 * input.getHeading(),
+                m10 * input.getX() + m11 * input.getY() + m12 * input.getHeading(),
+                m20 * input.getX() + m21 * input.getY() + m22 * input.getHeading());
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization;
+
+/**
+ * This is the Pose2dDelta class. This class holds a change in pose, so an x displacement, a y
+ * displacement, and a heading displacement. It's basically a 3x1 column Matrix for the odometry
+ * localizers, but without any Arrays, so it can be reused every update. Unlike a Pose, the heading
+ * is not normalized, since it's a change in heading and not a heading.
+ */
+public class Pose2dDelta {
+    private double x;
+    private double y;
+    private double heading;
+
+    /**
+     * This creates a new Pose2dDelta with no displacement.
+     */
+    public Pose2dDelta() {
+        this(0, 0, 0);
+    }
+
+    /**
+     * This creates a new Pose2dDelta from x, y, and heading displacements.
+     *
+     * @param x the x displacement
+     * @param y the y displacement
+     * @param heading the heading displacement, in radians
+     */
+    public Pose2dDelta(double x, double y, double heading) {
+        set(x, y, heading);
+    }
+
+    /**
+     * This sets all three displacements.
+     *
+     * @param x the x displacement
+     * @param y the y displacement
+     * @param heading the heading displacement, in radians
+     */
+    public void set(double x, double y, double heading) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+    }
+
+    /**
+     * This returns the x displacement.
+     *
+     * @return returns the x displacement
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * This returns the y displacement.
+     *
+     * @return returns the y displacement
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * This returns the heading displacement.
+     *
+     * @return returns the heading displacement, in radians
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * This adds this displacement onto a Pose, changing the Pose in place.
+     *
+     * @param pose the Pose to add this displacement to
+     */
+    public void addTo(Pose pose) {
+        pose.setX(pose.getX() + x);
+        pose.setY(pose.getY() + y);
+        pose.setHeading(pose.getHeading() + heading);
+    }
+
+    /**
+     * This integrates a robot relative displacement into a field relative displacement using the
+     * pose exponential method, writing the result into another Pose2dDelta. This is the same as
+     * multiplying the rotation Matrix of the starting heading, the pose exponential transformation
+     * Matrix, and the robot relative displacement, but with all the Matrix math written out.
+     *
+     * @param robotDeltas the robot relative displacement
+     * @param heading the heading of the robot before the displacement, in radians
+     * @param rotation a Matrix3 to hold the rotation Matrix in, so it can be reused
+     * @param transformation a Matrix3 to hold the transformation Matrix in, so it can be reused
+     * @param result the Pose2dDelta to write the field relative displacement into
+     * @return returns the result Pose2dDelta
+     */
+    public static Pose2dDelta poseExponential(Pose2dDelta robotDeltas, double heading, Matrix3 rotation, Matrix3 transformation, Pose2dDelta result) {
+        rotation.setRotation(heading);
+        transformation.setPoseExponential(robotDeltas.getHeading());
+        Matrix3.multiply(rotation, transformation, transformation);
+        return transformation.multiply(robotDeltas, result);
+    }
+}
@@ -0,0 +1,117 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.ConstantAccelerationKalmanFilter;
+
+/**
+ * This is the PoseEstimator class. This class estimates the velocity and acceleration of the robot
+ * from the poses the localizer gives, using a ConstantAccelerationKalmanFilter for each of x, y,
+ * and heading. If the localizer measures velocity itself, like the OTOS does, that's used too.
+ *
+ * The heading filter keeps track of the total heading, without wrapping around, so the heading
+ * velocity doesn't jump when the heading crosses 0 or 2 pi. The estimates are in the field's frame
+ * of reference, in the same units as the localizer.
+ */
+public class PoseEstimator {
+    private final ConstantAccelerationKalmanFilter xFilter = new ConstantAccelerationKalmanFilter(FollowerConstants.translationalEstimatorParameters);
+    private final ConstantAccelerationKalmanFilter yFilter = new ConstantAccelerationKalmanFilter(FollowerConstants.translationalEstimatorParameters);
+    private final ConstantAccelerationKalmanFilter headingFilter = new ConstantAccelerationKalmanFilter(FollowerConstants.headingEstimatorParameters);
+
+    /**
+     * This updates the estimate with a new pose from the localizer.
+     *
+     * @param pose the measured pose.
+     * @param deltaTime the time since the last measured pose, in seconds.
+     */
+    public void update(Pose pose, double deltaTime) {
+        xFilter.update(pose.getX(), deltaTime);
+        yFilter.update(pose.getY(), deltaTime);
+
+        // the heading is moved to within pi of the estimated heading, so the estimate never wraps
+        double heading = pose.getHeading();
+        if (headingFilter.isInitialized()) {
+            double estimatedHeading = headingFilter.getPosition();
+            double difference = MathFunctions.normalizeAngle(heading - estimatedHeading);
+            if (difference > Math.PI) difference -= 2 * Math.PI;
+            heading = estimatedHeading + difference;
+        }
+        headingFilter.update(heading, deltaTime);
+    }
+
+    /**
+     * This updates the estimate with a velocity the localizer measured at the same time as the
+     * last pose. This should be called right after update().
+     *
+     * @param velocity the measured velocity, with the angular velocity as the heading.
+     */
+    public void updateVelocity(Pose velocity) {
+        xFilter.updateVelocity(velocity.getX());
+        yFilter.updateVelocity(velocity.getY());
+        headingFilter.updateVelocity(velocity.getHeading());
+    }
+
+    /**
+     * This resets the estimate, so it starts over at the next pose. This should be called whenever
+     * the pose jumps, like when it's set.
+     */
+    public void reset() {
+        xFilter.reset();
+        yFilter.reset();
+        headingFilter.reset();
+    }
+
+    /**
+     * This returns the estimated x velocity.
+     *
+     * @return returns the x velocity.
+     */
+    public double getXVelocity() {
+        return xFilter.getVelocity();
+    }
+
+    /**
+     * This returns the estimated y velocity.
+     *
+     * @return returns the y velocity.
+     */
+    public double getYVelocity() {
+        return yFilter.getVelocity();
+    }
+
+    /**
+     * This returns the estimated angular velocity.
+     *
+     * @return returns the angular velocity, in radians/second.
+     */
+    public double getAngularVelocity() {
+        return headingFilter.getVelocity();
+    }
+
+    /**
+     * This returns the estimated x acceleration.
+     *
+     * @return returns the x acceleration.
+     */
+    public double getXAcceleration() {
+        return xFilter.getAcceleration();
+    }
+
+    /**
+     * This returns the estimated y acceleration.
+     *
+     * @return returns the y acceleration.
+     */
+    public double getYAcceleration() {
+        return yFilter.getAcceleration();
+    }
+
+    /**
+     * This returns the estimated angular acceleration.
+     *
+     * @return returns the angular acceleration, in radians/second^2.
+     */
+    public double getAngularAcceleration() {
+        return headingFilter.getAcceleration();
+    }
+}
@@ -1,6 +1,5 @@
 package org.firstinspires.ftc.teamcode.pedroPathing.localization;
 
-import com.qualcomm.hardware.lynx.LynxModule;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.qualcomm.robotcore.hardware.IMU;
 
@@ -10,6 +9,8 @@ import org.firstinspires.ftc.teamcode.pedroPathing.localization.localizers.OTOSL
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.localizers.ThreeWheelLocalizer;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.HardwareCache;
 
 /**
  * This is the PoseUpdater class. This class handles getting pose data from the localizer and returning
@@ -27,17 +28,33 @@ public class PoseUpdater {
 
     private final Localizer localizer;
 
+    private final HardwareCache hardwareCache;
+
+    // This is how long the localizer took to update last time, for the Follower's LoopProfiler
+    private long localizerUpdateTime;
+
+    private long hardwareLoop;
+
     private Pose startingPose = new Pose(0,0,0);
 
     private Pose currentPose = startingPose;
 
-    private Pose previousPose = startingPose;
+    private final Pose previousPose = new Pose(0,0,0);
+
+    // These Vectors are reused every update instead of being replaced
+    private final Vector currentVelocity = new Vector();
+
+    private final Vector currentAcceleration = new Vector();
 
-    private Vector currentVelocity = new Vector();
+    private final Vector predictionVelocity = new Vector();
 
-    private Vector previousVelocity = new Vector();
+    private final Vector predictionAcceleration = new Vector();
 
-    private Vector currentAcceleration = new Vector();
+    private double currentAngularVelocity;
+
+    private final PoseEstimator estimator = new PoseEstimator();
+
+    private boolean velocityUpdated = true;
 
     private double xOffset = 0;
     private double yOffset = 0;
@@ -46,6 +63,8 @@ public class PoseUpdater {
     private long previousPoseTime;
     private long currentPoseTime;
 
+    private double predictionTime;
+
     /**
      * Creates a new PoseUpdater from a HardwareMap and a Localizer.
      *
@@ -55,9 +74,9 @@ public class PoseUpdater {
     public PoseUpdater(HardwareMap hardwareMap, Localizer localizer) {
         this.hardwareMap = hardwareMap;
 
-        for (LynxModule module : hardwareMap.getAll(LynxModule.class)) {
-            module.setBulkCachingMode(LynxModule.BulkCachingMode.AUTO);
-        }
+        // this puts the hubs into MANUAL bulk caching mode, which update() clears every loop if
+        // nothing else has
+        hardwareCache = HardwareCache.get(hardwareMap);
 
         this.localizer = localizer;
     }
@@ -74,17 +93,24 @@ public class PoseUpdater {
     /**
      * This updates the robot's pose, as well as updating the previous pose, velocity, and
      * acceleration. The cache for the current pose, velocity, and acceleration is cleared, and
-     * the time stamps are updated as well.
+     * the time stamps are updated as well. The time stamps are when the localizer actually took
+     * its readings, not when this is called, so velocity and acceleration use the real time between
+     * readings. If nothing else has started a new HardwareCache loop since the last update, one is
+     * started first, so the encoders aren't stuck at what was read in the last loop.
      */
     public void update() {
-        previousVelocity = getVelocity();
-        previousPose = applyOffset(getRawPose());
+        hardwareLoop = hardwareCache.startLoopIfNeeded(hardwareLoop);
+
+        // this makes sure the PoseEstimator has gotten the last reading before moving on
+        updateVelocity();
+        applyOffset(getRawPose(), previousPose);
+        long localizerStartTime = System.nanoTime();
+        localizer.update();
+        localizerUpdateTime = System.nanoTime() - localizerStartTime;
         currentPose = null;
-        currentVelocity = null;
-        currentAcceleration = null;
+        velocityUpdated = false;
         previousPoseTime = currentPoseTime;
-        currentPoseTime = System.nanoTime();
-        localizer.update();
+        currentPoseTime = localizer.getSampleTime();
     }
 
     /**
@@ -94,10 +120,13 @@ public class PoseUpdater {
      */
     public void setStartingPose(Pose set) {
         startingPose = set;
-        previousPose = startingPose;
-        previousPoseTime = System.nanoTime();
-        currentPoseTime = System.nanoTime();
+        previousPose.setX(set.getX());
+        previousPose.setY(set.getY());
+        previousPose.setHeading(set.getHeading());
+        previousPoseTime = Clock.nanoTime();
+        currentPoseTime = Clock.nanoTime();
         localizer.setStartPose(set);
+        estimator.reset();
     }
 
     /**
@@ -178,6 +207,21 @@ public class PoseUpdater {
         return new Pose(pose.getX()+xOffset, pose.getY()+yOffset, pose.getHeading()+headingOffset);
     }
 
+    /**
+     * This applies the offset to a specified Pose and writes the result into another specified
+     * Pose instead of creating a new one.
+     *
+     * @param pose The pose to be offset.
+     * @param result The pose to write the offset pose into.
+     * @return This returns the result Pose.
+     */
+    public Pose applyOffset(Pose pose, Pose result) {
+        result.setX(pose.getX()+xOffset);
+        result.setY(pose.getY()+yOffset);
+        result.setHeading(pose.getHeading()+headingOffset);
+        return result;
+    }
+
     /**
      * This resets all offsets set to the PoseUpdater. If you have reset your pose using the
      * setCurrentPoseUsingOffset(Pose2d set) method, then your pose will be returned to what the
@@ -197,12 +241,77 @@ public class PoseUpdater {
      * @return returns the current pose.
      */
     public Pose getPose() {
-        if (currentPose == null) {
-            currentPose = localizer.getPose();
-            return applyOffset(currentPose);
-        } else {
-            return applyOffset(currentPose);
-        }
+        return predict(applyOffset(getRawPose()));
+    }
+
+    /**
+     * This writes the current pose, with offsets applied, into a specified Pose instead of
+     * creating a new one. This uses the same cached pose as getPose().
+     *
+     * @param result the Pose to write the current pose into.
+     * @return returns the result Pose.
+     */
+    public Pose getPose(Pose result) {
+        return predict(applyOffset(getRawPose(), result));
+    }
+
+    /**
+     * This moves a Pose forward by the prediction time, using the current velocity, acceleration,
+     * and angular velocity, to estimate where the robot will be by then. This does nothing if the
+     * prediction time is 0.
+     *
+     * @param pose the Pose to move forward, which is changed.
+     * @return returns the same Pose.
+     */
+    private Pose predict(Pose pose) {
+        if (predictionTime <= 0) return pose;
+        getVelocity(predictionVelocity);
+        getAcceleration(predictionAcceleration);
+        double halfTimeSquared = 0.5 * predictionTime * predictionTime;
+        pose.setX(pose.getX() + predictionVelocity.getXComponent() * predictionTime + predictionAcceleration.getXComponent() * halfTimeSquared);
+        pose.setY(pose.getY() + predictionVelocity.getYComponent() * predictionTime + predictionAcceleration.getYComponent() * halfTimeSquared);
+        pose.setHeading(pose.getHeading() + getAngularVelocity() * predictionTime);
+        return pose;
+    }
+
+    /**
+     * This sets how far ahead getPose() predicts the pose, to make up for the time between when
+     * the localizer took its reading and when the motor powers calculated from it are actually
+     * set. The raw pose, velocity, and acceleration are never predicted. This is 0 by default,
+     * which turns prediction off.
+     *
+     * @param set the prediction time, in seconds.
+     */
+    public void setPredictionTime(double set) {
+        predictionTime = set;
+    }
+
+    /**
+     * This returns how far ahead getPose() predicts the pose.
+     *
+     * @return returns the prediction time, in seconds.
+     */
+    public double getPredictionTime() {
+        return predictionTime;
+    }
+
+    /**
+     * This returns when the localizer took the reading the current pose comes from.
+     *
+     * @return returns the time of the reading, on the Clock, in nanoseconds.
+     */
+    public long getSampleTime() {
+        return currentPoseTime;
+    }
+
+    /**
+     * This returns how long the localizer took to update the last time update() was called. This
+     * is the localizer reading its sensors, like the OTOS or the encoders.
+     *
+     * @return returns the time, in nanoseconds, measured with System.nanoTime().
+     */
+    public long getLocalizerUpdateTime() {
+        return localizerUpdateTime;
     }
 
     /**
@@ -229,6 +338,7 @@ public class PoseUpdater {
     public void setPose(Pose set) {
         resetOffset();
         localizer.setPose(set);
+        estimator.reset();
     }
 
     /**
@@ -237,7 +347,7 @@ public class PoseUpdater {
      * @return returns the robot's previous pose.
      */
     public Pose getPreviousPose() {
-        return previousPose;
+        return previousPose.copy();
     }
 
     /**
@@ -252,20 +362,47 @@ public class PoseUpdater {
     }
 
     /**
-     * This returns the velocity of the robot as a Vector. If this is called multiple times in
-     * a single update, the velocity Vector is cached so that subsequent calls don't have to repeat
-     * localizer calls or calculations.
+     * This returns the velocity of the robot as a Vector. This comes from the PoseEstimator, so it's
+     * smoothed instead of just the change in pose over the change in time. If this is called
+     * multiple times in a single update, the velocity Vector is cached so that subsequent calls
+     * don't have to repeat localizer calls or calculations.
      *
      * @return returns the velocity of the robot.
      */
     public Vector getVelocity() {
-        if (currentVelocity == null) {
-            currentVelocity = new Vector();
-            currentVelocity.setOrthogonalComponents(getPose().getX() - previousPose.getX(), getPose().getY() - previousPose.getY());
-            currentVelocity.setMagnitude(MathFunctions.distance(getPose(), previousPose) / ((currentPoseTime - previousPoseTime) / Math.pow(10.0, 9)));
-            return MathFunctions.copyVector(currentVelocity);
-        } else {
-            return MathFunctions.copyVector(currentVelocity);
+        return getVelocity(new Vector());
+    }
+
+    /**
+     * This writes the velocity of the robot into a specified Vector instead of creating a new one.
+     * This uses the same cached velocity as getVelocity().
+     *
+     * @param result the Vector to write the velocity into.
+     * @return returns the result Vector.
+     */
+    public Vector getVelocity(Vector result) {
+        updateVelocity();
+        result.set(currentVelocity);
+        return result;
+    }
+
+    /**
+     * This gives the PoseEstimator the newest reading from the localizer and saves the velocity,
+     * angular velocity, and acceleration it estimates, if that hasn't been done yet this update.
+     * The offsets don't change the velocity or acceleration, so the raw pose is used.
+     */
+    private void updateVelocity() {
+        if (!velocityUpdated) {
+            // if the localizer doesn't have a new reading yet, the last estimate is kept
+            if (currentPoseTime > previousPoseTime) {
+                estimator.update(getRawPose(), (currentPoseTime - previousPoseTime) / Math.pow(10.0, 9));
+                if (localizer.measuresVelocity()) estimator.updateVelocity(localizer.getVelocity());
+
+                currentVelocity.setOrthogonalComponents(estimator.getXVelocity(), estimator.getYVelocity());
+                currentAcceleration.setOrthogonalComponents(estimator.getXAcceleration(), estimator.getYAcceleration());
+                currentAngularVelocity = estimator.getAngularVelocity();
+            }
+            velocityUpdated = true;
         }
     }
 
@@ -275,24 +412,33 @@ public class PoseUpdater {
      * @return returns the angular velocity of the robot.
      */
     public double getAngularVelocity() {
-        return MathFunctions.getTurnDirection(previousPose.getHeading(), getPose().getHeading()) * MathFunctions.getSmallestAngleDifference(getPose().getHeading(), previousPose.getHeading()) / ((currentPoseTime-previousPoseTime)/Math.pow(10.0, 9));
+        updateVelocity();
+        return currentAngularVelocity;
     }
 
     /**
-     * This returns the acceleration of the robot as a Vector. If this is called multiple times in
-     * a single update, the acceleration Vector is cached so that subsequent calls don't have to
-     * repeat localizer calls or calculations.
+     * This returns the acceleration of the robot as a Vector. This comes from the PoseEstimator
+     * along with the velocity. If this is called multiple times in a single update, the
+     * acceleration Vector is cached so that subsequent calls don't have to repeat localizer calls
+     * or calculations.
      *
      * @return returns the acceleration of the robot.
      */
     public Vector getAcceleration() {
-        if (currentAcceleration == null) {
-            currentAcceleration = MathFunctions.subtractVectors(getVelocity(), previousVelocity);
-            currentAcceleration.setMagnitude(currentAcceleration.getMagnitude() / ((currentPoseTime - previousPoseTime) / Math.pow(10.0, 9)));
-            return MathFunctions.copyVector(currentAcceleration);
-        } else {
-            return MathFunctions.copyVector(currentAcceleration);
-        }
+        return getAcceleration(new Vector());
+    }
+
+    /**
+     * This writes the acceleration of the robot into a specified Vector instead of creating a new
+     * one. This uses the same cached acceleration as getAcceleration().
+     *
+     * @param result the Vector to write the acceleration into.
+     * @return returns the result Vector.
+     */
+    public Vector getAcceleration(Vector result) {
+        updateVelocity();
+        result.set(currentAcceleration);
+        return result;
     }
 
     /**
@@ -300,6 +446,7 @@ public class PoseUpdater {
      */
     public void resetHeadingToIMU() {
         localizer.setPose(new Pose(getPose().getX(), getPose().getY(), getNormalizedIMUHeading() + startingPose.getHeading()));
+        estimator.reset();
     }
 
     /**
@@ -9,6 +9,7 @@ import org.firstinspires.ftc.teamcode.pedroPathing.localization.Localizer;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
 
 /**
  * This is the OTOSLocalizer class. This class extends the Localizer superclass and is a
@@ -34,6 +35,11 @@ import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
  *           V
  *    forward (x positive)
  *
+ * The OTOS is read by an OTOSReader on its own thread, and update() just takes the latest reading
+ * from it, so the control loop never waits on I2C. getPose() and getVelocity() use the reading
+ * from the last update(), so they don't read the OTOS at all. The reader thread can be turned off
+ * in FollowerConstants, and then the OTOS is read once in every update() instead.
+ *
  * @author Anyi Lin - 10158 Scott's Bots
  * @version 1.0, 7/20/2024
  */
@@ -41,6 +47,8 @@ public class OTOSLocalizer extends Localizer {
     private final HardwareMap hardwareMap;
     private Pose startPose;
     private final SparkFunOTOS otos;
+    private final OTOSReader reader;
+    private OTOSReader.Sample sample;
     private double previousHeading;
     private double totalHeading;
 
@@ -88,6 +96,8 @@ public class OTOSLocalizer extends Localizer {
         otos.calibrateImu();
         otos.resetTracking();
 
+        reader = new OTOSReader(otos);
+
         setStartPose(setStartPose);
         totalHeading = 0;
         previousHeading = startPose.getHeading();
@@ -102,8 +112,7 @@ public class OTOSLocalizer extends Localizer {
      */
     @Override
     public Pose getPose() {
-        SparkFunOTOS.Pose2D pose = otos.getPosition();
-        return MathFunctions.addPoses(startPose, new Pose(pose.x, pose.y, pose.h));
+        return MathFunctions.addPoses(startPose, new Pose(sample.x, sample.y, sample.heading));
     }
 
     /**
@@ -113,8 +122,7 @@ public class OTOSLocalizer extends Localizer {
      */
     @Override
     public Pose getVelocity() {
-        SparkFunOTOS.Pose2D OTOSVelocity = otos.getVelocity();
-        return new Pose(OTOSVelocity.x, OTOSVelocity.y, OTOSVelocity.h);
+        return new Pose(sample.xVelocity, sample.yVelocity, sample.headingVelocity);
     }
 
     /**
@@ -146,25 +154,63 @@ public class OTOSLocalizer extends Localizer {
      */
     @Override
     public void setPose(Pose setPose) {
-        resetOTOS();
         Pose setOTOSPose = MathFunctions.subtractPoses(setPose, startPose);
-        otos.setPosition(new SparkFunOTOS.Pose2D(setOTOSPose.getX(), setOTOSPose.getY(), setOTOSPose.getHeading()));
+        sample = reader.runExclusive(() -> {
+            otos.resetTracking();
+            otos.setPosition(new SparkFunOTOS.Pose2D(setOTOSPose.getX(), setOTOSPose.getY(), setOTOSPose.getHeading()));
+        });
     }
 
     /**
-     * This updates the total heading of the robot. The OTOS handles all other updates itself.
+     * This returns true, since the OTOS measures its velocity itself.
+     *
+     * @return returns true
+     */
+    @Override
+    public boolean measuresVelocity() {
+        return true;
+    }
+
+    /**
+     * This returns when the reading of the OTOS from the last update() was taken.
+     *
+     * @return returns the time of the reading, in nanoseconds.
+     */
+    @Override
+    public long getSampleTime() {
+        return sample.timestamp;
+    }
+
+    /**
+     * This takes the latest reading of the OTOS and updates the total heading of the robot. The
+     * OTOS handles all other updates itself.
      */
     @Override
     public void update() {
-        totalHeading += MathFunctions.getSmallestAngleDifference(otos.getPosition().h, previousHeading);
-        previousHeading = otos.getPosition().h;
+        if (FollowerConstants.useOTOSReaderThread) {
+            sample = reader.getLatest();
+        } else {
+            reader.stop();
+            sample = reader.read();
+        }
+        totalHeading += MathFunctions.getSmallestAngleDifference(sample.heading, previousHeading);
+        previousHeading = sample.heading;
     }
 
     /**
      * This resets the OTOS.
      */
     public void resetOTOS() {
-        otos.resetTracking();
+        sample = reader.runExclusive(otos::resetTracking);
+    }
+
+    /**
+     * This returns the OTOSReader that reads the OTOS on its own thread.
+     *
+     * @return returns the OTOSReader
+     */
+    public OTOSReader getReader() {
+        return reader;
     }
 
     /**
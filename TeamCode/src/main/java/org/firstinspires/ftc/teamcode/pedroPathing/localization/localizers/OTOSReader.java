@@ -0,0 +1,209 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization.localizers;
+
+import com.qualcomm.hardware.sparkfun.SparkFunOTOS;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This is the OTOSReader class. This class reads the SparkFun OTOS on its own thread, so the
+ * control loop never has to wait on an I2C read. Every read gets the position, velocity, and
+ * acceleration together in one burst read with getPosVelAcc(), and the result is published as an
+ * immutable Sample through an AtomicReference. Only the reader thread writes it, and any number of
+ * threads can read the latest Sample at any time without blocking.
+ *
+ * The thread is started the first time getLatest() is called, and stops by itself once nothing
+ * has asked for a Sample in a while, so a reader from an OpMode that has ended doesn't keep reading
+ * in the next one. If it's stopped, the next getLatest() starts it again.
+ *
+ * All reads and writes to the OTOS that go through this are done one at a time, so writing to the
+ * OTOS with runExclusive() never happens in the middle of a read. Every I2C transaction to a hub
+ * still waits for the other ones on the same hub, so reading as fast as possible slows down motor
+ * writes and bulk reads on the main thread. The read period in FollowerConstants sets how long to
+ * wait between reads.
+ */
+public class OTOSReader implements Runnable {
+    // This is how long the thread keeps reading without anything asking for a Sample, in nanoseconds
+    private final long IDLE_TIMEOUT = 500000000;
+
+    private final SparkFunOTOS otos;
+    private final AtomicReference<Sample> latest = new AtomicReference<>();
+    private final Object readLock = new Object();
+
+    // these are only used while holding the read lock
+    private final SparkFunOTOS.Pose2D position = new SparkFunOTOS.Pose2D();
+    private final SparkFunOTOS.Pose2D velocity = new SparkFunOTOS.Pose2D();
+    private final SparkFunOTOS.Pose2D acceleration = new SparkFunOTOS.Pose2D();
+
+    private volatile Thread thread;
+    private volatile long lastRequestTime;
+    private volatile long reads;
+
+    /**
+     * This is the Sample class. It holds one reading of the OTOS and when it was taken. Samples
+     * never change after they're made, so they can be shared between threads.
+     */
+    public static class Sample {
+        public final double x;
+        public final double y;
+        public final double heading;
+        public final double xVelocity;
+        public final double yVelocity;
+        public final double headingVelocity;
+        public final double xAcceleration;
+        public final double yAcceleration;
+        public final double headingAcceleration;
+
+        // This is the Clock time in nanoseconds halfway through the I2C read
+        public final long timestamp;
+
+        /**
+         * This creates a new Sample from a reading of the OTOS.
+         *
+         * @param position the position that was read.
+         * @param velocity the velocity that was read.
+         * @param acceleration the acceleration that was read.
+         * @param timestamp the time the reading was taken, in nanoseconds.
+         */
+        private Sample(SparkFunOTOS.Pose2D position, SparkFunOTOS.Pose2D velocity, SparkFunOTOS.Pose2D acceleration, long timestamp) {
+            x = position.x;
+            y = position.y;
+            heading = position.h;
+            xVelocity = velocity.x;
+            yVelocity = velocity.y;
+            headingVelocity = velocity.h;
+            xAcceleration = acceleration.x;
+            yAcceleration = acceleration.y;
+            headingAcceleration = acceleration.h;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * This creates a new OTOSReader. The thread isn't started until a Sample is asked for.
+     *
+     * @param otos the OTOS to read.
+     */
+    public OTOSReader(SparkFunOTOS otos) {
+        this.otos = otos;
+    }
+
+    /**
+     * This reads the OTOS right now on the calling thread, publishes the reading, and returns it.
+     * This blocks for the whole I2C read, so the control loop should use getLatest() instead.
+     *
+     * @return returns the new Sample.
+     */
+    public Sample read() {
+        synchronized (readLock) {
+            long startTime = Clock.nanoTime();
+            otos.getPosVelAcc(position, velocity, acceleration);
+            long endTime = Clock.nanoTime();
+            Sample sample = new Sample(position, velocity, acceleration, startTime + (endTime - startTime) / 2);
+            latest.set(sample);
+            reads++;
+            return sample;
+        }
+    }
+
+    /**
+     * This returns the latest Sample without blocking, and starts the reader thread if it isn't
+     * running. If nothing has been read yet, this reads the OTOS once on the calling thread.
+     *
+     * @return returns the latest Sample.
+     */
+    public Sample getLatest() {
+        lastRequestTime = System.nanoTime();
+        if (thread == null) start();
+        Sample sample = latest.get();
+        if (sample == null) sample = read();
+        return sample;
+    }
+
+    /**
+     * This runs something that writes to the OTOS, like setting the position, without a read
+     * happening at the same time, and then reads the OTOS again so the next Sample is from after
+     * the write.
+     *
+     * @param write the writes to do.
+     * @return returns the first Sample from after the write.
+     */
+    public Sample runExclusive(Runnable write) {
+        synchronized (readLock) {
+            write.run();
+            return read();
+        }
+    }
+
+    /**
+     * This starts the reader thread, if it isn't running already.
+     */
+    public synchronized void start() {
+        if (thread != null) return;
+        lastRequestTime = System.nanoTime();
+        Thread newThread = new Thread(this, "OTOS reader");
+        newThread.setDaemon(true);
+        thread = newThread;
+        newThread.start();
+    }
+
+    /**
+     * This stops the reader thread. The latest Sample can still be gotten after this, and the next
+     * getLatest() starts the thread again.
+     */
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    /**
+     * This reads the OTOS over and over until the thread is stopped, interrupted, or nothing has
+     * asked for a Sample in a while. This is what the reader thread runs, so don't call it directly.
+     */
+    @Override
+    public void run() {
+        try {
+            while (thread == Thread.currentThread() && !Thread.currentThread().isInterrupted()) {
+                long startTime = System.nanoTime();
+                if (startTime - lastRequestTime > IDLE_TIMEOUT) break;
+
+                read();
+
+                long sleepTime = (long) (FollowerConstants.otosReadPeriod * 1000000) - (System.nanoTime() - startTime);
+                if (sleepTime > 0) {
+                    Thread.sleep(sleepTime / 1000000, (int) (sleepTime % 1000000));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // the OTOS is gone, like after the OpMode that owns it has stopped
+        } finally {
+            synchronized (this) {
+                if (thread == Thread.currentThread()) thread = null;
+            }
+        }
+    }
+
+    /**
+     * This returns if the reader thread is running.
+     *
+     * @return returns if the thread is running.
+     */
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * This returns how many times the OTOS has been read.
+     *
+     * @return returns the number of reads.
+     */
+    public long getReads() {
+        return reads;
+    }
+}
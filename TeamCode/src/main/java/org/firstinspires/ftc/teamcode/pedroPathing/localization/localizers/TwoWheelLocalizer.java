@@ -9,8 +9,9 @@ import com.qualcomm.robotcore.hardware.IMU;
 import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Encoder;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Localizer;
-import org.firstinspires.ftc.teamcode.pedroPathing.localization.Matrix;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Matrix3;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose2dDelta;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.NanoTimer;
@@ -49,7 +50,10 @@ public class TwoWheelLocalizer extends Localizer { // todo: make two wheel odo w
     private Pose startPose;
     private Pose displacementPose;
     private Pose currentVelocity;
-    private Matrix prevRotationMatrix;
+    private final Matrix3 prevRotationMatrix = new Matrix3();
+    private final Matrix3 transformation = new Matrix3();
+    private final Pose2dDelta robotDeltas = new Pose2dDelta();
+    private final Pose2dDelta globalDeltas = new Pose2dDelta();
     private NanoTimer timer;
     private long deltaTimeNano;
     private Encoder forwardEncoder;
@@ -155,12 +159,7 @@ public class TwoWheelLocalizer extends Localizer { // todo: make two wheel odo w
      * @param heading the rotation of the Matrix
      */
     public void setPrevRotationMatrix(double heading) {
-        prevRotationMatrix = new Matrix(3,3);
-        prevRotationMatrix.set(0, 0, Math.cos(heading));
-        prevRotationMatrix.set(0, 1, -Math.sin(heading));
-        prevRotationMatrix.set(1, 0, Math.sin(heading));
-        prevRotationMatrix.set(1, 1, Math.cos(heading));
-        prevRotationMatrix.set(2, 2, 1.0);
+        prevRotationMatrix.setRotation(heading);
     }
 
     /**
@@ -186,31 +185,16 @@ public class TwoWheelLocalizer extends Localizer { // todo: make two wheel odo w
         timer.resetTimer();
 
         updateEncoders();
-        Matrix robotDeltas = getRobotDeltas();
-        Matrix globalDeltas;
-        setPrevRotationMatrix(getPose().getHeading());
+        getRobotDeltas();
+        Pose2dDelta.poseExponential(robotDeltas, startPose.getHeading() + displacementPose.getHeading(), prevRotationMatrix, transformation, globalDeltas);
 
-        Matrix transformation = new Matrix(3,3);
-        if (Math.abs(robotDeltas.get(2, 0)) < 0.001) {
-            transformation.set(0, 0, 1.0 - (Math.pow(robotDeltas.get(2, 0), 2) / 6.0));
-            transformation.set(0, 1, -robotDeltas.get(2, 0) / 2.0);
-            transformation.set(1, 0, robotDeltas.get(2, 0) / 2.0);
-            transformation.set(1, 1, 1.0 - (Math.pow(robotDeltas.get(2, 0), 2) / 6.0));
-            transformation.set(2, 2, 1.0);
-        } else {
-            transformation.set(0, 0, Math.sin(robotDeltas.get(2, 0)) / robotDeltas.get(2, 0));
-            transformation.set(0, 1, (Math.cos(robotDeltas.get(2, 0)) - 1.0) / robotDeltas.get(2, 0));
-            transformation.set(1, 0, (1.0 - Math.cos(robotDeltas.get(2, 0))) / robotDeltas.get(2, 0));
-            transformation.set(1, 1, Math.sin(robotDeltas.get(2, 0)) / robotDeltas.get(2, 0));
-            transformation.set(2, 2, 1.0);
-        }
+        globalDeltas.addTo(displacementPose);
+        double deltaTimeSeconds = deltaTimeNano / Math.pow(10.0, 9);
+        currentVelocity.setX(globalDeltas.getX() / deltaTimeSeconds);
+        currentVelocity.setY(globalDeltas.getY() / deltaTimeSeconds);
+        currentVelocity.setHeading(globalDeltas.getHeading() / deltaTimeSeconds);
 
-        globalDeltas = Matrix.multiply(Matrix.multiply(prevRotationMatrix, transformation), robotDeltas);
-
-        displacementPose.add(new Pose(globalDeltas.get(0, 0), globalDeltas.get(1, 0), globalDeltas.get(2, 0)));
-        currentVelocity = new Pose(globalDeltas.get(0, 0) / (deltaTimeNano * Math.pow(10.0, 9)), globalDeltas.get(1, 0) / (deltaTimeNano * Math.pow(10.0, 9)), globalDeltas.get(2, 0) / (deltaTimeNano * Math.pow(10.0, 9)));
-
-        totalHeading += globalDeltas.get(2, 0);
+        totalHeading += globalDeltas.getHeading();
     }
 
     /**
@@ -237,17 +221,17 @@ public class TwoWheelLocalizer extends Localizer { // todo: make two wheel odo w
      * This calculates the change in position from the perspective of the robot using information
      * from the Encoders and IMU.
      *
-     * @return returns a Matrix containing the robot relative movement.
+     * @return returns a Pose2dDelta containing the robot relative movement. This is reused every update.
      */
-    public Matrix getRobotDeltas() {
-        Matrix returnMatrix = new Matrix(3,1);
-        // x/forward movement
-        returnMatrix.set(0,0, FORWARD_TICKS_TO_INCHES * (forwardEncoder.getDeltaPosition() - forwardEncoderPose.getY() * deltaRadians));
-        //y/strafe movement
-        returnMatrix.set(1,0, STRAFE_TICKS_TO_INCHES * (strafeEncoder.getDeltaPosition() - strafeEncoderPose.getX() * deltaRadians));
-        // theta/turning
-        returnMatrix.set(2,0, deltaRadians);
-        return returnMatrix;
+    public Pose2dDelta getRobotDeltas() {
+        robotDeltas.set(
+                // x/forward movement
+                FORWARD_TICKS_TO_INCHES * (forwardEncoder.getDeltaPosition() - forwardEncoderPose.getY() * deltaRadians),
+                //y/strafe movement
+                STRAFE_TICKS_TO_INCHES * (strafeEncoder.getDeltaPosition() - strafeEncoderPose.getX() * deltaRadians),
+                // theta/turning
+                deltaRadians);
+        return robotDeltas;
     }
 
     /**
@@ -43,6 +43,7 @@ public class ForwardTuner extends OpMode {
 
         dashboardPoseTracker = new DashboardPoseTracker(poseUpdater);
 
+        Drawing.enabled = true;
         telemetryA = new MultipleTelemetry(this.telemetry, FtcDashboard.getInstance().getTelemetry());
         telemetryA.addLine("Pull your robot forward " + DISTANCE + " inches. Your forward ticks to inches will be shown on the telemetry.");
         telemetryA.update();
@@ -44,6 +44,7 @@ public class LateralTuner extends OpMode {
 
         dashboardPoseTracker = new DashboardPoseTracker(poseUpdater);
 
+        Drawing.enabled = true;
         telemetryA = new MultipleTelemetry(this.telemetry, FtcDashboard.getInstance().getTelemetry());
         telemetryA.addLine("Pull your robot to the right " + DISTANCE + " inches. Your strafe ticks to inches will be shown on the telemetry.");
         telemetryA.update();
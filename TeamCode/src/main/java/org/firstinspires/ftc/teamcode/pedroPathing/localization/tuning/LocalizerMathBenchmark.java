@@ -0,0 +1,156 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.localization.tuning;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Matrix;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Matrix3;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose2dDelta;
+
+/**
+ * This is the LocalizerMathBenchmark OpMode. This times the pose exponential math that the odometry
+ * localizers run every update, once the old way with the Matrix class and once with Matrix3 and
+ * Pose2dDelta, and displays the average time per update for both. No hardware is used, so this can
+ * be run on any robot. Run it on the Control Hub, since that's where the loop times matter.
+ * You can adjust the number of updates timed per loop on FTC Dashboard: 192/168/43/1:8080/dash
+ */
+@Config
+@TeleOp(group = "Pedro Pathing Tuning", name = "Localizer Math Benchmark")
+public class LocalizerMathBenchmark extends OpMode {
+    private Telemetry telemetryA;
+
+    public static int UPDATES_PER_LOOP = 2000;
+
+    private final Pose matrixPose = new Pose();
+    private final Pose matrix3Pose = new Pose();
+    private final Matrix3 rotation = new Matrix3();
+    private final Matrix3 transformation = new Matrix3();
+    private final Pose2dDelta robotDeltas = new Pose2dDelta();
+    private final Pose2dDelta globalDeltas = new Pose2dDelta();
+
+    private long matrixTotalNano;
+    private long matrix3TotalNano;
+    private long totalUpdates;
+    private int step;
+
+    /**
+     * This initializes the FTC Dashboard telemetry.
+     */
+    @Override
+    public void init() {
+        telemetryA = new MultipleTelemetry(this.telemetry, FtcDashboard.getInstance().getTelemetry());
+        telemetryA.addLine("This times the localizer pose exponential math with the Matrix class "
+                + "and with Matrix3. Press start to begin timing.");
+        telemetryA.update();
+    }
+
+    /**
+     * This times a batch of updates both ways and displays the running averages, along with how far
+     * apart the two integrated poses are, which should stay at about 0.
+     */
+    @Override
+    public void loop() {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < UPDATES_PER_LOOP; i++) {
+            matrixUpdate(step + i);
+        }
+        long matrixTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < UPDATES_PER_LOOP; i++) {
+            matrix3Update(step + i);
+        }
+        long matrix3Time = System.nanoTime() - startTime;
+
+        step += UPDATES_PER_LOOP;
+        matrixTotalNano += matrixTime;
+        matrix3TotalNano += matrix3Time;
+        totalUpdates += UPDATES_PER_LOOP;
+
+        telemetryA.addData("updates timed", totalUpdates);
+        telemetryA.addData("Matrix ns per update", (double) matrixTotalNano / totalUpdates);
+        telemetryA.addData("Matrix3 ns per update", (double) matrix3TotalNano / totalUpdates);
+        telemetryA.addData("speedup", (double) matrixTotalNano / matrix3TotalNano);
+        telemetryA.addData("pose difference", Math.hypot(matrixPose.getX() - matrix3Pose.getX(), matrixPose.getY() - matrix3Pose.getY()));
+        telemetryA.update();
+    }
+
+    /**
+     * These make up a robot relative movement for a specified step, so both ways of doing the math
+     * get the same inputs without calling into the hardware. The heading movement crosses the
+     * small angle cutoff, so both branches of the pose exponential get timed.
+     *
+     * @param step the step number
+     * @return returns the x, y, or heading movement
+     */
+    private static double fakeDeltaX(int step) {
+        return 0.3 * Math.sin(step * 0.01);
+    }
+
+    private static double fakeDeltaY(int step) {
+        return 0.2 * Math.cos(step * 0.013);
+    }
+
+    private static double fakeDeltaHeading(int step) {
+        return 0.004 * Math.sin(step * 0.007);
+    }
+
+    /**
+     * This runs one update of the pose exponential math the way the localizers used to, with new
+     * Matrix objects every update.
+     *
+     * @param step the step number
+     */
+    private void matrixUpdate(int step) {
+        Matrix robotDeltas = new Matrix(3, 1);
+        robotDeltas.set(0, 0, fakeDeltaX(step));
+        robotDeltas.set(1, 0, fakeDeltaY(step));
+        robotDeltas.set(2, 0, fakeDeltaHeading(step));
+
+        double heading = matrixPose.getHeading();
+        Matrix prevRotationMatrix = new Matrix(3, 3);
+        prevRotationMatrix.set(0, 0, Math.cos(heading));
+        prevRotationMatrix.set(0, 1, -Math.sin(heading));
+        prevRotationMatrix.set(1, 0, Math.sin(heading));
+        prevRotationMatrix.set(1, 1, Math.cos(heading));
+        prevRotationMatrix.set(2, 2, 1.0);
+
+        Matrix transformation = new Matrix(3, 3);
+        if (Math.abs(robotDeltas.get(2, 0)) < 0.001) {
+            transformation.set(0, 0, 1.0 - (Math.pow(robotDeltas.get(2, 0), 2) / 6.0));
+            transformation.set(0, 1, -robotDeltas.get(2, 0) / 2.0);
+            transformation.set(1, 0, robotDeltas.get(2, 0) / 2.0);
+            transformation.set(1, 1, 1.0 - (Math.pow(robotDeltas.get(2, 0), 2) / 6.0));
+            transformation.set(2, 2, 1.0);
+        } else {
+            transformation.set(0, 0, Math.sin(robotDeltas.get(2, 0)) / robotDeltas.get(2, 0));
+            transformation.set(0, 1, (Math.cos(robotDeltas.get(2, 0)) - 1.0) / robotDeltas.get(2, 0));
+            transformation.set(1, 0, (1.0 - Math.cos(robotDeltas.get(2, 0))) / robotDeltas.get(2, 0));
+            transformation.set(1, 1, Math.sin(robotDeltas.get(2, 0)) / robotDeltas.get(2, 0));
+            transformation.set(2, 2, 1.0);
+        }
+
+        Matrix globalDeltas = Matrix.multiply(Matrix.multiply(prevRotationMatrix, transformation), robotDeltas);
+
+        matrixPose.add(new Pose(globalDeltas.get(0, 0), globalDeltas.get(1, 0), globalDeltas.get(2, 0)));
+    }
+
+    /**
+     * This runs one update of the pose exponential math the way the localizers do now, with
+     * Matrix3 and Pose2dDelta objects that are reused every update.
+     *
+     * @param step the step number
+     */
+    private void matrix3Update(int step) {
+        robotDeltas.set(fakeDeltaX(step), fakeDeltaY(step), fakeDeltaHeading(step));
+
+        Pose2dDelta.poseExponential(robotDeltas, matrix3Pose.getHeading(), rotation, transformation, globalDeltas);
+
+        globalDeltas.addTo(matrix3Pose);
+    }
+}
@@ -44,6 +44,7 @@ public class TurnTuner extends OpMode {
 
         dashboardPoseTracker = new DashboardPoseTracker(poseUpdater);
 
+        Drawing.enabled = true;
         telemetryA = new MultipleTelemetry(this.telemetry, FtcDashboard.getInstance().getTelemetry());
         telemetryA.addLine("Turn your robot " + ANGLE + " radians. Your turn ticks to inches will be shown on the telemetry.");
         telemetryA.update();
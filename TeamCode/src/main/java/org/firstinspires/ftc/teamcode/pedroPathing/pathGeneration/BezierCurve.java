@@ -1,6 +1,7 @@
 package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
 
 
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
 import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
 
 import java.util.ArrayList;
@@ -20,20 +21,27 @@ import java.util.Collections;
  * @version 1.0, 3/5/2024
  */
 public class BezierCurve {
-    // This contains the coefficients for the curve points
-    private final ArrayList<BezierCurveCoefficients> pointCoefficients = new ArrayList<>();
+    // This contains the power basis coefficients of the curve and its derivatives
+    private BezierCurvePolynomial polynomial;
 
     // This contains the control points for the Bezier curve
     private ArrayList<Point> controlPoints = new ArrayList<>();
 
     private Vector endTangent = new Vector();
 
+    // These are reused to work out the heading of the approximate second derivative every loop
+    private final Vector approxDerivative = new Vector();
+    private final Vector approxDeltaDerivative = new Vector();
+
     private final int APPROXIMATION_STEPS = FollowerConstants.APPROXIMATION_STEPS;
 
     private final int DASHBOARD_DRAWING_APPROXIMATION_STEPS = 100;
 
     private double[][] dashboardDrawingPoints;
 
+    // This contains the positions, arc lengths, tangents, and curvatures sampled along the curve
+    private CurveSampleTable sampleTable;
+
     private double UNIT_TO_TIME;
     private double length;
 
@@ -83,53 +91,76 @@ public class BezierCurve {
         initialize();
     }
 
+    /**
+     * This creates a new BezierCurve with an ArrayList of control points and a CurveSampleTable that
+     * was already calculated, like one read from a compiled Path file, so the curve doesn't have to
+     * be sampled again.
+     *
+     * @param controlPoints This is the ArrayList of control points that define the BezierCurve.
+     * @param sampleTable This is the CurveSampleTable for the BezierCurve.
+     */
+    BezierCurve(ArrayList<Point> controlPoints, CurveSampleTable sampleTable) {
+        this.controlPoints = controlPoints;
+        this.sampleTable = sampleTable;
+        initialize();
+    }
+
     /**
      * This handles most of the initialization of the BezierCurve that is called from the constructor.
+     * The CurveSampleTable is only built if one wasn't already given.
      */
     public void initialize() {
         generateBezierCurve();
+        if (sampleTable == null) sampleTable = new CurveSampleTable(polynomial, APPROXIMATION_STEPS);
         length = approximateLength();
         UNIT_TO_TIME = 1/length;
         endTangent.setOrthogonalComponents(controlPoints.get(controlPoints.size()-1).getX()-controlPoints.get(controlPoints.size()-2).getX(), controlPoints.get(controlPoints.size()-1).getY()-controlPoints.get(controlPoints.size()-2).getY());
         endTangent = MathFunctions.normalizeVector(endTangent);
-        initializeDashboardDrawingPoints();
     }
 
     /**
-     * This creates the Array that holds the Points to draw on the Dashboard.
+     * This creates the Array that holds the Points to draw on the Dashboard. If this BezierCurve has
+     * a CurveSampleTable, then the Points are read from that instead of evaluating the curve again.
+     * This isn't called until the drawing points are first asked for, since most Paths are never
+     * drawn during a competition match.
      */
     public void initializeDashboardDrawingPoints() {
         dashboardDrawingPoints = new double[2][DASHBOARD_DRAWING_APPROXIMATION_STEPS + 1];
         for (int i = 0; i <= DASHBOARD_DRAWING_APPROXIMATION_STEPS; i++) {
-            Point currentPoint = getPoint(i/(double) (DASHBOARD_DRAWING_APPROXIMATION_STEPS));
-            dashboardDrawingPoints[0][i] = currentPoint.getX();
-            dashboardDrawingPoints[1][i] = currentPoint.getY();
+            double t = i/(double) (DASHBOARD_DRAWING_APPROXIMATION_STEPS);
+            if (sampleTable != null) {
+                dashboardDrawingPoints[0][i] = sampleTable.getX(t);
+                dashboardDrawingPoints[1][i] = sampleTable.getY(t);
+            } else {
+                Point currentPoint = getPoint(t);
+                dashboardDrawingPoints[0][i] = currentPoint.getX();
+                dashboardDrawingPoints[1][i] = currentPoint.getY();
+            }
         }
     }
 
     /**
      * This returns a 2D Array of doubles containing the x and y positions of points to draw on FTC
-     * Dashboard.
+     * Dashboard. These are generated the first time this is called.
      *
      * @return returns the 2D Array to draw on FTC Dashboard
      */
     public double[][] getDashboardDrawingPoints() {
+        if (dashboardDrawingPoints == null) initializeDashboardDrawingPoints();
         return dashboardDrawingPoints;
     }
 
     /**
      * This generates the Bezier curve. It assumes that the ArrayList of control points has been set.
-     * Well, this actually generates the coefficients for each control point on the Bezier curve.
-     * These coefficients can then be used to calculate a position, velocity, or accleration on the
-     * Bezier curve on the fly without much computational expense.
+     * Well, this actually converts the control points into the polynomial coefficients of the
+     * Bezier curve and its derivatives. These coefficients can then be used to calculate a position,
+     * velocity, or accleration on the Bezier curve on the fly with Horner's rule, without much
+     * computational expense.
      *
-     * See https://en.wikipedia.org/wiki/Bézier_curve for the explicit formula for Bezier curves
+     * See https://en.wikipedia.org/wiki/Bézier_curve#Polynomial_form for the polynomial form of Bezier curves
      */
     public void generateBezierCurve() {
-        int n = controlPoints.size()-1;
-        for (int i = 0; i <= n; i++) {
-            pointCoefficients.add(new BezierCurveCoefficients(n, i));
-        }
+        polynomial = new BezierCurvePolynomial(controlPoints);
     }
 
     /**
@@ -143,20 +174,42 @@ public class BezierCurve {
 
     /**
      * This approximates the length of the BezierCurve in APPROXIMATION_STEPS number of steps. It's
-     * like a Riemann's sum, but for a parametric function's arc length.
+     * like a Riemann's sum, but for a parametric function's arc length. The sum is done once when
+     * the CurveSampleTable is built, so this just reads the total from there.
      *
      * @return returns the approximated length of the BezierCurve.
      */
     public double approximateLength() {
-        Point previousPoint = getPoint(0);
-        Point currentPoint;
-        double approxLength = 0;
-        for (int i = 1; i <= APPROXIMATION_STEPS; i++) {
-            currentPoint = getPoint(i/(double)APPROXIMATION_STEPS);
-            approxLength += previousPoint.distanceFrom(currentPoint);
-            previousPoint = currentPoint;
+        if (polynomial == null) generateBezierCurve();
+        if (sampleTable == null) sampleTable = new CurveSampleTable(polynomial, APPROXIMATION_STEPS);
+        return sampleTable.getLength();
+    }
+
+    /**
+     * This returns the t-value of the closest Point on the BezierCurve to a specified pose. If this
+     * BezierCurve has a CurveSampleTable, then the search is done over the sampled points. Otherwise,
+     * this falls back to a binary search that is limited to some specified step limit.
+     *
+     * @param pose the pose.
+     * @param searchStepLimit the binary search step limit, if a binary search is needed.
+     * @return returns the t-value of the closest Point.
+     */
+    public double getClosestPointTValue(Pose pose, int searchStepLimit) {
+        if (sampleTable != null) return sampleTable.getClosestTValue(pose.getX(), pose.getY());
+
+        double lower = 0;
+        double upper = 1;
+
+        // we don't need to calculate the midpoint, so we start off at the 1/4 and 3/4 point
+        for (int i = 0; i < searchStepLimit; i++) {
+            if (MathFunctions.distance(pose, getPoint(lower + 0.25 * (upper-lower))) > MathFunctions.distance(pose, getPoint(lower + 0.75 * (upper-lower)))) {
+                lower += (upper-lower)/2.0;
+            } else {
+                upper -= (upper-lower)/2.0;
+            }
         }
-        return approxLength;
+
+        return lower + 0.5 * (upper-lower);
     }
 
     /**
@@ -170,29 +223,32 @@ public class BezierCurve {
      */
     public Point getPoint(double t) {
         t = MathFunctions.clamp(t, 0, 1);
-        double xCoordinate = 0;
-        double yCoordinate = 0;
-
-        // calculates the x coordinate of the point requested
-        for (int i = 0; i < controlPoints.size(); i++) {
-            xCoordinate += pointCoefficients.get(i).getValue(t) * controlPoints.get(i).getX();
-        }
+        return new Point(polynomial.getX(t), polynomial.getY(t), Point.CARTESIAN);
+    }
 
-        // calculates the y coordinate of the point requested
-        for (int i = 0; i < controlPoints.size(); i++) {
-            yCoordinate += pointCoefficients.get(i).getValue(t) * controlPoints.get(i).getY();
-        }
-        return new Point(xCoordinate, yCoordinate, Point.CARTESIAN);
+    /**
+     * This writes the point on the Bezier curve that is specified by the parametric t value into a
+     * Pose, without creating any new objects. The heading of the Pose is left alone.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param result the Pose to write the x and y into.
+     */
+    public void getPoint(double t, Pose result) {
+        t = MathFunctions.clamp(t, 0, 1);
+        result.setX(polynomial.getX(t));
+        result.setY(polynomial.getY(t));
     }
 
     /**
-     * This returns the curvature of the Bezier curve at a specified t-value.
+     * This returns the curvature of the Bezier curve at a specified t-value. This is interpolated
+     * from the CurveSampleTable if there is one.
      *
      * @param t the parametric t input.
      * @return returns the curvature.
      */
     public double getCurvature(double t) {
         t = MathFunctions.clamp(t, 0, 1);
+        if (sampleTable != null) return sampleTable.getCurvature(t);
         Vector derivative = getDerivative(t);
         Vector secondDerivative = getSecondDerivative(t);
 
@@ -209,25 +265,25 @@ public class BezierCurve {
      */
     public Vector getDerivative(double t) {
         t = MathFunctions.clamp(t, 0, 1);
-        double xCoordinate = 0;
-        double yCoordinate = 0;
         Vector returnVector = new Vector();
 
-        // calculates the x coordinate of the point requested
-        for (int i = 0; i < controlPoints.size()-1; i++) {
-            xCoordinate += pointCoefficients.get(i).getDerivativeValue(t) * (MathFunctions.subtractPoints(controlPoints.get(i+1), controlPoints.get(i)).getX());
-        }
-
-        // calculates the y coordinate of the point requested
-        for (int i = 0; i < controlPoints.size()-1; i++) {
-            yCoordinate += pointCoefficients.get(i).getDerivativeValue(t) * (MathFunctions.subtractPoints(controlPoints.get(i+1), controlPoints.get(i)).getY());
-        }
-
-        returnVector.setOrthogonalComponents(xCoordinate, yCoordinate);
+        returnVector.setOrthogonalComponents(polynomial.getDerivativeX(t), polynomial.getDerivativeY(t));
 
         return returnVector;
     }
 
+    /**
+     * This writes the derivative on the BezierCurve that is specified by the parametric t value into
+     * a Vector, without creating any new objects.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param result the Vector to write the derivative into.
+     */
+    public void getDerivative(double t, Vector result) {
+        t = MathFunctions.clamp(t, 0, 1);
+        result.setOrthogonalComponents(polynomial.getDerivativeX(t), polynomial.getDerivativeY(t));
+    }
+
     /**
      * This returns the second derivative on the BezierCurve that is specified by the parametric t value.
      * This is returned as a Vector, and this Vector is the acceleration on the BezierCurve.
@@ -237,21 +293,9 @@ public class BezierCurve {
      */
     public Vector getSecondDerivative(double t) {
         t = MathFunctions.clamp(t, 0, 1);
-        double xCoordinate = 0;
-        double yCoordinate = 0;
         Vector returnVector = new Vector();
 
-        // calculates the x coordinate of the point requested
-        for (int i = 0; i < controlPoints.size()-2; i++) {
-            xCoordinate += pointCoefficients.get(i).getSecondDerivativeValue(t) * (MathFunctions.addPoints(MathFunctions.subtractPoints(controlPoints.get(i+2), new Point(2*controlPoints.get(i+1).getX(), 2*controlPoints.get(i+1).getY(), Point.CARTESIAN)), controlPoints.get(i)).getX());
-        }
-
-        // calculates the y coordinate of the point requested
-        for (int i = 0; i < controlPoints.size()-2; i++) {
-            yCoordinate += pointCoefficients.get(i).getSecondDerivativeValue(t) * (MathFunctions.addPoints(MathFunctions.subtractPoints(controlPoints.get(i+2), new Point(2*controlPoints.get(i+1).getX(), 2*controlPoints.get(i+1).getY(), Point.CARTESIAN)), controlPoints.get(i)).getY());
-        }
-
-        returnVector.setOrthogonalComponents(xCoordinate, yCoordinate);
+        returnVector.setOrthogonalComponents(polynomial.getSecondDerivativeX(t), polynomial.getSecondDerivativeY(t));
 
         return returnVector;
     }
@@ -271,6 +315,40 @@ public class BezierCurve {
         return new Vector(1, deltaCurrent - current);
     }
 
+    /**
+     * This returns the heading of the approximate second derivative from
+     * getApproxSecondDerivative(double t), without creating any new objects.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @return this returns the heading of the approximated second derivative.
+     */
+    public double getApproxSecondDerivativeTheta(double t) {
+        getDerivative(t, approxDerivative);
+        getDerivative(t + 0.0001, approxDeltaDerivative);
+
+        return MathFunctions.normalizeAngle(approxDeltaDerivative.getTheta() - approxDerivative.getTheta());
+    }
+
+    /**
+     * Returns the BezierCurvePolynomial for this BezierCurve. This is null for BezierLines and
+     * BezierPoints, since those calculate their positions and derivatives directly.
+     *
+     * @return This returns the BezierCurvePolynomial.
+     */
+    public BezierCurvePolynomial getPolynomial() {
+        return polynomial;
+    }
+
+    /**
+     * Returns the CurveSampleTable for this BezierCurve. This is null for BezierLines and
+     * BezierPoints, since those are cheap enough to calculate directly.
+     *
+     * @return This returns the CurveSampleTable.
+     */
+    public CurveSampleTable getSampleTable() {
+        return sampleTable;
+    }
+
     /**
      * Returns the ArrayList of control points for this BezierCurve.
      *
@@ -0,0 +1,154 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+import java.util.ArrayList;
+
+/**
+ * This is the BezierCurvePolynomial class. This class converts the control points of a Bezier curve
+ * into the power basis once, so the curve is stored as the coefficients of two ordinary polynomials,
+ * x(t) and y(t), along with the coefficients of their first and second derivatives. Positions,
+ * derivatives, and second derivatives can then be evaluated with Horner's rule, which is just a
+ * handful of multiplications and additions with no Math.pow calls and no new objects.
+ *
+ * The power basis coefficient of t^k for a Bezier curve of degree n is
+ * nCr(n, k) * sum from i = 0 to k of (-1)^(k - i) * nCr(k, i) * P_i
+ *
+ * See https://en.wikipedia.org/wiki/Bézier_curve#Polynomial_form for the polynomial form of Bezier curves
+ */
+public class BezierCurvePolynomial {
+    private final int degree;
+
+    private final double[] xCoefficients;
+    private final double[] yCoefficients;
+    private final double[] xDerivativeCoefficients;
+    private final double[] yDerivativeCoefficients;
+    private final double[] xSecondDerivativeCoefficients;
+    private final double[] ySecondDerivativeCoefficients;
+
+    /**
+     * This creates a new BezierCurvePolynomial from the control points of a Bezier curve.
+     *
+     * @param controlPoints the control points of the Bezier curve, in order.
+     */
+    public BezierCurvePolynomial(ArrayList<Point> controlPoints) {
+        degree = controlPoints.size() - 1;
+
+        xCoefficients = new double[degree + 1];
+        yCoefficients = new double[degree + 1];
+        for (int k = 0; k <= degree; k++) {
+            double xSum = 0;
+            double ySum = 0;
+            for (int i = 0; i <= k; i++) {
+                double sign = (k - i) % 2 == 0 ? 1 : -1;
+                double coefficient = sign * MathFunctions.nCr(k, i);
+                xSum += coefficient * controlPoints.get(i).getX();
+                ySum += coefficient * controlPoints.get(i).getY();
+            }
+            double coefficient = MathFunctions.nCr(degree, k);
+            xCoefficients[k] = coefficient * xSum;
+            yCoefficients[k] = coefficient * ySum;
+        }
+
+        xDerivativeCoefficients = differentiate(xCoefficients);
+        yDerivativeCoefficients = differentiate(yCoefficients);
+        xSecondDerivativeCoefficients = differentiate(xDerivativeCoefficients);
+        ySecondDerivativeCoefficients = differentiate(yDerivativeCoefficients);
+    }
+
+    /**
+     * This returns the coefficients of the derivative of a polynomial in the power basis.
+     *
+     * @param coefficients the coefficients of the polynomial, from the constant term up.
+     * @return returns the coefficients of the derivative. This has one less term, but always at least one.
+     */
+    private static double[] differentiate(double[] coefficients) {
+        double[] derivative = new double[Math.max(coefficients.length - 1, 1)];
+        for (int k = 1; k < coefficients.length; k++) {
+            derivative[k - 1] = k * coefficients[k];
+        }
+        return derivative;
+    }
+
+    /**
+     * This evaluates a polynomial in the power basis using Horner's rule.
+     *
+     * @param coefficients the coefficients of the polynomial, from the constant term up.
+     * @param t the input to the polynomial.
+     * @return returns the value of the polynomial.
+     */
+    private static double evaluate(double[] coefficients, double t) {
+        double value = coefficients[coefficients.length - 1];
+        for (int k = coefficients.length - 2; k >= 0; k--) {
+            value = value * t + coefficients[k];
+        }
+        return value;
+    }
+
+    /**
+     * This returns the x position on the curve at a specified t-value. This does not clamp t.
+     *
+     * @param t the t-value.
+     * @return returns the x position.
+     */
+    public double getX(double t) {
+        return evaluate(xCoefficients, t);
+    }
+
+    /**
+     * This returns the y position on the curve at a specified t-value. This does not clamp t.
+     *
+     * @param t the t-value.
+     * @return returns the y position.
+     */
+    public double getY(double t) {
+        return evaluate(yCoefficients, t);
+    }
+
+    /**
+     * This returns the x component of the derivative of the curve at a specified t-value.
+     *
+     * @param t the t-value.
+     * @return returns the x component of the derivative.
+     */
+    public double getDerivativeX(double t) {
+        return evaluate(xDerivativeCoefficients, t);
+    }
+
+    /**
+     * This returns the y component of the derivative of the curve at a specified t-value.
+     *
+     * @param t the t-value.
+     * @return returns the y component of the derivative.
+     */
+    public double getDerivativeY(double t) {
+        return evaluate(yDerivativeCoefficients, t);
+    }
+
+    /**
+     * This returns the x component of the second derivative of the curve at a specified t-value.
+     *
+     * @param t the t-value.
+     * @return returns the x component of the second derivative.
+     */
+    public double getSecondDerivativeX(double t) {
+        return evaluate(xSecondDerivativeCoefficients, t);
+    }
+
+    /**
+     * This returns the y component of the second derivative of the curve at a specified t-value.
+     *
+     * @param t the t-value.
+     * @return returns the y component of the second derivative.
+     */
+    public double getSecondDerivativeY(double t) {
+        return evaluate(ySecondDerivativeCoefficients, t);
+    }
+
+    /**
+     * This returns the degree of the curve, which is one less than the number of control points.
+     *
+     * @return returns the degree.
+     */
+    public int getDegree() {
+        return degree;
+    }
+}
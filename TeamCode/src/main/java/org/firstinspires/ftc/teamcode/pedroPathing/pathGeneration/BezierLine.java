@@ -1,5 +1,7 @@
 package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
 
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+
 import java.util.ArrayList;
 
 /**
@@ -37,7 +39,6 @@ public class BezierLine extends BezierCurve {
         length = approximateLength();
         UNIT_TO_TIME = 1 / length;
         endTangent = MathFunctions.normalizeVector(getDerivative(1));
-        super.initializeDashboardDrawingPoints();
     }
 
     /**
@@ -60,6 +61,23 @@ public class BezierLine extends BezierCurve {
         return Math.sqrt(Math.pow(startPoint.getX() - endPoint.getX(), 2) + Math.pow(startPoint.getY() - endPoint.getY(), 2));
     }
 
+    /**
+     * This returns the t-value of the closest Point on the BezierLine to a specified pose. For a
+     * line, this is just the projection of the pose onto the line, so no search is needed.
+     *
+     * @param pose the pose.
+     * @param searchStepLimit this isn't used, but it's there so I can override methods.
+     * @return returns the t-value of the closest Point.
+     */
+    @Override
+    public double getClosestPointTValue(Pose pose, int searchStepLimit) {
+        double lineX = endPoint.getX() - startPoint.getX();
+        double lineY = endPoint.getY() - startPoint.getY();
+        double lengthSquared = lineX * lineX + lineY * lineY;
+        if (lengthSquared == 0) return 0;
+        return MathFunctions.clamp(((pose.getX() - startPoint.getX()) * lineX + (pose.getY() - startPoint.getY()) * lineY) / lengthSquared, 0, 1);
+    }
+
     /**
      * This returns the Point on the Bezier line that is specified by the parametric t value.
      *
@@ -72,6 +90,20 @@ public class BezierLine extends BezierCurve {
         return new Point((endPoint.getX() - startPoint.getX()) * t + startPoint.getX(), (endPoint.getY() - startPoint.getY()) * t + startPoint.getY(), Point.CARTESIAN);
     }
 
+    /**
+     * This writes the Point on the Bezier line that is specified by the parametric t value into a
+     * Pose, without creating any new objects. The heading of the Pose is left alone.
+     *
+     * @param t this is the t value of the parametric line. t is clamped to be between 0 and 1 inclusive.
+     * @param result the Pose to write the x and y into.
+     */
+    @Override
+    public void getPoint(double t, Pose result) {
+        t = MathFunctions.clamp(t, 0, 1);
+        result.setX((endPoint.getX() - startPoint.getX()) * t + startPoint.getX());
+        result.setY((endPoint.getY() - startPoint.getY()) * t + startPoint.getY());
+    }
+
     /**
      * This returns the curvature of the BezierLine, which is zero.
      *
@@ -99,6 +131,17 @@ public class BezierLine extends BezierCurve {
         return returnVector;
     }
 
+    /**
+     * This writes the derivative on the BezierLine into a Vector, without creating any new objects.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param result the Vector to write the derivative into.
+     */
+    @Override
+    public void getDerivative(double t, Vector result) {
+        result.setOrthogonalComponents(endPoint.getX() - startPoint.getX(), endPoint.getY() - startPoint.getY());
+    }
+
     /**
      * This returns the second derivative on the Bezier line, which is a zero Vector.
      * Once again, the t is only there for the override.
@@ -1,5 +1,7 @@
 package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
 
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+
 import java.util.ArrayList;
 
 /**
@@ -32,7 +34,6 @@ public class BezierPoint extends BezierCurve {
         super();
         this.point = point;
         length = approximateLength();
-        super.initializeDashboardDrawingPoints();
     }
 
     /**
@@ -69,6 +70,19 @@ public class BezierPoint extends BezierCurve {
         return new Point(point.getX(), point.getY(), Point.CARTESIAN);
     }
 
+    /**
+     * This writes the position of the BezierPoint into a Pose, without creating any new objects.
+     * The heading of the Pose is left alone.
+     *
+     * @param t this is the t value of the parametric line. t is clamped to be between 0 and 1 inclusive.
+     * @param result the Pose to write the x and y into.
+     */
+    @Override
+    public void getPoint(double t, Pose result) {
+        result.setX(point.getX());
+        result.setY(point.getY());
+    }
+
     /**
      * This returns the curvature of the BezierPoint, which is zero since this is a Point.
      *
@@ -92,6 +106,17 @@ public class BezierPoint extends BezierCurve {
         return MathFunctions.copyVector(endTangent);
     }
 
+    /**
+     * This writes the derivative on the BezierPoint into a Vector, without creating any new objects.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param result the Vector to write the derivative into.
+     */
+    @Override
+    public void getDerivative(double t, Vector result) {
+        result.set(endTangent);
+    }
+
     /**
      * This returns the second derivative on the Bezier line, which is the zero Vector since this
      * is a Point.
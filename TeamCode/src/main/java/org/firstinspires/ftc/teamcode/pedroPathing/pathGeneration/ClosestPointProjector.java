@@ -0,0 +1,157 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+/**
+ * This is the ClosestPointProjector class. This class finds the t-value of the closest point on a
+ * BezierCurve to the robot, remembering the result between loops. Since the robot only moves a
+ * little bit every loop, the closest point from the last loop is a really good first guess, so
+ * this starts from there and runs a few iterations of Newton's method on the distance function
+ * instead of searching the whole curve every loop.
+ *
+ * The closest point is where (P(t) - R) dotted with P'(t) is 0, where P is the curve and R is the
+ * robot position. The derivative of that with respect to t is |P'(t)|^2 + (P(t) - R) dotted with
+ * P''(t), which is positive near a closest point, so each Newton step is just one division.
+ *
+ * If there is no previous guess, the robot moved too far since the last loop, or Newton's method
+ * fails to settle on a closest point, then this falls back to the global search done by the
+ * BezierCurve, which looks at the whole CurveSampleTable, and then polishes that with Newton's
+ * method. BezierLines and BezierPoints don't have a BezierCurvePolynomial, so those always use
+ * the BezierCurve search, which is exact for those anyway.
+ */
+public class ClosestPointProjector {
+    private final BezierCurve curve;
+
+    // Once a Newton step moves t less than this, the search is considered settled
+    private final double T_VALUE_TOLERANCE = 0.000001;
+
+    private double tValue;
+    private double lastX;
+    private double lastY;
+    private int iterations;
+
+    private boolean hasEstimate;
+    private boolean usedGlobalSearch;
+
+    /**
+     * This creates a new ClosestPointProjector for a specified BezierCurve.
+     *
+     * @param curve the BezierCurve to project onto.
+     */
+    public ClosestPointProjector(BezierCurve curve) {
+        this.curve = curve;
+    }
+
+    /**
+     * This returns the t-value of the closest point on the BezierCurve to a specified pose. The last
+     * result is used as the starting guess if the robot hasn't jumped since then.
+     *
+     * @param pose the pose.
+     * @param searchStepLimit the binary search step limit, if the BezierCurve needs a binary search.
+     * @return returns the t-value of the closest point.
+     */
+    public double project(Pose pose, int searchStepLimit) {
+        BezierCurvePolynomial polynomial = curve.getPolynomial();
+        iterations = 0;
+
+        if (polynomial == null) {
+            usedGlobalSearch = true;
+            tValue = curve.getClosestPointTValue(pose, searchStepLimit);
+        } else {
+            double x = pose.getX();
+            double y = pose.getY();
+            double jumpX = x - lastX;
+            double jumpY = y - lastY;
+
+            usedGlobalSearch = !hasEstimate || jumpX * jumpX + jumpY * jumpY > FollowerConstants.closestPointJumpDistance * FollowerConstants.closestPointJumpDistance;
+            if (!usedGlobalSearch) {
+                usedGlobalSearch = !refine(polynomial, x, y, tValue);
+            }
+            if (usedGlobalSearch) {
+                double globalTValue = curve.getClosestPointTValue(pose, searchStepLimit);
+                if (!refine(polynomial, x, y, globalTValue)) tValue = globalTValue;
+            }
+
+            lastX = x;
+            lastY = y;
+        }
+
+        hasEstimate = true;
+        return tValue;
+    }
+
+    /**
+     * This runs Newton's method on the distance function from a starting t-value. The t-value is
+     * only updated if the search settles on a closest point within the iteration limit.
+     *
+     * @param polynomial the polynomial form of the BezierCurve.
+     * @param x the x position of the robot.
+     * @param y the y position of the robot.
+     * @param startTValue the t-value to start from.
+     * @return returns if the search settled on a closest point.
+     */
+    private boolean refine(BezierCurvePolynomial polynomial, double x, double y, double startTValue) {
+        double t = MathFunctions.clamp(startTValue, 0, 1);
+
+        for (int i = 0; i < FollowerConstants.CLOSEST_POINT_NEWTON_STEP_LIMIT; i++) {
+            iterations++;
+
+            double offsetX = polynomial.getX(t) - x;
+            double offsetY = polynomial.getY(t) - y;
+            double derivativeX = polynomial.getDerivativeX(t);
+            double derivativeY = polynomial.getDerivativeY(t);
+
+            double slope = offsetX * derivativeX + offsetY * derivativeY;
+            double slopeDerivative = derivativeX * derivativeX + derivativeY * derivativeY
+                    + offsetX * polynomial.getSecondDerivativeX(t) + offsetY * polynomial.getSecondDerivativeY(t);
+
+            // this is a farthest point or an inflection, so Newton's method would walk the wrong way
+            if (slopeDerivative <= 0) return false;
+
+            double nextT = MathFunctions.clamp(t - slope / slopeDerivative, 0, 1);
+            if (Math.abs(nextT - t) < T_VALUE_TOLERANCE) {
+                tValue = nextT;
+                return true;
+            }
+            t = nextT;
+        }
+
+        return false;
+    }
+
+    /**
+     * This clears the last result, so the next search is a global search.
+     */
+    public void reset() {
+        hasEstimate = false;
+    }
+
+    /**
+     * This returns the t-value of the closest point from the last search.
+     *
+     * @return returns the t-value.
+     */
+    public double getTValue() {
+        return tValue;
+    }
+
+    /**
+     * This returns how many Newton iterations the last search took, counting the polishing after a
+     * global search.
+     *
+     * @return returns the number of iterations.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * This returns if the last search had to fall back to the global search.
+     *
+     * @return returns if the global search was used.
+     */
+    public boolean usedGlobalSearch() {
+        return usedGlobalSearch;
+    }
+}
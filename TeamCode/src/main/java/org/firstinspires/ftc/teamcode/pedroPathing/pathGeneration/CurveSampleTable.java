@@ -0,0 +1,300 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * This is the CurveSampleTable class. This class samples a Bezier curve once at evenly spaced
+ * t-values and stores the t-value, position, cumulative arc length, tangent, and curvature of every
+ * sample in flat Arrays of doubles. Anything that used to evaluate the curve over and over, like
+ * the length approximation, the closest point search, the curvature lookup, and the dashboard
+ * drawing points, can read from this table instead and interpolate between the samples.
+ *
+ * The samples are evaluated from a BezierCurvePolynomial without creating any Points or Vectors,
+ * so building a table is much cheaper than the old APPROXIMATION_STEPS calls to getPoint().
+ */
+public class CurveSampleTable {
+    private final int steps;
+
+    private final double[] tValues;
+    private final double[] xValues;
+    private final double[] yValues;
+    private final double[] arcLengths;
+    private final double[] tangentXValues;
+    private final double[] tangentYValues;
+    private final double[] curvatures;
+
+    /**
+     * This creates a new CurveSampleTable from the control points of a Bezier curve, sampled at
+     * steps + 1 evenly spaced t-values from [0, 1].
+     *
+     * @param controlPoints the control points of the Bezier curve, in order.
+     * @param steps the number of intervals to split the curve into. There will be steps + 1 samples.
+     */
+    public CurveSampleTable(ArrayList<Point> controlPoints, int steps) {
+        this(new BezierCurvePolynomial(controlPoints), steps);
+    }
+
+    /**
+     * This creates a new CurveSampleTable from the polynomial form of a Bezier curve, sampled at
+     * steps + 1 evenly spaced t-values from [0, 1].
+     *
+     * @param polynomial the polynomial form of the Bezier curve.
+     * @param steps the number of intervals to split the curve into. There will be steps + 1 samples.
+     */
+    public CurveSampleTable(BezierCurvePolynomial polynomial, int steps) {
+        this.steps = Math.max(steps, 1);
+
+        tValues = new double[this.steps + 1];
+        xValues = new double[this.steps + 1];
+        yValues = new double[this.steps + 1];
+        arcLengths = new double[this.steps + 1];
+        tangentXValues = new double[this.steps + 1];
+        tangentYValues = new double[this.steps + 1];
+        curvatures = new double[this.steps + 1];
+
+        generateSamples(polynomial);
+    }
+
+    /**
+     * This creates a CurveSampleTable from sample Arrays that were already calculated, like ones read
+     * from a compiled Path file.
+     */
+    private CurveSampleTable(int steps, double[] tValues, double[] xValues, double[] yValues, double[] arcLengths, double[] tangentXValues, double[] tangentYValues, double[] curvatures) {
+        this.steps = steps;
+        this.tValues = tValues;
+        this.xValues = xValues;
+        this.yValues = yValues;
+        this.arcLengths = arcLengths;
+        this.tangentXValues = tangentXValues;
+        this.tangentYValues = tangentYValues;
+        this.curvatures = curvatures;
+    }
+
+    /**
+     * This writes the number of steps and every sample Array out, so the table can be read back
+     * later without sampling the curve again. The t-values are evenly spaced, so those are left out.
+     *
+     * @param out the stream to write to.
+     * @throws IOException if the stream can't be written to.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(steps);
+        for (double[] values : new double[][] {xValues, yValues, arcLengths, tangentXValues, tangentYValues, curvatures}) {
+            for (double value : values) {
+                out.writeDouble(value);
+            }
+        }
+    }
+
+    /**
+     * This reads a CurveSampleTable that was written with writeTo.
+     *
+     * @param in the stream to read from.
+     * @return returns the CurveSampleTable that was read.
+     * @throws IOException if the stream can't be read or doesn't hold a valid table.
+     */
+    static CurveSampleTable readFrom(DataInputStream in) throws IOException {
+        int steps = in.readInt();
+        if (steps < 1) throw new IOException("Invalid number of sample table steps: " + steps);
+        double[] tValues = new double[steps + 1];
+        for (int sample = 0; sample <= steps; sample++) {
+            tValues[sample] = sample / (double) steps;
+        }
+        double[][] arrays = new double[6][steps + 1];
+        for (double[] values : arrays) {
+            for (int i = 0; i <= steps; i++) {
+                values[i] = in.readDouble();
+            }
+        }
+        return new CurveSampleTable(steps, tValues, arrays[0], arrays[1], arrays[2], arrays[3], arrays[4], arrays[5]);
+    }
+
+    /**
+     * This fills in the sample Arrays. Positions, derivatives, and second derivatives are all
+     * evaluated from the polynomial form of the Bezier curve.
+     *
+     * @param polynomial the polynomial form of the Bezier curve.
+     */
+    private void generateSamples(BezierCurvePolynomial polynomial) {
+        for (int sample = 0; sample <= steps; sample++) {
+            double t = sample / (double) steps;
+
+            double x = polynomial.getX(t);
+            double y = polynomial.getY(t);
+            double dx = polynomial.getDerivativeX(t);
+            double dy = polynomial.getDerivativeY(t);
+            double ddx = polynomial.getSecondDerivativeX(t);
+            double ddy = polynomial.getSecondDerivativeY(t);
+
+            tValues[sample] = t;
+            xValues[sample] = x;
+            yValues[sample] = y;
+            tangentXValues[sample] = dx;
+            tangentYValues[sample] = dy;
+
+            double speed = Math.sqrt(dx * dx + dy * dy);
+            curvatures[sample] = speed == 0 ? 0 : (dx * ddy - dy * ddx) / (speed * speed * speed);
+
+            if (sample == 0) {
+                arcLengths[sample] = 0;
+            } else {
+                double stepX = x - xValues[sample - 1];
+                double stepY = y - yValues[sample - 1];
+                arcLengths[sample] = arcLengths[sample - 1] + Math.sqrt(stepX * stepX + stepY * stepY);
+            }
+        }
+    }
+
+    /**
+     * This linearly interpolates a sample Array at a specified t-value.
+     *
+     * @param values the sample Array.
+     * @param t the t-value. This is clamped to be between 0 and 1 inclusive.
+     * @return returns the interpolated value.
+     */
+    private double interpolate(double[] values, double t) {
+        double index = MathFunctions.clamp(t, 0, 1) * steps;
+        int lower = (int) index;
+        if (lower >= steps) return values[steps];
+        return values[lower] + (values[lower + 1] - values[lower]) * (index - lower);
+    }
+
+    /**
+     * This returns the t-value of the closest point on the curve to a specified position. The
+     * closest sample is found first, and then the t-value is refined with a single projection onto
+     * the tangent at that sample, kept between the neighboring samples.
+     *
+     * @param x the x position.
+     * @param y the y position.
+     * @return returns the t-value of the closest point.
+     */
+    public double getClosestTValue(double x, double y) {
+        int closest = 0;
+        double closestDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i <= steps; i++) {
+            double offsetX = xValues[i] - x;
+            double offsetY = yValues[i] - y;
+            double distance = offsetX * offsetX + offsetY * offsetY;
+            if (distance < closestDistance) {
+                closestDistance = distance;
+                closest = i;
+            }
+        }
+
+        double tangentX = tangentXValues[closest];
+        double tangentY = tangentYValues[closest];
+        double tangentSquared = tangentX * tangentX + tangentY * tangentY;
+        if (tangentSquared == 0) return tValues[closest];
+
+        double deltaT = ((x - xValues[closest]) * tangentX + (y - yValues[closest]) * tangentY) / tangentSquared;
+        return MathFunctions.clamp(tValues[closest] + deltaT, tValues[Math.max(closest - 1, 0)], tValues[Math.min(closest + 1, steps)]);
+    }
+
+    /**
+     * This returns the t-value at which a specified arc length along the curve is reached.
+     *
+     * @param arcLength the arc length from the start of the curve.
+     * @return returns the t-value.
+     */
+    public double getTValueAtArcLength(double arcLength) {
+        if (arcLength <= 0) return 0;
+        if (arcLength >= arcLengths[steps]) return 1;
+
+        int lower = 0;
+        int upper = steps;
+        while (upper - lower > 1) {
+            int middle = (lower + upper) / 2;
+            if (arcLengths[middle] > arcLength) {
+                upper = middle;
+            } else {
+                lower = middle;
+            }
+        }
+
+        double segment = arcLengths[upper] - arcLengths[lower];
+        if (segment == 0) return tValues[lower];
+        return tValues[lower] + (tValues[upper] - tValues[lower]) * (arcLength - arcLengths[lower]) / segment;
+    }
+
+    /**
+     * This returns the interpolated x position at a specified t-value.
+     *
+     * @param t the t-value.
+     * @return returns the x position.
+     */
+    public double getX(double t) {
+        return interpolate(xValues, t);
+    }
+
+    /**
+     * This returns the interpolated y position at a specified t-value.
+     *
+     * @param t the t-value.
+     * @return returns the y position.
+     */
+    public double getY(double t) {
+        return interpolate(yValues, t);
+    }
+
+    /**
+     * This returns the interpolated arc length from the start of the curve to a specified t-value.
+     *
+     * @param t the t-value.
+     * @return returns the arc length.
+     */
+    public double getArcLength(double t) {
+        return interpolate(arcLengths, t);
+    }
+
+    /**
+     * This returns the x component of the interpolated tangent (the derivative) at a specified t-value.
+     *
+     * @param t the t-value.
+     * @return returns the x component of the tangent.
+     */
+    public double getTangentX(double t) {
+        return interpolate(tangentXValues, t);
+    }
+
+    /**
+     * This returns the y component of the interpolated tangent (the derivative) at a specified t-value.
+     *
+     * @param t the t-value.
+     * @return returns the y component of the tangent.
+     */
+    public double getTangentY(double t) {
+        return interpolate(tangentYValues, t);
+    }
+
+    /**
+     * This returns the interpolated curvature at a specified t-value.
+     *
+     * @param t the t-value.
+     * @return returns the curvature.
+     */
+    public double getCurvature(double t) {
+        return interpolate(curvatures, t);
+    }
+
+    /**
+     * This returns the total approximate length of the curve.
+     *
+     * @return returns the length.
+     */
+    public double getLength() {
+        return arcLengths[steps];
+    }
+
+    /**
+     * This returns the number of intervals the curve was split into. There are one more samples
+     * than this.
+     *
+     * @return returns the number of steps.
+     */
+    public int getSteps() {
+        return steps;
+    }
+}
@@ -0,0 +1,578 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+import java.util.ArrayList;
+
+/**
+ * This is the GridPathPlanner class. It plans a PathChain between two Poses that goes around the
+ * obstacles in an OccupancyGrid, so paths don't have to be placed by hand and can be planned again
+ * in the middle of an OpMode if the robot gets pushed off its path.
+ *
+ * The search is Lazy Theta*, which is A* on the grid cells, except that each cell can have any
+ * earlier cell it can see in a straight line as its parent, not just its neighbors. This gives
+ * paths made of a few long straight lines at any angle, instead of the zigzags of plain A*. It's
+ * lazy because the straight line to the parent is only checked when a cell is expanded, not every
+ * time it's reached, which is most of the time taken. Everything the search uses is made once in
+ * the constructor, so planning doesn't make any new objects until the PathChain is built.
+ *
+ * Planning has a time budget, and the search gives up if it goes over it, so it can't hold up the
+ * control loop. The budget covers building the PathChain too, so the search leaves room for about
+ * as long as the last PathChain took to build. Building is kept cheap by only using lines and
+ * short quadratic curves, and the curves get a CurveSampleTable with a lot fewer samples than
+ * FollowerConstants.APPROXIMATION_STEPS, since a corner is only a few inches long.
+ *
+ * The corners of the straight lines are rounded off with quadratic Bezier curves, which are cut
+ * down if the rounded corner would go through an obstacle. The heading goes from the start heading
+ * to the goal heading linearly over the whole length of the PathChain.
+ *
+ * If the start or the goal is in a blocked cell, like when the robot is up against a wall, the
+ * closest open cell within a robot radius or so is used, and the PathChain goes straight between
+ * it and the real start or goal.
+ */
+public class GridPathPlanner {
+    private static final double SQRT_2 = Math.sqrt(2);
+
+    // This is how many cells are expanded between checks of the time budget
+    private static final int TIME_CHECK_INTERVAL = 32;
+
+    // Corners shorter than this are left sharp, in inches
+    private static final double MINIMUM_CORNER_RADIUS = 0.5;
+
+    // Lines shorter than this are left out of the PathChain, in inches
+    private static final double MINIMUM_LINE_LENGTH = 0.01;
+
+    // This is how many steps the CurveSampleTable of a rounded corner has. The ClosestPointProjector
+    // polishes the closest point with Newton's method, so this only has to be close
+    private static final int CORNER_APPROXIMATION_STEPS = 64;
+
+    private static final int[] NEIGHBOR_COLUMNS = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] NEIGHBOR_ROWS = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final OccupancyGrid grid;
+    private final int columns;
+    private final int snapRange;
+
+    private final double[] costs;
+    private final double[] scores;
+    private final int[] parents;
+    private final int[] visitedSearches;
+    private final int[] closedSearches;
+    private final int[] heap;
+    private final int[] heapPositions;
+    private int heapSize;
+    private int search;
+
+    // the cells of the last path found, from the goal back to the start
+    private final int[] pathCells;
+    private int pathCellCount;
+
+    private double cornerRadius = FollowerConstants.plannerCornerRadius;
+
+    private long lastPlanTime;
+    private long lastSearchTime;
+    private long lastBuildTime;
+    private int lastExpansions;
+    private boolean lastTimedOut;
+
+    /**
+     * This creates a new GridPathPlanner for an OccupancyGrid. The grid can have temporary
+     * obstacles added and cleared after this is made.
+     *
+     * @param grid the OccupancyGrid to plan around.
+     */
+    public GridPathPlanner(OccupancyGrid grid) {
+        this.grid = grid;
+        columns = grid.getColumns();
+        int cellCount = columns * grid.getRows();
+        snapRange = (int) Math.ceil((grid.getRobotRadius() + grid.getCellSize()) / grid.getCellSize());
+
+        costs = new double[cellCount];
+        scores = new double[cellCount];
+        parents = new int[cellCount];
+        visitedSearches = new int[cellCount];
+        closedSearches = new int[cellCount];
+        heap = new int[cellCount];
+        heapPositions = new int[cellCount];
+        pathCells = new int[cellCount];
+    }
+
+    /**
+     * This plans a PathChain from a start Pose to a goal Pose with the time budget from
+     * FollowerConstants.
+     *
+     * @param start the start Pose, usually where the robot is right now.
+     * @param goal the goal Pose.
+     * @return returns the PathChain, or null if there's no way there or the time ran out.
+     */
+    public PathChain plan(Pose start, Pose goal) {
+        return plan(start, goal, (long) (FollowerConstants.plannerTimeBudget * 1000000));
+    }
+
+    /**
+     * This plans a PathChain from a start Pose to a goal Pose.
+     *
+     * @param start the start Pose, usually where the robot is right now.
+     * @param goal the goal Pose.
+     * @param timeBudget the longest planning can take, searching and building the PathChain, in nanoseconds.
+     * @return returns the PathChain, or null if there's no way there or the time ran out.
+     */
+    public PathChain plan(Pose start, Pose goal, long timeBudget) {
+        long startTime = System.nanoTime();
+        // the search always gets at least half the budget, so one slow build can't starve it
+        long searchBudget = timeBudget - Math.min(lastBuildTime, timeBudget / 2);
+        if (!search(start.getX(), start.getY(), goal.getX(), goal.getY(), searchBudget)) {
+            lastPlanTime = System.nanoTime() - startTime;
+            return null;
+        }
+
+        long buildStartTime = System.nanoTime();
+        PathChain pathChain = buildPathChain(start, goal);
+        lastBuildTime = System.nanoTime() - buildStartTime;
+        lastPlanTime = System.nanoTime() - startTime;
+        return pathChain;
+    }
+
+    /**
+     * This searches for the cells of a path from a start point to a goal point, without making any
+     * new objects. The cells can be gotten with getPathCell() afterwards.
+     *
+     * @param startX the x of the start.
+     * @param startY the y of the start.
+     * @param goalX the x of the goal.
+     * @param goalY the y of the goal.
+     * @param timeBudget the longest the search can take, in nanoseconds.
+     * @return returns if a path was found.
+     */
+    public boolean search(double startX, double startY, double goalX, double goalY, long timeBudget) {
+        long startTime = System.nanoTime();
+        lastExpansions = 0;
+        lastTimedOut = false;
+        pathCellCount = 0;
+
+        int startCell = findOpenCell(startX, startY);
+        int goalCell = findOpenCell(goalX, goalY);
+        if (startCell < 0 || goalCell < 0) {
+            lastSearchTime = System.nanoTime() - startTime;
+            return false;
+        }
+
+        search++;
+        heapSize = 0;
+        visit(startCell, startCell, 0, goalCell);
+
+        boolean found = false;
+        while (heapSize > 0) {
+            if (lastExpansions % TIME_CHECK_INTERVAL == 0 && System.nanoTime() - startTime > timeBudget) {
+                lastTimedOut = true;
+                break;
+            }
+
+            int cell = pop();
+            closedSearches[cell] = search;
+            lastExpansions++;
+
+            // the parent was picked without checking it can be seen, so that's checked now
+            if (!canSee(parents[cell], cell)) setParentToBestNeighbor(cell);
+
+            if (cell == goalCell) {
+                found = true;
+                break;
+            }
+
+            int column = cell % columns;
+            int row = cell / columns;
+            int parent = parents[cell];
+            for (int i = 0; i < NEIGHBOR_COLUMNS.length; i++) {
+                int neighborColumn = column + NEIGHBOR_COLUMNS[i];
+                int neighborRow = row + NEIGHBOR_ROWS[i];
+                if (grid.isBlocked(neighborColumn, neighborRow)) continue;
+                // diagonal moves can't cut the corner of a blocked cell
+                if (i >= 4 && (grid.isBlocked(neighborColumn, row) || grid.isBlocked(column, neighborRow))) continue;
+
+                int neighbor = grid.getCell(neighborColumn, neighborRow);
+                if (closedSearches[neighbor] == search) continue;
+
+                double cost = costs[parent] + distance(parent, neighbor);
+                if (visitedSearches[neighbor] != search || cost < costs[neighbor]) {
+                    visit(neighbor, parent, cost, goalCell);
+                }
+            }
+        }
+
+        if (found) {
+            int cell = goalCell;
+            pathCells[pathCellCount++] = cell;
+            while (cell != startCell) {
+                cell = parents[cell];
+                pathCells[pathCellCount++] = cell;
+            }
+        }
+
+        lastSearchTime = System.nanoTime() - startTime;
+        return found;
+    }
+
+    /**
+     * This sets the cost and parent of a cell and puts it in the heap, or moves it up the heap if
+     * it's already in it.
+     */
+    private void visit(int cell, int parent, double cost, int goalCell) {
+        boolean inHeap = visitedSearches[cell] == search;
+        visitedSearches[cell] = search;
+        costs[cell] = cost;
+        parents[cell] = parent;
+        scores[cell] = cost + distance(cell, goalCell);
+
+        if (!inHeap) {
+            heap[heapSize] = cell;
+            heapPositions[cell] = heapSize;
+            heapSize++;
+        }
+        siftUp(heapPositions[cell]);
+    }
+
+    /**
+     * This gives a cell whose parent it can't see the closed neighbor that gets to it the
+     * cheapest as its parent instead, which it can always see.
+     */
+    private void setParentToBestNeighbor(int cell) {
+        int column = cell % columns;
+        int row = cell / columns;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < NEIGHBOR_COLUMNS.length; i++) {
+            int neighborColumn = column + NEIGHBOR_COLUMNS[i];
+            int neighborRow = row + NEIGHBOR_ROWS[i];
+            if (grid.isBlocked(neighborColumn, neighborRow)) continue;
+            if (i >= 4 && (grid.isBlocked(neighborColumn, row) || grid.isBlocked(column, neighborRow))) continue;
+
+            int neighbor = grid.getCell(neighborColumn, neighborRow);
+            if (closedSearches[neighbor] != search) continue;
+
+            double cost = costs[neighbor] + distance(neighbor, cell);
+            if (cost < bestCost) {
+                bestCost = cost;
+                parents[cell] = neighbor;
+            }
+        }
+        costs[cell] = bestCost;
+    }
+
+    /**
+     * This returns if the center of one cell can be seen from the center of another.
+     */
+    private boolean canSee(int from, int to) {
+        if (from == to) return true;
+        return grid.isLineClear(grid.getCellX(from % columns), grid.getCellY(from / columns), grid.getCellX(to % columns), grid.getCellY(to / columns));
+    }
+
+    /**
+     * This returns the distance between the centers of two cells, in inches.
+     */
+    private double distance(int from, int to) {
+        double dx = (from % columns) - (to % columns);
+        double dy = (from / columns) - (to / columns);
+        return Math.sqrt(dx * dx + dy * dy) * grid.getCellSize();
+    }
+
+    /**
+     * This returns the open cell closest to a point, looking up to about a robot radius away.
+     *
+     * @param x the x of the point.
+     * @param y the y of the point.
+     * @return returns the cell number, or -1 if there's no open cell close enough.
+     */
+    private int findOpenCell(double x, double y) {
+        int column = grid.getColumn(x);
+        int row = grid.getRow(y);
+        if (!grid.isBlocked(column, row)) return grid.getCell(column, row);
+
+        int best = -1;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (int checkRow = row - snapRange; checkRow <= row + snapRange; checkRow++) {
+            for (int checkColumn = column - snapRange; checkColumn <= column + snapRange; checkColumn++) {
+                if (grid.isBlocked(checkColumn, checkRow)) continue;
+                double dx = grid.getCellX(checkColumn) - x;
+                double dy = grid.getCellY(checkRow) - y;
+                double distance = dx * dx + dy * dy;
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = grid.getCell(checkColumn, checkRow);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * This takes the cell with the lowest score off the heap.
+     */
+    private int pop() {
+        int top = heap[0];
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPositions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int position) {
+        int cell = heap[position];
+        while (position > 0) {
+            int parentPosition = (position - 1) / 2;
+            int parentCell = heap[parentPosition];
+            if (scores[parentCell] <= scores[cell]) break;
+            heap[position] = parentCell;
+            heapPositions[parentCell] = position;
+            position = parentPosition;
+        }
+        heap[position] = cell;
+        heapPositions[cell] = position;
+    }
+
+    private void siftDown(int position) {
+        int cell = heap[position];
+        while (true) {
+            int child = position * 2 + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && scores[heap[child + 1]] < scores[heap[child]]) child++;
+            if (scores[heap[child]] >= scores[cell]) break;
+            heap[position] = heap[child];
+            heapPositions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = cell;
+        heapPositions[cell] = position;
+    }
+
+    /**
+     * This turns the cells of the last path found into a PathChain. The real start and goal are
+     * put on the ends, any corners the robot can cut straight across are taken out, and the rest
+     * are rounded off.
+     *
+     * @param start the start Pose.
+     * @param goal the goal Pose.
+     * @return returns the PathChain.
+     */
+    private PathChain buildPathChain(Pose start, Pose goal) {
+        // the path cells are from the goal back to the start, so they're flipped around here
+        int pointCount = pathCellCount + 2;
+        double[] xs = new double[pointCount];
+        double[] ys = new double[pointCount];
+        xs[0] = start.getX();
+        ys[0] = start.getY();
+        for (int i = 0; i < pathCellCount; i++) {
+            int cell = pathCells[pathCellCount - 1 - i];
+            xs[i + 1] = grid.getCellX(cell % columns);
+            ys[i + 1] = grid.getCellY(cell / columns);
+        }
+        xs[pointCount - 1] = goal.getX();
+        ys[pointCount - 1] = goal.getY();
+
+        // this skips every point that can be cut straight across, so the ends go straight to the
+        // real start and goal when they're open
+        int keptCount = 1;
+        int current = 0;
+        while (current < pointCount - 1) {
+            int next = current + 1;
+            for (int i = pointCount - 1; i > current + 1; i--) {
+                if (grid.isLineClear(xs[current], ys[current], xs[i], ys[i])) {
+                    next = i;
+                    break;
+                }
+            }
+            xs[keptCount] = xs[next];
+            ys[keptCount] = ys[next];
+            keptCount++;
+            current = next;
+        }
+
+        // this takes out points that are right on top of each other, so there are no empty lines
+        int uniqueCount = 1;
+        for (int i = 1; i < keptCount; i++) {
+            if (Math.hypot(xs[i] - xs[uniqueCount - 1], ys[i] - ys[uniqueCount - 1]) < MINIMUM_LINE_LENGTH && i < keptCount - 1) continue;
+            xs[uniqueCount] = xs[i];
+            ys[uniqueCount] = ys[i];
+            uniqueCount++;
+        }
+
+        double totalLength = 0;
+        for (int i = 1; i < uniqueCount; i++) {
+            totalLength += Math.hypot(xs[i] - xs[i - 1], ys[i] - ys[i - 1]);
+        }
+
+        HeadingInterpolator heading = new HeadingInterpolator(start.getHeading(), goal.getHeading(), totalLength);
+        PathBuilder builder = new PathBuilder();
+        double lineStartX = xs[0];
+        double lineStartY = ys[0];
+        double lineStartLength = 0;
+        double lengthToCorner = 0;
+
+        for (int i = 1; i < uniqueCount - 1; i++) {
+            double inX = xs[i - 1] - xs[i];
+            double inY = ys[i - 1] - ys[i];
+            double outX = xs[i + 1] - xs[i];
+            double outY = ys[i + 1] - ys[i];
+            double inLength = Math.hypot(inX, inY);
+            double outLength = Math.hypot(outX, outY);
+            lengthToCorner += inLength;
+
+            // half of each line at most is used, so rounded corners next to each other can't overlap
+            double radius = Math.min(cornerRadius, Math.min(inLength, outLength) / 2);
+            double entryX = 0, entryY = 0, exitX = 0, exitY = 0;
+            while (radius >= MINIMUM_CORNER_RADIUS) {
+                entryX = xs[i] + inX / inLength * radius;
+                entryY = ys[i] + inY / inLength * radius;
+                exitX = xs[i] + outX / outLength * radius;
+                exitY = ys[i] + outY / outLength * radius;
+                // the curve stays between the corner and the line straight across it
+                if (grid.isLineClear(entryX, entryY, exitX, exitY)) break;
+                radius /= 2;
+            }
+            if (radius < MINIMUM_CORNER_RADIUS) continue;
+
+            double entryLength = lengthToCorner - radius;
+            addLine(builder, heading, lineStartX, lineStartY, lineStartLength, entryX, entryY, entryLength);
+
+            double exitLength = lengthToCorner + radius;
+            ArrayList<Point> corner = new ArrayList<>(3);
+            corner.add(new Point(entryX, entryY, Point.CARTESIAN));
+            corner.add(new Point(xs[i], ys[i], Point.CARTESIAN));
+            corner.add(new Point(exitX, exitY, Point.CARTESIAN));
+            builder.addPath(new BezierCurve(corner, new CurveSampleTable(corner, CORNER_APPROXIMATION_STEPS)))
+                    .setLinearHeadingInterpolation(heading.at(entryLength), heading.at(exitLength));
+
+            lineStartX = exitX;
+            lineStartY = exitY;
+            lineStartLength = exitLength;
+        }
+        lengthToCorner += Math.hypot(xs[uniqueCount - 1] - xs[uniqueCount - 2], ys[uniqueCount - 1] - ys[uniqueCount - 2]);
+
+        if (!addLine(builder, heading, lineStartX, lineStartY, lineStartLength, xs[uniqueCount - 1], ys[uniqueCount - 1], lengthToCorner) && lineStartLength == 0) {
+            // the start and goal are in the same place, so the robot only has to turn
+            builder.addPath(new BezierPoint(new Point(goal.getX(), goal.getY(), Point.CARTESIAN)))
+                    .setLinearHeadingInterpolation(start.getHeading(), goal.getHeading());
+        }
+        return builder.build();
+    }
+
+    /**
+     * This adds a straight line to the PathBuilder, unless it's too short to follow.
+     *
+     * @return returns if the line was added.
+     */
+    private static boolean addLine(PathBuilder builder, HeadingInterpolator heading, double startX, double startY, double startLength, double endX, double endY, double endLength) {
+        if (Math.hypot(endX - startX, endY - startY) < MINIMUM_LINE_LENGTH) return false;
+        builder.addPath(new BezierLine(new Point(startX, startY, Point.CARTESIAN), new Point(endX, endY, Point.CARTESIAN)))
+                .setLinearHeadingInterpolation(heading.at(startLength), heading.at(endLength));
+        return true;
+    }
+
+    /**
+     * This is the heading going linearly from the start heading to the goal heading the shortest
+     * way around, by how far along the PathChain the robot is.
+     */
+    private static class HeadingInterpolator {
+        private final double startHeading;
+        private final double change;
+        private final double totalLength;
+
+        HeadingInterpolator(double startHeading, double endHeading, double totalLength) {
+            this.startHeading = startHeading;
+            change = MathFunctions.getTurnDirection(startHeading, endHeading) * MathFunctions.getSmallestAngleDifference(startHeading, endHeading);
+            this.totalLength = totalLength;
+        }
+
+        double at(double length) {
+            if (totalLength <= 0) return MathFunctions.normalizeAngle(startHeading + change);
+            return MathFunctions.normalizeAngle(startHeading + change * Math.max(0, Math.min(1, length / totalLength)));
+        }
+    }
+
+    /**
+     * This sets how far back from each corner the rounding starts, in inches. The default is from
+     * FollowerConstants.
+     *
+     * @param set the corner radius.
+     */
+    public void setCornerRadius(double set) {
+        cornerRadius = set;
+    }
+
+    /**
+     * This returns how many cells are in the last path found, from the start to the goal.
+     *
+     * @return returns the number of cells.
+     */
+    public int getPathCellCount() {
+        return pathCellCount;
+    }
+
+    /**
+     * This returns a cell of the last path found.
+     *
+     * @param index the index of the cell, with 0 being the start.
+     * @return returns the cell number in the OccupancyGrid.
+     */
+    public int getPathCell(int index) {
+        return pathCells[pathCellCount - 1 - index];
+    }
+
+    /**
+     * This returns how long the last plan took from start to finish, searching and building the
+     * PathChain.
+     *
+     * @return returns the time, in milliseconds.
+     */
+    public double getLastPlanTime() {
+        return lastPlanTime / 1000000.0;
+    }
+
+    /**
+     * This returns how long the last search took.
+     *
+     * @return returns the time, in milliseconds.
+     */
+    public double getLastSearchTime() {
+        return lastSearchTime / 1000000.0;
+    }
+
+    /**
+     * This returns how long the last PathChain took to build.
+     *
+     * @return returns the time, in milliseconds.
+     */
+    public double getLastBuildTime() {
+        return lastBuildTime / 1000000.0;
+    }
+
+    /**
+     * This returns how many cells the last search expanded.
+     *
+     * @return returns the number of expansions.
+     */
+    public int getLastExpansions() {
+        return lastExpansions;
+    }
+
+    /**
+     * This returns if the last search ran out of time.
+     *
+     * @return returns if the last search timed out.
+     */
+    public boolean didLastPlanTimeOut() {
+        return lastTimedOut;
+    }
+
+    /**
+     * This returns the OccupancyGrid this plans around.
+     *
+     * @return returns the OccupancyGrid.
+     */
+    public OccupancyGrid getGrid() {
+        return grid;
+    }
+}
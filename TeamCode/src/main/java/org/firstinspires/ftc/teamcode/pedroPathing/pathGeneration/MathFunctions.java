@@ -205,6 +205,18 @@ public class MathFunctions {
         return new Vector(vector.getMagnitude(), vector.getTheta());
     }
 
+    /**
+     * Copies a Vector into a specified result Vector instead of creating a new one.
+     *
+     * @param vector Vector to be copied.
+     * @param result the Vector to write the copy into.
+     * @return returns the result Vector.
+     */
+    public static Vector copyVector(Vector vector, Vector result) {
+        result.set(vector);
+        return result;
+    }
+
     /**
      * This multiplies a Vector by a scalar and returns the result as a Vector.
      *
@@ -216,6 +228,21 @@ public class MathFunctions {
         return new Vector(vector.getMagnitude()*scalar, vector.getTheta());
     }
 
+    /**
+     * This multiplies a Vector by a scalar and writes the result into a specified result Vector
+     * instead of creating a new one. The result Vector can be the same as the input Vector.
+     *
+     * @param vector the Vector being multiplied.
+     * @param scalar the scalar multiplying into the Vector.
+     * @param result the Vector to write the scaled Vector into.
+     * @return returns the result Vector.
+     */
+    public static Vector scalarMultiplyVector(Vector vector, double scalar, Vector result) {
+        result.set(vector);
+        result.scalarMultiplyInPlace(scalar);
+        return result;
+    }
+
     /**
      * This normalizes a Vector to be of magnitude 1, unless the Vector is the zero Vector.
      * In that case, it just returns back the zero Vector but with a different memory location.
@@ -231,6 +258,21 @@ public class MathFunctions {
         }
     }
 
+    /**
+     * This normalizes a Vector to be of magnitude 1, unless the Vector is the zero Vector, and
+     * writes the result into a specified result Vector instead of creating a new one. The result
+     * Vector can be the same as the input Vector.
+     *
+     * @param vector the Vector being normalized.
+     * @param result the Vector to write the normalized (or zero) Vector into.
+     * @return returns the result Vector.
+     */
+    public static Vector normalizeVector(Vector vector, Vector result) {
+        result.set(vector);
+        result.normalizeInPlace();
+        return result;
+    }
+
     /**
      * This returns a Vector that is the sum of the two input Vectors.
      *
@@ -244,6 +286,20 @@ public class MathFunctions {
         return returnVector;
     }
 
+    /**
+     * This adds the two input Vectors and writes the sum into a specified result Vector instead
+     * of creating a new one. The result Vector can be the same as either input Vector.
+     *
+     * @param one the first Vector.
+     * @param two the second Vector.
+     * @param result the Vector to write the sum into.
+     * @return returns the result Vector.
+     */
+    public static Vector addVectors(Vector one, Vector two, Vector result) {
+        result.setOrthogonalComponents(one.getXComponent()+two.getXComponent(), one.getYComponent()+two.getYComponent());
+        return result;
+    }
+
     /**
      * This subtracts the second Vector from the first Vector and returns the result as a Vector.
      * Do note that order matters here.
@@ -258,6 +314,21 @@ public class MathFunctions {
         return returnVector;
     }
 
+    /**
+     * This subtracts the second Vector from the first Vector and writes the result into a
+     * specified result Vector instead of creating a new one. The result Vector can be the same as
+     * either input Vector.
+     *
+     * @param one the first Vector.
+     * @param two the second Vector.
+     * @param result the Vector to write the difference into.
+     * @return returns the result Vector.
+     */
+    public static Vector subtractVectors(Vector one, Vector two, Vector result) {
+        result.setOrthogonalComponents(one.getXComponent()-two.getXComponent(), one.getYComponent()-two.getYComponent());
+        return result;
+    }
+
     /**
      * This computes the dot product of the two Vectors.
      *
@@ -0,0 +1,264 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+/**
+ * This is the MotionProfile class. This class takes a Path or PathChain and works out how fast the
+ * robot should be going at every point along it, as well as when it should get there. The result
+ * is a time parameterized profile of distance, velocity, and acceleration along the arc length.
+ *
+ * The profile is made from samples along the arc length. BezierCurves use the samples from their
+ * CurveSampleTable, and BezierLines are split into LINE_STEPS even pieces. First, every sample gets
+ * a velocity limit from the max velocity and, on curves, from the max centripetal acceleration,
+ * since v^2 * curvature can't be more than that. Then a forward pass limits how fast the robot can
+ * speed up from the start, and a backward pass limits how fast it has to slow down for the end and
+ * for tight curves. Between two samples the acceleration is constant, so positions and velocities
+ * can be found exactly in between samples too.
+ *
+ * Distances are in inches, velocities in inches/second, accelerations in inches/second^2, and
+ * times in seconds.
+ */
+public class MotionProfile {
+    // This is how many pieces BezierLines are split into, since they don't have a CurveSampleTable
+    private static final int LINE_STEPS = 100;
+
+    private final double[] distances;
+    private final double[] velocities;
+    private final double[] accelerations;
+    private final double[] times;
+    private final double[] pathEndDistances;
+
+    private final int samples;
+
+    /**
+     * This creates a new MotionProfile for a Path using the limits in FollowerConstants, starting
+     * and ending at rest.
+     *
+     * @param path the Path to profile.
+     */
+    public MotionProfile(Path path) {
+        this(new PathChain(path), FollowerConstants.motionProfileMaxVelocity, FollowerConstants.motionProfileMaxAcceleration, FollowerConstants.motionProfileMaxCentripetalAcceleration, 0, 0);
+    }
+
+    /**
+     * This creates a new MotionProfile for a PathChain using the limits in FollowerConstants,
+     * starting and ending at rest. The robot does not stop between the Paths of the PathChain.
+     *
+     * @param pathChain the PathChain to profile.
+     */
+    public MotionProfile(PathChain pathChain) {
+        this(pathChain, FollowerConstants.motionProfileMaxVelocity, FollowerConstants.motionProfileMaxAcceleration, FollowerConstants.motionProfileMaxCentripetalAcceleration, 0, 0);
+    }
+
+    /**
+     * This creates a new MotionProfile for a PathChain with specified limits. The robot does not
+     * stop between the Paths of the PathChain.
+     *
+     * @param pathChain the PathChain to profile.
+     * @param maxVelocity the max velocity along the PathChain.
+     * @param maxAcceleration the max acceleration and deceleration along the PathChain.
+     * @param maxCentripetalAcceleration the max centripetal acceleration on curves.
+     * @param startVelocity the velocity at the start of the PathChain.
+     * @param endVelocity the velocity at the end of the PathChain.
+     */
+    public MotionProfile(PathChain pathChain, double maxVelocity, double maxAcceleration, double maxCentripetalAcceleration, double startVelocity, double endVelocity) {
+        if (maxVelocity <= 0 || maxAcceleration <= 0 || maxCentripetalAcceleration <= 0) {
+            throw new IllegalArgumentException("Motion profile limits must be positive");
+        }
+
+        int sampleCount = 1;
+        for (int i = 0; i < pathChain.size(); i++) {
+            sampleCount += getSteps(pathChain.getPath(i).getCurve());
+        }
+        samples = sampleCount;
+
+        distances = new double[samples];
+        velocities = new double[samples];
+        accelerations = new double[samples];
+        times = new double[samples];
+        pathEndDistances = new double[pathChain.size()];
+
+        for (int i = 0; i < samples; i++) {
+            velocities[i] = maxVelocity;
+        }
+
+        int sample = 0;
+        double startDistance = 0;
+        for (int i = 0; i < pathChain.size(); i++) {
+            BezierCurve curve = pathChain.getPath(i).getCurve();
+            int steps = getSteps(curve);
+            CurveSampleTable sampleTable = curve.getSampleTable();
+
+            // the first sample of every Path after the first one is the last sample of the Path
+            // before it, so the tighter of the two velocity limits is kept
+            for (int step = 0; step <= steps; step++) {
+                double t = step / (double) steps;
+                double curvature = 0;
+                if (sampleTable != null) {
+                    distances[sample] = startDistance + sampleTable.getArcLength(t);
+                    curvature = Math.abs(sampleTable.getCurvature(t));
+                } else {
+                    distances[sample] = startDistance + curve.length() * t;
+                }
+                if (curvature > 0) {
+                    velocities[sample] = Math.min(velocities[sample], Math.sqrt(maxCentripetalAcceleration / curvature));
+                }
+                if (step < steps) sample++;
+            }
+            startDistance = distances[sample];
+            pathEndDistances[i] = startDistance;
+        }
+
+        velocities[0] = Math.min(velocities[0], Math.max(startVelocity, 0));
+        velocities[samples - 1] = Math.min(velocities[samples - 1], Math.max(endVelocity, 0));
+
+        for (int i = 1; i < samples; i++) {
+            double step = distances[i] - distances[i - 1];
+            velocities[i] = Math.min(velocities[i], Math.sqrt(velocities[i - 1] * velocities[i - 1] + 2 * maxAcceleration * step));
+        }
+        for (int i = samples - 2; i >= 0; i--) {
+            double step = distances[i + 1] - distances[i];
+            velocities[i] = Math.min(velocities[i], Math.sqrt(velocities[i + 1] * velocities[i + 1] + 2 * maxAcceleration * step));
+        }
+
+        for (int i = 1; i < samples; i++) {
+            double step = distances[i] - distances[i - 1];
+            double velocitySum = velocities[i - 1] + velocities[i];
+            if (step <= 0 || velocitySum <= 0) {
+                times[i] = times[i - 1];
+                accelerations[i - 1] = 0;
+            } else {
+                times[i] = times[i - 1] + 2 * step / velocitySum;
+                accelerations[i - 1] = (velocities[i] * velocities[i] - velocities[i - 1] * velocities[i - 1]) / (2 * step);
+            }
+        }
+    }
+
+    /**
+     * This returns how many pieces a BezierCurve is split into for the profile.
+     *
+     * @param curve the BezierCurve.
+     * @return returns the number of steps.
+     */
+    private static int getSteps(BezierCurve curve) {
+        if (curve.getSampleTable() != null) return curve.getSampleTable().getSteps();
+        if (curve.length() <= 0) return 1;
+        return LINE_STEPS;
+    }
+
+    /**
+     * This finds the last sample at or before a value in a sorted Array, so the value is between
+     * that sample and the next one.
+     *
+     * @param values the sorted Array.
+     * @param value the value to look for.
+     * @return returns the index of the sample, from 0 to samples - 2.
+     */
+    private int findSegment(double[] values, double value) {
+        int lower = 0;
+        int upper = samples - 1;
+        while (upper - lower > 1) {
+            int middle = (lower + upper) / 2;
+            if (values[middle] > value) {
+                upper = middle;
+            } else {
+                lower = middle;
+            }
+        }
+        return lower;
+    }
+
+    /**
+     * This returns the distance along the Path the robot should be at a specified time.
+     *
+     * @param time the time since the start of the profile. This is clamped to the profile.
+     * @return returns the distance.
+     */
+    public double getDistance(double time) {
+        if (samples < 2 || time <= 0) return 0;
+        if (time >= getDuration()) return getLength();
+        int segment = findSegment(times, time);
+        double elapsed = time - times[segment];
+        return distances[segment] + velocities[segment] * elapsed + 0.5 * accelerations[segment] * elapsed * elapsed;
+    }
+
+    /**
+     * This returns the velocity the robot should be going at a specified time.
+     *
+     * @param time the time since the start of the profile. This is clamped to the profile.
+     * @return returns the velocity.
+     */
+    public double getVelocity(double time) {
+        if (samples < 2 || time <= 0) return velocities[0];
+        if (time >= getDuration()) return velocities[samples - 1];
+        int segment = findSegment(times, time);
+        return velocities[segment] + accelerations[segment] * (time - times[segment]);
+    }
+
+    /**
+     * This returns the acceleration the robot should have at a specified time.
+     *
+     * @param time the time since the start of the profile. This is clamped to the profile.
+     * @return returns the acceleration.
+     */
+    public double getAcceleration(double time) {
+        if (samples < 2 || time < 0 || time >= getDuration()) return 0;
+        return accelerations[findSegment(times, time)];
+    }
+
+    /**
+     * This returns the velocity the robot should be going at a specified distance along the Path.
+     * The Follower uses this instead of looking up by time, so the profile doesn't run away from
+     * the robot if the robot falls behind.
+     *
+     * @param distance the distance along the Path. This is clamped to the profile.
+     * @return returns the velocity.
+     */
+    public double getVelocityAtDistance(double distance) {
+        if (samples < 2 || distance <= 0) return velocities[0];
+        if (distance >= getLength()) return velocities[samples - 1];
+        int segment = findSegment(distances, distance);
+        double squared = velocities[segment] * velocities[segment] + 2 * accelerations[segment] * (distance - distances[segment]);
+        return Math.sqrt(Math.max(squared, 0));
+    }
+
+    /**
+     * This returns the acceleration the robot should have at a specified distance along the Path.
+     *
+     * @param distance the distance along the Path. This is clamped to the profile.
+     * @return returns the acceleration.
+     */
+    public double getAccelerationAtDistance(double distance) {
+        if (samples < 2 || distance < 0 || distance >= getLength()) return 0;
+        return accelerations[findSegment(distances, distance)];
+    }
+
+    /**
+     * This returns the distance along the profile where one of the Paths of the PathChain ends, so
+     * a distance along that Path can be turned into a distance along the whole profile.
+     *
+     * @param index the index of the Path in the PathChain.
+     * @return returns the distance at the end of the Path.
+     */
+    public double getPathEndDistance(int index) {
+        return pathEndDistances[index];
+    }
+
+    /**
+     * This returns how long the profile takes from start to end.
+     *
+     * @return returns the duration, in seconds.
+     */
+    public double getDuration() {
+        return times[samples - 1];
+    }
+
+    /**
+     * This returns the total distance of the profile, which is the arc length of the Path.
+     *
+     * @return returns the length.
+     */
+    public double getLength() {
+        return distances[samples - 1];
+    }
+}
@@ -0,0 +1,298 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+import java.util.Arrays;
+
+/**
+ * This is the OccupancyGrid class. It splits the field into square cells and marks which ones the
+ * center of the robot can't be in, for the GridPathPlanner to plan around. Obstacles are grown by
+ * the radius of the robot when they're added, so the robot can be treated as a point. The field
+ * walls are grown the same way.
+ *
+ * There are two kinds of obstacles. Static ones, like field elements, are added once when the grid
+ * is made. Temporary ones, like a game element in the way, can be added and cleared while an
+ * OpMode is running without making a new grid, and clearing them only touches the cells they
+ * covered.
+ *
+ * Cells are numbered row by row, with column 0 and row 0 at (0, 0) on the field.
+ */
+public class OccupancyGrid {
+    private final double width;
+    private final double height;
+    private final double cellSize;
+    private final double robotRadius;
+    private final int columns;
+    private final int rows;
+
+    private final boolean[] staticBlocked;
+    private final boolean[] temporaryBlocked;
+    private int[] temporaryCells = new int[64];
+    private int temporaryCellCount;
+
+    /**
+     * This creates a new OccupancyGrid with the walls around the edge blocked.
+     *
+     * @param width the width of the field along the x axis, in inches.
+     * @param height the height of the field along the y axis, in inches.
+     * @param cellSize the size of each cell, in inches.
+     * @param robotRadius how far the center of the robot has to stay from obstacles, in inches.
+     */
+    public OccupancyGrid(double width, double height, double cellSize, double robotRadius) {
+        this.width = width;
+        this.height = height;
+        this.cellSize = cellSize;
+        this.robotRadius = robotRadius;
+        columns = (int) Math.ceil(width / cellSize);
+        rows = (int) Math.ceil(height / cellSize);
+        staticBlocked = new boolean[columns * rows];
+        temporaryBlocked = new boolean[columns * rows];
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                double x = getCellX(column);
+                double y = getCellY(row);
+                if (x < robotRadius || y < robotRadius || x > width - robotRadius || y > height - robotRadius) {
+                    staticBlocked[getCell(column, row)] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * This adds a static rectangular obstacle, like a field element.
+     *
+     * @param minX the smallest x of the obstacle.
+     * @param minY the smallest y of the obstacle.
+     * @param maxX the largest x of the obstacle.
+     * @param maxY the largest y of the obstacle.
+     */
+    public void addRectangle(double minX, double minY, double maxX, double maxY) {
+        int firstColumn = getColumn(minX - robotRadius);
+        int lastColumn = getColumn(maxX + robotRadius);
+        int firstRow = getRow(minY - robotRadius);
+        int lastRow = getRow(maxY + robotRadius);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                double dx = Math.max(0, Math.max(minX - getCellX(column), getCellX(column) - maxX));
+                double dy = Math.max(0, Math.max(minY - getCellY(row), getCellY(row) - maxY));
+                if (dx * dx + dy * dy <= robotRadius * robotRadius) staticBlocked[getCell(column, row)] = true;
+            }
+        }
+    }
+
+    /**
+     * This adds a temporary round obstacle, like a game element in the way. It stays until
+     * clearTemporaryObstacles() is called.
+     *
+     * @param x the x of the center of the obstacle.
+     * @param y the y of the center of the obstacle.
+     * @param radius the radius of the obstacle, in inches.
+     */
+    public void addTemporaryObstacle(double x, double y, double radius) {
+        double reach = radius + robotRadius;
+        int firstColumn = getColumn(x - reach);
+        int lastColumn = getColumn(x + reach);
+        int firstRow = getRow(y - reach);
+        int lastRow = getRow(y + reach);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                double dx = getCellX(column) - x;
+                double dy = getCellY(row) - y;
+                int cell = getCell(column, row);
+                if (dx * dx + dy * dy <= reach * reach && !temporaryBlocked[cell]) {
+                    temporaryBlocked[cell] = true;
+                    if (temporaryCellCount == temporaryCells.length) {
+                        temporaryCells = Arrays.copyOf(temporaryCells, temporaryCellCount * 2);
+                    }
+                    temporaryCells[temporaryCellCount] = cell;
+                    temporaryCellCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * This clears all the temporary obstacles.
+     */
+    public void clearTemporaryObstacles() {
+        for (int i = 0; i < temporaryCellCount; i++) {
+            temporaryBlocked[temporaryCells[i]] = false;
+        }
+        temporaryCellCount = 0;
+    }
+
+    /**
+     * This returns if a cell is blocked by a static or temporary obstacle.
+     *
+     * @param cell the cell number.
+     * @return returns if the cell is blocked.
+     */
+    public boolean isBlocked(int cell) {
+        return staticBlocked[cell] || temporaryBlocked[cell];
+    }
+
+    /**
+     * This returns if the center of the robot can't be at a point. Points off the field are
+     * blocked.
+     *
+     * @param x the x of the point.
+     * @param y the y of the point.
+     * @return returns if the point is blocked.
+     */
+    public boolean isBlocked(double x, double y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return true;
+        return isBlocked(getCell(getColumn(x), getRow(y)));
+    }
+
+    /**
+     * This returns if the robot can drive in a straight line between two points without its
+     * center going through a blocked cell. Every cell the line passes through is checked, and when
+     * the line goes exactly through a corner, the cells on both sides of it are checked too.
+     *
+     * @param startX the x of the start point.
+     * @param startY the y of the start point.
+     * @param endX the x of the end point.
+     * @param endY the y of the end point.
+     * @return returns if the line is clear.
+     */
+    public boolean isLineClear(double startX, double startY, double endX, double endY) {
+        if (isBlocked(startX, startY) || isBlocked(endX, endY)) return false;
+
+        // this walks along the cells the line goes through, one cell border at a time
+        double x = startX / cellSize;
+        double y = startY / cellSize;
+        double dx = endX / cellSize - x;
+        double dy = endY / cellSize - y;
+        int column = (int) x;
+        int row = (int) y;
+        int endColumn = (int) (endX / cellSize);
+        int endRow = (int) (endY / cellSize);
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dx);
+        double deltaY = dy == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dy);
+        double nextX = dx == 0 ? Double.POSITIVE_INFINITY : (dx > 0 ? column + 1 - x : x - column) * deltaX;
+        double nextY = dy == 0 ? Double.POSITIVE_INFINITY : (dy > 0 ? row + 1 - y : y - row) * deltaY;
+
+        // the line can't cross more borders than this, so floating point error can't make it loop forever
+        int stepsLeft = Math.abs(endColumn - column) + Math.abs(endRow - row);
+        while ((column != endColumn || row != endRow) && stepsLeft >= 0) {
+            stepsLeft--;
+            if (nextX < nextY) {
+                column += stepX;
+                nextX += deltaX;
+            } else if (nextY < nextX) {
+                row += stepY;
+                nextY += deltaY;
+            } else {
+                // the line goes through a corner, so the robot would clip both cells next to it
+                if (isBlocked(column + stepX, row) || isBlocked(column, row + stepY)) return false;
+                column += stepX;
+                row += stepY;
+                nextX += deltaX;
+                nextY += deltaY;
+                stepsLeft--;
+            }
+            if (isBlocked(column, row)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * This returns if a cell is blocked, with cells off the grid being blocked.
+     *
+     * @param column the column.
+     * @param row the row.
+     * @return returns if the cell is blocked.
+     */
+    public boolean isBlocked(int column, int row) {
+        if (column < 0 || row < 0 || column >= columns || row >= rows) return true;
+        return isBlocked(getCell(column, row));
+    }
+
+    /**
+     * This returns the cell number of a column and row.
+     *
+     * @param column the column.
+     * @param row the row.
+     * @return returns the cell number.
+     */
+    public int getCell(int column, int row) {
+        return row * columns + column;
+    }
+
+    /**
+     * This returns the column a x is in, clamped onto the grid.
+     *
+     * @param x the x.
+     * @return returns the column.
+     */
+    public int getColumn(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) (x / cellSize)));
+    }
+
+    /**
+     * This returns the row a y is in, clamped onto the grid.
+     *
+     * @param y the y.
+     * @return returns the row.
+     */
+    public int getRow(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) (y / cellSize)));
+    }
+
+    /**
+     * This returns the x of the center of a column.
+     *
+     * @param column the column.
+     * @return returns the x, in inches.
+     */
+    public double getCellX(int column) {
+        return (column + 0.5) * cellSize;
+    }
+
+    /**
+     * This returns the y of the center of a row.
+     *
+     * @param row the row.
+     * @return returns the y, in inches.
+     */
+    public double getCellY(int row) {
+        return (row + 0.5) * cellSize;
+    }
+
+    /**
+     * This returns the number of columns.
+     *
+     * @return returns the number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * This returns the number of rows.
+     *
+     * @return returns the number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * This returns the size of each cell.
+     *
+     * @return returns the cell size, in inches.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * This returns how far the center of the robot has to stay from obstacles.
+     *
+     * @return returns the robot radius, in inches.
+     */
+    public double getRobotRadius() {
+        return robotRadius;
+    }
+}
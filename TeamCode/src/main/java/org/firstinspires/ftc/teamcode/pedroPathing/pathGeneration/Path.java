@@ -3,6 +3,9 @@ package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
 import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 
 /**
@@ -18,14 +21,18 @@ import java.util.ArrayList;
 public class Path {
     private final BezierCurve curve;
 
+    private final ClosestPointProjector closestPointProjector;
+
+    private final PathProjection projection = new PathProjection();
+
     private double startHeading;
     private double endHeading;
     private double closestPointCurvature;
     private double closestPointTValue;
+    private double closestPointNormalTheta;
     private double linearInterpolationEndTime;
 
-    private Vector closestPointTangentVector;
-    private Vector closestPointNormalVector;
+    private final Vector closestPointTangentVector = new Vector();
 
     private boolean isTangentHeadingInterpolation = true;
     private boolean followTangentReversed;
@@ -71,6 +78,7 @@ public class Path {
      */
     public Path(BezierCurve curve) {
         this.curve = curve;
+        closestPointProjector = new ClosestPointProjector(curve);
     }
 
     /**
@@ -124,38 +132,117 @@ public class Path {
     }
 
     /**
-     * This gets the closest Point from a specified pose to the BezierCurve with a binary search
-     * that is limited to some specified step limit.
+     * This gets the closest Point from a specified pose to the BezierCurve. The search is done by
+     * the ClosestPointProjector, which starts from the closest Point of the last call and refines
+     * it with Newton's method. If the robot jumped or there is no last closest Point, then it falls
+     * back to the search done by the BezierCurve, which uses its CurveSampleTable if it has one and
+     * otherwise a binary search that is limited to some specified step limit. This makes a new Pose
+     * every time, so use the version that takes in a Pose to write into in the control loop.
      *
      * @param pose the pose.
-     * @param searchStepLimit the binary search step limit.
+     * @param searchStepLimit the binary search step limit, if a binary search is needed.
      * @return returns the closest Point.
      */
     public Pose getClosestPoint(Pose pose, int searchStepLimit) {
-        double lower = 0;
-        double upper = 1;
-        Point returnPoint;
-
-        // we don't need to calculate the midpoint, so we start off at the 1/4 and 3/4 point
-        for (int i = 0; i < searchStepLimit; i++) {
-            if (MathFunctions.distance(pose, getPoint(lower + 0.25 * (upper-lower))) > MathFunctions.distance(pose, getPoint(lower + 0.75 * (upper-lower)))) {
-                lower += (upper-lower)/2.0;
-            } else {
-                upper -= (upper-lower)/2.0;
-            }
-        }
+        return getClosestPoint(pose, searchStepLimit, new Pose());
+    }
 
-        closestPointTValue = lower + 0.5 * (upper-lower);
+    /**
+     * This gets the closest Point from a specified pose to the BezierCurve and writes it into a
+     * Pose, with the heading goal at that Point as its heading. Nothing new is created, since the
+     * tangent is kept in the same Vector every time and the rest is read straight off the
+     * BezierCurve.
+     *
+     * @param pose the pose.
+     * @param searchStepLimit the binary search step limit, if a binary search is needed.
+     * @param closestPose the Pose to write the closest Point into.
+     * @return this returns the Pose that was passed in.
+     */
+    public Pose getClosestPoint(Pose pose, int searchStepLimit, Pose closestPose) {
+        closestPointTValue = closestPointProjector.project(pose, searchStepLimit);
 
-        returnPoint = getPoint(closestPointTValue);
+        curve.getPoint(closestPointTValue, closestPose);
 
-        closestPointTangentVector = curve.getDerivative(closestPointTValue);
+        curve.getDerivative(closestPointTValue, closestPointTangentVector);
 
-        closestPointNormalVector = curve.getApproxSecondDerivative(closestPointTValue);
+        closestPointNormalTheta = curve.getApproxSecondDerivativeTheta(closestPointTValue);
 
         closestPointCurvature = curve.getCurvature(closestPointTValue);
 
-        return new Pose(returnPoint.getX(), returnPoint.getY(), getClosestPointHeadingGoal());
+        updateProjection(closestPose.getX(), closestPose.getY());
+
+        closestPose.setHeading(projection.getHeadingGoal());
+        return closestPose;
+    }
+
+    /**
+     * This fills in the PathProjection for the closest Point that was just found, so everything
+     * the Follower needs about it this loop is only calculated once.
+     *
+     * @param x the x coordinate of the closest Point.
+     * @param y the y coordinate of the closest Point.
+     */
+    private void updateProjection(double x, double y) {
+        projection.setPosition(closestPointTValue, x, y, closestPointTangentVector, closestPointNormalTheta, closestPointCurvature);
+
+        double remainingArcLength;
+        CurveSampleTable sampleTable = curve.getSampleTable();
+        if (sampleTable != null) {
+            remainingArcLength = sampleTable.getLength() - sampleTable.getArcLength(closestPointTValue);
+        } else {
+            remainingArcLength = length() * (1 - closestPointTValue);
+        }
+
+        projection.setPathState(getClosestPointHeadingGoal(), length() * (1 - closestPointTValue), remainingArcLength, isAtParametricEnd(), isAtParametricStart());
+    }
+
+    /**
+     * This returns the PathProjection from the last time the closest Point was found. The same
+     * PathProjection is updated every time, so read what you need from it before the next update.
+     *
+     * @return returns the PathProjection.
+     */
+    public PathProjection getProjection() {
+        return projection;
+    }
+
+    /**
+     * This returns the BezierCurve this Path follows.
+     *
+     * @return returns the BezierCurve.
+     */
+    BezierCurve getCurve() {
+        return curve;
+    }
+
+    /**
+     * This writes out the heading interpolation settings of this Path, so they can be read back
+     * later with readHeadingInterpolation.
+     *
+     * @param out the stream to write to.
+     * @throws IOException if the stream can't be written to.
+     */
+    void writeHeadingInterpolation(DataOutputStream out) throws IOException {
+        out.writeBoolean(isTangentHeadingInterpolation);
+        out.writeBoolean(followTangentReversed);
+        out.writeDouble(startHeading);
+        out.writeDouble(endHeading);
+        out.writeDouble(linearInterpolationEndTime);
+    }
+
+    /**
+     * This reads heading interpolation settings that were written with writeHeadingInterpolation
+     * into this Path.
+     *
+     * @param in the stream to read from.
+     * @throws IOException if the stream can't be read.
+     */
+    void readHeadingInterpolation(DataInputStream in) throws IOException {
+        isTangentHeadingInterpolation = in.readBoolean();
+        followTangentReversed = in.readBoolean();
+        startHeading = in.readDouble();
+        endHeading = in.readDouble();
+        linearInterpolationEndTime = in.readDouble();
     }
 
     /**
@@ -208,6 +295,34 @@ public class Path {
         return closestPointTValue;
     }
 
+    /**
+     * This returns how many Newton's method iterations the last closest Point search took. This is
+     * mostly useful for telemetry.
+     *
+     * @return returns the number of iterations.
+     */
+    public int getClosestPointIterations() {
+        return closestPointProjector.getIterations();
+    }
+
+    /**
+     * This returns if the last closest Point search had to search the whole BezierCurve instead of
+     * starting from the last closest Point. This is mostly useful for telemetry.
+     *
+     * @return returns if the global search was used.
+     */
+    public boolean closestPointUsedGlobalSearch() {
+        return closestPointProjector.usedGlobalSearch();
+    }
+
+    /**
+     * This clears the last closest Point, so the next closest Point search searches the whole
+     * BezierCurve. Use this if the robot is relocalized somewhere else along the Path.
+     */
+    public void resetClosestPointSearch() {
+        closestPointProjector.reset();
+    }
+
     /**
      * This returns the approximated length of the BezierCurve.
      *
@@ -242,7 +357,7 @@ public class Path {
      * @return returns the normal Vector at the closest Point.
      */
     public Vector getClosestPointNormalVector() {
-        return MathFunctions.copyVector(closestPointNormalVector);
+        return new Vector(1, closestPointNormalTheta);
     }
 
     /**
@@ -0,0 +1,129 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+
+/**
+ * This is the PathCompiler class. This class writes PathChains out to a compact binary file, along
+ * with everything that was calculated when the Paths were built: the CurveSampleTable of every
+ * BezierCurve, the heading interpolation, the end constraints, and the callback timings. The
+ * PathLoader can then read the file back into a PathChain on the robot without sampling any curves,
+ * so the work of building Paths can be done once on a computer instead of in every init().
+ *
+ * Nothing in here uses Android, so this can be run from any plain Java main method or test on a
+ * computer. Build the PathChain the same way you would in an OpMode, then pass it to compile().
+ *
+ * The file is laid out as, all big endian:
+ * int magic number, int format version, int number of Paths,
+ * then for every Path: byte curve type, int number of control points, the x and y of every control
+ * point, the CurveSampleTable if the curve type is a BezierCurve, the heading interpolation, and
+ * the six end constraints,
+ * then int number of callbacks, and for every callback: int type, double start condition, and int
+ * Path index.
+ *
+ * Callbacks can't store the code they run, so only their timings are written. The Runnables are
+ * passed back in, in the same order, when the file is loaded.
+ */
+public class PathCompiler {
+    // This spells out "PPTH", so files that aren't compiled Paths are caught right away
+    static final int MAGIC_NUMBER = 0x50505448;
+
+    // Increase this whenever the file layout changes, so old files aren't read wrong
+    static final int FORMAT_VERSION = 1;
+
+    static final byte CURVE = 0;
+    static final byte LINE = 1;
+    static final byte POINT = 2;
+
+    /**
+     * This writes a PathChain to a file.
+     *
+     * @param pathChain the PathChain to write.
+     * @param file the file to write to. This is overwritten if it already exists.
+     * @throws IOException if the file can't be written to.
+     */
+    public static void compile(PathChain pathChain, File file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            compile(pathChain, out);
+        }
+    }
+
+    /**
+     * This writes a PathChain to an OutputStream. The OutputStream is flushed but not closed.
+     *
+     * @param pathChain the PathChain to write.
+     * @param outputStream the OutputStream to write to.
+     * @throws IOException if the OutputStream can't be written to.
+     */
+    public static void compile(PathChain pathChain, OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+
+        out.writeInt(MAGIC_NUMBER);
+        out.writeInt(FORMAT_VERSION);
+
+        out.writeInt(pathChain.size());
+        for (int i = 0; i < pathChain.size(); i++) {
+            writePath(pathChain.getPath(i), out);
+        }
+
+        ArrayList<PathCallback> callbacks = pathChain.getCallbacks();
+        out.writeInt(callbacks.size());
+        for (PathCallback callback : callbacks) {
+            out.writeInt(callback.getType());
+            out.writeDouble(callback.getStartCondition());
+            out.writeInt(callback.getIndex());
+        }
+
+        out.flush();
+    }
+
+    /**
+     * This writes a single Path.
+     *
+     * @param path the Path to write.
+     * @param out the stream to write to.
+     * @throws IOException if the stream can't be written to.
+     */
+    private static void writePath(Path path, DataOutputStream out) throws IOException {
+        BezierCurve curve = path.getCurve();
+
+        byte curveType;
+        switch (curve.pathType()) {
+            case "line":
+                curveType = LINE;
+                break;
+            case "point":
+                curveType = POINT;
+                break;
+            default:
+                curveType = CURVE;
+                break;
+        }
+        out.writeByte(curveType);
+
+        ArrayList<Point> controlPoints = curve.getControlPoints();
+        out.writeInt(controlPoints.size());
+        for (Point point : controlPoints) {
+            out.writeDouble(point.getX());
+            out.writeDouble(point.getY());
+        }
+
+        if (curveType == CURVE) {
+            curve.getSampleTable().writeTo(out);
+        }
+
+        path.writeHeadingInterpolation(out);
+
+        out.writeDouble(path.getZeroPowerAccelerationMultiplier());
+        out.writeDouble(path.getPathEndVelocityConstraint());
+        out.writeDouble(path.getPathEndTranslationalConstraint());
+        out.writeDouble(path.getPathEndHeadingConstraint());
+        out.writeDouble(path.getPathEndTValueConstraint());
+        out.writeDouble(path.getPathEndTimeoutConstraint());
+    }
+}
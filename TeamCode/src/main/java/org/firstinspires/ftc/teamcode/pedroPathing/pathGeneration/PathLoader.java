@@ -0,0 +1,122 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+/**
+ * This is the PathLoader class. This class reads PathChains back from files written by the
+ * PathCompiler. Since the CurveSampleTables are stored in the file, loading a PathChain is mostly
+ * just reading numbers, with no curve sampling or length approximation done on the robot.
+ *
+ * Callbacks are stored without the code they run, so pass the Runnables for them in the same order
+ * the callbacks were in when the PathChain was compiled.
+ */
+public class PathLoader {
+
+    /**
+     * This reads a PathChain from a file.
+     *
+     * @param file the file to read from.
+     * @param callbackActions the Runnables for the callbacks of the PathChain, in order.
+     * @return returns the PathChain that was read.
+     * @throws IOException if the file can't be read or isn't a compiled PathChain.
+     */
+    public static PathChain load(File file, Runnable... callbackActions) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return load(in, callbackActions);
+        }
+    }
+
+    /**
+     * This reads a PathChain from an InputStream. The InputStream is not closed.
+     *
+     * @param inputStream the InputStream to read from.
+     * @param callbackActions the Runnables for the callbacks of the PathChain, in order.
+     * @return returns the PathChain that was read.
+     * @throws IOException if the InputStream can't be read or doesn't hold a compiled PathChain.
+     */
+    public static PathChain load(InputStream inputStream, Runnable... callbackActions) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+
+        if (in.readInt() != PathCompiler.MAGIC_NUMBER) throw new IOException("Not a compiled PathChain");
+        int version = in.readInt();
+        if (version != PathCompiler.FORMAT_VERSION) {
+            throw new IOException("Compiled PathChain is format version " + version + ", but only version " + PathCompiler.FORMAT_VERSION + " can be read. Compile the PathChain again.");
+        }
+
+        int pathCount = in.readInt();
+        ArrayList<Path> paths = new ArrayList<>(pathCount);
+        for (int i = 0; i < pathCount; i++) {
+            paths.add(readPath(in));
+        }
+        PathChain pathChain = new PathChain(paths);
+
+        int callbackCount = in.readInt();
+        if (callbackCount != callbackActions.length) {
+            throw new IllegalArgumentException("Compiled PathChain has " + callbackCount + " callbacks, but " + callbackActions.length + " Runnables were given");
+        }
+        ArrayList<PathCallback> callbacks = new ArrayList<>(callbackCount);
+        for (int i = 0; i < callbackCount; i++) {
+            int type = in.readInt();
+            double startCondition = in.readDouble();
+            int index = in.readInt();
+            callbacks.add(new PathCallback(startCondition, callbackActions[i], type, index));
+        }
+        pathChain.setCallbacks(callbacks);
+
+        return pathChain;
+    }
+
+    /**
+     * This reads a single Path.
+     *
+     * @param in the stream to read from.
+     * @return returns the Path that was read.
+     * @throws IOException if the stream can't be read or doesn't hold a valid Path.
+     */
+    private static Path readPath(DataInputStream in) throws IOException {
+        byte curveType = in.readByte();
+
+        int controlPointCount = in.readInt();
+        ArrayList<Point> controlPoints = new ArrayList<>(controlPointCount);
+        for (int i = 0; i < controlPointCount; i++) {
+            double x = in.readDouble();
+            double y = in.readDouble();
+            controlPoints.add(new Point(x, y, Point.CARTESIAN));
+        }
+
+        BezierCurve curve;
+        switch (curveType) {
+            case PathCompiler.CURVE:
+                curve = new BezierCurve(controlPoints, CurveSampleTable.readFrom(in));
+                break;
+            case PathCompiler.LINE:
+                if (controlPointCount != 2) throw new IOException("A BezierLine needs 2 control points, not " + controlPointCount);
+                curve = new BezierLine(controlPoints.get(0), controlPoints.get(1));
+                break;
+            case PathCompiler.POINT:
+                if (controlPointCount != 1) throw new IOException("A BezierPoint needs 1 control point, not " + controlPointCount);
+                curve = new BezierPoint(controlPoints.get(0));
+                break;
+            default:
+                throw new IOException("Unknown curve type: " + curveType);
+        }
+
+        Path path = new Path(curve);
+        path.readHeadingInterpolation(in);
+
+        path.setZeroPowerAccelerationMultiplier(in.readDouble());
+        path.setPathEndVelocityConstraint(in.readDouble());
+        path.setPathEndTranslationalConstraint(in.readDouble());
+        path.setPathEndHeadingConstraint(in.readDouble());
+        path.setPathEndTValueConstraint(in.readDouble());
+        path.setPathEndTimeoutConstraint(in.readDouble());
+
+        return path;
+    }
+}
@@ -0,0 +1,200 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+/**
+ * This is the PathProjection class. This class is a snapshot of everything about the closest point
+ * on a Path to the robot that the Follower needs for one loop: the t-value, position, tangent, unit
+ * tangent, normal direction, heading goal, curvature, distance to the end, and remaining arc length.
+ *
+ * The Path fills this in once every time the closest point is found, so the Follower can read these
+ * as many times as it wants in a loop without copying tangent Vectors or recalculating heading goals
+ * over and over. Everything is read only from outside the pathGeneration package, and the Vectors
+ * are copied into Vectors passed in by the caller, so nothing here can be changed by accident.
+ */
+public class PathProjection {
+    private final Vector tangent = new Vector();
+    private final Vector unitTangent = new Vector();
+
+    private double tValue;
+    private double x;
+    private double y;
+    private double normalTheta;
+    private double headingGoal;
+    private double curvature;
+    private double distanceToEnd;
+    private double remainingArcLength;
+
+    private boolean atParametricEnd;
+    private boolean atParametricStart;
+
+    /**
+     * This creates a new, empty PathProjection. Only the Path should need to do this.
+     */
+    PathProjection() {
+    }
+
+    /**
+     * This sets the positional parts of the PathProjection. This is called by the Path when it
+     * finds a new closest point.
+     *
+     * @param tValue the t-value of the closest point.
+     * @param x the x position of the closest point.
+     * @param y the y position of the closest point.
+     * @param tangent the tangent Vector at the closest point. This is copied, not kept.
+     * @param normalTheta the direction of the normal Vector at the closest point.
+     * @param curvature the curvature at the closest point.
+     */
+    void setPosition(double tValue, double x, double y, Vector tangent, double normalTheta, double curvature) {
+        this.tValue = tValue;
+        this.x = x;
+        this.y = y;
+        this.tangent.set(tangent);
+        MathFunctions.normalizeVector(this.tangent, unitTangent);
+        this.normalTheta = normalTheta;
+        this.curvature = curvature;
+    }
+
+    /**
+     * This sets the parts of the PathProjection that depend on the Path settings. This is called by
+     * the Path right after setPosition.
+     *
+     * @param headingGoal the heading goal at the closest point.
+     * @param distanceToEnd the parametric distance to the end of the Path.
+     * @param remainingArcLength the arc length from the closest point to the end of the Path.
+     * @param atParametricEnd if the closest point is at the end of the Path.
+     * @param atParametricStart if the closest point is at the start of the Path.
+     */
+    void setPathState(double headingGoal, double distanceToEnd, double remainingArcLength, boolean atParametricEnd, boolean atParametricStart) {
+        this.headingGoal = headingGoal;
+        this.distanceToEnd = distanceToEnd;
+        this.remainingArcLength = remainingArcLength;
+        this.atParametricEnd = atParametricEnd;
+        this.atParametricStart = atParametricStart;
+    }
+
+    /**
+     * This returns the t-value of the closest point.
+     *
+     * @return returns the t-value.
+     */
+    public double getTValue() {
+        return tValue;
+    }
+
+    /**
+     * This returns the x position of the closest point.
+     *
+     * @return returns the x position.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * This returns the y position of the closest point.
+     *
+     * @return returns the y position.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * This copies the tangent Vector at the closest point into a specified Vector.
+     *
+     * @param result the Vector to copy the tangent into.
+     * @return returns the result Vector.
+     */
+    public Vector getTangent(Vector result) {
+        result.set(tangent);
+        return result;
+    }
+
+    /**
+     * This copies the unit tangent Vector at the closest point into a specified Vector. This is the
+     * zero Vector if the tangent is the zero Vector.
+     *
+     * @param result the Vector to copy the unit tangent into.
+     * @return returns the result Vector.
+     */
+    public Vector getUnitTangent(Vector result) {
+        result.set(unitTangent);
+        return result;
+    }
+
+    /**
+     * This returns the direction of the tangent Vector at the closest point.
+     *
+     * @return returns the tangent direction, in radians.
+     */
+    public double getTangentTheta() {
+        return tangent.getTheta();
+    }
+
+    /**
+     * This returns the direction of the normal Vector at the closest point. The Follower only uses
+     * the sign of this, to tell which way the Path is curving.
+     *
+     * @return returns the normal direction, in radians.
+     */
+    public double getNormalTheta() {
+        return normalTheta;
+    }
+
+    /**
+     * This returns the heading goal at the closest point.
+     *
+     * @return returns the heading goal, in radians.
+     */
+    public double getHeadingGoal() {
+        return headingGoal;
+    }
+
+    /**
+     * This returns the curvature at the closest point.
+     *
+     * @return returns the curvature.
+     */
+    public double getCurvature() {
+        return curvature;
+    }
+
+    /**
+     * This returns the distance to the end of the Path, estimated as the length of the Path times
+     * how much of the Path is left in terms of t. This is what the Follower uses for the drive
+     * vector, but it's only exact for BezierLines.
+     *
+     * @return returns the distance to the end.
+     */
+    public double getDistanceToEnd() {
+        return distanceToEnd;
+    }
+
+    /**
+     * This returns the arc length from the closest point to the end of the Path. For BezierCurves,
+     * this comes from the CurveSampleTable, so it's accurate even where the curve speeds up or
+     * slows down in terms of t.
+     *
+     * @return returns the remaining arc length.
+     */
+    public double getRemainingArcLength() {
+        return remainingArcLength;
+    }
+
+    /**
+     * This returns if the closest point is at the end of the Path, according to the t-value.
+     *
+     * @return returns if at end.
+     */
+    public boolean isAtParametricEnd() {
+        return atParametricEnd;
+    }
+
+    /**
+     * This returns if the closest point is at the start of the Path, according to the t-value.
+     *
+     * @return returns if at start.
+     */
+    public boolean isAtParametricStart() {
+        return atParametricStart;
+    }
+}
@@ -16,12 +16,16 @@ public class Vector {
 
     // IMPORTANT NOTE: theta is defined in radians.
     // These are the values of the coordinate defined by this Point, in both polar and
-    // Cartesian systems.
+    // Cartesian systems. The Cartesian components are always up to date, while the polar
+    // components are only calculated when they are asked for.
     private double magnitude;
     private double theta;
     private double xComponent;
     private double yComponent;
 
+    // This is whether the magnitude and theta match the current x and y components.
+    private boolean polarComponentsUpdated;
+
     /**
      * This creates a new Vector with zero magnitude and direction.
      */
@@ -46,7 +50,6 @@ public class Vector {
      * @param theta sets the theta value of this Vector.
      */
     public void setComponents(double magnitude, double theta) {
-        double[] orthogonalComponents;
         if (magnitude<0) {
             this.magnitude = -magnitude;
             this.theta = MathFunctions.normalizeAngle(theta+Math.PI);
@@ -54,9 +57,9 @@ public class Vector {
             this.magnitude = magnitude;
             this.theta = MathFunctions.normalizeAngle(theta);
         }
-        orthogonalComponents = Point.polarToCartesian(magnitude, theta);
-        xComponent = orthogonalComponents[0];
-        yComponent = orthogonalComponents[1];
+        xComponent = magnitude * Math.cos(theta);
+        yComponent = magnitude * Math.sin(theta);
+        polarComponentsUpdated = true;
     }
 
     /**
@@ -65,7 +68,7 @@ public class Vector {
      * @param magnitude sets the magnitude of this Vector.
      */
     public void setMagnitude(double magnitude) {
-        setComponents(magnitude, theta);
+        setComponents(magnitude, getTheta());
     }
 
     /**
@@ -74,7 +77,7 @@ public class Vector {
      * @param theta sets the angle, or theta value, of this Vector.
      */
     public void setTheta(double theta) {
-        setComponents(magnitude, theta);
+        setComponents(getMagnitude(), theta);
     }
 
     /**
@@ -83,7 +86,7 @@ public class Vector {
      * @param theta2 the angle to be added.
      */
     public void rotateVector(double theta2) {
-        setTheta(theta+theta2);
+        setTheta(getTheta()+theta2);
     }
 
     /**
@@ -95,12 +98,112 @@ public class Vector {
      * @param yComponent sets the y component of this Vector.
      */
     public void setOrthogonalComponents(double xComponent, double yComponent) {
-        double[] polarComponents;
         this.xComponent = xComponent;
         this.yComponent = yComponent;
-        polarComponents = Point.cartesianToPolar(xComponent, yComponent);
-        magnitude = polarComponents[0];
-        theta = polarComponents[1];
+        polarComponentsUpdated = false;
+    }
+
+    /**
+     * This calculates the magnitude and theta from the x and y components if they haven't been
+     * calculated since the x and y components were last set. This uses the same conventions as
+     * Point.cartesianToPolar(double x, double y), but without creating an Array.
+     */
+    private void updatePolarComponents() {
+        if (polarComponentsUpdated) return;
+        polarComponentsUpdated = true;
+        if (xComponent == 0) {
+            magnitude = Math.abs(yComponent);
+            theta = yComponent > 0 ? Math.PI/2 : (3 * Math.PI) / 2;
+            return;
+        }
+        magnitude = Math.sqrt(xComponent*xComponent + yComponent*yComponent);
+        if (xComponent < 0) {
+            theta = Math.PI + Math.atan(yComponent/xComponent);
+        } else if (yComponent > 0) {
+            theta = Math.atan(yComponent/xComponent);
+        } else {
+            theta = (2*Math.PI) + Math.atan(yComponent/xComponent);
+        }
+    }
+
+    /**
+     * This sets this Vector to be the same as another Vector, without creating a new Vector.
+     *
+     * @param other the Vector to copy.
+     */
+    public void set(Vector other) {
+        xComponent = other.xComponent;
+        yComponent = other.yComponent;
+        magnitude = other.magnitude;
+        theta = other.theta;
+        polarComponentsUpdated = other.polarComponentsUpdated;
+    }
+
+    /**
+     * This adds another Vector to this Vector, without creating a new Vector.
+     *
+     * @param other the Vector to add.
+     */
+    public void addInPlace(Vector other) {
+        setOrthogonalComponents(xComponent + other.xComponent, yComponent + other.yComponent);
+    }
+
+    /**
+     * This subtracts another Vector from this Vector, without creating a new Vector.
+     *
+     * @param other the Vector to subtract.
+     */
+    public void subtractInPlace(Vector other) {
+        setOrthogonalComponents(xComponent - other.xComponent, yComponent - other.yComponent);
+    }
+
+    /**
+     * This multiplies this Vector by a scalar, without creating a new Vector. Just like
+     * MathFunctions.scalarMultiplyVector(Vector vector, double scalar), a negative scalar flips the
+     * direction and a scalar of zero keeps the direction.
+     *
+     * @param scalar the scalar multiplying into this Vector.
+     */
+    public void scalarMultiplyInPlace(double scalar) {
+        if (scalar == 0) updatePolarComponents();
+        xComponent *= scalar;
+        yComponent *= scalar;
+        if (polarComponentsUpdated) {
+            if (scalar < 0) {
+                magnitude *= -scalar;
+                theta = MathFunctions.normalizeAngle(theta + Math.PI);
+            } else {
+                magnitude *= scalar;
+            }
+        }
+    }
+
+    /**
+     * This rotates this Vector by an angle, without creating a new Vector. Unlike
+     * rotateVector(double theta2), this rotates the x and y components directly.
+     *
+     * @param angle the angle to rotate by, in radians.
+     */
+    public void rotateInPlace(double angle) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double rotatedX = xComponent * cos - yComponent * sin;
+        double rotatedY = xComponent * sin + yComponent * cos;
+        xComponent = rotatedX;
+        yComponent = rotatedY;
+        if (polarComponentsUpdated) theta = MathFunctions.normalizeAngle(theta + angle);
+    }
+
+    /**
+     * This scales this Vector to a magnitude of 1, without creating a new Vector. If this is the
+     * zero Vector, then it stays the zero Vector.
+     */
+    public void normalizeInPlace() {
+        updatePolarComponents();
+        if (magnitude == 0) return;
+        xComponent /= magnitude;
+        yComponent /= magnitude;
+        magnitude = 1;
     }
 
     /**
@@ -109,6 +212,7 @@ public class Vector {
      * @return returns the magnitude.
      */
     public double getMagnitude() {
+        updatePolarComponents();
         return magnitude;
     }
 
@@ -118,6 +222,7 @@ public class Vector {
      * @return returns the theta value.
      */
     public double getTheta() {
+        updatePolarComponents();
         return theta;
     }
 
@@ -0,0 +1,313 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
+
+import java.util.ArrayList;
+
+/**
+ * This is the MecanumDriveSimulator class. This class simulates a mecanum drivetrain on the field,
+ * so the Follower, and OpModes that use it, can be run on a computer with no robot. It makes a
+ * HardwareMap with SimulatedDcMotorExs for the four drive motors, named the same as in
+ * FollowerConstants, and a SimulatedLocalizer to give the Follower instead of the OTOS. Mechanisms
+ * can be added with addMotor(), addServo(), and addCRServo().
+ *
+ * The model is based on the same numbers the Follower is tuned with. Every step, the drive motor
+ * powers are turned into the velocity the robot would go at those powers, using the front left
+ * wheel vector and the max forward and lateral speeds from FollowerConstants. While the motors have
+ * power, the robot speeds up or slows down towards that velocity with a first order lag. With no
+ * power and the motors floating, the robot slows down at the forward and lateral zero power
+ * accelerations, which is what the Follower expects to happen. With no power and the motors braking,
+ * the robot stops with a shorter lag. The encoders of the drive motors turn to match how the robot
+ * actually moved.
+ *
+ * Like on the real robot, the left side motors are mounted flipped around, so the Follower has to
+ * reverse them for the robot to drive straight.
+ *
+ * Making a MecanumDriveSimulator switches the Clock over to simulated time, which moves forward by
+ * exactly the step time every step. Switch it back with Clock.useSystemTime() when done.
+ */
+public class MecanumDriveSimulator {
+    private final HardwareMap hardwareMap;
+    private final SimulatedLocalizer localizer;
+
+    private final SimulatedDcMotorEx[] driveMotors;
+    private final ArrayList<SimulatedDcMotorEx> otherMotors = new ArrayList<>();
+
+    // the left side motors are mounted facing the other way
+    private final int[] mountingSigns = new int[]{-1, -1, 1, 1};
+
+    private final double[] wheelPowers = new double[4];
+    private final double[] wheelFractions = new double[4];
+
+    private double x;
+    private double y;
+    private double heading;
+
+    // the velocity is stored in the field's frame of reference, since that doesn't change when the
+    // robot turns
+    private double xVelocity;
+    private double yVelocity;
+    private double angularVelocity;
+
+    private double motorTimeConstant = 0.15;
+    private double brakeTimeConstant = 0.08;
+    private double wheelBaseRadius = 8;
+
+    private int nextPortNumber;
+    private int nextServoPortNumber;
+
+    /**
+     * This creates a new MecanumDriveSimulator with the robot at (0, 0) facing 0 heading.
+     */
+    public MecanumDriveSimulator() {
+        Clock.useSimulatedTime();
+
+        hardwareMap = new HardwareMap(null, null);
+
+        // this order matches the order of the wheel powers from the DriveVectorScaler
+        driveMotors = new SimulatedDcMotorEx[]{
+                addMotor(FollowerConstants.leftFrontMotorName),
+                addMotor(FollowerConstants.leftRearMotorName),
+                addMotor(FollowerConstants.rightFrontMotorName),
+                addMotor(FollowerConstants.rightRearMotorName)};
+        for (SimulatedDcMotorEx motor : driveMotors) {
+            motor.setDrivenBySimulator(true);
+            otherMotors.remove(motor);
+        }
+
+        localizer = new SimulatedLocalizer(this);
+    }
+
+    /**
+     * This adds another motor to the HardwareMap, for mechanisms like arms and intakes. These
+     * motors aren't part of the drivetrain and just spin on their own.
+     *
+     * @param name the name of the motor in the HardwareMap.
+     * @return returns the new motor.
+     */
+    public SimulatedDcMotorEx addMotor(String name) {
+        SimulatedDcMotorEx motor = new SimulatedDcMotorEx(name, nextPortNumber % 4);
+        nextPortNumber++;
+        hardwareMap.put(name, motor);
+        otherMotors.add(motor);
+        return motor;
+    }
+
+    /**
+     * This adds a servo to the HardwareMap, for mechanisms like claws.
+     *
+     * @param name the name of the servo in the HardwareMap.
+     * @return returns the new servo.
+     */
+    public SimulatedServo addServo(String name) {
+        SimulatedServo servo = new SimulatedServo(name, nextServoPortNumber % 6);
+        nextServoPortNumber++;
+        hardwareMap.put(name, servo);
+        return servo;
+    }
+
+    /**
+     * This adds a continuous rotation servo to the HardwareMap, for mechanisms like wrists and
+     * intakes.
+     *
+     * @param name the name of the servo in the HardwareMap.
+     * @return returns the new servo.
+     */
+    public SimulatedCRServo addCRServo(String name) {
+        SimulatedCRServo servo = new SimulatedCRServo(name, nextServoPortNumber % 6);
+        nextServoPortNumber++;
+        hardwareMap.put(name, servo);
+        return servo;
+    }
+
+    /**
+     * This moves the simulation forward in time. The drivetrain and all the motors are updated, and
+     * then the Clock is moved forward.
+     *
+     * @param deltaTime how much time to move forward, in seconds.
+     */
+    public void step(double deltaTime) {
+        if (deltaTime <= 0) throw new IllegalArgumentException("The step time must be positive");
+
+        Vector frontLeftVector = MathFunctions.normalizeVector(FollowerConstants.frontLeftVector);
+        double forwardComponent = frontLeftVector.getXComponent();
+        double lateralComponent = frontLeftVector.getYComponent();
+        double wheelSpeed = Math.hypot(FollowerConstants.xMovement, FollowerConstants.yMovement);
+
+        boolean powered = false;
+        boolean floating = true;
+        for (int i = 0; i < 4; i++) {
+            wheelPowers[i] = driveMotors[i].getShaftPower() * mountingSigns[i];
+            if (wheelPowers[i] != 0) powered = true;
+            if (driveMotors[i].getZeroPowerBehavior() != DcMotor.ZeroPowerBehavior.FLOAT) floating = false;
+        }
+
+        // the velocities are worked out relative to the robot, with forward being x positive
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        double forwardVelocity = xVelocity * cos + yVelocity * sin;
+        double lateralVelocity = -xVelocity * sin + yVelocity * cos;
+
+        if (powered) {
+            double targetForwardVelocity = wheelSpeed / 4 * forwardComponent * (wheelPowers[0] + wheelPowers[1] + wheelPowers[2] + wheelPowers[3]);
+            double targetLateralVelocity = wheelSpeed / 4 * lateralComponent * (wheelPowers[0] - wheelPowers[1] - wheelPowers[2] + wheelPowers[3]);
+            double targetAngularVelocity = wheelSpeed / 4 * forwardComponent * (-wheelPowers[0] - wheelPowers[1] + wheelPowers[2] + wheelPowers[3]) / wheelBaseRadius;
+
+            double lag = 1 - Math.exp(-deltaTime / motorTimeConstant);
+            forwardVelocity += (targetForwardVelocity - forwardVelocity) * lag;
+            lateralVelocity += (targetLateralVelocity - lateralVelocity) * lag;
+            angularVelocity += (targetAngularVelocity - angularVelocity) * lag;
+        } else if (floating) {
+            forwardVelocity = slowDown(forwardVelocity, Math.abs(FollowerConstants.forwardZeroPowerAcceleration) * deltaTime);
+            lateralVelocity = slowDown(lateralVelocity, Math.abs(FollowerConstants.lateralZeroPowerAcceleration) * deltaTime);
+            angularVelocity = slowDown(angularVelocity, Math.abs(FollowerConstants.forwardZeroPowerAcceleration) / wheelBaseRadius * deltaTime);
+        } else {
+            double lag = 1 - Math.exp(-deltaTime / brakeTimeConstant);
+            forwardVelocity -= forwardVelocity * lag;
+            lateralVelocity -= lateralVelocity * lag;
+            angularVelocity -= angularVelocity * lag;
+        }
+
+        // the robot is moved using the heading halfway through the step, so it curves properly while
+        // turning and driving at the same time
+        double middleHeading = heading + angularVelocity * deltaTime / 2;
+        cos = Math.cos(middleHeading);
+        sin = Math.sin(middleHeading);
+        xVelocity = forwardVelocity * cos - lateralVelocity * sin;
+        yVelocity = forwardVelocity * sin + lateralVelocity * cos;
+
+        x += xVelocity * deltaTime;
+        y += yVelocity * deltaTime;
+        heading = MathFunctions.normalizeAngle(heading + angularVelocity * deltaTime);
+
+        // the wheels turn as fast as the robot is actually moving, not as fast as they're told to
+        double forwardFraction = forwardVelocity / (wheelSpeed * forwardComponent);
+        double lateralFraction = lateralComponent == 0 ? 0 : lateralVelocity / (wheelSpeed * lateralComponent);
+        double turnFraction = angularVelocity * wheelBaseRadius / (wheelSpeed * forwardComponent);
+        wheelFractions[0] = forwardFraction + lateralFraction - turnFraction;
+        wheelFractions[1] = forwardFraction - lateralFraction - turnFraction;
+        wheelFractions[2] = forwardFraction - lateralFraction + turnFraction;
+        wheelFractions[3] = forwardFraction + lateralFraction + turnFraction;
+        for (int i = 0; i < 4; i++) {
+            driveMotors[i].setShaftVelocity(wheelFractions[i] * mountingSigns[i] * driveMotors[i].getMaxTicksPerSecond());
+            driveMotors[i].update(deltaTime);
+        }
+
+        for (SimulatedDcMotorEx motor : otherMotors) {
+            motor.update(deltaTime);
+        }
+
+        Clock.advance(Math.round(deltaTime * 1e9));
+    }
+
+    /**
+     * This moves a velocity towards 0 by a set amount, without going past 0.
+     *
+     * @param velocity the velocity.
+     * @param amount how much to slow down by.
+     * @return returns the slowed down velocity.
+     */
+    private static double slowDown(double velocity, double amount) {
+        if (Math.abs(velocity) <= amount) return 0;
+        return velocity - Math.signum(velocity) * amount;
+    }
+
+    /**
+     * This returns the HardwareMap with the simulated motors and localizer in it. Pass this into the
+     * Follower or set it as the HardwareMap of an OpMode.
+     *
+     * @return returns the HardwareMap.
+     */
+    public HardwareMap getHardwareMap() {
+        return hardwareMap;
+    }
+
+    /**
+     * This returns the SimulatedLocalizer.
+     *
+     * @return returns the SimulatedLocalizer.
+     */
+    public SimulatedLocalizer getLocalizer() {
+        return localizer;
+    }
+
+    /**
+     * This returns a drive motor.
+     *
+     * @param index the index of the motor: 0 is left front, 1 is left rear, 2 is right front, and 3
+     *              is right rear.
+     * @return returns the motor.
+     */
+    public SimulatedDcMotorEx getDriveMotor(int index) {
+        return driveMotors[index];
+    }
+
+    /**
+     * This returns the pose of the simulated robot.
+     *
+     * @return returns the pose.
+     */
+    public Pose getPose() {
+        return new Pose(x, y, heading);
+    }
+
+    /**
+     * This places the simulated robot at a pose, at rest.
+     *
+     * @param pose the pose to place the robot at.
+     */
+    public void setPose(Pose pose) {
+        x = pose.getX();
+        y = pose.getY();
+        heading = MathFunctions.normalizeAngle(pose.getHeading());
+        xVelocity = 0;
+        yVelocity = 0;
+        angularVelocity = 0;
+    }
+
+    /**
+     * This returns the velocity of the simulated robot in the field's frame of reference. The
+     * heading part of the Pose is the angular velocity.
+     *
+     * @return returns the velocity.
+     */
+    public Pose getVelocity() {
+        return new Pose(xVelocity, yVelocity, angularVelocity);
+    }
+
+    /**
+     * This sets how fast the robot reaches the speed the drive motors are asking for while powered.
+     * This is the time it takes to get about 63% of the way there.
+     *
+     * @param set the time constant, in seconds.
+     */
+    public void setMotorTimeConstant(double set) {
+        motorTimeConstant = set;
+    }
+
+    /**
+     * This sets how fast the robot stops with no power and the drive motors braking.
+     *
+     * @param set the time constant, in seconds.
+     */
+    public void setBrakeTimeConstant(double set) {
+        brakeTimeConstant = set;
+    }
+
+    /**
+     * This sets the distance from the center of the robot to the wheels, which sets how fast the
+     * robot turns.
+     *
+     * @param set the wheel base radius, in inches.
+     */
+    public void setWheelBaseRadius(double set) {
+        wheelBaseRadius = set;
+    }
+}
@@ -0,0 +1,91 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import com.qualcomm.robotcore.hardware.CRServo;
+import com.qualcomm.robotcore.hardware.ServoController;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+
+/**
+ * This is the SimulatedCRServo class. This class is a stand in for a real CRServo that can be put
+ * in a HardwareMap, so mechanisms with continuous rotation servos don't stop OpModes from running
+ * off the robot. It just remembers the power and direction set on it.
+ */
+public class SimulatedCRServo implements CRServo {
+    private final String name;
+    private final int portNumber;
+
+    private Direction direction = Direction.FORWARD;
+    private double power;
+
+    /**
+     * This creates a new SimulatedCRServo.
+     *
+     * @param name the name of the servo in the HardwareMap.
+     * @param portNumber the port number of the servo.
+     */
+    public SimulatedCRServo(String name, int portNumber) {
+        this.name = name;
+        this.portNumber = portNumber;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated CRServo";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "simulated; port " + portNumber + "; name " + name;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+        direction = Direction.FORWARD;
+        power = 0;
+    }
+
+    @Override
+    public void close() {
+        power = 0;
+    }
+
+    @Override
+    public ServoController getController() {
+        return null;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return portNumber;
+    }
+
+    @Override
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public void setPower(double power) {
+        this.power = MathFunctions.clamp(power, -1, 1);
+    }
+
+    @Override
+    public double getPower() {
+        return power;
+    }
+}
@@ -0,0 +1,424 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import com.qualcomm.robotcore.hardware.DcMotorController;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.PIDCoefficients;
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+
+/**
+ * This is the SimulatedDcMotorEx class. This class is a stand in for a real DcMotorEx that can be
+ * put in a HardwareMap, so code that gets its motors from the HardwareMap can run off the robot.
+ *
+ * The motor keeps track of everything that gets set on it, like the power, direction, run mode,
+ * and zero power behavior, and has a simple encoder. Motors that aren't part of the drivetrain
+ * spin on their own when update() is called: the shaft speeds up or slows down towards the
+ * commanded power times the max encoder ticks per second, with a first order lag. The drivetrain
+ * motors are instead turned by the MecanumDriveSimulator, since how fast those spin depends on how
+ * the whole robot is moving.
+ *
+ * Like a real motor, setting the direction to reverse flips both the power and the encoder.
+ */
+public class SimulatedDcMotorEx implements DcMotorEx {
+    // This is the stall current of a goBILDA Yellow Jacket motor, in amps
+    private static final double STALL_CURRENT = 9.2;
+
+    private final String name;
+    private final int portNumber;
+
+    private MotorConfigurationType motorType = MotorConfigurationType.getUnspecifiedMotorType();
+    private Direction direction = Direction.FORWARD;
+    private ZeroPowerBehavior zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+    private RunMode mode = RunMode.RUN_WITHOUT_ENCODER;
+
+    private PIDFCoefficients velocityPIDFCoefficients = new PIDFCoefficients(10, 3, 0, 0);
+    private PIDFCoefficients positionPIDFCoefficients = new PIDFCoefficients(5, 0, 0, 0);
+
+    private double power;
+    private double maxTicksPerSecond = 2800;
+    private double timeConstant = 0.05;
+    private double currentAlert = 5;
+
+    // these are in terms of the motor shaft, so they don't change with the direction
+    private double position;
+    private double velocity;
+    private int targetPosition;
+    private int targetPositionTolerance = 5;
+
+    private boolean enabled = true;
+    private boolean drivenBySimulator;
+
+    /**
+     * This creates a new SimulatedDcMotorEx.
+     *
+     * @param name the name of the motor in the HardwareMap.
+     * @param portNumber the port number of the motor.
+     */
+    public SimulatedDcMotorEx(String name, int portNumber) {
+        this.name = name;
+        this.portNumber = portNumber;
+    }
+
+    /**
+     * This sets the max speed of the motor. The default is about what a goBILDA 312 rpm motor can
+     * do.
+     *
+     * @param set the max speed, in encoder ticks per second.
+     */
+    public void setMaxTicksPerSecond(double set) {
+        maxTicksPerSecond = set;
+    }
+
+    /**
+     * This returns the max speed of the motor.
+     *
+     * @return returns the max speed, in encoder ticks per second.
+     */
+    public double getMaxTicksPerSecond() {
+        return maxTicksPerSecond;
+    }
+
+    /**
+     * This sets how fast the motor reaches the commanded speed. This is the time it takes to get
+     * about 63% of the way there.
+     *
+     * @param set the time constant, in seconds.
+     */
+    public void setTimeConstant(double set) {
+        timeConstant = set;
+    }
+
+    /**
+     * This sets if the motor is turned by the MecanumDriveSimulator instead of on its own.
+     *
+     * @param set if the motor is turned by the simulator.
+     */
+    void setDrivenBySimulator(boolean set) {
+        drivenBySimulator = set;
+    }
+
+    /**
+     * This sets the speed of the motor shaft. This is used by the MecanumDriveSimulator for the
+     * drivetrain motors.
+     *
+     * @param ticksPerSecond the shaft speed, in encoder ticks per second, not counting direction.
+     */
+    void setShaftVelocity(double ticksPerSecond) {
+        velocity = ticksPerSecond;
+    }
+
+    /**
+     * This returns the power going to the motor shaft after the direction, run mode, and enable
+     * state are taken into account. This is what actually makes the motor move.
+     *
+     * @return returns the shaft power, from -1 to 1.
+     */
+    public double getShaftPower() {
+        if (!enabled) return 0;
+
+        double shaftPower = power * getDirectionSign();
+        switch (mode) {
+            case STOP_AND_RESET_ENCODER:
+                return 0;
+            case RUN_TO_POSITION:
+                // the real motor controller runs a position loop and uses the power as a limit
+                double error = targetPosition * getDirectionSign() - position;
+                double positionPower = positionPIDFCoefficients.p * error / maxTicksPerSecond;
+                return MathFunctions.clamp(positionPower, -Math.abs(power), Math.abs(power));
+            default:
+                return MathFunctions.clamp(shaftPower, -1, 1);
+        }
+    }
+
+    /**
+     * This moves the motor forward in time. Motors that aren't turned by the MecanumDriveSimulator
+     * change speed towards the commanded speed here, and all motors move their encoder.
+     *
+     * @param deltaTime how much time to move forward, in seconds.
+     */
+    public void update(double deltaTime) {
+        if (mode == RunMode.STOP_AND_RESET_ENCODER) {
+            position = 0;
+            velocity = 0;
+            return;
+        }
+
+        if (!drivenBySimulator) {
+            double shaftPower = getShaftPower();
+            double lag = 1 - Math.exp(-deltaTime / timeConstant);
+            if (shaftPower == 0 && zeroPowerBehavior == ZeroPowerBehavior.FLOAT) {
+                // a floating motor just coasts down, a lot slower than it brakes
+                lag = 1 - Math.exp(-deltaTime / (timeConstant * 10));
+            }
+            velocity += (shaftPower * maxTicksPerSecond - velocity) * lag;
+        }
+
+        position += velocity * deltaTime;
+    }
+
+    /**
+     * This returns 1 if the motor is going forward and -1 if it's reversed.
+     *
+     * @return returns the direction sign.
+     */
+    private int getDirectionSign() {
+        return direction == Direction.REVERSE ? -1 : 1;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated Motor";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "simulated; port " + portNumber + "; name " + name;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+        direction = Direction.FORWARD;
+        zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+        mode = RunMode.RUN_WITHOUT_ENCODER;
+        power = 0;
+        enabled = true;
+    }
+
+    @Override
+    public void close() {
+        power = 0;
+    }
+
+    @Override
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public void setPower(double power) {
+        this.power = MathFunctions.clamp(power, -1, 1);
+    }
+
+    @Override
+    public double getPower() {
+        return power;
+    }
+
+    @Override
+    public MotorConfigurationType getMotorType() {
+        return motorType;
+    }
+
+    @Override
+    public void setMotorType(MotorConfigurationType motorType) {
+        this.motorType = motorType;
+    }
+
+    @Override
+    public DcMotorController getController() {
+        return null;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return portNumber;
+    }
+
+    @Override
+    public void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior) {
+        this.zeroPowerBehavior = zeroPowerBehavior;
+    }
+
+    @Override
+    public ZeroPowerBehavior getZeroPowerBehavior() {
+        return zeroPowerBehavior;
+    }
+
+    @Override
+    @Deprecated
+    public void setPowerFloat() {
+        zeroPowerBehavior = ZeroPowerBehavior.FLOAT;
+        power = 0;
+    }
+
+    @Override
+    public boolean getPowerFloat() {
+        return zeroPowerBehavior == ZeroPowerBehavior.FLOAT && power == 0;
+    }
+
+    @Override
+    public void setTargetPosition(int position) {
+        targetPosition = position;
+    }
+
+    @Override
+    public int getTargetPosition() {
+        return targetPosition;
+    }
+
+    @Override
+    public boolean isBusy() {
+        return mode == RunMode.RUN_TO_POSITION && Math.abs(getCurrentPosition() - targetPosition) > targetPositionTolerance;
+    }
+
+    @Override
+    public int getCurrentPosition() {
+        return (int) Math.round(position * getDirectionSign());
+    }
+
+    @Override
+    public void setMode(RunMode mode) {
+        this.mode = mode;
+        if (mode == RunMode.STOP_AND_RESET_ENCODER) {
+            position = 0;
+            velocity = 0;
+        }
+    }
+
+    @Override
+    public RunMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public void setMotorEnable() {
+        enabled = true;
+    }
+
+    @Override
+    public void setMotorDisable() {
+        enabled = false;
+    }
+
+    @Override
+    public boolean isMotorEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setVelocity(double angularRate) {
+        setPower(angularRate / maxTicksPerSecond);
+    }
+
+    @Override
+    public void setVelocity(double angularRate, AngleUnit unit) {
+        setVelocity(unit.toRadians(angularRate) / (2 * Math.PI) * getTicksPerRevolution());
+    }
+
+    @Override
+    public double getVelocity() {
+        return velocity * getDirectionSign();
+    }
+
+    @Override
+    public double getVelocity(AngleUnit unit) {
+        return unit.fromRadians(getVelocity() / getTicksPerRevolution() * 2 * Math.PI);
+    }
+
+    /**
+     * This returns the encoder ticks per revolution of the motor shaft, from the motor type if it
+     * has one.
+     *
+     * @return returns the ticks per revolution.
+     */
+    private double getTicksPerRevolution() {
+        if (motorType != null && motorType.getTicksPerRev() > 0) return motorType.getTicksPerRev();
+        // a goBILDA 312 rpm motor
+        return 537.7;
+    }
+
+    @Override
+    @Deprecated
+    public void setPIDCoefficients(RunMode mode, PIDCoefficients pidCoefficients) {
+        setPIDFCoefficients(mode, new PIDFCoefficients(pidCoefficients.p, pidCoefficients.i, pidCoefficients.d, 0));
+    }
+
+    @Override
+    public void setPIDFCoefficients(RunMode mode, PIDFCoefficients pidfCoefficients) {
+        if (mode == RunMode.RUN_TO_POSITION) {
+            positionPIDFCoefficients = new PIDFCoefficients(pidfCoefficients);
+        } else {
+            velocityPIDFCoefficients = new PIDFCoefficients(pidfCoefficients);
+        }
+    }
+
+    @Override
+    public void setVelocityPIDFCoefficients(double p, double i, double d, double f) {
+        velocityPIDFCoefficients = new PIDFCoefficients(p, i, d, f);
+    }
+
+    @Override
+    public void setPositionPIDFCoefficients(double p) {
+        positionPIDFCoefficients = new PIDFCoefficients(p, 0, 0, 0);
+    }
+
+    @Override
+    @Deprecated
+    public PIDCoefficients getPIDCoefficients(RunMode mode) {
+        PIDFCoefficients coefficients = getPIDFCoefficients(mode);
+        return new PIDCoefficients(coefficients.p, coefficients.i, coefficients.d);
+    }
+
+    @Override
+    public PIDFCoefficients getPIDFCoefficients(RunMode mode) {
+        if (mode == RunMode.RUN_TO_POSITION) return new PIDFCoefficients(positionPIDFCoefficients);
+        return new PIDFCoefficients(velocityPIDFCoefficients);
+    }
+
+    @Override
+    public void setTargetPositionTolerance(int tolerance) {
+        targetPositionTolerance = tolerance;
+    }
+
+    @Override
+    public int getTargetPositionTolerance() {
+        return targetPositionTolerance;
+    }
+
+    /**
+     * This returns the current the motor draws. This is estimated from how much the motor is being
+     * pushed past the speed it's going, so a stalled motor at full power draws the stall current.
+     *
+     * @param unit the unit to return the current in.
+     * @return returns the current.
+     */
+    @Override
+    public double getCurrent(CurrentUnit unit) {
+        double amps = STALL_CURRENT * Math.min(Math.abs(getShaftPower() - velocity / maxTicksPerSecond), 1);
+        return unit.convert(amps, CurrentUnit.AMPS);
+    }
+
+    @Override
+    public double getCurrentAlert(CurrentUnit unit) {
+        return unit.convert(currentAlert, CurrentUnit.AMPS);
+    }
+
+    @Override
+    public void setCurrentAlert(double current, CurrentUnit unit) {
+        currentAlert = CurrentUnit.AMPS.convert(current, unit);
+    }
+
+    @Override
+    public boolean isOverCurrent() {
+        return getCurrent(CurrentUnit.AMPS) > currentAlert;
+    }
+}
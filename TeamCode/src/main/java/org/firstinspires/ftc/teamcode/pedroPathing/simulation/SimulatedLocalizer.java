@@ -0,0 +1,151 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Localizer;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+
+/**
+ * This is the SimulatedLocalizer class. This class extends the Localizer superclass and is a
+ * localizer that reads the pose and velocity of the robot straight from the MecanumDriveSimulator,
+ * so it's a perfect localizer with no drift or noise. Give it to the Follower in place of the
+ * robot's localizer with new Follower(hardwareMap, simulator.getLocalizer()).
+ */
+public class SimulatedLocalizer extends Localizer {
+    private final MecanumDriveSimulator simulator;
+
+    private double previousHeading;
+    private double totalHeading;
+
+    /**
+     * This creates a new SimulatedLocalizer for a MecanumDriveSimulator.
+     *
+     * @param simulator the MecanumDriveSimulator to read from.
+     */
+    public SimulatedLocalizer(MecanumDriveSimulator simulator) {
+        this.simulator = simulator;
+        previousHeading = simulator.getPose().getHeading();
+    }
+
+    /**
+     * This returns the current pose of the simulated robot.
+     *
+     * @return returns the current pose as a Pose
+     */
+    @Override
+    public Pose getPose() {
+        return simulator.getPose();
+    }
+
+    /**
+     * This returns the current velocity of the simulated robot, in the field's frame of reference.
+     *
+     * @return returns the current velocity as a Pose
+     */
+    @Override
+    public Pose getVelocity() {
+        return simulator.getVelocity();
+    }
+
+    /**
+     * This returns true, since the simulated robot's velocity is known exactly.
+     *
+     * @return returns true
+     */
+    @Override
+    public boolean measuresVelocity() {
+        return true;
+    }
+
+    /**
+     * This returns the current velocity of the simulated robot.
+     *
+     * @return returns the current velocity as a Vector
+     */
+    @Override
+    public Vector getVelocityVector() {
+        return getVelocity().getVector();
+    }
+
+    /**
+     * This sets the start pose. Since this localizer is the simulated robot's real position, this
+     * places the simulated robot at the start pose.
+     *
+     * @param setStart the new start pose
+     */
+    @Override
+    public void setStartPose(Pose setStart) {
+        setPose(setStart);
+    }
+
+    /**
+     * This sets the current pose estimate. Since this localizer is the simulated robot's real
+     * position, this moves the simulated robot to the new pose.
+     *
+     * @param setPose the new current pose estimate
+     */
+    @Override
+    public void setPose(Pose setPose) {
+        simulator.setPose(setPose);
+        previousHeading = setPose.getHeading();
+    }
+
+    /**
+     * This updates the total heading of the robot. The MecanumDriveSimulator handles all other
+     * updates itself.
+     */
+    @Override
+    public void update() {
+        double heading = simulator.getPose().getHeading();
+        totalHeading += MathFunctions.getTurnDirection(previousHeading, heading) * MathFunctions.getSmallestAngleDifference(heading, previousHeading);
+        previousHeading = heading;
+    }
+
+    /**
+     * This returns how far the robot has turned in radians, in a number not clamped between 0 and
+     * 2 * pi radians. This is used for some tuning things and nothing actually within the following.
+     *
+     * @return returns how far the robot has turned in total, in radians.
+     */
+    @Override
+    public double getTotalHeading() {
+        return totalHeading;
+    }
+
+    /**
+     * This returns 1, since the simulated pose is already in inches.
+     *
+     * @return returns the forward multiplier
+     */
+    @Override
+    public double getForwardMultiplier() {
+        return 1;
+    }
+
+    /**
+     * This returns 1, since the simulated pose is already in inches.
+     *
+     * @return returns the lateral/strafe multiplier
+     */
+    @Override
+    public double getLateralMultiplier() {
+        return 1;
+    }
+
+    /**
+     * This returns 1, since the simulated heading is already in radians.
+     *
+     * @return returns the turning multiplier
+     */
+    @Override
+    public double getTurningMultiplier() {
+        return 1;
+    }
+
+    /**
+     * This does nothing since the simulated robot has no IMU.
+     */
+    @Override
+    public void resetIMU() {
+    }
+}
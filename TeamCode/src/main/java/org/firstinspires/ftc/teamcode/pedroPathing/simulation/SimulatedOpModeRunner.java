@@ -0,0 +1,157 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * This is the SimulatedOpModeRunner class. This class runs an OpMode against a
+ * MecanumDriveSimulator the same way the Driver Station would: init(), then init_loop() until
+ * start, then start(), then loop() until the time is up or a condition is met, then stop(). The
+ * simulator is stepped by the loop time before every loop, so an OpMode runs much faster than
+ * real time while seeing the same timing it would see on the robot.
+ *
+ * The OpMode gets the simulator's HardwareMap and a telemetry that goes nowhere. Only OpModes with
+ * an init() and loop() are supported, not LinearOpModes, since those block in runOpMode(). The
+ * HardwareMap only has what was put in the simulator, so add any other motors and servos the
+ * OpMode needs on the simulator before running it. The OpMode also has to make its Follower with
+ * the simulator's localizer, since there's no OTOS to read.
+ *
+ * This doesn't need Android, so it can be used from a JUnit test. For example:
+ *
+ * MecanumDriveSimulator simulator = new MecanumDriveSimulator();
+ * SimulatedOpModeRunner runner = new SimulatedOpModeRunner(new BlueForwardAutoTile3IN() {
+ *     protected Follower createFollower() {
+ *         return new Follower(hardwareMap, simulator.getLocalizer());
+ *     }
+ * }, simulator);
+ * runner.run(30);
+ * Pose endPose = runner.getPose();
+ *
+ * NeutralSamplePushAutoTest runs the Tile 3 autos like this.
+ */
+public class SimulatedOpModeRunner {
+    private final OpMode opMode;
+    private final MecanumDriveSimulator simulator;
+
+    private double loopTime = 0.02;
+    private double elapsedTime;
+    private int loops;
+
+    private boolean initialized;
+    private boolean started;
+    private boolean stopped;
+
+    /**
+     * This creates a new SimulatedOpModeRunner.
+     *
+     * @param opMode the OpMode to run.
+     * @param simulator the MecanumDriveSimulator to run the OpMode in.
+     */
+    public SimulatedOpModeRunner(OpMode opMode, MecanumDriveSimulator simulator) {
+        this.opMode = opMode;
+        this.simulator = simulator;
+        opMode.hardwareMap = simulator.getHardwareMap();
+        opMode.telemetry = new MultipleTelemetry();
+    }
+
+    /**
+     * This sets how much simulated time passes every loop. The default is 20 milliseconds, which is
+     * about what the robot gets with bulk reads on.
+     *
+     * @param set the loop time, in seconds.
+     */
+    public void setLoopTime(double set) {
+        if (set <= 0) throw new IllegalArgumentException("The loop time must be positive");
+        loopTime = set;
+    }
+
+    /**
+     * This runs init() and then init_loop() a number of times, like waiting on the Driver Station
+     * before pressing start. This only does anything the first time it's called.
+     *
+     * @param initLoops how many times to run init_loop().
+     */
+    public void init(int initLoops) {
+        if (initialized) return;
+        initialized = true;
+        opMode.init();
+        for (int i = 0; i < initLoops; i++) {
+            simulator.step(loopTime);
+            opMode.init_loop();
+        }
+    }
+
+    /**
+     * This runs the OpMode for a set amount of simulated time after start, then stops it. This is
+     * how long an autonomous period lasts, for example. This initializes and starts the OpMode first
+     * if that hasn't been done yet.
+     *
+     * @param seconds how long to run the OpMode for, in seconds.
+     * @return returns how long the OpMode ran for after start, in seconds.
+     */
+    public double run(double seconds) {
+        return runUntil(() -> false, seconds);
+    }
+
+    /**
+     * This runs the OpMode until a condition is met or a set amount of simulated time has passed
+     * since start, whichever is first, then stops it. The condition is checked after every loop.
+     * This initializes and starts the OpMode first if that hasn't been done yet.
+     *
+     * @param condition the condition to stop at.
+     * @param timeout the most time to run the OpMode for after start, in seconds.
+     * @return returns how long the OpMode ran for after start, in seconds.
+     */
+    public double runUntil(BooleanSupplier condition, double timeout) {
+        if (stopped) throw new IllegalStateException("The OpMode has already been stopped");
+
+        init(1);
+        if (!started) {
+            started = true;
+            opMode.start();
+        }
+
+        // half a loop of leeway is given so rounding doesn't add an extra loop at the end
+        while (elapsedTime < timeout - loopTime / 2) {
+            simulator.step(loopTime);
+            loops++;
+            elapsedTime = loops * loopTime;
+            opMode.loop();
+            if (condition.getAsBoolean()) break;
+        }
+
+        stop();
+        return elapsedTime;
+    }
+
+    /**
+     * This stops the OpMode, like pressing stop on the Driver Station.
+     */
+    public void stop() {
+        if (stopped) return;
+        stopped = true;
+        if (initialized) opMode.stop();
+    }
+
+    /**
+     * This returns how long the OpMode has run for after start.
+     *
+     * @return returns the elapsed time, in seconds.
+     */
+    public double getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * This returns the pose of the simulated robot.
+     *
+     * @return returns the pose.
+     */
+    public Pose getPose() {
+        return simulator.getPose();
+    }
+}
@@ -0,0 +1,113 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.simulation;
+
+import com.qualcomm.robotcore.hardware.ServoController;
+import com.qualcomm.robotcore.hardware.Servo;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+
+/**
+ * This is the SimulatedServo class. This class is a stand in for a real Servo that can be put in a
+ * HardwareMap, so mechanisms with servos don't stop OpModes from running off the robot. The servo
+ * goes to its position right away and just remembers what was set on it.
+ */
+public class SimulatedServo implements Servo {
+    private final String name;
+    private final int portNumber;
+
+    private Direction direction = Direction.FORWARD;
+    private double position;
+    private double minPosition = MIN_POSITION;
+    private double maxPosition = MAX_POSITION;
+
+    /**
+     * This creates a new SimulatedServo.
+     *
+     * @param name the name of the servo in the HardwareMap.
+     * @param portNumber the port number of the servo.
+     */
+    public SimulatedServo(String name, int portNumber) {
+        this.name = name;
+        this.portNumber = portNumber;
+    }
+
+    /**
+     * This returns where the servo actually is, with the direction and scaled range taken into
+     * account, like what a real servo would be sent.
+     *
+     * @return returns the servo position, from 0 to 1.
+     */
+    public double getRawPosition() {
+        double scaled = minPosition + position * (maxPosition - minPosition);
+        return direction == Direction.REVERSE ? MAX_POSITION - scaled : scaled;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated Servo";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "simulated; port " + portNumber + "; name " + name;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+        direction = Direction.FORWARD;
+        minPosition = MIN_POSITION;
+        maxPosition = MAX_POSITION;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public ServoController getController() {
+        return null;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return portNumber;
+    }
+
+    @Override
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    @Override
+    public void setPosition(double position) {
+        this.position = MathFunctions.clamp(position, MIN_POSITION, MAX_POSITION);
+    }
+
+    @Override
+    public double getPosition() {
+        return position;
+    }
+
+    @Override
+    public void scaleRange(double min, double max) {
+        min = MathFunctions.clamp(min, MIN_POSITION, MAX_POSITION);
+        max = MathFunctions.clamp(max, MIN_POSITION, MAX_POSITION);
+        if (min >= max) throw new IllegalArgumentException("min must be less than max");
+        minPosition = min;
+        maxPosition = max;
+    }
+}
@@ -0,0 +1,116 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.tuning;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.DriveKinematics;
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.DriveVectorScaler;
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.SwerveDriveKinematics;
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.TankDriveKinematics;
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.XDriveKinematics;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+
+/**
+ * This is the DriveKinematicsBenchmark OpMode. This times working out the drive powers from the
+ * Follower's Vectors for every drivetrain, and displays the average time per update. The
+ * kinematics themselves are checked by DriveKinematicsTest. No hardware is used, so this can be
+ * run on any robot. Run it on the Control Hub, since that's where the loop times matter.
+ * You can adjust the number of updates timed per loop on FTC Dashboard: 192/168/43/1:8080/dash
+ */
+@Config
+@TeleOp(group = "Pedro Pathing Tuning", name = "Drive Kinematics Benchmark")
+public class DriveKinematicsBenchmark extends OpMode {
+    private Telemetry telemetryA;
+
+    public static int UPDATES_PER_LOOP = 2000;
+
+    private final String[] names = {"mecanum", "X-drive", "tank", "swerve"};
+    private final DriveKinematics[] kinematics = {
+            new DriveVectorScaler(FollowerConstants.frontLeftVector),
+            new XDriveKinematics(),
+            new TankDriveKinematics(),
+            new SwerveDriveKinematics(FollowerConstants.swerveTrackWidth, FollowerConstants.swerveWheelBase)};
+
+    private final long[] totalNano = new long[4];
+
+    private final Vector correctivePower = new Vector();
+    private final Vector headingPower = new Vector();
+    private final Vector pathingPower = new Vector();
+    private final double[] wheelPowers = new double[4];
+    private final double[] moduleAngles = new double[4];
+
+    private long totalUpdates;
+    private int step;
+
+    /**
+     * This initializes the FTC Dashboard telemetry.
+     */
+    @Override
+    public void init() {
+        telemetryA = new MultipleTelemetry(this.telemetry, FtcDashboard.getInstance().getTelemetry());
+        telemetryA.addLine("This times working out the drive powers for every drivetrain. Press start to begin.");
+        telemetryA.update();
+    }
+
+    /**
+     * This times a batch of updates for every drivetrain, and displays the running averages.
+     */
+    @Override
+    public void loop() {
+        for (int k = 0; k < kinematics.length; k++) {
+            DriveKinematics drive = kinematics[k];
+
+            long startTime = System.nanoTime();
+            for (int i = 0; i < UPDATES_PER_LOOP; i++) {
+                setFakeInputs(step + i);
+                setFakeModuleAngles(step + i);
+                drive.setMeasuredModuleAngles(moduleAngles);
+                drive.getDrivePowers(correctivePower, headingPower, pathingPower, fakeHeading(step + i), wheelPowers);
+            }
+            totalNano[k] += System.nanoTime() - startTime;
+        }
+
+        step += UPDATES_PER_LOOP;
+        totalUpdates += UPDATES_PER_LOOP;
+
+        telemetryA.addData("updates timed", totalUpdates);
+        for (int k = 0; k < kinematics.length; k++) {
+            telemetryA.addData(names[k] + " ns per update", (double) totalNano[k] / totalUpdates);
+        }
+        telemetryA.update();
+    }
+
+    /**
+     * This sets the input Vectors for a specified step. The magnitudes go from 0 up past 1, so the
+     * inputs get clamped sometimes, and the corrective, heading, and pathing powers each fill up
+     * all the power sometimes.
+     *
+     * @param step the step number
+     */
+    private void setFakeInputs(int step) {
+        correctivePower.setComponents(0.6 + 0.6 * Math.sin(step * 0.0031), step * 0.017);
+        headingPower.setComponents(0.5 + 0.5 * Math.sin(step * 0.0057), fakeHeading(step) + (Math.sin(step * 0.0011) > 0 ? 0 : Math.PI));
+        pathingPower.setComponents(0.6 + 0.6 * Math.cos(step * 0.0043), step * 0.023);
+    }
+
+    /**
+     * This sets the module angles the wheels are pointing at for a specified step, so the swerve
+     * modules have to steer the shortest way from all sorts of angles.
+     *
+     * @param step the step number
+     */
+    private void setFakeModuleAngles(int step) {
+        for (int i = 0; i < moduleAngles.length; i++) {
+            moduleAngles[i] = MathFunctions.normalizeAngle(step * 0.0029 * (i + 1));
+        }
+    }
+
+    private static double fakeHeading(int step) {
+        return MathFunctions.normalizeAngle(step * 0.0013);
+    }
+}
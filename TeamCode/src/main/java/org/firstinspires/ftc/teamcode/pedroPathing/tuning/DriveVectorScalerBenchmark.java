@@ -0,0 +1,180 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.tuning;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.qualcomm.robotcore.eventloop.opmode.OpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.DriveVectorScaler;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+
+/**
+ * This is the DriveVectorScalerBenchmark OpMode. This times working out the wheel powers, once the
+ * old way, which rotates all four wheel vectors and solves four systems every update, and once with
+ * the DriveVectorScaler, which rotates the two side vectors and multiplies by inverses worked out
+ * ahead of time. It displays the average time per update for both. The inputs go past a magnitude
+ * of 1 and cover every way the powers get scaled down. DriveVectorScalerTest checks that both ways
+ * give the same wheel powers. No hardware is used, so this can be run on any robot.
+ * Run it on the Control Hub, since that's where the loop times matter.
+ * You can adjust the number of updates timed per loop on FTC Dashboard: 192/168/43/1:8080/dash
+ */
+@Config
+@TeleOp(group = "Pedro Pathing Tuning", name = "Drive Vector Scaler Benchmark")
+public class DriveVectorScalerBenchmark extends OpMode {
+    private Telemetry telemetryA;
+
+    public static int UPDATES_PER_LOOP = 2000;
+
+    private final DriveVectorScaler driveVectorScaler = new DriveVectorScaler(FollowerConstants.frontLeftVector);
+    private final Vector[] mecanumVectors;
+
+    private final Vector correctivePower = new Vector();
+    private final Vector headingPower = new Vector();
+    private final Vector pathingPower = new Vector();
+    private final double[] wheelPowers = new double[4];
+
+    private long oldTotalNano;
+    private long newTotalNano;
+    private long totalUpdates;
+    private int step;
+
+    /**
+     * This makes the wheel vectors for the old way the same way the DriveVectorScaler does.
+     */
+    public DriveVectorScalerBenchmark() {
+        Vector frontLeftVector = MathFunctions.normalizeVector(FollowerConstants.frontLeftVector);
+        mecanumVectors = new Vector[]{
+                new Vector(frontLeftVector.getMagnitude(), frontLeftVector.getTheta()),
+                new Vector(frontLeftVector.getMagnitude(), 2*Math.PI-frontLeftVector.getTheta()),
+                new Vector(frontLeftVector.getMagnitude(), 2*Math.PI-frontLeftVector.getTheta()),
+                new Vector(frontLeftVector.getMagnitude(), frontLeftVector.getTheta())};
+    }
+
+    /**
+     * This initializes the FTC Dashboard telemetry.
+     */
+    @Override
+    public void init() {
+        telemetryA = new MultipleTelemetry(this.telemetry, FtcDashboard.getInstance().getTelemetry());
+        telemetryA.addLine("This times working out the wheel powers the old way and with the "
+                + "DriveVectorScaler. Press start to begin timing.");
+        telemetryA.update();
+    }
+
+    /**
+     * This times a batch of updates both ways, and displays the running averages.
+     */
+    @Override
+    public void loop() {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < UPDATES_PER_LOOP; i++) {
+            setFakeInputs(step + i);
+            oldDrivePowers(correctivePower, headingPower, pathingPower, fakeHeading(step + i), wheelPowers);
+        }
+        long oldTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < UPDATES_PER_LOOP; i++) {
+            setFakeInputs(step + i);
+            driveVectorScaler.getDrivePowers(correctivePower, headingPower, pathingPower, fakeHeading(step + i), wheelPowers);
+        }
+        long newTime = System.nanoTime() - startTime;
+
+        step += UPDATES_PER_LOOP;
+        oldTotalNano += oldTime;
+        newTotalNano += newTime;
+        totalUpdates += UPDATES_PER_LOOP;
+
+        telemetryA.addData("updates timed", totalUpdates);
+        telemetryA.addData("old ns per update", (double) oldTotalNano / totalUpdates);
+        telemetryA.addData("DriveVectorScaler ns per update", (double) newTotalNano / totalUpdates);
+        telemetryA.addData("speedup", (double) oldTotalNano / newTotalNano);
+        telemetryA.update();
+    }
+
+    /**
+     * This sets the input Vectors for a specified step, so both ways get the same inputs. The
+     * magnitudes go from 0 up past 1, so the inputs get clamped sometimes, and the corrective,
+     * heading, and pathing powers each fill up all the power sometimes.
+     *
+     * @param step the step number
+     */
+    private void setFakeInputs(int step) {
+        correctivePower.setComponents(0.6 + 0.6 * Math.sin(step * 0.0031), step * 0.017);
+        headingPower.setComponents(0.5 + 0.5 * Math.sin(step * 0.0057), fakeHeading(step) + (Math.sin(step * 0.0011) > 0 ? 0 : Math.PI));
+        pathingPower.setComponents(0.6 + 0.6 * Math.cos(step * 0.0043), step * 0.023);
+    }
+
+    private static double fakeHeading(int step) {
+        return MathFunctions.normalizeAngle(step * 0.0013);
+    }
+
+    /**
+     * This works out the wheel powers the way the DriveVectorScaler used to, copying and rotating
+     * all four wheel vectors and solving a system for each wheel every update.
+     *
+     * @param correctivePower the corrective power.
+     * @param headingPower the heading power.
+     * @param pathingPower the pathing power.
+     * @param robotHeading the heading of the robot.
+     * @param wheelPowers the Array to write the wheel powers into.
+     */
+    private void oldDrivePowers(Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading, double[] wheelPowers) {
+        if (correctivePower.getMagnitude() > 1) correctivePower.setMagnitude(1);
+        if (headingPower.getMagnitude() > 1) headingPower.setMagnitude(1);
+        if (pathingPower.getMagnitude() > 1) pathingPower.setMagnitude(1);
+
+        Vector[] truePathingVectors = new Vector[2];
+
+        if (correctivePower.getMagnitude() == 1) {
+            truePathingVectors[0] = MathFunctions.copyVector(correctivePower);
+            truePathingVectors[1] = MathFunctions.copyVector(correctivePower);
+        } else {
+            Vector leftSideVector = MathFunctions.subtractVectors(correctivePower, headingPower);
+            Vector rightSideVector = MathFunctions.addVectors(correctivePower, headingPower);
+
+            if (leftSideVector.getMagnitude() > 1 || rightSideVector.getMagnitude() > 1) {
+                double headingScalingFactor = Math.min(driveVectorScaler.findNormalizingScaling(correctivePower, headingPower), driveVectorScaler.findNormalizingScaling(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, -1)));
+                truePathingVectors[0] = MathFunctions.subtractVectors(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor));
+                truePathingVectors[1] = MathFunctions.addVectors(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor));
+            } else {
+                Vector leftSideVectorWithPathing = MathFunctions.addVectors(leftSideVector, pathingPower);
+                Vector rightSideVectorWithPathing = MathFunctions.addVectors(rightSideVector, pathingPower);
+
+                if (leftSideVectorWithPathing.getMagnitude() > 1 || rightSideVectorWithPathing.getMagnitude() > 1) {
+                    double pathingScalingFactor = Math.min(driveVectorScaler.findNormalizingScaling(leftSideVector, pathingPower), driveVectorScaler.findNormalizingScaling(rightSideVector, pathingPower));
+                    truePathingVectors[0] = MathFunctions.addVectors(leftSideVector, MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor));
+                    truePathingVectors[1] = MathFunctions.addVectors(rightSideVector, MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor));
+                } else {
+                    truePathingVectors[0] = MathFunctions.copyVector(leftSideVectorWithPathing);
+                    truePathingVectors[1] = MathFunctions.copyVector(rightSideVectorWithPathing);
+                }
+            }
+        }
+
+        truePathingVectors[0] = MathFunctions.scalarMultiplyVector(truePathingVectors[0], 2.0);
+        truePathingVectors[1] = MathFunctions.scalarMultiplyVector(truePathingVectors[1], 2.0);
+
+        Vector[] mecanumVectorsCopy = new Vector[4];
+        for (int i = 0; i < mecanumVectorsCopy.length; i++) {
+            mecanumVectorsCopy[i] = MathFunctions.copyVector(mecanumVectors[i]);
+            mecanumVectorsCopy[i].rotateVector(robotHeading);
+        }
+
+        wheelPowers[0] = (mecanumVectorsCopy[1].getXComponent()*truePathingVectors[0].getYComponent() - truePathingVectors[0].getXComponent()*mecanumVectorsCopy[1].getYComponent()) / (mecanumVectorsCopy[1].getXComponent()*mecanumVectorsCopy[0].getYComponent() - mecanumVectorsCopy[0].getXComponent()*mecanumVectorsCopy[1].getYComponent());
+        wheelPowers[1] = (mecanumVectorsCopy[0].getXComponent()*truePathingVectors[0].getYComponent() - truePathingVectors[0].getXComponent()*mecanumVectorsCopy[0].getYComponent()) / (mecanumVectorsCopy[0].getXComponent()*mecanumVectorsCopy[1].getYComponent() - mecanumVectorsCopy[1].getXComponent()*mecanumVectorsCopy[0].getYComponent());
+        wheelPowers[2] = (mecanumVectorsCopy[3].getXComponent()*truePathingVectors[1].getYComponent() - truePathingVectors[1].getXComponent()*mecanumVectorsCopy[3].getYComponent()) / (mecanumVectorsCopy[3].getXComponent()*mecanumVectorsCopy[2].getYComponent() - mecanumVectorsCopy[2].getXComponent()*mecanumVectorsCopy[3].getYComponent());
+        wheelPowers[3] = (mecanumVectorsCopy[2].getXComponent()*truePathingVectors[1].getYComponent() - truePathingVectors[1].getXComponent()*mecanumVectorsCopy[2].getYComponent()) / (mecanumVectorsCopy[2].getXComponent()*mecanumVectorsCopy[3].getYComponent() - mecanumVectorsCopy[3].getXComponent()*mecanumVectorsCopy[2].getYComponent());
+
+        double wheelPowerMax = Math.max(Math.max(Math.abs(wheelPowers[0]), Math.abs(wheelPowers[1])), Math.max(Math.abs(wheelPowers[2]), Math.abs(wheelPowers[3])));
+        if (wheelPowerMax > 1) {
+            wheelPowers[0] /= wheelPowerMax;
+            wheelPowers[1] /= wheelPowerMax;
+            wheelPowers[2] /= wheelPowerMax;
+            wheelPowers[3] /= wheelPowerMax;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.firstinspires.ftc.teamcode.pedroPathing.tuning;
 
 import com.acmerobotics.dashboard.config.Config;
 
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.DriveKinematics;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.ConstantAccelerationKalmanFilterParameters;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.CustomFilteredPIDFCoefficients;
 import org.firstinspires.ftc.teamcode.pedroPathing.util.CustomPIDFCoefficients;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
@@ -30,11 +32,65 @@ public class FollowerConstants {
 
     // This section is for setting the actual drive vector for the front left wheel, if the robot
     // is facing a heading of 0 radians with the wheel centered at (0,0)
-    private static final double xMovement = 81.34056;
-    private static final double yMovement = 65.43028;
+    public static final double xMovement = 81.34056;
+    public static final double yMovement = 65.43028;
     private static final double[] convertToPolar = Point.cartesianToPolar(xMovement, -yMovement);
     public static Vector frontLeftVector = MathFunctions.normalizeVector(new Vector(convertToPolar[0],convertToPolar[1]));
 
+    // This section is for picking the drivetrain. The drive motors above are used for all of them.
+    // On a tank drive, the left and right motors drive the left and right sides, and on a swerve
+    // drive, they drive the wheels of the modules in those corners.
+    public static DriveKinematics.Drivetrain drivetrain = DriveKinematics.Drivetrain.MECANUM;
+
+    // This section is only used for swerve drives. The track width and wheel base are the distances
+    // between the left and right modules and between the front and back modules, in inches. Each
+    // module is steered by a CR servo and has an analog absolute encoder, and the offsets are the
+    // encoder angles when the module points forward, in radians.
+    public static double swerveTrackWidth = 12;
+    public static double swerveWheelBase = 12;
+    public static String leftFrontSteeringServoName = "frontLeftSteering";
+    public static String leftRearSteeringServoName = "backLeftSteering";
+    public static String rightFrontSteeringServoName = "frontRightSteering";
+    public static String rightRearSteeringServoName = "backRightSteering";
+    public static String leftFrontSteeringEncoderName = "frontLeftSteeringEncoder";
+    public static String leftRearSteeringEncoderName = "backLeftSteeringEncoder";
+    public static String rightFrontSteeringEncoderName = "frontRightSteeringEncoder";
+    public static String rightRearSteeringEncoderName = "backRightSteeringEncoder";
+    public static double leftFrontSteeringOffset = 0;
+    public static double leftRearSteeringOffset = 0;
+    public static double rightFrontSteeringOffset = 0;
+    public static double rightRearSteeringOffset = 0;
+
+    // The voltage the steering encoders read at a full turn
+    public static double swerveSteeringEncoderMaxVoltage = 3.3;
+
+    // The steering servo power per radian the module is off from its target angle
+    public static double swerveSteeringP = 0.6;
+
+    // Voltage compensation scales the motor powers by the nominal voltage over the battery voltage,
+    // so the robot moves the same on a low battery as it did when it was tuned. The battery is
+    // read once every read period, in milliseconds, and smoothed with a low pass filter with the
+    // time constant in seconds. The max compensation keeps a browning out battery from getting
+    // powers scaled up too far.
+    public static boolean useVoltageCompensation = true;
+    public static double nominalVoltage = 12;
+    public static double voltageReadPeriod = 250;
+    public static double voltageFilterTimeConstant = 1;
+    public static double maxVoltageCompensation = 1.5;
+
+    // The GridPathPlanner splits the field into cells of this size, in inches, and keeps the
+    // center of the robot this far from obstacles and walls. Corners of planned paths are rounded
+    // off starting this far back. The time budget is how long a search can take, in milliseconds.
+    public static double plannerCellSize = 2;
+    public static double plannerRobotRadius = 10;
+    public static double plannerCornerRadius = 8;
+    public static double plannerTimeBudget = 4;
+
+    // The PathReplanner plans a new path when the robot gets pushed further than this off its
+    // path, in inches, but not more often than once every cooldown, in milliseconds.
+    public static double replanTranslationalErrorThreshold = 6;
+    public static double replanCooldown = 500;
+
 
     // Translational PIDF coefficients (don't use integral)
     public static CustomPIDFCoefficients translationalPIDFCoefficients = new CustomPIDFCoefficients(
@@ -81,6 +137,42 @@ public class FollowerConstants {
             6,
             1);
 
+    // Kalman filter parameters for estimating the robot's x and y velocity and acceleration from the
+    // localizer. These are the jerk spectral density, the position measurement covariance in
+    // inches^2, and the velocity measurement covariance in (inches/second)^2. Raising the jerk makes
+    // the estimate react faster but noisier.
+    public static ConstantAccelerationKalmanFilterParameters translationalEstimatorParameters = new ConstantAccelerationKalmanFilterParameters(
+            100000,
+            0.01,
+            1);
+
+    // Kalman filter parameters for estimating the robot's angular velocity and acceleration, in
+    // radians instead of inches.
+    public static ConstantAccelerationKalmanFilterParameters headingEstimatorParameters = new ConstantAccelerationKalmanFilterParameters(
+            1000,
+            0.00001,
+            0.001);
+
+
+    // These are the limits for the motion profile, which is only used if useMotionProfile is turned
+    // on in the Follower. The velocity is in inches/second and the accelerations are in
+    // inches/second^2. The centripetal acceleration limit slows the robot down on tight curves.
+    public static double motionProfileMaxVelocity = 50;
+    public static double motionProfileMaxAcceleration = 40;
+    public static double motionProfileMaxCentripetalAcceleration = 60;
+
+    // Feed forward constants for the motion profile. These turn the velocity and acceleration from
+    // the motion profile into drive power, so they're in power per inch/second and per inch/second^2.
+    public static double motionProfileVelocityFeedForward = 0.016;
+    public static double motionProfileAccelerationFeedForward = 0.002;
+
+    // Motion profile velocity error PIDF coefficients
+    public static CustomPIDFCoefficients motionProfileDrivePIDFCoefficients = new CustomPIDFCoefficients(
+            0.01,
+            0,
+            0,
+            0);
+
 
     // Mass of robot in kilograms
     public static double mass = 9.01785;
@@ -151,6 +243,54 @@ public class FollowerConstants {
     // time.
     public static int BEZIER_CURVE_BINARY_STEP_LIMIT = 10;
 
+    // This is the most Newton's method iterations the closest point search uses each loop when
+    // starting from the closest point of the last loop. It usually only needs 2 or 3.
+    public static int CLOSEST_POINT_NEWTON_STEP_LIMIT = 5;
+
+    // If the robot moves more than this distance in one loop, then the closest point search ignores
+    // the last closest point and searches the whole Path again. This is in inches.
+    public static double closestPointJumpDistance = 6;
+
+    // This is the number of loops the loop profiler keeps the stage times of. At about 50 loops a
+    // second, 500 is the last 10 seconds.
+    public static int LOOP_PROFILER_SAMPLE_NUMBER = 500;
+
+    // Motor powers that change by less than this from the last power sent to a motor aren't sent,
+    // since every write takes time on the hub. A power of exactly 0 is always sent.
+    public static double motorCachingThreshold = 0.005;
+
+    // Even if a motor's power hasn't changed, it's sent again after this many milliseconds.
+    public static double motorCachingRefreshTime = 500;
+
+    // This reads the OTOS on its own thread, so the control loop doesn't have to wait on I2C. If
+    // this is off, the OTOS is read once every loop instead.
+    public static boolean useOTOSReaderThread = true;
+
+    // This is the shortest time between reads of the OTOS on the reader thread, in milliseconds.
+    // Every I2C read holds up everything else on the same hub, so reading too often slows down the
+    // motor writes and bulk reads of the control loop.
+    public static double otosReadPeriod = 5;
+
+    // When latency compensation is on in the Follower, this is added to the measured time between
+    // the localizer reading and the motor writes when predicting the pose, for the time the motors
+    // take to respond after the powers are set. This is in milliseconds.
+    public static double latencyCompensationOffset = 0;
+
+    // This is the time between runs of the ControlLoopExecutor, in milliseconds. This should be a
+    // bit longer than the tasks usually take, or every run will be an overrun.
+    public static double controlLoopPeriod = 10;
+
+    // This is the priority of the ControlLoopExecutor's thread, from 1 to 10.
+    public static int controlLoopThreadPriority = Thread.MAX_PRIORITY;
+
+    // The ControlLoopExecutor spins instead of sleeping for this long before every run, since
+    // sleeping usually wakes up a little late. This is in milliseconds.
+    public static double controlLoopSpinTime = 0.5;
+
+    // If the OpMode doesn't check in with the ControlLoopExecutor for this long, the control thread
+    // stops by itself. This is in milliseconds.
+    public static double controlLoopWatchdogTimeout = 500;
+
 
     // These activate / deactivate the secondary PIDs. These take over at errors under a set limit for
     // the translational, heading, and drive PIDs.
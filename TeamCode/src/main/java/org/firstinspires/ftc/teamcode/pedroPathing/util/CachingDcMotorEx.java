@@ -0,0 +1,358 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+import com.qualcomm.robotcore.hardware.DcMotorController;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.PIDCoefficients;
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+/**
+ * This is the CachingDcMotorEx class. This class wraps a DcMotorEx and skips power writes that
+ * wouldn't change anything. Every setPower() is a blocking command to the hub that takes a
+ * millisecond or two, and most loops set the same or almost the same power as the loop before, so
+ * skipping those saves a lot of loop time.
+ *
+ * A power is only sent if it's different from the last power that was actually sent by at least
+ * the caching threshold, or if it's exactly 0 and the last power sent wasn't, so the motors always
+ * really stop. Even if the power doesn't change, it's sent again once the refresh time has passed
+ * since the last write, in case the hub missed a command. Changing the direction, run mode, or
+ * anything else that changes what a power means always makes the next power get sent.
+ *
+ * Everything other than setPower() goes straight to the wrapped motor. getPower() returns the last
+ * power that was asked for without reading from the hub.
+ */
+public class CachingDcMotorEx implements DcMotorEx {
+    private final DcMotorEx motor;
+    private final double cachingThreshold;
+    private final long refreshTimeNano;
+
+    private double lastRequestedPower = Double.NaN;
+    private double lastSentPower = Double.NaN;
+    private long lastWriteTime;
+
+    private long sentWrites;
+    private long skippedWrites;
+
+    /**
+     * This creates a new CachingDcMotorEx with the caching threshold and refresh time from
+     * FollowerConstants.
+     *
+     * @param motor the motor to wrap.
+     */
+    public CachingDcMotorEx(DcMotorEx motor) {
+        this(motor, FollowerConstants.motorCachingThreshold, FollowerConstants.motorCachingRefreshTime);
+    }
+
+    /**
+     * This creates a new CachingDcMotorEx.
+     *
+     * @param motor the motor to wrap.
+     * @param cachingThreshold the smallest change in power that gets sent.
+     * @param refreshTime the longest time to go without sending the power, in milliseconds.
+     */
+    public CachingDcMotorEx(DcMotorEx motor, double cachingThreshold, double refreshTime) {
+        this.motor = motor;
+        this.cachingThreshold = cachingThreshold;
+        refreshTimeNano = (long) (refreshTime * 1000000);
+    }
+
+    /**
+     * This sets the power of the motor, if it's different enough from the last power sent or if
+     * it's been too long since the last write.
+     *
+     * @param power the power, from -1 to 1.
+     */
+    @Override
+    public void setPower(double power) {
+        lastRequestedPower = power;
+        long now = Clock.nanoTime();
+
+        boolean changed = Double.isNaN(lastSentPower)
+                || Math.abs(power - lastSentPower) >= cachingThreshold
+                || (power == 0 && lastSentPower != 0);
+
+        if (changed || now - lastWriteTime >= refreshTimeNano) {
+            motor.setPower(power);
+            lastSentPower = power;
+            lastWriteTime = now;
+            sentWrites++;
+        } else {
+            skippedWrites++;
+        }
+    }
+
+    /**
+     * This makes the next setPower() get sent no matter what.
+     */
+    public void invalidate() {
+        lastSentPower = Double.NaN;
+    }
+
+    /**
+     * This returns the last power that was asked for. If no power has been set yet, this reads it
+     * from the motor.
+     *
+     * @return returns the power.
+     */
+    @Override
+    public double getPower() {
+        if (Double.isNaN(lastRequestedPower)) return motor.getPower();
+        return lastRequestedPower;
+    }
+
+    /**
+     * This returns how many power writes were actually sent to the motor.
+     *
+     * @return returns the number of sent writes.
+     */
+    public long getSentWrites() {
+        return sentWrites;
+    }
+
+    /**
+     * This returns how many power writes were skipped.
+     *
+     * @return returns the number of skipped writes.
+     */
+    public long getSkippedWrites() {
+        return skippedWrites;
+    }
+
+    /**
+     * This resets the sent and skipped write counts.
+     */
+    public void resetWriteCounts() {
+        sentWrites = 0;
+        skippedWrites = 0;
+    }
+
+    /**
+     * This returns the motor this wraps.
+     *
+     * @return returns the wrapped motor.
+     */
+    public DcMotorEx getMotor() {
+        return motor;
+    }
+
+    @Override
+    public void setDirection(Direction direction) {
+        motor.setDirection(direction);
+        invalidate();
+    }
+
+    @Override
+    public Direction getDirection() {
+        return motor.getDirection();
+    }
+
+    @Override
+    public void setMode(RunMode mode) {
+        motor.setMode(mode);
+        invalidate();
+    }
+
+    @Override
+    public RunMode getMode() {
+        return motor.getMode();
+    }
+
+    @Override
+    public void setMotorEnable() {
+        motor.setMotorEnable();
+        invalidate();
+    }
+
+    @Override
+    public void setMotorDisable() {
+        motor.setMotorDisable();
+        invalidate();
+    }
+
+    @Override
+    public boolean isMotorEnabled() {
+        return motor.isMotorEnabled();
+    }
+
+    @Override
+    public void setVelocity(double angularRate) {
+        motor.setVelocity(angularRate);
+        invalidate();
+    }
+
+    @Override
+    public void setVelocity(double angularRate, AngleUnit unit) {
+        motor.setVelocity(angularRate, unit);
+        invalidate();
+    }
+
+    @Override
+    public double getVelocity() {
+        return motor.getVelocity();
+    }
+
+    @Override
+    public double getVelocity(AngleUnit unit) {
+        return motor.getVelocity(unit);
+    }
+
+    @Override
+    @Deprecated
+    public void setPowerFloat() {
+        motor.setPowerFloat();
+        invalidate();
+    }
+
+    @Override
+    public boolean getPowerFloat() {
+        return motor.getPowerFloat();
+    }
+
+    @Override
+    public MotorConfigurationType getMotorType() {
+        return motor.getMotorType();
+    }
+
+    @Override
+    public void setMotorType(MotorConfigurationType motorType) {
+        motor.setMotorType(motorType);
+    }
+
+    @Override
+    public DcMotorController getController() {
+        return motor.getController();
+    }
+
+    @Override
+    public int getPortNumber() {
+        return motor.getPortNumber();
+    }
+
+    @Override
+    public void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior) {
+        motor.setZeroPowerBehavior(zeroPowerBehavior);
+    }
+
+    @Override
+    public ZeroPowerBehavior getZeroPowerBehavior() {
+        return motor.getZeroPowerBehavior();
+    }
+
+    @Override
+    public void setTargetPosition(int position) {
+        motor.setTargetPosition(position);
+    }
+
+    @Override
+    public int getTargetPosition() {
+        return motor.getTargetPosition();
+    }
+
+    @Override
+    public boolean isBusy() {
+        return motor.isBusy();
+    }
+
+    @Override
+    public int getCurrentPosition() {
+        return motor.getCurrentPosition();
+    }
+
+    @Override
+    @Deprecated
+    public void setPIDCoefficients(RunMode mode, PIDCoefficients pidCoefficients) {
+        motor.setPIDCoefficients(mode, pidCoefficients);
+    }
+
+    @Override
+    public void setPIDFCoefficients(RunMode mode, PIDFCoefficients pidfCoefficients) {
+        motor.setPIDFCoefficients(mode, pidfCoefficients);
+    }
+
+    @Override
+    public void setVelocityPIDFCoefficients(double p, double i, double d, double f) {
+        motor.setVelocityPIDFCoefficients(p, i, d, f);
+    }
+
+    @Override
+    public void setPositionPIDFCoefficients(double p) {
+        motor.setPositionPIDFCoefficients(p);
+    }
+
+    @Override
+    @Deprecated
+    public PIDCoefficients getPIDCoefficients(RunMode mode) {
+        return motor.getPIDCoefficients(mode);
+    }
+
+    @Override
+    public PIDFCoefficients getPIDFCoefficients(RunMode mode) {
+        return motor.getPIDFCoefficients(mode);
+    }
+
+    @Override
+    public void setTargetPositionTolerance(int tolerance) {
+        motor.setTargetPositionTolerance(tolerance);
+    }
+
+    @Override
+    public int getTargetPositionTolerance() {
+        return motor.getTargetPositionTolerance();
+    }
+
+    @Override
+    public double getCurrent(CurrentUnit unit) {
+        return motor.getCurrent(unit);
+    }
+
+    @Override
+    public double getCurrentAlert(CurrentUnit unit) {
+        return motor.getCurrentAlert(unit);
+    }
+
+    @Override
+    public void setCurrentAlert(double current, CurrentUnit unit) {
+        motor.setCurrentAlert(current, unit);
+    }
+
+    @Override
+    public boolean isOverCurrent() {
+        return motor.isOverCurrent();
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return motor.getManufacturer();
+    }
+
+    @Override
+    public String getDeviceName() {
+        return motor.getDeviceName();
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return motor.getConnectionInfo();
+    }
+
+    @Override
+    public int getVersion() {
+        return motor.getVersion();
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+        motor.resetDeviceConfigurationForOpMode();
+        lastRequestedPower = Double.NaN;
+        invalidate();
+    }
+
+    @Override
+    public void close() {
+        motor.close();
+    }
+}
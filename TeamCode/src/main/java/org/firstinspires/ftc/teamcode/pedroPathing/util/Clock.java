@@ -0,0 +1,75 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+/**
+ * This is the Clock class. Everything in Pedro Pathing that needs the time, like the PIDF
+ * controllers, the PoseUpdater, the Timers, and the path end timeouts in the Follower, gets it
+ * from here instead of straight from System.nanoTime() and System.currentTimeMillis().
+ *
+ * Normally this just returns the system time. The simulator switches this over to simulated time,
+ * which only moves forward when the simulator steps, so OpModes can run as fast as the computer
+ * can go while everything still thinks the right amount of time has passed.
+ */
+public class Clock {
+    private static boolean simulated = false;
+    private static long simulatedNanoTime;
+
+    /**
+     * This returns the current time in nanoseconds. Like System.nanoTime(), this is only useful
+     * for finding how much time has passed between two calls.
+     *
+     * @return returns the current time in nanoseconds.
+     */
+    public static long nanoTime() {
+        if (simulated) return simulatedNanoTime;
+        return System.nanoTime();
+    }
+
+    /**
+     * This returns the current time in milliseconds. Like System.currentTimeMillis(), this is
+     * mostly useful for finding how much time has passed between two calls. In simulated time, this
+     * starts at 0.
+     *
+     * @return returns the current time in milliseconds.
+     */
+    public static long currentTimeMillis() {
+        if (simulated) return simulatedNanoTime / 1000000;
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * This switches the Clock over to simulated time, starting at 0. Anything that already saved a
+     * time from the system clock should be reset after this.
+     */
+    public static void useSimulatedTime() {
+        simulated = true;
+        simulatedNanoTime = 0;
+    }
+
+    /**
+     * This switches the Clock back to the system time.
+     */
+    public static void useSystemTime() {
+        simulated = false;
+    }
+
+    /**
+     * This returns if the Clock is using simulated time.
+     *
+     * @return returns if simulated.
+     */
+    public static boolean isSimulated() {
+        return simulated;
+    }
+
+    /**
+     * This moves simulated time forward.
+     *
+     * @param nanoseconds how far to move time forward, in nanoseconds.
+     * @throws IllegalStateException if the Clock isn't using simulated time.
+     */
+    public static void advance(long nanoseconds) {
+        if (!simulated) throw new IllegalStateException("The Clock can only be advanced in simulated time");
+        if (nanoseconds < 0) throw new IllegalArgumentException("Time can't go backwards");
+        simulatedNanoTime += nanoseconds;
+    }
+}
@@ -0,0 +1,189 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+/**
+ * This is the ConstantAccelerationKalmanFilter class. This is a Kalman filter for one axis that
+ * estimates the position, velocity, and acceleration together, assuming the acceleration stays
+ * about the same between updates. Position measurements are required, and velocity measurements
+ * can be added on top of them when a sensor measures velocity directly.
+ *
+ * Unlike differencing positions, this gives a smooth velocity and acceleration without much lag,
+ * and it handles updates that aren't evenly spaced in time. Everything is kept in primitive fields,
+ * so updating this never creates any garbage.
+ */
+public class ConstantAccelerationKalmanFilter {
+    private final ConstantAccelerationKalmanFilterParameters parameters;
+
+    private double position;
+    private double velocity;
+    private double acceleration;
+
+    // This is the covariance of the estimate, which is symmetric, so only the upper half is kept
+    private double p00, p01, p02, p11, p12, p22;
+
+    private boolean initialized;
+
+    /**
+     * This creates a new ConstantAccelerationKalmanFilter. The filter starts at the first
+     * measurement it gets.
+     *
+     * @param parameters the parameters of the filter.
+     */
+    public ConstantAccelerationKalmanFilter(ConstantAccelerationKalmanFilterParameters parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * This resets the filter, so it starts over at the next measurement.
+     */
+    public void reset() {
+        initialized = false;
+        velocity = 0;
+        acceleration = 0;
+    }
+
+    /**
+     * This moves the estimate forward in time and then corrects it with a position measurement.
+     * The first time this is called after a reset, the filter just starts at the measurement.
+     *
+     * @param measuredPosition the measured position.
+     * @param deltaTime the time since the last update, in seconds.
+     */
+    public void update(double measuredPosition, double deltaTime) {
+        if (!initialized) {
+            position = measuredPosition;
+            velocity = 0;
+            acceleration = 0;
+            p00 = parameters.positionCovariance;
+            p01 = 0;
+            p02 = 0;
+            p11 = 1e4;
+            p12 = 0;
+            p22 = 1e6;
+            initialized = true;
+            return;
+        }
+
+        predict(deltaTime);
+
+        // position measurement
+        double innovation = measuredPosition - position;
+        double innovationCovariance = p00 + parameters.positionCovariance;
+        double k0 = p00 / innovationCovariance;
+        double k1 = p01 / innovationCovariance;
+        double k2 = p02 / innovationCovariance;
+        position += k0 * innovation;
+        velocity += k1 * innovation;
+        acceleration += k2 * innovation;
+        correct(k0, k1, k2, p00, p01, p02);
+    }
+
+    /**
+     * This corrects the estimate with a velocity measurement. This should be called right after
+     * update() with a velocity measured at the same time as the position.
+     *
+     * @param measuredVelocity the measured velocity.
+     */
+    public void updateVelocity(double measuredVelocity) {
+        if (!initialized) return;
+
+        double innovation = measuredVelocity - velocity;
+        double innovationCovariance = p11 + parameters.velocityCovariance;
+        double k0 = p01 / innovationCovariance;
+        double k1 = p11 / innovationCovariance;
+        double k2 = p12 / innovationCovariance;
+        position += k0 * innovation;
+        velocity += k1 * innovation;
+        acceleration += k2 * innovation;
+        correct(k0, k1, k2, p01, p11, p12);
+    }
+
+    /**
+     * This moves the estimate and its covariance forward in time, assuming constant acceleration
+     * with random jerk.
+     *
+     * @param deltaTime the time to move forward, in seconds.
+     */
+    private void predict(double deltaTime) {
+        double dt = deltaTime;
+        double dt2 = dt * dt;
+
+        position += velocity * dt + 0.5 * acceleration * dt2;
+        velocity += acceleration * dt;
+
+        // this is F * P * F^T with F = [[1, dt, dt^2/2], [0, 1, dt], [0, 0, 1]]
+        double halfDt2 = 0.5 * dt2;
+        double n00 = p00 + 2 * dt * p01 + dt2 * p02 + dt2 * p11 + 2 * dt * halfDt2 * p12 + halfDt2 * halfDt2 * p22;
+        double n01 = p01 + dt * p02 + dt * p11 + (dt2 + halfDt2) * p12 + dt * halfDt2 * p22;
+        double n02 = p02 + dt * p12 + halfDt2 * p22;
+        double n11 = p11 + 2 * dt * p12 + dt2 * p22;
+        double n12 = p12 + dt * p22;
+
+        // this adds the process noise from random jerk
+        double q = parameters.jerkCovariance;
+        double dt3 = dt2 * dt;
+        double dt4 = dt3 * dt;
+        double dt5 = dt4 * dt;
+        p00 = n00 + q * dt5 / 20;
+        p01 = n01 + q * dt4 / 8;
+        p02 = n02 + q * dt3 / 6;
+        p11 = n11 + q * dt3 / 3;
+        p12 = n12 + q * dt2 / 2;
+        p22 = p22 + q * dt;
+    }
+
+    /**
+     * This updates the covariance after a measurement, which is P = (I - K * H) * P, using the row
+     * of the covariance the measurement looked at.
+     *
+     * @param k0 the Kalman gain for the position.
+     * @param k1 the Kalman gain for the velocity.
+     * @param k2 the Kalman gain for the acceleration.
+     * @param h0 the covariance of the measured state with the position.
+     * @param h1 the covariance of the measured state with the velocity.
+     * @param h2 the covariance of the measured state with the acceleration.
+     */
+    private void correct(double k0, double k1, double k2, double h0, double h1, double h2) {
+        p00 -= k0 * h0;
+        p01 -= k0 * h1;
+        p02 -= k0 * h2;
+        p11 -= k1 * h1;
+        p12 -= k1 * h2;
+        p22 -= k2 * h2;
+    }
+
+    /**
+     * This returns if the filter has gotten its first measurement.
+     *
+     * @return returns if the filter is initialized.
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    /**
+     * This returns the estimated position.
+     *
+     * @return returns the position.
+     */
+    public double getPosition() {
+        return position;
+    }
+
+    /**
+     * This returns the estimated velocity.
+     *
+     * @return returns the velocity.
+     */
+    public double getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * This returns the estimated acceleration.
+     *
+     * @return returns the acceleration.
+     */
+    public double getAcceleration() {
+        return acceleration;
+    }
+}
@@ -0,0 +1,27 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+import kotlin.jvm.JvmField;
+
+/**
+ * This is the ConstantAccelerationKalmanFilterParameters class. This class holds the parameters of
+ * a ConstantAccelerationKalmanFilter.
+ */
+public class ConstantAccelerationKalmanFilterParameters {
+    @JvmField public double jerkCovariance;
+    @JvmField public double positionCovariance;
+    @JvmField public double velocityCovariance;
+
+    /**
+     * This creates a new ConstantAccelerationKalmanFilterParameters.
+     *
+     * @param jerkCovariance how much the acceleration is expected to change, as the spectral
+     *                       density of the jerk. Higher values follow changes faster but are noisier.
+     * @param positionCovariance the covariance of the position measurements.
+     * @param velocityCovariance the covariance of the velocity measurements.
+     */
+    public ConstantAccelerationKalmanFilterParameters(double jerkCovariance, double positionCovariance, double velocityCovariance) {
+        this.jerkCovariance = jerkCovariance;
+        this.positionCovariance = positionCovariance;
+        this.velocityCovariance = velocityCovariance;
+    }
+}
@@ -0,0 +1,429 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This is the ControlLoopExecutor class. This class runs the control loop, like Follower.update(),
+ * subsystem PIDs, and sensor reads, on its own high priority thread at a fixed rate, instead of in
+ * the OpMode's loop(). The rate of loop() depends on the SDK's event loop and on how long telemetry
+ * takes to send, so controllers run from it get uneven time steps. With this, loop() only reads
+ * the gamepads, posts commands to the control thread through a Mailbox, and shows telemetry.
+ *
+ * Tasks are added with addTask() before start(), and every period they're all run in the order
+ * they were added. The start of every run is lined up to a fixed schedule. If the tasks take longer
+ * than a period, that's counted as an overrun, and the next run waits for the next spot on the
+ * schedule instead of running late, so the timing stays even. How late every run started, which is
+ * the jitter, and how long the tasks took are kept track of too.
+ *
+ * Everything the tasks use, like the Follower and the motors, should only be used from the tasks
+ * once this is started, since the Follower and the hardware caches aren't thread safe. Anything the
+ * OpMode needs to show on telemetry should be saved by the tasks into volatile fields.
+ *
+ * loop() has to call heartbeat() every loop. If it stops being called, like if the OpMode crashes,
+ * the control thread stops by itself after a timeout, so the robot doesn't keep driving on its
+ * own. If loop() was only stalled and calls heartbeat() again, the control thread is started
+ * again, so one slow loop doesn't leave the robot dead for the rest of the match. If a task throws
+ * an exception, the control thread stops, and the exception is thrown again from the next
+ * heartbeat() so the OpMode shows it. Whenever the control thread stops, the stop action runs on
+ * the control thread, which should set all the motor powers to 0.
+ *
+ * This always uses System.nanoTime() instead of the Clock, since this has to keep real time.
+ */
+public class ControlLoopExecutor implements Runnable {
+    private final List<Runnable> taskList = new ArrayList<>();
+    private final AtomicReference<RuntimeException> error = new AtomicReference<>();
+
+    private final long period;
+    private final long spinTime;
+    private final long watchdogTimeout;
+    private final int priority;
+
+    private Runnable[] tasks = new Runnable[0];
+    private Runnable stopAction;
+
+    private volatile Thread thread;
+    private volatile Thread lastThread;
+    private volatile long lastHeartbeatTime;
+    private volatile boolean resetRequested;
+    private volatile boolean timedOut;
+    private volatile long watchdogRestarts;
+
+    // these are only written by the control thread
+    private volatile long loops;
+    private volatile long overruns;
+    private volatile long missedPeriods;
+    private volatile long jitterSum;
+    private volatile long maxJitter;
+    private volatile long runTimeSum;
+    private volatile long maxRunTime;
+    private volatile long lastRunTime;
+
+    /**
+     * This creates a new ControlLoopExecutor.
+     *
+     * @param periodMillis the time between the starts of runs, in milliseconds.
+     * @param priority the priority of the control thread, from Thread.MIN_PRIORITY to
+     *                 Thread.MAX_PRIORITY.
+     */
+    public ControlLoopExecutor(double periodMillis, int priority) {
+        if (periodMillis <= 0) throw new IllegalArgumentException("The control loop period must be positive");
+        period = (long) (periodMillis * 1000000);
+        spinTime = (long) (FollowerConstants.controlLoopSpinTime * 1000000);
+        watchdogTimeout = (long) (FollowerConstants.controlLoopWatchdogTimeout * 1000000);
+        this.priority = Math.max(Thread.MIN_PRIORITY, Math.min(Thread.MAX_PRIORITY, priority));
+    }
+
+    /**
+     * This creates a new ControlLoopExecutor with the period and priority in FollowerConstants.
+     */
+    public ControlLoopExecutor() {
+        this(FollowerConstants.controlLoopPeriod, FollowerConstants.controlLoopThreadPriority);
+    }
+
+    /**
+     * This adds a task to run every period, after the tasks that were added before it. Tasks can't
+     * be added while the control thread is running.
+     *
+     * @param task the task to add.
+     */
+    public synchronized void addTask(Runnable task) {
+        if (thread != null) throw new IllegalStateException("Tasks can't be added while the control loop is running");
+        taskList.add(task);
+        tasks = taskList.toArray(new Runnable[0]);
+    }
+
+    /**
+     * This sets what runs on the control thread when it stops, for whatever reason. This should
+     * set all the motor powers to 0.
+     *
+     * @param stopAction the stop action.
+     */
+    public synchronized void setStopAction(Runnable stopAction) {
+        this.stopAction = stopAction;
+    }
+
+    /**
+     * This starts the control thread, if it isn't running already. This should be called from the
+     * OpMode's start(), since the tasks shouldn't move anything during init.
+     */
+    public synchronized void start() {
+        if (thread != null) return;
+        error.set(null);
+        resetRequested = true;
+        watchdogRestarts = 0;
+        startThread();
+    }
+
+    /**
+     * This starts a new control thread.
+     */
+    private synchronized void startThread() {
+        timedOut = false;
+        lastHeartbeatTime = System.nanoTime();
+        Thread newThread = new Thread(this, "control loop");
+        newThread.setPriority(priority);
+        newThread.setDaemon(true);
+        thread = newThread;
+        lastThread = newThread;
+        newThread.start();
+    }
+
+    /**
+     * This stops the control thread and waits for it to finish its current run and the stop
+     * action. This should be called from the OpMode's stop().
+     *
+     * @return returns if the control thread finished, or wasn't running. If this returns false, the
+     *         control thread is still running its last run, and it runs the stop action itself
+     *         once that's done.
+     */
+    public boolean stop() {
+        Thread oldThread;
+        synchronized (this) {
+            oldThread = thread;
+            thread = null;
+            timedOut = false;
+        }
+        if (oldThread == null || oldThread == Thread.currentThread()) return true;
+
+        LockSupport.unpark(oldThread);
+        return join(oldThread);
+    }
+
+    /**
+     * This waits for a control thread to finish, for at most the watchdog timeout.
+     *
+     * @param oldThread the control thread to wait for.
+     * @return returns if it finished.
+     */
+    private boolean join(Thread oldThread) {
+        try {
+            oldThread.join(watchdogTimeout / 1000000 + 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !oldThread.isAlive();
+    }
+
+    /**
+     * This tells the control thread that the OpMode is still running, and throws any exception a
+     * task threw. This has to be called every loop of the OpMode. If the watchdog stopped the
+     * control thread because this wasn't called for too long, it's started again.
+     */
+    public void heartbeat() {
+        lastHeartbeatTime = System.nanoTime();
+        RuntimeException exception = error.getAndSet(null);
+        if (exception != null) throw exception;
+        if (timedOut) restartAfterTimeout();
+    }
+
+    /**
+     * This starts the control thread again after the watchdog stopped it. The old thread is waited
+     * for first, so its stop action is done before the new thread uses the hardware.
+     */
+    private void restartAfterTimeout() {
+        Thread oldThread;
+        synchronized (this) {
+            // the old thread hasn't gotten to its stop action yet, so this waits for the next heartbeat
+            if (!timedOut || thread != null) return;
+            oldThread = lastThread;
+        }
+        if (oldThread != null && !join(oldThread)) return;
+
+        synchronized (this) {
+            if (!timedOut || thread != null) return;
+            watchdogRestarts++;
+            startThread();
+        }
+    }
+
+    /**
+     * This runs the tasks every period until the thread is stopped, a task throws an exception, or
+     * the heartbeat times out. This is what the control thread runs, so don't call it directly.
+     */
+    @Override
+    public void run() {
+        Thread self = Thread.currentThread();
+        Runnable[] runTasks;
+        synchronized (this) {
+            runTasks = tasks;
+        }
+
+        long deadline = System.nanoTime();
+        try {
+            while (thread == self) {
+                long startTime = System.nanoTime();
+                if (startTime - lastHeartbeatTime > watchdogTimeout) {
+                    timedOut = true;
+                    break;
+                }
+
+                for (Runnable task : runTasks) {
+                    task.run();
+                }
+
+                long endTime = System.nanoTime();
+                record(startTime - deadline, endTime - startTime);
+
+                deadline += period;
+                if (endTime - deadline > 0) {
+                    // the tasks took too long, so this waits for the next spot on the schedule
+                    long missed = (endTime - deadline) / period + 1;
+                    overruns++;
+                    missedPeriods += missed;
+                    deadline += missed * period;
+                }
+                waitUntil(deadline, self);
+            }
+        } catch (RuntimeException e) {
+            error.set(e);
+        } finally {
+            Runnable runStopAction;
+            synchronized (this) {
+                if (thread == self) thread = null;
+                runStopAction = stopAction;
+            }
+            if (runStopAction != null) {
+                try {
+                    runStopAction.run();
+                } catch (RuntimeException e) {
+                    error.compareAndSet(null, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * This waits until a time. Most of the wait is parked, and the last bit is spent spinning,
+     * since parking usually wakes up a little late.
+     *
+     * @param deadline the time to wait until, in nanoseconds.
+     * @param self the control thread.
+     */
+    private void waitUntil(long deadline, Thread self) {
+        while (thread == self) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return;
+            if (remaining > spinTime) {
+                LockSupport.parkNanos(remaining - spinTime);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * This records the timing of one run.
+     *
+     * @param jitter how late the run started, in nanoseconds.
+     * @param runTime how long the tasks took, in nanoseconds.
+     */
+    private void record(long jitter, long runTime) {
+        if (resetRequested) {
+            resetRequested = false;
+            loops = 0;
+            overruns = 0;
+            missedPeriods = 0;
+            jitterSum = 0;
+            maxJitter = 0;
+            runTimeSum = 0;
+            maxRunTime = 0;
+        }
+        loops++;
+        jitterSum += jitter;
+        if (jitter > maxJitter) maxJitter = jitter;
+        runTimeSum += runTime;
+        if (runTime > maxRunTime) maxRunTime = runTime;
+        lastRunTime = runTime;
+    }
+
+    /**
+     * This resets the timing statistics. They're actually reset by the control thread at its next
+     * run, so this never gets in the way of a run.
+     */
+    public void resetStatistics() {
+        resetRequested = true;
+    }
+
+    /**
+     * This returns if the control thread is running.
+     *
+     * @return returns if the control thread is running.
+     */
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * This returns how many times the control thread was started again after the watchdog stopped
+     * it, since start().
+     *
+     * @return returns the number of watchdog restarts.
+     */
+    public long getWatchdogRestarts() {
+        return watchdogRestarts;
+    }
+
+    /**
+     * This returns the time between the starts of runs.
+     *
+     * @return returns the period, in milliseconds.
+     */
+    public double getPeriod() {
+        return period / 1e6;
+    }
+
+    /**
+     * This returns how many times the tasks have been run.
+     *
+     * @return returns the number of runs.
+     */
+    public long getLoops() {
+        return loops;
+    }
+
+    /**
+     * This returns how many runs took longer than a period.
+     *
+     * @return returns the number of overruns.
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * This returns how many spots on the schedule were skipped because of overruns.
+     *
+     * @return returns the number of missed periods.
+     */
+    public long getMissedPeriods() {
+        return missedPeriods;
+    }
+
+    /**
+     * This returns the average of how late the runs started.
+     *
+     * @return returns the average jitter, in milliseconds.
+     */
+    public double getAverageJitter() {
+        long runs = loops;
+        if (runs == 0) return 0;
+        return jitterSum / 1e6 / runs;
+    }
+
+    /**
+     * This returns the latest any run started.
+     *
+     * @return returns the max jitter, in milliseconds.
+     */
+    public double getMaxJitter() {
+        return maxJitter / 1e6;
+    }
+
+    /**
+     * This returns how long the tasks took on average.
+     *
+     * @return returns the average run time, in milliseconds.
+     */
+    public double getAverageRunTime() {
+        long runs = loops;
+        if (runs == 0) return 0;
+        return runTimeSum / 1e6 / runs;
+    }
+
+    /**
+     * This returns the longest the tasks took.
+     *
+     * @return returns the max run time, in milliseconds.
+     */
+    public double getMaxRunTime() {
+        return maxRunTime / 1e6;
+    }
+
+    /**
+     * This returns how long the tasks took in the last run.
+     *
+     * @return returns the last run time, in milliseconds.
+     */
+    public double getLastRunTime() {
+        return lastRunTime / 1e6;
+    }
+
+    /**
+     * This adds the timing statistics to telemetry.
+     *
+     * @param telemetry the telemetry to add to.
+     */
+    public void addToTelemetry(Telemetry telemetry) {
+        telemetry.addData("control loop ms (period/avg run/max run)", String.format(Locale.US, "%.2f / %.2f / %.2f", getPeriod(), getAverageRunTime(), getMaxRunTime()));
+        telemetry.addData("control loop jitter ms (avg/max)", String.format(Locale.US, "%.3f / %.3f", getAverageJitter(), getMaxJitter()));
+        telemetry.addData("control loop overruns (runs/missed periods)", overruns + " / " + missedPeriods);
+        telemetry.addData("control loop watchdog restarts", watchdogRestarts);
+    }
+}
@@ -37,7 +37,7 @@ public class DashboardPoseTracker {
             yPositions[i] = poseUpdater.getPose().getY();
         }
 
-        lastUpdateTime = System.currentTimeMillis() - UPDATE_TIME;
+        lastUpdateTime = Clock.currentTimeMillis() - UPDATE_TIME;
     }
 
     /**
@@ -45,8 +45,8 @@ public class DashboardPoseTracker {
      * pose history log, another pose can be logged. The least recent log is also removed.
      */
     public void update() {
-        if (System.currentTimeMillis() - lastUpdateTime > UPDATE_TIME) {
-            lastUpdateTime = System.currentTimeMillis();
+        if (Clock.currentTimeMillis() - lastUpdateTime > UPDATE_TIME) {
+            lastUpdateTime = Clock.currentTimeMillis();
             for (int i = TRACKING_SIZE - 1; i > 0; i--) {
                 xPositions[i] = xPositions[i - 1];
                 yPositions[i] = yPositions[i - 1];
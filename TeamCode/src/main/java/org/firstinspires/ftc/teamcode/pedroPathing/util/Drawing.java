@@ -22,12 +22,29 @@ import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
 public class Drawing {
     private static TelemetryPacket packet;
 
+    // Drawing is off unless an OpMode that's meant to be watched on FTC Dashboard, like the tuners,
+    // turns it on, since FTC Dashboard doesn't say if anything is connected to it. While it's off, no
+    // packets are built or sent and no Paths are split up into drawing points. Making a Follower
+    // turns it back off, so it doesn't stay on from the last OpMode; tuners turn it on after.
+    public static boolean enabled = false;
+
+    /**
+     * This returns if drawing has been turned on and FTC Dashboard is running. If this is false,
+     * then all the drawing methods return without doing anything.
+     *
+     * @return returns if things should be drawn.
+     */
+    public static boolean shouldDraw() {
+        return enabled && FtcDashboard.getInstance() != null;
+    }
+
     /**
      * This draws everything that will be used in the Follower's telemetryDebug() method. This takes
      * a Follower as an input, so an instance of the DashbaordDrawingHandler class is not needed.
      * @param follower
      */
     public static void drawDebug(Follower follower) {
+        if (!shouldDraw()) return;
         if (follower.getCurrentPath() != null) {
             drawPath(follower.getCurrentPath(), "#3F51B5");
             Point closestPoint = follower.getPointFromPath(follower.getCurrentPath().getClosestPointTValue());
@@ -46,6 +63,7 @@ public class Drawing {
      * @param color the color to draw the robot with
      */
     public static void drawRobot(Pose pose, String color) {
+        if (!shouldDraw()) return;
         if (packet == null) packet = new TelemetryPacket();
 
         packet.fieldOverlay().setStroke(color);
@@ -54,12 +72,14 @@ public class Drawing {
 
     /**
      * This adds instructions to the current packet to draw a Path with a specified color. If no
-     * packet exists, then a new one is created.
+     * packet exists, then a new one is created. The drawing points of the Path are only generated
+     * the first time it's drawn, so Paths that never get drawn never generate them.
      *
      * @param path the Path to draw
      * @param color the color to draw the Path with
      */
     public static void drawPath(Path path, String color) {
+        if (!shouldDraw()) return;
         if (packet == null) packet = new TelemetryPacket();
 
         packet.fieldOverlay().setStroke(color);
@@ -87,6 +107,7 @@ public class Drawing {
      * @param color the color to draw the pose history with
      */
     public static void drawPoseHistory(DashboardPoseTracker poseTracker, String color) {
+        if (!shouldDraw()) return;
         if (packet == null) packet = new TelemetryPacket();
 
         packet.fieldOverlay().setStroke(color);
@@ -94,11 +115,16 @@ public class Drawing {
     }
 
     /**
-     * This tries to send the current packet to FTC Dashboard.
+     * This tries to send the current packet to FTC Dashboard. If drawing is off, the packet is
+     * thrown away instead.
      *
      * @return returns if the operation was successful.
      */
     public static boolean sendPacket() {
+        if (!shouldDraw()) {
+            packet = null;
+            return false;
+        }
         if (packet != null) {
             FtcDashboard.getInstance().sendTelemetryPacket(packet);
             packet = null;
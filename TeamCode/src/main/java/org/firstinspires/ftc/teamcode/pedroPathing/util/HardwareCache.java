@@ -0,0 +1,212 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+import com.qualcomm.hardware.lynx.LynxModule;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * This is the HardwareCache class. This class puts every hub into MANUAL bulk caching mode and
+ * bulk reads every hub exactly once a loop, so every hub only does one bulk read a loop no matter
+ * how many subsystems read sensors. The reads are done right when the loop is started, so they can
+ * be counted, which the SDK doesn't do for the reads it does on its own. In AUTO mode, the hub does a new bulk read whenever the same
+ * value is read twice, which happens a lot when a few subsystems all read the same encoders.
+ *
+ * There's only one HardwareCache for a HardwareMap, which is gotten with get(). A new loop has to
+ * be started once at the top of every loop, before anything is read, since in MANUAL mode nothing
+ * gets read again until the caches are cleared. The Follower and the PoseUpdater do this with
+ * startLoopIfNeeded() when they're updated, so the tuners and OpModes that update either of them
+ * don't have to. OpModes that read hardware before updating them should call startLoop() at the
+ * very top of their loop, and then the Follower and PoseUpdater won't start another one.
+ *
+ * Encoder positions and velocities read through getCurrentPosition() and getVelocity() are also
+ * saved for the rest of the loop, so every subsystem sees the same value for a motor in the same
+ * loop, even if it reads it more than once.
+ */
+public class HardwareCache {
+    private static HardwareCache instance;
+
+    private final HardwareMap hardwareMap;
+    private final List<LynxModule> modules;
+
+    private final IdentityHashMap<DcMotor, Integer> motorIndices = new IdentityHashMap<>();
+    private int[] positions = new int[8];
+    private double[] velocities = new double[8];
+    private long[] positionLoops = new long[8];
+    private long[] velocityLoops = new long[8];
+
+    private long loops;
+    private long bulkReads;
+    private int lastLoopBulkReads;
+
+    /**
+     * This creates a new HardwareCache and puts every hub in the HardwareMap into MANUAL bulk
+     * caching mode. Use get() instead, so everything shares one HardwareCache.
+     *
+     * @param hardwareMap the HardwareMap to get the hubs from.
+     */
+    private HardwareCache(HardwareMap hardwareMap) {
+        this.hardwareMap = hardwareMap;
+        modules = hardwareMap.getAll(LynxModule.class);
+        for (LynxModule module : modules) {
+            module.setBulkCachingMode(LynxModule.BulkCachingMode.MANUAL);
+        }
+        Arrays.fill(positionLoops, -1);
+        Arrays.fill(velocityLoops, -1);
+    }
+
+    /**
+     * This returns the HardwareCache for a HardwareMap. The first time this is called with a new
+     * HardwareMap, like at the start of every OpMode, a new HardwareCache is made and the hubs are
+     * put into MANUAL bulk caching mode.
+     *
+     * @param hardwareMap the HardwareMap of the OpMode.
+     * @return returns the HardwareCache.
+     */
+    public static HardwareCache get(HardwareMap hardwareMap) {
+        if (instance == null || instance.hardwareMap != hardwareMap) {
+            instance = new HardwareCache(hardwareMap);
+        }
+        return instance;
+    }
+
+    /**
+     * This starts a new loop. Every hub is bulk read, which replaces its bulk cache, so every read
+     * from a hub for the rest of the loop comes from that one read, and the saved positions and
+     * velocities are thrown out. Call this once at the very top of every loop.
+     */
+    public void startLoop() {
+        for (int i = 0; i < modules.size(); i++) {
+            modules.get(i).getBulkData();
+        }
+        lastLoopBulkReads = modules.size();
+        bulkReads += lastLoopBulkReads;
+        loops++;
+    }
+
+    /**
+     * This starts a new loop, unless something else has started one since the caller last ran.
+     * The Follower and the PoseUpdater call this every update with the loop they last saw, so only
+     * the first of them to run in a loop starts it, and an OpMode that already called startLoop()
+     * at the top of its loop doesn't get its caches cleared again partway through.
+     *
+     * @param lastLoop the loop number this returned the last time the caller ran.
+     * @return returns the current loop number, to pass in next time.
+     */
+    public long startLoopIfNeeded(long lastLoop) {
+        if (loops == lastLoop) startLoop();
+        return loops;
+    }
+
+    /**
+     * This returns the encoder position of a motor in this loop. The first time a motor is read in
+     * a loop, it's read from the bulk cache, and after that the same position is returned until the
+     * next loop.
+     *
+     * @param motor the motor to read.
+     * @return returns the encoder position, in ticks.
+     */
+    public int getCurrentPosition(DcMotor motor) {
+        int index = indexOf(motor);
+        if (positionLoops[index] != loops) {
+            positions[index] = motor.getCurrentPosition();
+            positionLoops[index] = loops;
+        }
+        return positions[index];
+    }
+
+    /**
+     * This returns the encoder velocity of a motor in this loop. The first time a motor is read in
+     * a loop, it's read from the bulk cache, and after that the same velocity is returned until the
+     * next loop.
+     *
+     * @param motor the motor to read.
+     * @return returns the encoder velocity, in ticks/second.
+     */
+    public double getVelocity(DcMotorEx motor) {
+        int index = indexOf(motor);
+        if (velocityLoops[index] != loops) {
+            velocities[index] = motor.getVelocity();
+            velocityLoops[index] = loops;
+        }
+        return velocities[index];
+    }
+
+    /**
+     * This returns the index of a motor in the saved positions and velocities, adding it if it
+     * hasn't been read before.
+     *
+     * @param motor the motor.
+     * @return returns the index.
+     */
+    private int indexOf(DcMotor motor) {
+        Integer index = motorIndices.get(motor);
+        if (index != null) return index;
+
+        int newIndex = motorIndices.size();
+        if (newIndex == positions.length) {
+            positions = Arrays.copyOf(positions, newIndex * 2);
+            velocities = Arrays.copyOf(velocities, newIndex * 2);
+            positionLoops = Arrays.copyOf(positionLoops, newIndex * 2);
+            velocityLoops = Arrays.copyOf(velocityLoops, newIndex * 2);
+            Arrays.fill(positionLoops, newIndex, newIndex * 2, -1);
+            Arrays.fill(velocityLoops, newIndex, newIndex * 2, -1);
+        }
+        motorIndices.put(motor, newIndex);
+        return newIndex;
+    }
+
+    /**
+     * This returns how many loops have been started.
+     *
+     * @return returns the number of loops.
+     */
+    public long getLoops() {
+        return loops;
+    }
+
+    /**
+     * This returns how many bulk reads were done at the start of the last loop.
+     *
+     * @return returns the number of bulk reads.
+     */
+    public int getLastLoopBulkReads() {
+        return lastLoopBulkReads;
+    }
+
+    /**
+     * This returns how many bulk reads have been done since this was made.
+     *
+     * @return returns the number of bulk reads.
+     */
+    public long getBulkReads() {
+        return bulkReads;
+    }
+
+    /**
+     * This returns how many hubs are in MANUAL bulk caching mode because of this.
+     *
+     * @return returns the number of hubs.
+     */
+    public int getHubCount() {
+        return modules.size();
+    }
+
+    /**
+     * This adds the bulk reads per loop and the number of loops to telemetry. If the loops stop
+     * going up, nothing is starting new loops and every read is stuck at the same value.
+     *
+     * @param telemetry the telemetry to add to.
+     */
+    public void addToTelemetry(Telemetry telemetry) {
+        telemetry.addData("bulk reads per loop", lastLoopBulkReads);
+        telemetry.addData("average bulk reads per loop", loops == 0 ? 0 : (double) bulkReads / loops);
+        telemetry.addData("hardware cache loops", loops);
+    }
+}
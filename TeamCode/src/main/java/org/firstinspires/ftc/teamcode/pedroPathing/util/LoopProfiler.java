@@ -0,0 +1,295 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * This is the LoopProfiler class. This class times the stages of a loop, like the parts of
+ * Follower.update(), so you can see where the loop time actually goes. Every stage keeps a ring
+ * buffer of how long it took in the most recent loops, and from those the 50th, 95th, and 99th
+ * percentile and the max time of every stage can be shown on telemetry or written to a file.
+ *
+ * Timing works like laps on a stopwatch. startLoop() is called at the start of every loop, and
+ * then lap() is called at the end of every stage with the index of that stage, which adds the time
+ * since the last lap or mark to that stage. mark() restarts the stopwatch without adding the time
+ * to anything, for skipping over code that isn't part of a stage. addTime() adds time that was
+ * measured somewhere else, like inside another class, to a stage, and leaves it out of the next
+ * lap, so it isn't counted twice. If a stage is lapped more than
+ * once in a loop, the times are added up, so every stage gets one sample per loop. Stages that
+ * aren't lapped at all in a loop don't get a sample for that loop.
+ *
+ * The first stage is always the whole loop, measured from one startLoop() to the next, so it
+ * includes everything the OpMode does outside of the profiled stages too. The second stage is
+ * always the profiler itself, which is the time spent working out percentiles.
+ *
+ * This always uses System.nanoTime() instead of the Clock, since this measures how long the code
+ * actually takes to run, even in the simulator. All the Arrays are made up front, so timing a loop
+ * doesn't create any garbage, and the percentiles are only worked out again every so often, when
+ * they're shown or written out. A lap is one System.nanoTime() call and a couple of Array writes,
+ * so this is cheap enough to leave on all the time.
+ */
+public class LoopProfiler {
+    public static final int LOOP = 0;
+    public static final int PROFILER = 1;
+
+    // This is how often the percentiles are worked out again, in nanoseconds
+    private final long STATISTICS_UPDATE_TIME = 250000000;
+
+    private final String[] stageNames;
+    private final long[][] samples;
+    private final long[] loopTimes;
+    private final boolean[] lapped;
+    private final int[] sampleCounts;
+    private final int[] nextSamples;
+    private final long[] sortedSamples;
+
+    // these are the percentiles in nanoseconds, in the order 50th, 95th, 99th, max
+    private final long[][] statistics;
+    private final String[] formattedStatistics;
+
+    private final int sampleNumber;
+
+    private long loopStartTime;
+    private long lastMarkTime;
+    private long lastStatisticsTime;
+    private boolean statisticsOutdated;
+    private boolean running;
+
+    /**
+     * This creates a new LoopProfiler for a set of stages. The whole loop and the profiler itself
+     * are added as the first two stages, so the stage indices of the stages passed in start at 2.
+     *
+     * @param sampleNumber how many loops to keep samples for.
+     * @param stageNames the names of the stages, in order.
+     */
+    public LoopProfiler(int sampleNumber, String... stageNames) {
+        if (sampleNumber < 1) throw new IllegalArgumentException("The profiler needs at least 1 sample");
+
+        this.sampleNumber = sampleNumber;
+        this.stageNames = new String[stageNames.length + 2];
+        this.stageNames[LOOP] = "loop";
+        this.stageNames[PROFILER] = "profiler";
+        System.arraycopy(stageNames, 0, this.stageNames, 2, stageNames.length);
+
+        int stages = this.stageNames.length;
+        samples = new long[stages][sampleNumber];
+        loopTimes = new long[stages];
+        lapped = new boolean[stages];
+        sampleCounts = new int[stages];
+        nextSamples = new int[stages];
+        sortedSamples = new long[sampleNumber];
+        statistics = new long[stages][4];
+        formattedStatistics = new String[stages];
+    }
+
+    /**
+     * This starts a new loop. The stage times from the last loop are saved, and the time since the
+     * last loop started is saved as the loop time.
+     */
+    public void startLoop() {
+        long now = System.nanoTime();
+
+        if (running) {
+            loopTimes[LOOP] = now - loopStartTime;
+            lapped[LOOP] = true;
+            statisticsOutdated = true;
+        }
+        for (int i = 0; i < stageNames.length; i++) {
+            if (!lapped[i]) continue;
+            if (running) {
+                samples[i][nextSamples[i]] = loopTimes[i];
+                if (++nextSamples[i] == sampleNumber) nextSamples[i] = 0;
+                if (sampleCounts[i] < sampleNumber) sampleCounts[i]++;
+            }
+            loopTimes[i] = 0;
+            lapped[i] = false;
+        }
+
+        running = true;
+        loopStartTime = now;
+        lastMarkTime = now;
+    }
+
+    /**
+     * This restarts the stopwatch without adding the time since the last lap to any stage.
+     */
+    public void mark() {
+        lastMarkTime = System.nanoTime();
+    }
+
+    /**
+     * This adds the time since the last lap or mark to a stage, and restarts the stopwatch.
+     *
+     * @param stage the index of the stage.
+     */
+    public void lap(int stage) {
+        long now = System.nanoTime();
+        loopTimes[stage] += now - lastMarkTime;
+        lapped[stage] = true;
+        lastMarkTime = now;
+    }
+
+    /**
+     * This adds time that was measured somewhere else to a stage. The stopwatch is moved forward by
+     * the same amount, so the next lap doesn't count that time again. The time has to have been
+     * since the last lap or mark.
+     *
+     * @param stage the index of the stage.
+     * @param time the time to add, in nanoseconds.
+     */
+    public void addTime(int stage, long time) {
+        loopTimes[stage] += time;
+        lapped[stage] = true;
+        lastMarkTime += time;
+    }
+
+    /**
+     * This works out the percentiles of every stage again, if they're outdated and it's been long
+     * enough since the last time.
+     */
+    private void updateStatistics() {
+        long startTime = System.nanoTime();
+        if (!statisticsOutdated || startTime - lastStatisticsTime < STATISTICS_UPDATE_TIME) return;
+
+        for (int i = 0; i < stageNames.length; i++) {
+            int count = sampleCounts[i];
+            if (count == 0) continue;
+            System.arraycopy(samples[i], 0, sortedSamples, 0, count);
+            Arrays.sort(sortedSamples, 0, count);
+            statistics[i][0] = sortedSamples[percentileIndex(count, 0.5)];
+            statistics[i][1] = sortedSamples[percentileIndex(count, 0.95)];
+            statistics[i][2] = sortedSamples[percentileIndex(count, 0.99)];
+            statistics[i][3] = sortedSamples[count - 1];
+            formattedStatistics[i] = formatStatistics(i);
+        }
+
+        statisticsOutdated = false;
+        lastStatisticsTime = startTime;
+        loopTimes[PROFILER] += System.nanoTime() - startTime;
+        lapped[PROFILER] = true;
+    }
+
+    /**
+     * This returns the index of a percentile in a sorted Array, using the nearest rank.
+     *
+     * @param count the number of samples.
+     * @param percentile the percentile, from 0 to 1.
+     * @return returns the index.
+     */
+    private static int percentileIndex(int count, double percentile) {
+        return Math.max(0, Math.min(count - 1, (int) Math.ceil(percentile * count) - 1));
+    }
+
+    /**
+     * This adds the percentiles of every stage to telemetry. This works with MultipleTelemetry, so
+     * this can show up on both the Driver Station and FTC Dashboard.
+     *
+     * @param telemetry the telemetry to add to.
+     */
+    public void addToTelemetry(Telemetry telemetry) {
+        updateStatistics();
+        for (int i = 0; i < stageNames.length; i++) {
+            if (sampleCounts[i] == 0) continue;
+            if (formattedStatistics[i] == null) continue;
+            telemetry.addData(stageNames[i] + " ms (p50/p95/p99/max)", formattedStatistics[i]);
+        }
+    }
+
+    /**
+     * This formats the percentiles of a stage in milliseconds.
+     *
+     * @param stage the index of the stage.
+     * @return returns the formatted percentiles.
+     */
+    private String formatStatistics(int stage) {
+        return String.format(Locale.US, "%.2f / %.2f / %.2f / %.2f", statistics[stage][0] / 1e6, statistics[stage][1] / 1e6, statistics[stage][2] / 1e6, statistics[stage][3] / 1e6);
+    }
+
+    /**
+     * This returns a percentile of the time a stage took.
+     *
+     * @param stage the index of the stage.
+     * @param percentile the percentile, from 0 to 1.
+     * @return returns the time, in milliseconds, or 0 if the stage has no samples.
+     */
+    public double getPercentile(int stage, double percentile) {
+        int count = sampleCounts[stage];
+        if (count == 0) return 0;
+        System.arraycopy(samples[stage], 0, sortedSamples, 0, count);
+        Arrays.sort(sortedSamples, 0, count);
+        return sortedSamples[percentileIndex(count, percentile)] / 1e6;
+    }
+
+    /**
+     * This writes the percentiles of every stage, followed by every sample, to a CSV file. The
+     * folders the file goes in are made if they don't exist.
+     *
+     * @param file the file to write to.
+     * @throws IOException if the file can't be written to.
+     */
+    public void writeTo(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Couldn't make the folder " + parent);
+        }
+
+        statisticsOutdated = true;
+        lastStatisticsTime = 0;
+        updateStatistics();
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            writer.println("stage,samples,p50 ms,p95 ms,p99 ms,max ms");
+            for (int i = 0; i < stageNames.length; i++) {
+                writer.println(String.format(Locale.US, "%s,%d,%.4f,%.4f,%.4f,%.4f", stageNames[i], sampleCounts[i], statistics[i][0] / 1e6, statistics[i][1] / 1e6, statistics[i][2] / 1e6, statistics[i][3] / 1e6));
+            }
+
+            writer.println();
+            writer.println("stage,sample ms (oldest first)");
+            for (int i = 0; i < stageNames.length; i++) {
+                StringBuilder line = new StringBuilder(stageNames[i]);
+                int first = sampleCounts[i] < sampleNumber ? 0 : nextSamples[i];
+                for (int j = 0; j < sampleCounts[i]; j++) {
+                    line.append(',').append(String.format(Locale.US, "%.4f", samples[i][(first + j) % sampleNumber] / 1e6));
+                }
+                writer.println(line);
+            }
+        }
+    }
+
+    /**
+     * This clears all the samples.
+     */
+    public void reset() {
+        Arrays.fill(sampleCounts, 0);
+        Arrays.fill(nextSamples, 0);
+        Arrays.fill(loopTimes, 0);
+        Arrays.fill(lapped, false);
+        Arrays.fill(formattedStatistics, null);
+        running = false;
+    }
+
+    /**
+     * This returns the name of a stage.
+     *
+     * @param stage the index of the stage.
+     * @return returns the name.
+     */
+    public String getStageName(int stage) {
+        return stageNames[stage];
+    }
+
+    /**
+     * This returns how many stages there are, including the whole loop and the profiler.
+     *
+     * @return returns the number of stages.
+     */
+    public int getStageCount() {
+        return stageNames.length;
+    }
+}
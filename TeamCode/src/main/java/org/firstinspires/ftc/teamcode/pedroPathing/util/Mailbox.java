@@ -0,0 +1,45 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This is the Mailbox class. It passes messages from one thread to another without locking, like
+ * commands from the OpMode's loop() to the ControlLoopExecutor's thread. Only the latest message is
+ * kept, so if more than one is posted before the other thread takes them, the older ones are
+ * dropped. That's what's wanted for things like gamepad inputs, where only the newest ones matter.
+ *
+ * Messages should never be changed after they're posted, since the other thread can be reading
+ * them at any time.
+ *
+ * @param <T> the type of the messages.
+ */
+public class Mailbox<T> {
+    private final AtomicReference<T> latest = new AtomicReference<>();
+
+    /**
+     * This posts a message, replacing the last one if it hasn't been taken yet.
+     *
+     * @param message the message to post.
+     */
+    public void post(T message) {
+        latest.set(message);
+    }
+
+    /**
+     * This takes the latest message out of the Mailbox, so it isn't taken again.
+     *
+     * @return returns the latest message, or null if nothing new has been posted.
+     */
+    public T take() {
+        return latest.getAndSet(null);
+    }
+
+    /**
+     * This returns the latest message without taking it out of the Mailbox.
+     *
+     * @return returns the latest message, or null if nothing has been posted.
+     */
+    public T peek() {
+        return latest.get();
+    }
+}
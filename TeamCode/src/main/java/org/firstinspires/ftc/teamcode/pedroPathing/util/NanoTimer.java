@@ -2,7 +2,7 @@ package org.firstinspires.ftc.teamcode.pedroPathing.util;
 
 /**
  * This is the NanoTimer class. It is an elapsed time clock with nanosecond precision, or at least
- * as precise as the System.nanoTime() is.
+ * as precise as the Clock.nanoTime() is.
  *
  * @author Anyi Lin - 10158 Scott's Bots
  * @author Aaron Yang - 10158 Scott's Bots
@@ -20,10 +20,10 @@ public class NanoTimer {
     }
 
     /**
-     * This resets the NanoTimer's start time to the current time using System.nanoTime().
+     * This resets the NanoTimer's start time to the current time using Clock.nanoTime().
      */
     public void resetTimer() {
-        startTime = System.nanoTime();
+        startTime = Clock.nanoTime();
     }
 
     /**
@@ -32,7 +32,7 @@ public class NanoTimer {
      * @return this returns the elapsed time in nanoseconds.
      */
     public long getElapsedTime() {
-        return System.nanoTime() - startTime;
+        return Clock.nanoTime() - startTime;
     }
 
     /**
@@ -2,7 +2,7 @@ package org.firstinspires.ftc.teamcode.pedroPathing.util;
 
 /**
  * This is the Timer class. It is an elapsed time clock with millisecond precision, or at least as
- * precise as the System.currentTimeMillis() is.
+ * precise as the Clock.currentTimeMillis() is.
  *
  * @author Anyi Lin - 10158 Scott's Bots
  * @author Aaron Yang - 10158 Scott's Bots
@@ -20,10 +20,10 @@ public class Timer {
     }
 
     /**
-     * This resets the Timer's start time to the current time using System.currentTimeMillis().
+     * This resets the Timer's start time to the current time using Clock.currentTimeMillis().
      */
     public void resetTimer() {
-        startTime = System.currentTimeMillis();
+        startTime = Clock.currentTimeMillis();
     }
 
     /**
@@ -32,7 +32,7 @@ public class Timer {
      * @return this returns the elapsed time in milliseconds.
      */
     public long getElapsedTime() {
-        return System.currentTimeMillis() - startTime;
+        return Clock.currentTimeMillis() - startTime;
     }
 
     /**
@@ -0,0 +1,178 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+/**
+ * This is the VectorRingBuffer class. It keeps the last few x and y components added to it in
+ * primitive arrays, overwriting the oldest one every time a new one is added. It keeps running sums
+ * of everything in the buffer and of the newest few components, so the averages of both can be
+ * gotten in constant time, and adding to it never creates any garbage.
+ *
+ * The buffer starts out full of zeros, so the averages start at zero and move towards the real
+ * values as components are added.
+ */
+public class VectorRingBuffer {
+    private final double[] xComponents;
+    private final double[] yComponents;
+    private final int recentSize;
+
+    // this is the index the next component goes at, which is also the index of the oldest one
+    private int head;
+
+    private double xSum;
+    private double ySum;
+    private double recentXSum;
+    private double recentYSum;
+
+    /**
+     * This creates a new VectorRingBuffer.
+     *
+     * @param capacity how many components the buffer keeps.
+     * @param recentSize how many of the newest components are in the recent average. This is at
+     *                   most the capacity.
+     */
+    public VectorRingBuffer(int capacity, int recentSize) {
+        if (capacity < 1) throw new IllegalArgumentException("VectorRingBuffer capacity must be at least 1");
+        xComponents = new double[capacity];
+        yComponents = new double[capacity];
+        this.recentSize = Math.max(1, Math.min(recentSize, capacity));
+    }
+
+    /**
+     * This creates a new VectorRingBuffer where the recent average is the whole buffer.
+     *
+     * @param capacity how many components the buffer keeps.
+     */
+    public VectorRingBuffer(int capacity) {
+        this(capacity, capacity);
+    }
+
+    /**
+     * This adds a new x and y component to the buffer, replacing the oldest one.
+     *
+     * @param x the x component.
+     * @param y the y component.
+     */
+    public void add(double x, double y) {
+        int capacity = xComponents.length;
+
+        // the component that's about to stop being one of the recent ones
+        int leavingRecent = (head - recentSize + capacity) % capacity;
+        recentXSum += x - xComponents[leavingRecent];
+        recentYSum += y - yComponents[leavingRecent];
+
+        xSum += x - xComponents[head];
+        ySum += y - yComponents[head];
+        xComponents[head] = x;
+        yComponents[head] = y;
+
+        head++;
+        if (head == capacity) {
+            head = 0;
+            // once every time around, the sums are added up again so rounding errors don't build up
+            recalculateSums();
+        }
+    }
+
+    /**
+     * This sets every component in the buffer back to zero.
+     */
+    public void clear() {
+        for (int i = 0; i < xComponents.length; i++) {
+            xComponents[i] = 0;
+            yComponents[i] = 0;
+        }
+        head = 0;
+        xSum = 0;
+        ySum = 0;
+        recentXSum = 0;
+        recentYSum = 0;
+    }
+
+    /**
+     * This adds up the running sums again from the buffer.
+     */
+    private void recalculateSums() {
+        int capacity = xComponents.length;
+        xSum = 0;
+        ySum = 0;
+        recentXSum = 0;
+        recentYSum = 0;
+        for (int age = 0; age < capacity; age++) {
+            int index = (head - 1 - age + 2 * capacity) % capacity;
+            xSum += xComponents[index];
+            ySum += yComponents[index];
+            if (age < recentSize) {
+                recentXSum += xComponents[index];
+                recentYSum += yComponents[index];
+            }
+        }
+    }
+
+    /**
+     * This returns the average x component of the whole buffer.
+     *
+     * @return returns the average x component.
+     */
+    public double getAverageX() {
+        return xSum / xComponents.length;
+    }
+
+    /**
+     * This returns the average y component of the whole buffer.
+     *
+     * @return returns the average y component.
+     */
+    public double getAverageY() {
+        return ySum / yComponents.length;
+    }
+
+    /**
+     * This returns the average x component of the newest components.
+     *
+     * @return returns the recent average x component.
+     */
+    public double getRecentAverageX() {
+        return recentXSum / recentSize;
+    }
+
+    /**
+     * This returns the average y component of the newest components.
+     *
+     * @return returns the recent average y component.
+     */
+    public double getRecentAverageY() {
+        return recentYSum / recentSize;
+    }
+
+    /**
+     * This returns the average x component of the components that aren't in the recent average.
+     * If the recent average is the whole buffer, this is 0.
+     *
+     * @return returns the older average x component.
+     */
+    public double getOlderAverageX() {
+        int olderSize = xComponents.length - recentSize;
+        if (olderSize == 0) return 0;
+        return (xSum - recentXSum) / olderSize;
+    }
+
+    /**
+     * This returns the average y component of the components that aren't in the recent average.
+     * If the recent average is the whole buffer, this is 0.
+     *
+     * @return returns the older average y component.
+     */
+    public double getOlderAverageY() {
+        int olderSize = yComponents.length - recentSize;
+        if (olderSize == 0) return 0;
+        return (ySum - recentYSum) / olderSize;
+    }
+
+    /**
+     * This returns how many components the buffer keeps.
+     *
+     * @return returns the capacity.
+     */
+    public int getCapacity() {
+        return xComponents.length;
+    }
+}
@@ -0,0 +1,183 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.util;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.VoltageSensor;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This is the VoltageCompensator class. A motor power is really a fraction of the battery voltage,
+ * so as the battery runs down during a match, the same power makes the motors push less, and
+ * everything tuned on a full battery, like the PIDFs and the zero power accelerations, stops
+ * matching what the robot does. This scales motor powers by the nominal voltage over the battery
+ * voltage, so a power always means the same voltage at the motor.
+ *
+ * Reading the battery voltage is a separate command to the hub, which isn't part of the bulk read,
+ * so the voltage is only read once every so often, set by the read period in FollowerConstants. The
+ * readings are smoothed with a low pass filter, since the voltage dips for a moment every time
+ * the motors speed up, and the powers shouldn't jump around with it. If there's no voltage sensor,
+ * like in the simulator, or compensation is turned off, the powers aren't changed.
+ *
+ * There's only one VoltageCompensator for a HardwareMap, which is gotten with get(), so the
+ * Follower and every subsystem share the same readings.
+ */
+public class VoltageCompensator {
+    private static VoltageCompensator instance;
+
+    private final HardwareMap hardwareMap;
+    private final List<VoltageSensor> sensors;
+
+    private long lastReadTime;
+    private boolean triedReading;
+    private volatile boolean hasReading;
+    private volatile double rawVoltage;
+    private volatile double filteredVoltage;
+    private volatile double scale = 1;
+    private long reads;
+
+    /**
+     * This creates a new VoltageCompensator with every voltage sensor in the HardwareMap. Use get()
+     * instead, so everything shares one VoltageCompensator.
+     *
+     * @param hardwareMap the HardwareMap to get the voltage sensors from.
+     */
+    private VoltageCompensator(HardwareMap hardwareMap) {
+        this.hardwareMap = hardwareMap;
+        sensors = hardwareMap.getAll(VoltageSensor.class);
+    }
+
+    /**
+     * This returns the VoltageCompensator for a HardwareMap. The first time this is called with a
+     * new HardwareMap, like at the start of every OpMode, a new VoltageCompensator is made.
+     *
+     * @param hardwareMap the HardwareMap of the OpMode.
+     * @return returns the VoltageCompensator.
+     */
+    public static VoltageCompensator get(HardwareMap hardwareMap) {
+        if (instance == null || instance.hardwareMap != hardwareMap) {
+            instance = new VoltageCompensator(hardwareMap);
+        }
+        return instance;
+    }
+
+    /**
+     * This reads the battery voltage if it's been long enough since the last reading, and updates
+     * the filtered voltage and the scale. Otherwise, this does nothing, so it can be called as
+     * often as wanted.
+     */
+    private void update() {
+        long now = Clock.nanoTime();
+        if (triedReading && now - lastReadTime < FollowerConstants.voltageReadPeriod * 1000000) return;
+        triedReading = true;
+
+        double voltage = readVoltage();
+        if (voltage <= 0) {
+            // no sensor gave a reading, so try again next time
+            lastReadTime = now;
+            return;
+        }
+
+        rawVoltage = voltage;
+        reads++;
+        if (!hasReading) {
+            filteredVoltage = voltage;
+            hasReading = true;
+        } else {
+            double deltaTime = (now - lastReadTime) / Math.pow(10.0, 9);
+            filteredVoltage += (voltage - filteredVoltage) * (1 - Math.exp(-deltaTime / FollowerConstants.voltageFilterTimeConstant));
+        }
+        lastReadTime = now;
+
+        scale = Math.min(FollowerConstants.nominalVoltage / filteredVoltage, FollowerConstants.maxVoltageCompensation);
+    }
+
+    /**
+     * This reads the battery voltage from every voltage sensor and returns the lowest, since that's
+     * the hub the motors are getting the least from.
+     *
+     * @return returns the lowest voltage, or 0 if there's no reading.
+     */
+    private double readVoltage() {
+        double lowest = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < sensors.size(); i++) {
+            double voltage = sensors.get(i).getVoltage();
+            if (voltage > 0) lowest = Math.min(lowest, voltage);
+        }
+        return lowest == Double.POSITIVE_INFINITY ? 0 : lowest;
+    }
+
+    /**
+     * This returns how much to multiply motor powers by to make up for the battery voltage.
+     *
+     * @return returns the scale, or 1 if compensation is off or there's no reading.
+     */
+    public double getScale() {
+        if (!FollowerConstants.useVoltageCompensation) return 1;
+        update();
+        return hasReading ? scale : 1;
+    }
+
+    /**
+     * This scales a motor power to make up for the battery voltage, clamped between -1 and 1.
+     *
+     * @param power the power at the nominal voltage.
+     * @return returns the power to set the motor to.
+     */
+    public double compensate(double power) {
+        return Math.max(-1, Math.min(1, power * getScale()));
+    }
+
+    /**
+     * This scales motor powers that work together, like the drive motors, to make up for the
+     * battery voltage. If any of them would go past 1, they're all scaled back down by the same
+     * amount, so they still move the robot in the same direction.
+     *
+     * @param powers the powers at the nominal voltage, which get replaced with the scaled powers.
+     */
+    public void compensate(double[] powers) {
+        double scale = getScale();
+        double max = 1;
+        for (int i = 0; i < powers.length; i++) {
+            powers[i] *= scale;
+            max = Math.max(max, Math.abs(powers[i]));
+        }
+        if (max > 1) {
+            for (int i = 0; i < powers.length; i++) {
+                powers[i] /= max;
+            }
+        }
+    }
+
+    /**
+     * This returns the filtered battery voltage.
+     *
+     * @return returns the voltage, or 0 if there's no reading yet.
+     */
+    public double getVoltage() {
+        return filteredVoltage;
+    }
+
+    /**
+     * This returns how many times the battery voltage has been read.
+     *
+     * @return returns the number of reads.
+     */
+    public long getReads() {
+        return reads;
+    }
+
+    /**
+     * This adds the battery voltage and the scale to telemetry. This doesn't read the battery, so
+     * it's safe to call from a different thread than the one scaling the powers.
+     *
+     * @param telemetry the telemetry to add to.
+     */
+    public void addToTelemetry(Telemetry telemetry) {
+        telemetry.addData("battery voltage (filtered/last)", String.format(Locale.US, "%.2f / %.2f", filteredVoltage, rawVoltage));
+        telemetry.addData("voltage compensation", FollowerConstants.useVoltageCompensation && hasReading ? scale : 1);
+    }
+}
@@ -0,0 +1,36 @@
+package org.firstinspires.ftc.teamcode.subsystems.arm;
+
+import com.arcrobotics.ftclib.command.SubsystemBase;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.util.Arm2;
+
+// Runs Arm2 under the command scheduler, so arm moves can be scheduled alongside driving
+public class Arm2Subsystem extends SubsystemBase {
+    private final Arm2 arm;
+
+    public Arm2Subsystem(HardwareMap hardwareMap) {
+        arm = new Arm2(hardwareMap);
+    }
+
+    // Returns false if the pose can't be reached, and then the arm keeps doing what it was doing
+    public boolean moveTo(ArmPose pose) {
+        return arm.moveTo(pose);
+    }
+
+    public boolean isBusy() {
+        return arm.isTrajectoryBusy();
+    }
+
+    public Arm2 getArm() {
+        return arm;
+    }
+
+    // Runs every loop whether or not a command is moving the arm, so the arm holds where it was last sent
+    @Override
+    public void periodic() {
+        arm.updateTrajectory();
+        arm.setSlidePowerAuto();
+        arm.setPivotPowerAuto();
+    }
+}
@@ -8,11 +8,11 @@ import org.firstinspires.ftc.teamcode.util.Arm2;
 
 @Config
 public class ArmConstants {
-    private static final double PIVOT_DOWN_ENCODER = 0; // Fully pivoted down position
+    public static final double PIVOT_DOWN_ENCODER = 0; // Fully pivoted down position
     private static final double PIVOT_UP_ENCODER = 90;       // Fully pivoted up position
     private static final double MAX_ENCODER_EXTENSION = 1000; // Example max encoder value at full extension
-    private static final double MIN_ENCODER_EXTENSION = -4000; // Minimum slide retraction
-    private static final double SLIDE_AT_42_INCHES = -2764; // Encoder value for 42 inches when pivot is fully down
+    public static final double MIN_ENCODER_EXTENSION = -4000; // Minimum slide retraction
+    public static final double SLIDE_AT_42_INCHES = -2764; // Encoder value for 42 inches when pivot is fully down
 
     public static final double ARM_KP = 1.0;
     public static final double ARM_KI = 0.0;
@@ -31,4 +31,27 @@ public class ArmConstants {
     public static final double PIVOT_MAX_ACCELERATION = 80;
 
     public static final double ARM_TICKS_PER_DEGREE = 4.67;
+
+    // Encoder value of the pivot when the slide is level, which is when the pivot is fully down
+    public static double PIVOT_HORIZONTAL_ENCODER = 0;
+
+    // Feedforward for the slide profile: power per tick/s, power per tick/s^2, and power to get past friction
+    public static double ARM_KV = 0.0004;
+    public static double ARM_KA = 0;
+    public static double ARM_KS = 0;
+
+    // Power that holds the slide up when the pivot is straight up, scaled by the sine of the pivot angle.
+    // The sign should be whichever way pushes the slide out
+    public static double ARM_KG = 0.1;
+
+    // Feedforward for the pivot profile: power per tick/s, power per tick/s^2, and power to get past friction
+    public static double PIVOT_KV = 0.0004;
+    public static double PIVOT_KA = 0;
+    public static double PIVOT_KS = 0;
+
+    // Power that holds the pivot level with the slide all the way in, plus more for every tick the
+    // slide is out, since the slide sticking out pulls down harder. Scaled by the cosine of the pivot angle.
+    // The sign should be whichever way raises the pivot
+    public static double PIVOT_KG = 0.1;
+    public static double PIVOT_KG_PER_EXTENSION_TICK = 0.00005;
 }
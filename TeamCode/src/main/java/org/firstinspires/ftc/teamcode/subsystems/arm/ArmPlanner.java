@@ -0,0 +1,243 @@
+package org.firstinspires.ftc.teamcode.subsystems.arm;
+
+import com.arcrobotics.ftclib.trajectory.TrapezoidProfile;
+import com.arcrobotics.ftclib.trajectory.TrapezoidProfile.State;
+
+/**
+ * This is the ArmPlanner class. It plans moves of the two joint arm, the pivot angle and the slide
+ * extension, and checks that the arm stays inside its limits the whole way. The limits are the
+ * travel of each joint and the 42 inch rule, which says the robot can't reach more than 42 inches
+ * out horizontally. The horizontal reach is the slide extension times the cosine of the pivot
+ * angle, so the slide can go further out the higher the pivot is.
+ *
+ * A move is planned a few ways, and the fastest one that stays inside the limits the whole way is
+ * used. The first way moves both joints together, with the faster joint slowed down so they start
+ * and finish at the same time, which is the fastest when it fits. The others move one joint and
+ * then the other, or pull the slide all the way in, move the pivot, and then push the slide out,
+ * which always fits if the start and end both do.
+ *
+ * Everything is in encoder ticks. The slide's extension is how far its encoder is from the
+ * retracted position, in whichever direction the slide goes out.
+ */
+public class ArmPlanner {
+    // This is how often the trajectories are checked against the limits, in seconds
+    private static final double FEASIBILITY_CHECK_STEP = 0.01;
+
+    private final double pivotHorizontalPosition;
+    private final double pivotTicksPerDegree;
+    private final double pivotMinPosition;
+    private final double pivotMaxPosition;
+    private final double slideRetractedPosition;
+    private final double slideDirection;
+    private final double slideMaxExtension;
+    private final double slideHorizontalLimit;
+    private final TrapezoidProfile.Constraints pivotConstraints;
+    private final TrapezoidProfile.Constraints slideConstraints;
+
+    /**
+     * This creates a new ArmPlanner.
+     *
+     * @param pivotHorizontalPosition the pivot encoder position when the slide is level.
+     * @param pivotUpPosition the pivot encoder position when the slide is straight up.
+     * @param pivotLimitPosition the pivot encoder position at the other end of its travel from
+     *                           pivotUpPosition, which is usually pivotHorizontalPosition.
+     * @param slideRetractedPosition the slide encoder position when it's all the way in.
+     * @param slideMaxPosition the slide encoder position when it's all the way out.
+     * @param slideAt42InchesPosition the slide encoder position that reaches 42 inches out when the
+     *                                slide is level.
+     * @param pivotConstraints the max velocity and acceleration of the pivot.
+     * @param slideConstraints the max velocity and acceleration of the slide.
+     */
+    public ArmPlanner(double pivotHorizontalPosition, double pivotUpPosition, double pivotLimitPosition, double slideRetractedPosition, double slideMaxPosition, double slideAt42InchesPosition, TrapezoidProfile.Constraints pivotConstraints, TrapezoidProfile.Constraints slideConstraints) {
+        this.pivotHorizontalPosition = pivotHorizontalPosition;
+        pivotTicksPerDegree = (pivotUpPosition - pivotHorizontalPosition) / 90;
+        pivotMinPosition = Math.min(pivotUpPosition, pivotLimitPosition);
+        pivotMaxPosition = Math.max(pivotUpPosition, pivotLimitPosition);
+        this.slideRetractedPosition = slideRetractedPosition;
+        slideDirection = Math.signum(slideMaxPosition - slideRetractedPosition);
+        slideMaxExtension = Math.abs(slideMaxPosition - slideRetractedPosition);
+        slideHorizontalLimit = Math.abs(slideAt42InchesPosition - slideRetractedPosition);
+        this.pivotConstraints = pivotConstraints;
+        this.slideConstraints = slideConstraints;
+    }
+
+    /**
+     * This returns the angle of the slide above level for a pivot position.
+     *
+     * @param pivotPosition the pivot encoder position.
+     * @return returns the angle, in degrees.
+     */
+    public double getPivotAngle(double pivotPosition) {
+        return (pivotPosition - pivotHorizontalPosition) / pivotTicksPerDegree;
+    }
+
+    /**
+     * This returns how far out the slide is for a slide position.
+     *
+     * @param slidePosition the slide encoder position.
+     * @return returns the extension, in ticks, which is positive going out.
+     */
+    public double getSlideExtension(double slidePosition) {
+        return (slidePosition - slideRetractedPosition) * slideDirection;
+    }
+
+    /**
+     * This returns the furthest out the slide can be at a pivot position, from both the 42 inch
+     * rule and the slide's travel.
+     *
+     * @param pivotPosition the pivot encoder position.
+     * @return returns the max extension, in ticks.
+     */
+    public double getMaxSlideExtension(double pivotPosition) {
+        double cosine = Math.cos(Math.toRadians(Math.max(0, Math.min(90, getPivotAngle(pivotPosition)))));
+        if (cosine * slideMaxExtension <= slideHorizontalLimit) return slideMaxExtension;
+        return slideHorizontalLimit / cosine;
+    }
+
+    /**
+     * This returns the slide encoder position of the furthest out the slide can be at a pivot
+     * position. This is what manual slide control should stop at.
+     *
+     * @param pivotPosition the pivot encoder position.
+     * @return returns the slide encoder position.
+     */
+    public double getSlideLimitPosition(double pivotPosition) {
+        return slideRetractedPosition + slideDirection * getMaxSlideExtension(pivotPosition);
+    }
+
+    /**
+     * This returns if the arm can be at a position without breaking any limits.
+     *
+     * @param pivotPosition the pivot encoder position.
+     * @param slidePosition the slide encoder position.
+     * @return returns if the position is feasible.
+     */
+    public boolean isFeasible(double pivotPosition, double slidePosition) {
+        if (pivotPosition < pivotMinPosition || pivotPosition > pivotMaxPosition) return false;
+        double extension = getSlideExtension(slidePosition);
+        return extension >= 0 && extension <= getMaxSlideExtension(pivotPosition);
+    }
+
+    /**
+     * This returns if the arm can be at a pose without breaking any limits.
+     *
+     * @param pose the pose.
+     * @return returns if the pose is feasible.
+     */
+    public boolean isFeasible(ArmPose pose) {
+        return isFeasible(pose.getPivotPosition(), pose.getSlidePosition());
+    }
+
+    /**
+     * This returns if the arm stays inside its limits the whole way through a trajectory. If the
+     * arm starts outside its limits, like when the encoder is a little past the end of its travel,
+     * the trajectory only has to get inside them and then stay inside.
+     *
+     * @param trajectory the trajectory.
+     * @return returns if the trajectory is feasible.
+     */
+    public boolean isFeasible(ArmTrajectory trajectory) {
+        double totalTime = trajectory.getTotalTime();
+        boolean inside = false;
+        for (double time = 0; time < totalTime + FEASIBILITY_CHECK_STEP; time += FEASIBILITY_CHECK_STEP) {
+            double sampleTime = Math.min(time, totalTime);
+            boolean feasible = isFeasible(trajectory.getPivotState(sampleTime).position, trajectory.getSlideState(sampleTime).position);
+            if (inside && !feasible) return false;
+            inside |= feasible;
+        }
+        return inside;
+    }
+
+    /**
+     * This plans the fastest move from where the arm is to a pose that stays inside the limits the
+     * whole way. The arm is assumed to be still at the start.
+     *
+     * @param pivotPosition the pivot encoder position right now.
+     * @param slidePosition the slide encoder position right now.
+     * @param goal the pose to move to.
+     * @return returns the trajectory, or null if the pose isn't feasible.
+     */
+    public ArmTrajectory plan(double pivotPosition, double slidePosition, ArmPose goal) {
+        if (!isFeasible(goal)) return null;
+
+        double pivotGoal = goal.getPivotPosition();
+        double slideGoal = goal.getSlidePosition();
+
+        ArmTrajectory best = null;
+        ArmTrajectory[] candidates = {
+                planTogether(pivotPosition, slidePosition, pivotGoal, slideGoal),
+                planSlideFirst(pivotPosition, slidePosition, pivotGoal, slideGoal),
+                planPivotFirst(pivotPosition, slidePosition, pivotGoal, slideGoal)
+        };
+        for (ArmTrajectory candidate : candidates) {
+            if ((best == null || candidate.getTotalTime() < best.getTotalTime()) && isFeasible(candidate)) {
+                best = candidate;
+            }
+        }
+        if (best != null) return best;
+
+        ArmTrajectory retracted = planRetractFirst(pivotPosition, slidePosition, pivotGoal, slideGoal);
+        return isFeasible(retracted) ? retracted : null;
+    }
+
+    /**
+     * This plans moving both joints at once, finishing at the same time.
+     */
+    private ArmTrajectory planTogether(double pivotStart, double slideStart, double pivotGoal, double slideGoal) {
+        TrapezoidProfile pivot = profile(pivotStart, pivotGoal, pivotConstraints, 1);
+        TrapezoidProfile slide = profile(slideStart, slideGoal, slideConstraints, 1);
+        double time = Math.max(pivot.totalTime(), slide.totalTime());
+
+        // the faster joint is slowed down to take as long as the slower one, keeping the same shape
+        if (pivot.totalTime() > 0 && pivot.totalTime() < time) pivot = profile(pivotStart, pivotGoal, pivotConstraints, pivot.totalTime() / time);
+        if (slide.totalTime() > 0 && slide.totalTime() < time) slide = profile(slideStart, slideGoal, slideConstraints, slide.totalTime() / time);
+
+        return new ArmTrajectory(pivotStart, new TrapezoidProfile[]{pivot}, new double[]{0}, slideStart, new TrapezoidProfile[]{slide}, new double[]{0}, "together");
+    }
+
+    /**
+     * This plans moving the slide and then the pivot.
+     */
+    private ArmTrajectory planSlideFirst(double pivotStart, double slideStart, double pivotGoal, double slideGoal) {
+        TrapezoidProfile slide = profile(slideStart, slideGoal, slideConstraints, 1);
+        TrapezoidProfile pivot = profile(pivotStart, pivotGoal, pivotConstraints, 1);
+        return new ArmTrajectory(pivotStart, new TrapezoidProfile[]{pivot}, new double[]{slide.totalTime()}, slideStart, new TrapezoidProfile[]{slide}, new double[]{0}, "slide first");
+    }
+
+    /**
+     * This plans moving the pivot and then the slide.
+     */
+    private ArmTrajectory planPivotFirst(double pivotStart, double slideStart, double pivotGoal, double slideGoal) {
+        TrapezoidProfile pivot = profile(pivotStart, pivotGoal, pivotConstraints, 1);
+        TrapezoidProfile slide = profile(slideStart, slideGoal, slideConstraints, 1);
+        return new ArmTrajectory(pivotStart, new TrapezoidProfile[]{pivot}, new double[]{0}, slideStart, new TrapezoidProfile[]{slide}, new double[]{pivot.totalTime()}, "pivot first");
+    }
+
+    /**
+     * This plans pulling the slide all the way in, moving the pivot, and then pushing the slide
+     * out to the goal.
+     */
+    private ArmTrajectory planRetractFirst(double pivotStart, double slideStart, double pivotGoal, double slideGoal) {
+        TrapezoidProfile retract = profile(slideStart, slideRetractedPosition, slideConstraints, 1);
+        TrapezoidProfile pivot = profile(pivotStart, pivotGoal, pivotConstraints, 1);
+        TrapezoidProfile extend = profile(slideRetractedPosition, slideGoal, slideConstraints, 1);
+        double pivotStartTime = retract.totalTime();
+        double extendStartTime = pivotStartTime + pivot.totalTime();
+        return new ArmTrajectory(pivotStart, new TrapezoidProfile[]{pivot}, new double[]{pivotStartTime}, slideStart, new TrapezoidProfile[]{retract, extend}, new double[]{0, extendStartTime}, "retract first");
+    }
+
+    /**
+     * This makes a profile from rest to rest with the constraints scaled down. Scaling the
+     * velocity by s and the acceleration by s^2 makes the profile take 1/s times as long.
+     *
+     * @param start the start position.
+     * @param goal the goal position.
+     * @param constraints the constraints of the joint.
+     * @param scale how much to slow the profile down, from 0 to 1.
+     * @return returns the profile.
+     */
+    private static TrapezoidProfile profile(double start, double goal, TrapezoidProfile.Constraints constraints, double scale) {
+        TrapezoidProfile.Constraints scaled = new TrapezoidProfile.Constraints(constraints.maxVelocity * scale, constraints.maxAcceleration * scale * scale);
+        return new TrapezoidProfile(scaled, new State(goal, 0), new State(start, 0));
+    }
+}
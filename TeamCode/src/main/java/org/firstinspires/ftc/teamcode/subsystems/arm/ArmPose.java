@@ -0,0 +1,56 @@
+package org.firstinspires.ftc.teamcode.subsystems.arm;
+
+/**
+ * This is the ArmPose class. It's a position of both joints of the arm, the pivot and the slide,
+ * in encoder ticks, with a name to show on telemetry.
+ */
+public class ArmPose {
+    private final String name;
+    private final double pivotPosition;
+    private final double slidePosition;
+
+    /**
+     * This creates a new ArmPose.
+     *
+     * @param name the name of the pose.
+     * @param pivotPosition the pivot encoder position.
+     * @param slidePosition the slide encoder position.
+     */
+    public ArmPose(String name, double pivotPosition, double slidePosition) {
+        this.name = name;
+        this.pivotPosition = pivotPosition;
+        this.slidePosition = slidePosition;
+    }
+
+    /**
+     * This returns the name of the pose.
+     *
+     * @return returns the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * This returns the pivot encoder position of the pose.
+     *
+     * @return returns the pivot position, in ticks.
+     */
+    public double getPivotPosition() {
+        return pivotPosition;
+    }
+
+    /**
+     * This returns the slide encoder position of the pose.
+     *
+     * @return returns the slide position, in ticks.
+     */
+    public double getSlidePosition() {
+        return slidePosition;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (pivot " + pivotPosition + ", slide " + slidePosition + ")";
+    }
+}
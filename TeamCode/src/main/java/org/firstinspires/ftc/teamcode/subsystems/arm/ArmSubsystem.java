@@ -3,75 +3,94 @@ package org.firstinspires.ftc.teamcode.subsystems.arm;
 import com.arcrobotics.ftclib.command.SubsystemBase;
 import com.arcrobotics.ftclib.controller.PIDFController;
 import com.arcrobotics.ftclib.trajectory.TrapezoidProfile;
-import com.arcrobotics.ftclib.trajectory.TrapezoidProfile.State;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.Gamepad;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.qualcomm.robotcore.util.ElapsedTime;
 
+import org.firstinspires.ftc.teamcode.pedroPathing.util.CachingDcMotorEx;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.VoltageCompensator;
+
 public class ArmSubsystem extends SubsystemBase {
     private final DcMotorEx armMotor;
-    private final PIDFController armPid;
-    private TrapezoidProfile PivotMotionProfile;
-    private State goalPivotState;
-    private State currentPivotState;
+    private final MechanismController armController;
+    private final ArmPlanner planner;
     private final DcMotorEx pivotMotor;
     private final ElapsedTime elapsedTime;
+    private final VoltageCompensator voltageCompensator;
 
 
 
     public ArmSubsystem(HardwareMap hardwareMap, ElapsedTime elapsedTime) {
-        armMotor = hardwareMap.get(DcMotorEx.class, "armMotor");
+        armMotor = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, "armMotor"));
         this.elapsedTime = elapsedTime;
         armMotor.setMode(DcMotorEx.RunMode.STOP_AND_RESET_ENCODER);
         armMotor.setMode(DcMotorEx.RunMode.RUN_WITHOUT_ENCODER);
         armMotor.setZeroPowerBehavior(DcMotorEx.ZeroPowerBehavior.BRAKE);
-        pivotMotor = hardwareMap.get(DcMotorEx.class, "pivotMotor");
+        pivotMotor = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, "pivotMotor"));
         pivotMotor.setZeroPowerBehavior(DcMotorEx.ZeroPowerBehavior.BRAKE);
         pivotMotor.setMode(DcMotorEx.RunMode.STOP_AND_RESET_ENCODER);
         pivotMotor.setMode(DcMotorEx.RunMode.RUN_WITHOUT_ENCODER);
-
-
-        armPid = new PIDFController(
-                ArmConstants.ARM_KP,
-                ArmConstants.ARM_KI,
-                ArmConstants.ARM_KD,
-                ArmConstants.ARM_KF
+        voltageCompensator = VoltageCompensator.get(hardwareMap);
+
+        // The feedforward is done by the controller, so the PID has no F
+        armController = new MechanismController(
+                ArmConstants.MAX_VELOCITY,
+                ArmConstants.MAX_ACCELERATION,
+                new PIDFController(ArmConstants.ARM_KP, ArmConstants.ARM_KI, ArmConstants.ARM_KD, 0),
+                () -> ArmConstants.ARM_KV,
+                () -> ArmConstants.ARM_KA,
+                () -> ArmConstants.ARM_KS
         );
 
-        goalPivotState = new State(0, 0);
-        currentPivotState = new State(0, 0);
+        planner = new ArmPlanner(
+                ArmConstants.PIVOT_HORIZONTAL_ENCODER,
+                ArmConstants.PIVOT_HORIZONTAL_ENCODER + 90 * ArmConstants.ARM_TICKS_PER_DEGREE,
+                ArmConstants.PIVOT_DOWN_ENCODER,
+                0,
+                ArmConstants.MIN_ENCODER_EXTENSION,
+                ArmConstants.SLIDE_AT_42_INCHES,
+                new TrapezoidProfile.Constraints(ArmConstants.PIVOT_MAX_VELOCITY, ArmConstants.PIVOT_MAX_ACCELERATION),
+                new TrapezoidProfile.Constraints(ArmConstants.MAX_VELOCITY, ArmConstants.MAX_ACCELERATION)
+        );
     }
 
     public void setPower(double input)   {
         armMotor.setPower(input);
     }
 
+    // Moves to a position along a motion profile, starting from where the slide is right now
     public void toPoint(double position) {
-        goalPivotState = new State(position, 0);
-        PivotMotionProfile = new TrapezoidProfile(
-                new TrapezoidProfile.Constraints(ArmConstants.MAX_VELOCITY, ArmConstants.MAX_ACCELERATION),
-                goalPivotState,
-                currentPivotState
-        );
+        armController.setGoal(position, armMotor.getCurrentPosition(), armMotor.getVelocity());
     }
 
+    // The gains are tuned at the nominal voltage, so the power is scaled for the battery
     public void update() {
-        double dt = 0.02; // Loop time
-        currentPivotState = PivotMotionProfile.calculate(dt);
+        armMotor.setPower(voltageCompensator.compensate(armController.update(armMotor.getCurrentPosition(), getGravityFeedforward())));
+    }
 
-        double feedforward = ArmConstants.ARM_KF * currentPivotState.velocity;
-        double feedback = armPid.calculate(armMotor.getCurrentPosition(), currentPivotState.position);
+    // Gravity pulls along the slide more the further the pivot is raised
+    private double getGravityFeedforward() {
+        double angle = Math.toRadians((pivotMotor.getCurrentPosition() - ArmConstants.PIVOT_HORIZONTAL_ENCODER) / ArmConstants.ARM_TICKS_PER_DEGREE);
+        return ArmConstants.ARM_KG * Math.sin(angle);
+    }
 
-        armMotor.setPower(feedforward + feedback);
+    public boolean isBusy() {
+        return armController.isBusy();
     }
 
+    // Stops the slide from going out past the 42 inch rule, which allows more the higher the pivot is
     public void limitCheck(Gamepad gamepad2) {
-        if (armMotor.getCurrentPosition() == -2764 && pivotMotor.getCurrentPosition() == 0 && Math.abs(gamepad2.left_stick_y) > 0.1) {
+        double limit = planner.getMaxSlideExtension(pivotMotor.getCurrentPosition());
+        if (planner.getSlideExtension(armMotor.getCurrentPosition()) >= limit && gamepad2.left_stick_y < -0.1) {
             armMotor.setPower(0);
         }
     }
 
+    public ArmPlanner getPlanner() {
+        return planner;
+    }
+
     public void stop() {
         armMotor.setPower(0);
     }
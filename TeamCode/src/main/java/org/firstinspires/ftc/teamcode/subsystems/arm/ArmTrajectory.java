@@ -0,0 +1,118 @@
+package org.firstinspires.ftc.teamcode.subsystems.arm;
+
+import com.arcrobotics.ftclib.trajectory.TrapezoidProfile;
+import com.arcrobotics.ftclib.trajectory.TrapezoidProfile.State;
+
+/**
+ * This is the ArmTrajectory class. It's a planned move of both joints of the arm, made by the
+ * ArmPlanner. Each joint follows one or more trapezoidal motion profiles one after another, each
+ * starting at a set time after the start of the trajectory, and holds still between them.
+ */
+public class ArmTrajectory {
+    private final TrapezoidProfile[] pivotProfiles;
+    private final double[] pivotStartTimes;
+    private final TrapezoidProfile[] slideProfiles;
+    private final double[] slideStartTimes;
+    private final State pivotStart;
+    private final State slideStart;
+    private final double totalTime;
+    private final String description;
+
+    /**
+     * This creates a new ArmTrajectory. The ArmPlanner makes these, so use that instead.
+     *
+     * @param pivotStart the pivot position at the start, in ticks.
+     * @param pivotProfiles the pivot profiles, in order.
+     * @param pivotStartTimes when each pivot profile starts, in seconds.
+     * @param slideStart the slide position at the start, in ticks.
+     * @param slideProfiles the slide profiles, in order.
+     * @param slideStartTimes when each slide profile starts, in seconds.
+     * @param description how the joints move, for telemetry.
+     */
+    ArmTrajectory(double pivotStart, TrapezoidProfile[] pivotProfiles, double[] pivotStartTimes, double slideStart, TrapezoidProfile[] slideProfiles, double[] slideStartTimes, String description) {
+        this.pivotStart = new State(pivotStart, 0);
+        this.pivotProfiles = pivotProfiles;
+        this.pivotStartTimes = pivotStartTimes;
+        this.slideStart = new State(slideStart, 0);
+        this.slideProfiles = slideProfiles;
+        this.slideStartTimes = slideStartTimes;
+        this.description = description;
+        totalTime = Math.max(getEndTime(pivotProfiles, pivotStartTimes), getEndTime(slideProfiles, slideStartTimes));
+    }
+
+    /**
+     * This returns when the last of a joint's profiles ends.
+     *
+     * @param profiles the profiles of the joint.
+     * @param startTimes when each profile starts.
+     * @return returns the end time, in seconds.
+     */
+    private static double getEndTime(TrapezoidProfile[] profiles, double[] startTimes) {
+        if (profiles.length == 0) return 0;
+        return startTimes[profiles.length - 1] + profiles[profiles.length - 1].totalTime();
+    }
+
+    /**
+     * This returns the state of a joint at a time.
+     *
+     * @param start the state of the joint at the start.
+     * @param profiles the profiles of the joint.
+     * @param startTimes when each profile starts.
+     * @param time the time since the start of the trajectory, in seconds.
+     * @return returns the state of the joint.
+     */
+    private static State sample(State start, TrapezoidProfile[] profiles, double[] startTimes, double time) {
+        for (int i = profiles.length - 1; i >= 0; i--) {
+            if (time >= startTimes[i]) return profiles[i].calculate(time - startTimes[i]);
+        }
+        return start;
+    }
+
+    /**
+     * This returns the state of the pivot at a time.
+     *
+     * @param time the time since the start of the trajectory, in seconds.
+     * @return returns the pivot position and velocity, in ticks and ticks/second.
+     */
+    public State getPivotState(double time) {
+        return sample(pivotStart, pivotProfiles, pivotStartTimes, time);
+    }
+
+    /**
+     * This returns the state of the slide at a time.
+     *
+     * @param time the time since the start of the trajectory, in seconds.
+     * @return returns the slide position and velocity, in ticks and ticks/second.
+     */
+    public State getSlideState(double time) {
+        return sample(slideStart, slideProfiles, slideStartTimes, time);
+    }
+
+    /**
+     * This returns how long the whole trajectory takes.
+     *
+     * @return returns the total time, in seconds.
+     */
+    public double getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * This returns if the trajectory is over at a time.
+     *
+     * @param time the time since the start of the trajectory, in seconds.
+     * @return returns if both joints are done moving.
+     */
+    public boolean isFinished(double time) {
+        return time >= totalTime;
+    }
+
+    /**
+     * This returns how the joints move in this trajectory, like if they move together.
+     *
+     * @return returns the description.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,149 @@
+package org.firstinspires.ftc.teamcode.subsystems.arm;
+
+import com.arcrobotics.ftclib.controller.PIDFController;
+import com.arcrobotics.ftclib.trajectory.TrapezoidProfile;
+import com.arcrobotics.ftclib.trajectory.TrapezoidProfile.State;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.util.NanoTimer;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * This is the MechanismController class. It moves one joint of a mechanism, like the pivot or the
+ * slide, to a position along a trapezoidal motion profile, which gets there in the least time the
+ * velocity and acceleration limits allow.
+ *
+ * The profile is sampled at the real time since it started, kept with a NanoTimer, so it moves
+ * forward at the right speed no matter how long the loop takes. When the goal changes, a new
+ * profile is made starting from the measured position and velocity, so the goal can be changed in
+ * the middle of a move. Setting the same goal again keeps the current profile.
+ *
+ * The power is the PID on the profile's position, plus feedforward from the profile's velocity
+ * and acceleration, static friction, and whatever gravity feedforward the subsystem works out for
+ * where the mechanism is right now. The feedforward gains are read every update, so they can be
+ * tuned from FTC Dashboard while the mechanism is running.
+ */
+public class MechanismController {
+    // This is the time step used to get the profile's acceleration, in seconds
+    private static final double ACCELERATION_TIME_STEP = 0.005;
+
+    private final TrapezoidProfile.Constraints constraints;
+    private final PIDFController feedback;
+    private final NanoTimer profileTimer = new NanoTimer();
+
+    private final DoubleSupplier kV;
+    private final DoubleSupplier kA;
+    private final DoubleSupplier kS;
+
+    private TrapezoidProfile profile;
+    private State goal;
+    private State reference = new State(0, 0);
+    private double referenceAcceleration;
+
+    /**
+     * This creates a new MechanismController.
+     *
+     * @param maxVelocity the fastest the mechanism moves, in ticks/second.
+     * @param maxAcceleration the fastest the mechanism speeds up or slows down, in ticks/second^2.
+     * @param feedback the PID on the position error. Its F should be 0, since the feedforward is
+     *                 done here.
+     * @param kV the power per tick/second of velocity, like () -> ArmConstants.ARM_KV.
+     * @param kA the power per tick/second^2 of acceleration.
+     * @param kS the power to get past static friction, added in the direction of motion.
+     */
+    public MechanismController(double maxVelocity, double maxAcceleration, PIDFController feedback, DoubleSupplier kV, DoubleSupplier kA, DoubleSupplier kS) {
+        constraints = new TrapezoidProfile.Constraints(maxVelocity, maxAcceleration);
+        this.feedback = feedback;
+        this.kV = kV;
+        this.kA = kA;
+        this.kS = kS;
+    }
+
+    /**
+     * This sets the position to move to. If it's a new goal, a new profile is made starting from
+     * the measured position and velocity.
+     *
+     * @param position the goal position, in ticks.
+     * @param measuredPosition the position of the mechanism right now, in ticks.
+     * @param measuredVelocity the velocity of the mechanism right now, in ticks/second.
+     */
+    public void setGoal(double position, double measuredPosition, double measuredVelocity) {
+        if (goal != null && goal.position == position) return;
+
+        goal = new State(position, 0);
+        profile = new TrapezoidProfile(constraints, goal, new State(measuredPosition, measuredVelocity));
+        profileTimer.resetTimer();
+        feedback.reset();
+    }
+
+    /**
+     * This works out the power for the mechanism at the current time on the profile.
+     *
+     * @param measuredPosition the position of the mechanism right now, in ticks.
+     * @param gravityFeedforward the power that holds the mechanism up against gravity right now.
+     * @return returns the power to set the motor to.
+     */
+    public double update(double measuredPosition, double gravityFeedforward) {
+        if (profile == null) {
+            reference = new State(measuredPosition, 0);
+            referenceAcceleration = 0;
+            return gravityFeedforward;
+        }
+
+        double time = profileTimer.getElapsedTimeSeconds();
+        reference = profile.calculate(time);
+        if (profile.isFinished(time)) {
+            referenceAcceleration = 0;
+        } else {
+            referenceAcceleration = (profile.calculate(time + ACCELERATION_TIME_STEP).velocity - reference.velocity) / ACCELERATION_TIME_STEP;
+        }
+
+        double feedforward = kV.getAsDouble() * reference.velocity + kA.getAsDouble() * referenceAcceleration + kS.getAsDouble() * Math.signum(reference.velocity) + gravityFeedforward;
+        return feedforward + feedback.calculate(measuredPosition, reference.position);
+    }
+
+    /**
+     * This returns if the profile is still moving.
+     *
+     * @return returns if the profile isn't finished.
+     */
+    public boolean isBusy() {
+        return profile != null && !profile.isFinished(profileTimer.getElapsedTimeSeconds());
+    }
+
+    /**
+     * This returns the position the profile is at right now, as of the last update.
+     *
+     * @return returns the reference position, in ticks.
+     */
+    public double getReferencePosition() {
+        return reference.position;
+    }
+
+    /**
+     * This returns the velocity the profile is at right now, as of the last update.
+     *
+     * @return returns the reference velocity, in ticks/second.
+     */
+    public double getReferenceVelocity() {
+        return reference.velocity;
+    }
+
+    /**
+     * This returns the goal position.
+     *
+     * @return returns the goal position, in ticks, or NaN if there's no goal yet.
+     */
+    public double getGoalPosition() {
+        return goal == null ? Double.NaN : goal.position;
+    }
+
+    /**
+     * This returns how long the current profile takes from start to finish.
+     *
+     * @return returns the total time, in seconds.
+     */
+    public double getProfileTime() {
+        return profile == null ? 0 : profile.totalTime();
+    }
+}
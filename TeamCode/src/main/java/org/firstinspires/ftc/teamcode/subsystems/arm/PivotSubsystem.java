@@ -2,52 +2,63 @@ package org.firstinspires.ftc.teamcode.subsystems.arm;
 
 import com.arcrobotics.ftclib.command.SubsystemBase;
 import com.arcrobotics.ftclib.controller.PIDFController;
-import com.arcrobotics.ftclib.trajectory.TrapezoidProfile;
-import com.arcrobotics.ftclib.trajectory.TrapezoidProfile.State;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 
+import org.firstinspires.ftc.teamcode.pedroPathing.util.CachingDcMotorEx;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.HardwareCache;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.VoltageCompensator;
+
 public class PivotSubsystem extends SubsystemBase {
     public final DcMotorEx pivotMotor;
-    private final PIDFController pivotPid;
-    private TrapezoidProfile pivotMotionProfile;
-    private State pivotGoalState;
-    private State pivotCurrentState;
+    // Only read here for the gravity feedforward, the slide is driven by the ArmSubsystem
+    private final DcMotorEx slideMotor;
+    private final MechanismController pivotController;
+    private final VoltageCompensator voltageCompensator;
+    private final HardwareCache hardwareCache;
 
     public PivotSubsystem(HardwareMap hardwareMap) {
-        pivotMotor = hardwareMap.get(DcMotorEx.class, "rotationMotor");
+        pivotMotor = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, "rotationMotor"));
         pivotMotor.setMode(DcMotorEx.RunMode.STOP_AND_RESET_ENCODER);
         pivotMotor.setMode(DcMotorEx.RunMode.RUN_WITHOUT_ENCODER);
         pivotMotor.setZeroPowerBehavior(DcMotorEx.ZeroPowerBehavior.BRAKE);
+        slideMotor = hardwareMap.get(DcMotorEx.class, "armMotor");
+        voltageCompensator = VoltageCompensator.get(hardwareMap);
+        hardwareCache = HardwareCache.get(hardwareMap);
 
-        pivotPid = new PIDFController(
-                ArmConstants.PIVOT_KP,
-                ArmConstants.PIVOT_KI,
-                ArmConstants.PIVOT_KD,
-                ArmConstants.PIVOT_KF
+        // The feedforward is done by the controller, so the PID has no F
+        pivotController = new MechanismController(
+                ArmConstants.PIVOT_MAX_VELOCITY,
+                ArmConstants.PIVOT_MAX_ACCELERATION,
+                new PIDFController(ArmConstants.PIVOT_KP, ArmConstants.PIVOT_KI, ArmConstants.PIVOT_KD, 0),
+                () -> ArmConstants.PIVOT_KV,
+                () -> ArmConstants.PIVOT_KA,
+                () -> ArmConstants.PIVOT_KS
         );
-
-        pivotGoalState = new State(0, 0);
-        pivotCurrentState = new State(0, 0);
     }
 
+    // Moves to a position along a motion profile, starting from where the pivot is right now
     public void toPoint(double position) {
-        pivotGoalState = new State(position, 0);
-        pivotMotionProfile = new TrapezoidProfile(
-                new TrapezoidProfile.Constraints(ArmConstants.PIVOT_MAX_VELOCITY, ArmConstants.PIVOT_MAX_ACCELERATION),
-                pivotGoalState,
-                pivotCurrentState
-        );
+        pivotController.setGoal(position, pivotMotor.getCurrentPosition(), pivotMotor.getVelocity());
     }
 
+    // The gains are tuned at the nominal voltage, so the power is scaled for the battery
     public void update() {
-        double dt = 0.02;
-        pivotCurrentState = pivotMotionProfile.calculate(dt);
+        double position = pivotMotor.getCurrentPosition();
+        pivotMotor.setPower(voltageCompensator.compensate(pivotController.update(position, getGravityFeedforward(position))));
+    }
 
-        double feedforward = ArmConstants.PIVOT_KF * pivotCurrentState.velocity;
-        double feedback = pivotPid.calculate(pivotMotor.getCurrentPosition(), pivotCurrentState.position);
+    // Gravity pulls hardest when the slide is level, and harder the further the slide is out.
+    // The slide encoder is read every loop, so this follows the slide as it moves
+    private double getGravityFeedforward(double position) {
+        double angle = Math.toRadians((position - ArmConstants.PIVOT_HORIZONTAL_ENCODER) / ArmConstants.ARM_TICKS_PER_DEGREE);
+        double slidePosition = hardwareCache.getCurrentPosition(slideMotor);
+        double kG = ArmConstants.PIVOT_KG + ArmConstants.PIVOT_KG_PER_EXTENSION_TICK * Math.abs(slidePosition);
+        return kG * Math.cos(angle);
+    }
 
-        pivotMotor.setPower(feedforward + feedback);
+    public boolean isBusy() {
+        return pivotController.isBusy();
     }
 
     public void stop() {
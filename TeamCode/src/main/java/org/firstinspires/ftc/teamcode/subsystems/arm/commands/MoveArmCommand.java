@@ -0,0 +1,32 @@
+package org.firstinspires.ftc.teamcode.subsystems.arm.commands;
+
+import com.arcrobotics.ftclib.command.CommandBase;
+
+import org.firstinspires.ftc.teamcode.subsystems.arm.Arm2Subsystem;
+import org.firstinspires.ftc.teamcode.subsystems.arm.ArmPose;
+
+// Moves the arm to a pose and finishes when the move is done.
+// The move is planned once in initialize(). If the command is interrupted the arm still finishes
+// the move, since stopping partway could leave the slide past the 42 inch limit
+public class MoveArmCommand extends CommandBase {
+    private final Arm2Subsystem arm;
+    private final ArmPose pose;
+    private boolean planned;
+
+    public MoveArmCommand(Arm2Subsystem arm, ArmPose pose) {
+        this.arm = arm;
+        this.pose = pose;
+        addRequirements(arm);
+    }
+
+    @Override
+    public void initialize() {
+        planned = arm.moveTo(pose);
+    }
+
+    // A pose that can't be reached finishes right away instead of holding up the routine
+    @Override
+    public boolean isFinished() {
+        return !planned || !arm.isBusy();
+    }
+}
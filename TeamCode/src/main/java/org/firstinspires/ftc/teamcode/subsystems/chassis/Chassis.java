@@ -7,6 +7,7 @@ import org.firstinspires.ftc.robotcore.external.Telemetry;
 import org.firstinspires.ftc.teamcode.pedroPathing.follower.Follower;
 import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
 
 public class Chassis extends SubsystemBase {
     private final Follower follower;
@@ -36,6 +37,14 @@ public class Chassis extends SubsystemBase {
         follower.followPath(path);
     }
 
+    public void followPath(Path path, boolean holdEnd) {
+        follower.followPath(path, holdEnd);
+    }
+
+    public void followPath(PathChain pathChain, boolean holdEnd) {
+        follower.followPath(pathChain, holdEnd);
+    }
+
     public void breakFollowing() {
         follower.breakFollowing();
     }
@@ -1,23 +1,25 @@
 package org.firstinspires.ftc.teamcode.subsystems.chassis;
 
 import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.DcMotorSimple;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.qualcomm.robotcore.hardware.IMU;
 import com.qualcomm.hardware.rev.RevHubOrientationOnRobot;
 
 import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.CachingDcMotorEx;
 
 public class Chassis2 {
-    DcMotor fl, fr, bl, br;
+    CachingDcMotorEx fl, fr, bl, br;
     IMU imu;
 
     public Chassis2(HardwareMap hardwareMap) {
-        // Initialize motors
-        fl = hardwareMap.get(DcMotor.class, "frontLeft");
-        fr = hardwareMap.get(DcMotor.class, "frontRight");
-        bl = hardwareMap.get(DcMotor.class, "backLeft");
-        br = hardwareMap.get(DcMotor.class, "backRight");
+        // Initialize motors, skipping power writes that barely change anything
+        fl = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, "frontLeft"));
+        fr = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, "frontRight"));
+        bl = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, "backLeft"));
+        br = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, "backRight"));
 
         // Set motor directions and zero power behavior
         fl.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
@@ -64,4 +66,14 @@ public class Chassis2 {
         bl.setPower(backLeftPower);
         br.setPower(backRightPower);
     }
+
+    // How many drive motor power writes were actually sent, added up over all four motors
+    public long getSentMotorWrites() {
+        return fl.getSentWrites() + fr.getSentWrites() + bl.getSentWrites() + br.getSentWrites();
+    }
+
+    // How many drive motor power writes were skipped because the power barely changed
+    public long getSkippedMotorWrites() {
+        return fl.getSkippedWrites() + fr.getSkippedWrites() + bl.getSkippedWrites() + br.getSkippedWrites();
+    }
 }
@@ -3,29 +3,59 @@ package org.firstinspires.ftc.teamcode.subsystems.chassis.commands;
 import com.arcrobotics.ftclib.command.CommandBase;
 import org.firstinspires.ftc.teamcode.subsystems.chassis.Chassis;
 import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
 
+// Follows a path or path chain until the follower is done with it.
+// The path is only started in initialize(), once per time the command is scheduled, since starting
+// it again resets the follower and throws away all its progress and PID state
 public class FollowPathCommand extends CommandBase {
     private final Chassis chassis;
     private final Path path;
+    private final PathChain pathChain;
+    private final boolean holdEnd;
 
     public FollowPathCommand(Chassis chassis, Path path) {
+        this(chassis, path, false);
+    }
+
+    public FollowPathCommand(Chassis chassis, Path path, boolean holdEnd) {
         this.chassis = chassis;
         this.path = path;
+        this.pathChain = null;
+        this.holdEnd = holdEnd;
+        addRequirements(chassis);
+    }
+
+    public FollowPathCommand(Chassis chassis, PathChain pathChain) {
+        this(chassis, pathChain, false);
+    }
+
+    public FollowPathCommand(Chassis chassis, PathChain pathChain, boolean holdEnd) {
+        this.chassis = chassis;
+        this.path = null;
+        this.pathChain = pathChain;
+        this.holdEnd = holdEnd;
         addRequirements(chassis);
     }
 
     @Override
     public void initialize() {
-        chassis.followPath(path);
+        if (pathChain != null) {
+            chassis.followPath(pathChain, holdEnd);
+        } else {
+            chassis.followPath(path, holdEnd);
+        }
     }
 
+    // The follower stops being busy when it reaches the end, even if it goes on holding the end point
     @Override
     public boolean isFinished() {
         return !chassis.isBusy();
     }
 
+    // Only stop the follower if the path was cut short, so a held end point stays held
     @Override
     public void end(boolean interrupted) {
-        chassis.breakFollowing();
+        if (interrupted) chassis.breakFollowing();
     }
-}
\ No newline at end of file
+}
@@ -14,18 +14,30 @@ import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.qualcomm.robotcore.util.ElapsedTime;
 
 import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.CachingDcMotorEx;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.HardwareCache;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.NanoTimer;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.VoltageCompensator;
 import org.firstinspires.ftc.teamcode.subsystems.*;
 import org.firstinspires.ftc.teamcode.subsystems.arm.ArmConstants;
+import org.firstinspires.ftc.teamcode.subsystems.arm.ArmPlanner;
+import org.firstinspires.ftc.teamcode.subsystems.arm.ArmPose;
+import org.firstinspires.ftc.teamcode.subsystems.arm.ArmTrajectory;
 
 @Config
 public class Arm2 {
     public ClawState clawState;
     static Telemetry telemetry;
-    public DcMotorEx armMotor;
-    public DcMotorEx pivotMotor;
+    public CachingDcMotorEx armMotor;
+    public CachingDcMotorEx pivotMotor;
     public Intake intake;
     public PIDFController pivotPid;
     public PIDFController slidePid;
+    HardwareCache hardwareCache;
+    VoltageCompensator voltageCompensator;
+    public ArmPlanner planner;
+    private ArmTrajectory trajectory;
+    private final NanoTimer trajectoryTimer = new NanoTimer();
 
     public static final double ARM_KP = 1.2; // TODO: TUNE PIDS
     public static final double ARM_KI = 0.0;
@@ -43,11 +55,13 @@ public class Arm2 {
     public static final double MAX_ENCODER_EXTENSION = 1000; // Example max encoder value at full extension
     public static final double MIN_ENCODER_EXTENSION = -4000; // Minimum slide retraction
     public static final double SLIDE_AT_42_INCHES = -2191; // Encoder value for 42 inches when pivot is fully down
-    final double ARM_COLLAPSED_INTO_ROBOT = 0;
-    final double ARM_COLLECT = 250 * ARM_TICKS_PER_DEGREE;
     final double ARM_CLEAR_BARRIER = 230 * ARM_TICKS_PER_DEGREE;
-    public final double ARM_SCORE_SAMPLE_IN_HIGH = 170 * ARM_TICKS_PER_DEGREE;
-    final double ARM_SCORE_SPECIMEN = 160 * ARM_TICKS_PER_DEGREE;
+
+    // Limits for planned arm moves, in ticks/second and ticks/second^2
+    public static double pivotMaxVelocity = 1500;
+    public static double pivotMaxAcceleration = 3000;
+    public static double slideMaxVelocity = 2000;
+    public static double slideMaxAcceleration = 4000;
 
     public static final int TICKS_PER_REVOLUTION = 28 * 60;  // 28 ticks * 60:1 gear ratio = 1680 ticks per revolution
 
@@ -55,8 +69,20 @@ public class Arm2 {
     private static final int PIVOT_UP_ENCODER = -1053; // Encoder value when pivot is up
     private static final int MAX_SLIDE_ENCODER = 42 * 50; // 42 inches * encoder ticks per inch (adjust accordingly)
 
+    // Named poses of the whole arm, as (pivot, slide) encoder values. The pivot values are measured
+    // encoder values, since degrees times ARM_TICKS_PER_DEGREE don't fit in this pivot's travel.
+    // Collect and score sample high aren't here yet, since their slide positions haven't been measured
+    public static final ArmPose ARM_COLLAPSED_INTO_ROBOT = new ArmPose("collapsed", PIVOT_DOWN_ENCODER, 0);
+    public static final ArmPose ARM_SCORE_SPECIMEN = new ArmPose("score specimen", PIVOT_UP_ENCODER, -1507);
+    public static final ArmPose ARM_CLIP_SPECIMEN = new ArmPose("clip specimen", -590, -1300);
+
     public Arm2(HardwareMap hardwareMap) {
-        armMotor = hardwareMap.get(DcMotorEx.class, "slide");
+        // Encoder reads go through the shared cache so each hub is only bulk read once per loop
+        hardwareCache = HardwareCache.get(hardwareMap);
+        // Manual powers are scaled for the battery voltage so the arm moves the same as the battery runs down
+        voltageCompensator = VoltageCompensator.get(hardwareMap);
+
+        armMotor = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, "slide"));
         armMotor.setMode(DcMotorEx.RunMode.STOP_AND_RESET_ENCODER);
         armMotor.setMode(DcMotorEx.RunMode.RUN_WITHOUT_ENCODER);
         armMotor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
@@ -64,7 +90,7 @@ public class Arm2 {
         intake = new Intake(hardwareMap, clawState);
 
         // Initialize rotation motor
-        pivotMotor = hardwareMap.get(DcMotorEx.class, "pivot");
+        pivotMotor = new CachingDcMotorEx(hardwareMap.get(DcMotorEx.class, "pivot"));
         pivotMotor.setMode(DcMotorEx.RunMode.STOP_AND_RESET_ENCODER);
         pivotMotor.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
         pivotMotor.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
@@ -72,11 +98,49 @@ public class Arm2 {
         slidePid = new PIDFController(ARM_KP, ARM_KI, ARM_KD, ARM_KF);
         pivotPid = new PIDFController(pivotKp, pivotKi, pivotKd, pivotKf);
 
+        planner = new ArmPlanner(
+                PIVOT_DOWN_ENCODER,
+                PIVOT_UP_ENCODER,
+                PIVOT_DOWN_ENCODER,
+                0,
+                MIN_ENCODER_EXTENSION,
+                SLIDE_AT_42_INCHES,
+                new TrapezoidProfile.Constraints(pivotMaxVelocity, pivotMaxAcceleration),
+                new TrapezoidProfile.Constraints(slideMaxVelocity, slideMaxAcceleration));
+    }
+
+    // Plans the fastest move to a pose that stays inside the limits, moving both joints at once when it can.
+    // Returns false if the pose can't be reached, and then the arm keeps doing what it was doing
+    public boolean moveTo(ArmPose pose) {
+        ArmTrajectory newTrajectory = planner.plan(getPivotPosition(), getSlidePosition(), pose);
+        if (newTrajectory == null) return false;
+        trajectory = newTrajectory;
+        trajectoryTimer.resetTimer();
+        updateTrajectory();
+        return true;
+    }
+
+    // Moves the PID setpoints along the planned move. Call this every loop before setPivotPowerAuto() and setSlidePowerAuto()
+    public void updateTrajectory() {
+        if (trajectory == null) return;
+        double time = trajectoryTimer.getElapsedTimeSeconds();
+        pivotPid.setSetPoint(trajectory.getPivotState(time).position);
+        slidePid.setSetPoint(trajectory.getSlideState(time).position);
+        if (trajectory.isFinished(time)) trajectory = null;
+    }
+
+    public boolean isTrajectoryBusy() {
+        return trajectory != null;
+    }
+
+    // The furthest out the slide can go at the pivot's angle right now without breaking the 42 inch rule
+    public double getSlideLimitPosition() {
+        return planner.getSlideLimitPosition(getPivotPosition());
     }
 
     // Set the power for the slide motor directly (for manual control in TeleOp)
     public void setSlidePower(double power) {
-        armMotor.setPower(power);
+        armMotor.setPower(voltageCompensator.compensate(power));
     }
 
     // Set the setpoint for the slide motor using PIDF
@@ -90,7 +154,7 @@ public class Arm2 {
 
     // Set the power for the pivot motor directly (for manual control in TeleOp)
     public void setPivotPower(double power) {
-        pivotMotor.setPower(power);  // Set the power for the pivot motor (direct control)
+        pivotMotor.setPower(voltageCompensator.compensate(power));  // Set the power for the pivot motor (direct control)
     }
 
     public void setPivotPowerAuto() {
@@ -101,6 +165,17 @@ public class Arm2 {
         double output = slidePid.calculate(getSlidePosition());
         armMotor.setVelocity(output);
     }
+
+    // How many power writes were actually sent to the pivot and slide motors
+    public long getSentMotorWrites() {
+        return armMotor.getSentWrites() + pivotMotor.getSentWrites();
+    }
+
+    // How many power writes to the pivot and slide motors were skipped because the power barely changed
+    public long getSkippedMotorWrites() {
+        return armMotor.getSkippedWrites() + pivotMotor.getSkippedWrites();
+    }
+
     public boolean isSlideBusy() {
         return armMotor.isBusy();
     }
@@ -111,11 +186,11 @@ public class Arm2 {
 
     // Optionally, get the current position of the slide motor
     public double getSlidePosition() {
-        return armMotor.getCurrentPosition();
+        return hardwareCache.getCurrentPosition(armMotor);
     }
 
     // Optionally, get the current position of the pivot motor
     public double getPivotPosition() {
-        return pivotMotor.getCurrentPosition();
+        return hardwareCache.getCurrentPosition(pivotMotor);
     }
 }
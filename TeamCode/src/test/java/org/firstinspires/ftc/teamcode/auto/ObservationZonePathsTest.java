@@ -0,0 +1,72 @@
+package org.firstinspires.ftc.teamcode.auto;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathChain;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathCompiler;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.PathLoader;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+/**
+ * This is the compile step for the observation zone auto paths, the same as
+ * NeutralSamplePushPathsTest. Running the unit tests with -DcompilePaths=true writes the compiled
+ * paths into src/main/assets, and without it, this checks that the files there still match
+ * ObservationZonePaths.
+ */
+public class ObservationZonePathsTest {
+    private static final File ASSETS = new File("src/main/assets");
+
+    @Test
+    public void compiledPathsMatchTheSource() throws IOException {
+        boolean compile = Boolean.getBoolean("compilePaths");
+        for (ObservationZonePaths.Start start : ObservationZonePaths.Start.values()) {
+            byte[] compiled = compile(ObservationZonePaths.build(start));
+            File asset = new File(ASSETS, start.getAssetName());
+
+            if (compile) {
+                asset.getParentFile().mkdirs();
+                try (OutputStream out = new FileOutputStream(asset)) {
+                    out.write(compiled);
+                }
+            }
+
+            assertTrue(asset + " is missing, run the tests with -DcompilePaths=true", asset.exists());
+            assertArrayEquals(asset + " is out of date, run the tests with -DcompilePaths=true", compiled, Files.readAllBytes(asset.toPath()));
+        }
+    }
+
+    @Test
+    public void compiledPathsLoadTheSameAsBuilt() throws IOException {
+        for (ObservationZonePaths.Start start : ObservationZonePaths.Start.values()) {
+            PathChain built = ObservationZonePaths.build(start);
+            PathChain loaded = PathLoader.load(new ByteArrayInputStream(compile(built)));
+
+            assertEquals(ObservationZonePaths.PATH_COUNT, loaded.size());
+            for (int i = 0; i < built.size(); i++) {
+                assertEquals(built.getPath(i).length(), loaded.getPath(i).length(), 1e-9);
+                for (double t = 0; t <= 1; t += 0.125) {
+                    assertEquals(built.getPath(i).getPoint(t).getX(), loaded.getPath(i).getPoint(t).getX(), 1e-9);
+                    assertEquals(built.getPath(i).getPoint(t).getY(), loaded.getPath(i).getPoint(t).getY(), 1e-9);
+                    assertEquals(built.getPath(i).getHeadingGoal(t), loaded.getPath(i).getHeadingGoal(t), 1e-9);
+                    assertEquals(built.getPath(i).getCurvature(t), loaded.getPath(i).getCurvature(t), 1e-9);
+                }
+            }
+        }
+    }
+
+    private static byte[] compile(PathChain pathChain) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PathCompiler.compile(pathChain, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,107 @@
+package org.firstinspires.ftc.teamcode.opmodes.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.arcrobotics.ftclib.command.CommandScheduler;
+
+import org.firstinspires.ftc.teamcode.auto.NeutralSamplePushPaths;
+import org.firstinspires.ftc.teamcode.pedroPathing.follower.Follower;
+import org.firstinspires.ftc.teamcode.pedroPathing.localization.Pose;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Path;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Point;
+import org.firstinspires.ftc.teamcode.pedroPathing.simulation.MecanumDriveSimulator;
+import org.firstinspires.ftc.teamcode.pedroPathing.simulation.SimulatedOpModeRunner;
+import org.firstinspires.ftc.teamcode.pedroPathing.util.Clock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/**
+ * This runs the Tile 3 autos from every starting tile in the MecanumDriveSimulator, with the
+ * compiled paths from src/main/assets, and checks that they finish and park in time.
+ */
+public class NeutralSamplePushAutoTest {
+    // The auto has 30 seconds, and the robot also needs to be stopped at the end by then
+    private static final double AUTO_TIME = 30;
+    private static final double PARK_TOLERANCE = 2;
+    private static final double HEADING_TOLERANCE = Math.toRadians(5);
+
+    private MecanumDriveSimulator simulator;
+    private String loopProfileFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        // the auto writes its loop profile when it stops, which shouldn't go in /sdcard off the robot
+        loopProfileFolder = Follower.loopProfileFolder;
+        Follower.loopProfileFolder = Files.createTempDirectory("loopProfile").toString();
+
+        simulator = new MecanumDriveSimulator();
+        simulator.addMotor("slide");
+        simulator.addMotor("pivot");
+        simulator.addCRServo("wrist");
+        simulator.addServo("claw");
+    }
+
+    @After
+    public void tearDown() {
+        CommandScheduler.getInstance().reset();
+        Clock.useSystemTime();
+        Follower.loopProfileFolder = loopProfileFolder;
+    }
+
+    @Test
+    public void blueInParks() {
+        runToCompletion(NeutralSamplePushPaths.Start.BLUE_IN);
+    }
+
+    @Test
+    public void blueAwayParks() {
+        runToCompletion(NeutralSamplePushPaths.Start.BLUE_AWAY);
+    }
+
+    @Test
+    public void redInParks() {
+        runToCompletion(NeutralSamplePushPaths.Start.RED_IN);
+    }
+
+    @Test
+    public void redAwayParks() {
+        runToCompletion(NeutralSamplePushPaths.Start.RED_AWAY);
+    }
+
+    private void runToCompletion(NeutralSamplePushPaths.Start start) {
+        simulator.setPose(start.getStartingPose());
+        NeutralSamplePushAuto auto = new NeutralSamplePushAuto(start) {
+            @Override
+            protected Follower createFollower() {
+                return new Follower(hardwareMap, simulator.getLocalizer());
+            }
+
+            @Override
+            protected InputStream openAsset(String name) throws IOException {
+                return new FileInputStream(new File("src/main/assets", name));
+            }
+        };
+
+        SimulatedOpModeRunner runner = new SimulatedOpModeRunner(auto, simulator);
+        runner.init(5);
+        double time = runner.runUntil(() -> !auto.isRoutineRunning(), AUTO_TIME);
+
+        assertFalse(start + " didn't finish in " + AUTO_TIME + " seconds", auto.isRoutineRunning());
+
+        Path park = NeutralSamplePushPaths.build(start).getPath(NeutralSamplePushPaths.LEG_COUNT - 1);
+        Point parkPoint = park.getLastControlPoint();
+        Pose endPose = runner.getPose();
+        assertEquals(start + " x after " + time + " seconds", parkPoint.getX(), endPose.getX(), PARK_TOLERANCE);
+        assertEquals(start + " y after " + time + " seconds", parkPoint.getY(), endPose.getY(), PARK_TOLERANCE);
+        assertEquals(start + " heading after " + time + " seconds", 0, MathFunctions.getSmallestAngleDifference(endPose.getHeading(), park.getHeadingGoal(1)), HEADING_TOLERANCE);
+    }
+}
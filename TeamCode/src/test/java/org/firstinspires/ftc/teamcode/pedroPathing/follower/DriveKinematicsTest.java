@@ -0,0 +1,125 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.follower;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * This checks the forward and inverse kinematics of every drivetrain, by turning chassis powers
+ * into wheel powers and back again, and checks that the drive powers worked out from the
+ * Follower's Vectors never go past a wheel power of 1, even with inputs past a magnitude of 1.
+ */
+public class DriveKinematicsTest {
+    private static final double TOLERANCE = 1e-9;
+    private static final int SAMPLES = 2000;
+
+    @Test
+    public void mecanumRoundTrip() {
+        checkRoundTrip(new DriveVectorScaler(FollowerConstants.frontLeftVector));
+    }
+
+    @Test
+    public void xDriveRoundTrip() {
+        checkRoundTrip(new XDriveKinematics());
+    }
+
+    @Test
+    public void tankRoundTrip() {
+        checkRoundTrip(new TankDriveKinematics());
+    }
+
+    @Test
+    public void swerveRoundTrip() {
+        checkRoundTrip(new SwerveDriveKinematics(FollowerConstants.swerveTrackWidth, FollowerConstants.swerveWheelBase));
+    }
+
+    @Test
+    public void mecanumNeverSaturates() {
+        checkSaturation(new DriveVectorScaler(FollowerConstants.frontLeftVector));
+    }
+
+    @Test
+    public void xDriveNeverSaturates() {
+        checkSaturation(new XDriveKinematics());
+    }
+
+    @Test
+    public void tankNeverSaturates() {
+        checkSaturation(new TankDriveKinematics());
+    }
+
+    @Test
+    public void swerveNeverSaturates() {
+        checkSaturation(new SwerveDriveKinematics(FollowerConstants.swerveTrackWidth, FollowerConstants.swerveWheelBase));
+    }
+
+    /**
+     * This turns random chassis powers into wheel powers and back. Swerve modules are measured
+     * pointing where they were just steered, since the chassis powers depend on where they point.
+     * A tank drive can't move sideways, so only its forward and turning powers have to come back.
+     */
+    private static void checkRoundTrip(DriveKinematics drive) {
+        Random random = new Random(1);
+        double[] wheelPowers = new double[4];
+        double[] chassisPowers = new double[3];
+        double[] moduleAngles = new double[4];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            double forward = random.nextDouble() * 2 - 1;
+            double lateral = random.nextDouble() * 2 - 1;
+            double turn = random.nextDouble() * 2 - 1;
+
+            for (int j = 0; j < 4; j++) {
+                moduleAngles[j] = random.nextDouble() * 2 * Math.PI;
+            }
+            drive.setMeasuredModuleAngles(moduleAngles);
+            drive.toWheelPowers(forward, lateral, turn, wheelPowers);
+            if (drive.getModuleAngles() != null) drive.setMeasuredModuleAngles(drive.getModuleAngles());
+            drive.toChassisPowers(wheelPowers, chassisPowers);
+
+            assertEquals("forward", forward, chassisPowers[0], TOLERANCE);
+            assertEquals("turn", turn, chassisPowers[2], TOLERANCE);
+            if (drive.isHolonomic()) {
+                assertEquals("lateral", lateral, chassisPowers[1], TOLERANCE);
+            } else {
+                assertEquals("lateral", 0, chassisPowers[1], TOLERANCE);
+            }
+        }
+    }
+
+    /**
+     * This works out the drive powers from random Vectors with magnitudes up to 2, so the inputs
+     * get clamped and each of them fills up all the power sometimes.
+     */
+    private static void checkSaturation(DriveKinematics drive) {
+        Random random = new Random(2);
+        Vector correctivePower = new Vector();
+        Vector headingPower = new Vector();
+        Vector pathingPower = new Vector();
+        double[] wheelPowers = new double[4];
+        double[] moduleAngles = new double[4];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            double robotHeading = MathFunctions.normalizeAngle(random.nextDouble() * 2 * Math.PI);
+            correctivePower.setComponents(random.nextDouble() * 1.2, random.nextDouble() * 2 * Math.PI);
+            headingPower.setComponents(random.nextDouble(), robotHeading + (random.nextBoolean() ? 0 : Math.PI));
+            pathingPower.setComponents(random.nextDouble() * 2, random.nextDouble() * 2 * Math.PI);
+
+            for (int j = 0; j < 4; j++) {
+                moduleAngles[j] = random.nextDouble() * 2 * Math.PI;
+            }
+            drive.setMeasuredModuleAngles(moduleAngles);
+            drive.getDrivePowers(correctivePower, headingPower, pathingPower, robotHeading, wheelPowers);
+
+            for (int j = 0; j < 4; j++) {
+                assertTrue("wheel " + j + " power " + wheelPowers[j], Math.abs(wheelPowers[j]) <= 1 + TOLERANCE);
+            }
+        }
+    }
+}
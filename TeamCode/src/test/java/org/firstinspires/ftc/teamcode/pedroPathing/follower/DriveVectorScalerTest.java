@@ -0,0 +1,138 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.follower;
+
+import static org.junit.Assert.assertEquals;
+
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.MathFunctions;
+import org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration.Vector;
+import org.firstinspires.ftc.teamcode.pedroPathing.tuning.FollowerConstants;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * This checks that the DriveVectorScaler works out the same wheel powers as the old way, which
+ * rotated all four wheel vectors and solved a system for each wheel every update. The inputs go
+ * past a magnitude of 1 and cover every way the powers get scaled down.
+ */
+public class DriveVectorScalerTest {
+    private static final double TOLERANCE = 1e-9;
+    private static final int SAMPLES = 20000;
+
+    @Test
+    public void matchesTheOldWay() {
+        DriveVectorScaler driveVectorScaler = new DriveVectorScaler(FollowerConstants.frontLeftVector);
+        Vector[] mecanumVectors = makeMecanumVectors(FollowerConstants.frontLeftVector);
+
+        Random random = new Random(1);
+        Vector correctivePower = new Vector();
+        Vector headingPower = new Vector();
+        Vector pathingPower = new Vector();
+        double[] oldWheelPowers = new double[4];
+        double[] newWheelPowers = new double[4];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            double robotHeading = MathFunctions.normalizeAngle(random.nextDouble() * 2 * Math.PI);
+            double correctiveMagnitude = random.nextDouble() * 1.2;
+            double correctiveTheta = random.nextDouble() * 2 * Math.PI;
+            double headingMagnitude = random.nextDouble();
+            double headingTheta = robotHeading + (random.nextBoolean() ? 0 : Math.PI);
+            double pathingMagnitude = random.nextDouble() * 1.2;
+            double pathingTheta = random.nextDouble() * 2 * Math.PI;
+
+            // both ways clamp the input Vectors in place, so they each get fresh ones
+            correctivePower.setComponents(correctiveMagnitude, correctiveTheta);
+            headingPower.setComponents(headingMagnitude, headingTheta);
+            pathingPower.setComponents(pathingMagnitude, pathingTheta);
+            oldDrivePowers(driveVectorScaler, mecanumVectors, correctivePower, headingPower, pathingPower, robotHeading, oldWheelPowers);
+
+            correctivePower.setComponents(correctiveMagnitude, correctiveTheta);
+            headingPower.setComponents(headingMagnitude, headingTheta);
+            pathingPower.setComponents(pathingMagnitude, pathingTheta);
+            driveVectorScaler.getDrivePowers(correctivePower, headingPower, pathingPower, robotHeading, newWheelPowers);
+
+            for (int j = 0; j < 4; j++) {
+                assertEquals("wheel " + j + " at sample " + i, oldWheelPowers[j], newWheelPowers[j], TOLERANCE);
+            }
+        }
+    }
+
+    /**
+     * This makes the wheel vectors for the old way the same way the DriveVectorScaler does.
+     */
+    private static Vector[] makeMecanumVectors(Vector frontLeftVector) {
+        frontLeftVector = MathFunctions.normalizeVector(frontLeftVector);
+        return new Vector[]{
+                new Vector(frontLeftVector.getMagnitude(), frontLeftVector.getTheta()),
+                new Vector(frontLeftVector.getMagnitude(), 2*Math.PI-frontLeftVector.getTheta()),
+                new Vector(frontLeftVector.getMagnitude(), 2*Math.PI-frontLeftVector.getTheta()),
+                new Vector(frontLeftVector.getMagnitude(), frontLeftVector.getTheta())};
+    }
+
+    /**
+     * This works out the wheel powers the way the DriveVectorScaler used to, copying and rotating
+     * all four wheel vectors and solving a system for each wheel every update.
+     *
+     * @param driveVectorScaler the DriveVectorScaler, for its findNormalizingScaling().
+     * @param mecanumVectors the wheel vectors.
+     * @param correctivePower the corrective power.
+     * @param headingPower the heading power.
+     * @param pathingPower the pathing power.
+     * @param robotHeading the heading of the robot.
+     * @param wheelPowers the Array to write the wheel powers into.
+     */
+    private static void oldDrivePowers(DriveVectorScaler driveVectorScaler, Vector[] mecanumVectors, Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading, double[] wheelPowers) {
+        if (correctivePower.getMagnitude() > 1) correctivePower.setMagnitude(1);
+        if (headingPower.getMagnitude() > 1) headingPower.setMagnitude(1);
+        if (pathingPower.getMagnitude() > 1) pathingPower.setMagnitude(1);
+
+        Vector[] truePathingVectors = new Vector[2];
+
+        if (correctivePower.getMagnitude() == 1) {
+            truePathingVectors[0] = MathFunctions.copyVector(correctivePower);
+            truePathingVectors[1] = MathFunctions.copyVector(correctivePower);
+        } else {
+            Vector leftSideVector = MathFunctions.subtractVectors(correctivePower, headingPower);
+            Vector rightSideVector = MathFunctions.addVectors(correctivePower, headingPower);
+
+            if (leftSideVector.getMagnitude() > 1 || rightSideVector.getMagnitude() > 1) {
+                double headingScalingFactor = Math.min(driveVectorScaler.findNormalizingScaling(correctivePower, headingPower), driveVectorScaler.findNormalizingScaling(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, -1)));
+                truePathingVectors[0] = MathFunctions.subtractVectors(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor));
+                truePathingVectors[1] = MathFunctions.addVectors(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor));
+            } else {
+                Vector leftSideVectorWithPathing = MathFunctions.addVectors(leftSideVector, pathingPower);
+                Vector rightSideVectorWithPathing = MathFunctions.addVectors(rightSideVector, pathingPower);
+
+                if (leftSideVectorWithPathing.getMagnitude() > 1 || rightSideVectorWithPathing.getMagnitude() > 1) {
+                    double pathingScalingFactor = Math.min(driveVectorScaler.findNormalizingScaling(leftSideVector, pathingPower), driveVectorScaler.findNormalizingScaling(rightSideVector, pathingPower));
+                    truePathingVectors[0] = MathFunctions.addVectors(leftSideVector, MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor));
+                    truePathingVectors[1] = MathFunctions.addVectors(rightSideVector, MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor));
+                } else {
+                    truePathingVectors[0] = MathFunctions.copyVector(leftSideVectorWithPathing);
+                    truePathingVectors[1] = MathFunctions.copyVector(rightSideVectorWithPathing);
+                }
+            }
+        }
+
+        truePathingVectors[0] = MathFunctions.scalarMultiplyVector(truePathingVectors[0], 2.0);
+        truePathingVectors[1] = MathFunctions.scalarMultiplyVector(truePathingVectors[1], 2.0);
+
+        Vector[] mecanumVectorsCopy = new Vector[4];
+        for (int i = 0; i < mecanumVectorsCopy.length; i++) {
+            mecanumVectorsCopy[i] = MathFunctions.copyVector(mecanumVectors[i]);
+            mecanumVectorsCopy[i].rotateVector(robotHeading);
+        }
+
+        wheelPowers[0] = (mecanumVectorsCopy[1].getXComponent()*truePathingVectors[0].getYComponent() - truePathingVectors[0].getXComponent()*mecanumVectorsCopy[1].getYComponent()) / (mecanumVectorsCopy[1].getXComponent()*mecanumVectorsCopy[0].getYComponent() - mecanumVectorsCopy[0].getXComponent()*mecanumVectorsCopy[1].getYComponent());
+        wheelPowers[1] = (mecanumVectorsCopy[0].getXComponent()*truePathingVectors[0].getYComponent() - truePathingVectors[0].getXComponent()*mecanumVectorsCopy[0].getYComponent()) / (mecanumVectorsCopy[0].getXComponent()*mecanumVectorsCopy[1].getYComponent() - mecanumVectorsCopy[1].getXComponent()*mecanumVectorsCopy[0].getYComponent());
+        wheelPowers[2] = (mecanumVectorsCopy[3].getXComponent()*truePathingVectors[1].getYComponent() - truePathingVectors[1].getXComponent()*mecanumVectorsCopy[3].getYComponent()) / (mecanumVectorsCopy[3].getXComponent()*mecanumVectorsCopy[2].getYComponent() - mecanumVectorsCopy[2].getXComponent()*mecanumVectorsCopy[3].getYComponent());
+        wheelPowers[3] = (mecanumVectorsCopy[2].getXComponent()*truePathingVectors[1].getYComponent() - truePathingVectors[1].getXComponent()*mecanumVectorsCopy[2].getYComponent()) / (mecanumVectorsCopy[2].getXComponent()*mecanumVectorsCopy[3].getYComponent() - mecanumVectorsCopy[3].getXComponent()*mecanumVectorsCopy[2].getYComponent());
+
+        double wheelPowerMax = Math.max(Math.max(Math.abs(wheelPowers[0]), Math.abs(wheelPowers[1])), Math.max(Math.abs(wheelPowers[2]), Math.abs(wheelPowers[3])));
+        if (wheelPowerMax > 1) {
+            wheelPowers[0] /= wheelPowerMax;
+            wheelPowers[1] /= wheelPowerMax;
+            wheelPowers[2] /= wheelPowerMax;
+            wheelPowers[3] /= wheelPowerMax;
+        }
+    }
+}
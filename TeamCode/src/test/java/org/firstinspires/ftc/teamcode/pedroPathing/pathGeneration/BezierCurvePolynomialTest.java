@@ -0,0 +1,117 @@
+package org.firstinspires.ftc.teamcode.pedroPathing.pathGeneration;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * This checks the BezierCurvePolynomial against the Bernstein form of the same curve, which is how
+ * Bezier curves are defined, for every degree up to 10 and random control points across the field.
+ */
+public class BezierCurvePolynomialTest {
+    private static final double POSITION_TOLERANCE = 1e-9;
+    private static final double DERIVATIVE_TOLERANCE = 1e-7;
+
+    @Test
+    public void positionsMatchBernsteinForm() {
+        Random random = new Random(1);
+        for (int degree = 1; degree <= 10; degree++) {
+            for (int curve = 0; curve < 20; curve++) {
+                ArrayList<Point> controlPoints = randomControlPoints(random, degree);
+                BezierCurvePolynomial polynomial = new BezierCurvePolynomial(controlPoints);
+                assertEquals(degree, polynomial.getDegree());
+                for (double t = 0; t <= 1; t += 0.01) {
+                    assertEquals("x at t = " + t, bernstein(controlPoints, t, true), polynomial.getX(t), POSITION_TOLERANCE);
+                    assertEquals("y at t = " + t, bernstein(controlPoints, t, false), polynomial.getY(t), POSITION_TOLERANCE);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void endsAreTheFirstAndLastControlPoints() {
+        Random random = new Random(2);
+        for (int degree = 1; degree <= 10; degree++) {
+            ArrayList<Point> controlPoints = randomControlPoints(random, degree);
+            BezierCurvePolynomial polynomial = new BezierCurvePolynomial(controlPoints);
+            assertEquals(controlPoints.get(0).getX(), polynomial.getX(0), POSITION_TOLERANCE);
+            assertEquals(controlPoints.get(0).getY(), polynomial.getY(0), POSITION_TOLERANCE);
+            assertEquals(controlPoints.get(degree).getX(), polynomial.getX(1), POSITION_TOLERANCE);
+            assertEquals(controlPoints.get(degree).getY(), polynomial.getY(1), POSITION_TOLERANCE);
+        }
+    }
+
+    @Test
+    public void derivativesMatchBernsteinForm() {
+        Random random = new Random(3);
+        for (int degree = 1; degree <= 10; degree++) {
+            for (int curve = 0; curve < 20; curve++) {
+                ArrayList<Point> controlPoints = randomControlPoints(random, degree);
+                BezierCurvePolynomial polynomial = new BezierCurvePolynomial(controlPoints);
+
+                // the derivative of a Bezier curve is a Bezier curve of one less degree, with
+                // control points n * (P_i+1 - P_i), and the same goes for the second derivative
+                ArrayList<Point> derivativePoints = hodograph(controlPoints);
+                ArrayList<Point> secondDerivativePoints = hodograph(derivativePoints);
+
+                for (double t = 0; t <= 1; t += 0.01) {
+                    assertEquals(bernstein(derivativePoints, t, true), polynomial.getDerivativeX(t), DERIVATIVE_TOLERANCE);
+                    assertEquals(bernstein(derivativePoints, t, false), polynomial.getDerivativeY(t), DERIVATIVE_TOLERANCE);
+                    if (degree >= 2) {
+                        assertEquals(bernstein(secondDerivativePoints, t, true), polynomial.getSecondDerivativeX(t), DERIVATIVE_TOLERANCE);
+                        assertEquals(bernstein(secondDerivativePoints, t, false), polynomial.getSecondDerivativeY(t), DERIVATIVE_TOLERANCE);
+                    } else {
+                        assertEquals(0, polynomial.getSecondDerivativeX(t), DERIVATIVE_TOLERANCE);
+                        assertEquals(0, polynomial.getSecondDerivativeY(t), DERIVATIVE_TOLERANCE);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bezierCurveUsesThePolynomial() {
+        ArrayList<Point> controlPoints = new ArrayList<>();
+        controlPoints.add(new Point(0, 0, Point.CARTESIAN));
+        controlPoints.add(new Point(30, 60, Point.CARTESIAN));
+        controlPoints.add(new Point(90, -20, Point.CARTESIAN));
+        controlPoints.add(new Point(120, 40, Point.CARTESIAN));
+        BezierCurve curve = new BezierCurve(controlPoints);
+        for (double t = 0; t <= 1; t += 0.05) {
+            Point point = curve.getPoint(t);
+            assertEquals(bernstein(controlPoints, t, true), point.getX(), POSITION_TOLERANCE);
+            assertEquals(bernstein(controlPoints, t, false), point.getY(), POSITION_TOLERANCE);
+        }
+    }
+
+    private static ArrayList<Point> randomControlPoints(Random random, int degree) {
+        ArrayList<Point> controlPoints = new ArrayList<>();
+        for (int i = 0; i <= degree; i++) {
+            controlPoints.add(new Point(random.nextDouble() * 144, random.nextDouble() * 144, Point.CARTESIAN));
+        }
+        return controlPoints;
+    }
+
+    private static ArrayList<Point> hodograph(ArrayList<Point> controlPoints) {
+        int degree = controlPoints.size() - 1;
+        ArrayList<Point> points = new ArrayList<>();
+        for (int i = 0; i < degree; i++) {
+            points.add(new Point(degree * (controlPoints.get(i + 1).getX() - controlPoints.get(i).getX()),
+                    degree * (controlPoints.get(i + 1).getY() - controlPoints.get(i).getY()), Point.CARTESIAN));
+        }
+        return points;
+    }
+
+    private static double bernstein(ArrayList<Point> controlPoints, double t, boolean x) {
+        int degree = controlPoints.size() - 1;
+        double sum = 0;
+        for (int i = 0; i <= degree; i++) {
+            double coordinate = x ? controlPoints.get(i).getX() : controlPoints.get(i).getY();
+            sum += MathFunctions.nCr(degree, i) * Math.pow(1 - t, degree - i) * Math.pow(t, i) * coordinate;
+        }
+        return sum;
+    }
+}